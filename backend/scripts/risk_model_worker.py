@@ -0,0 +1,92 @@
+#!/usr/bin/env python3
+"""Long-lived reservation risk worker.
+
+Loads the trained RandomForest pipeline once and answers JSON-lines requests
+on stdin/stdout so the backend does not pay interpreter/model startup per call.
+
+Protocol (one JSON object per line):
+    -> {"id": 1, "op": "ping"}
+    <- {"id": 1, "ok": true}
+    -> {"id": 2, "op": "predict", "noshow_count": 0, "reservation_count": 3,
+        "weekday": "Fri", "hour": 19, "party_size": 4, "payment_method": "CARD"}
+    <- {"id": 2, "risk_level": "low", "proba": {"high": 0.1, ...}}
+
+On startup the worker prints {"ready": true} once the model is loaded.
+"""
+
+import argparse
+import json
+import sys
+from pathlib import Path
+
+import joblib
+import pandas as pd
+
+FEATURE_COLUMNS = [
+    "noshow_count",
+    "reservation_count",
+    "weekday",
+    "hour",
+    "party_size",
+    "payment_method",
+]
+
+
+def parse_args():
+    parser = argparse.ArgumentParser(description="Reservation risk model worker")
+    parser.add_argument("--model", required=True, help="Path to the trained model (joblib)")
+    return parser.parse_args()
+
+
+def emit(payload):
+    sys.stdout.write(json.dumps(payload) + "\n")
+    sys.stdout.flush()
+
+
+def predict(pipeline, request):
+    features = pd.DataFrame([{column: request[column] for column in FEATURE_COLUMNS}])
+    predicted_label = pipeline.predict(features)[0]
+    probabilities = pipeline.predict_proba(features)[0]
+    return {
+        "risk_level": str(predicted_label),
+        "proba": {cls: float(prob) for cls, prob in zip(pipeline.classes_, probabilities)},
+    }
+
+
+def main():
+    args = parse_args()
+    model_path = Path(args.model)
+    if not model_path.exists():
+        emit({"ready": False, "error": f"Model not found: {model_path}"})
+        return 1
+
+    pipeline = joblib.load(model_path)["pipeline"]
+    emit({"ready": True})
+
+    for line in sys.stdin:
+        line = line.strip()
+        if not line:
+            continue
+
+        try:
+            request = json.loads(line)
+        except ValueError as exc:
+            emit({"error": f"invalid request: {exc}"})
+            continue
+
+        request_id = request.get("id")
+        try:
+            if request.get("op") == "ping":
+                emit({"id": request_id, "ok": True})
+            else:
+                payload = predict(pipeline, request)
+                payload["id"] = request_id
+                emit(payload)
+        except Exception as exc:  # noqa: BLE001 - report every failure to the caller
+            emit({"id": request_id, "error": str(exc)})
+
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
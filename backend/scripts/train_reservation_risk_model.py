@@ -6,15 +6,26 @@ based on synthetic OCR-friendly reservation statistics.
 Usage:
     python backend/scripts/train_reservation_risk_model.py \
         --data backend/data/reservation_risk.csv \
-        --output backend/models/reservation_risk_model.pkl
+        --output backend/models/reservation_risk_model.pkl \
+        --portable-output backend/models/reservation_risk_model.json \
+        --parity-fixture backend/src/test/resources/risk/rf_parity_fixture.json
+
+The portable JSON export holds the fitted trees as flat arrays plus the
+one-hot encoding of build_pipeline(), so the backend can score reservations
+in the JVM without Python (risk-model.backend=java). The optional parity
+fixture is a small forest fitted the same way plus sklearn's predict_proba on
+sample rows; RandomForestRiskModelParityTest checks the JVM evaluator and the
+lookup table against it.
 """
 
 from __future__ import annotations
 
 import argparse
+import json
 from pathlib import Path
 
 import joblib
+import numpy as np
 import pandas as pd
 from sklearn.compose import ColumnTransformer
 from sklearn.ensemble import RandomForestClassifier
@@ -33,9 +44,19 @@ def load_dataset(csv_path: Path) -> pd.DataFrame:
     return df
 
 
-def build_pipeline() -> Pipeline:
-    categorical_features = ["weekday", "payment_method"]
-    numeric_features = ["noshow_count", "reservation_count", "hour", "party_size"]
+PORTABLE_FORMAT = "olsaram-rf-v1"
+CATEGORICAL_FEATURES = ["weekday", "payment_method"]
+NUMERIC_FEATURES = ["noshow_count", "reservation_count", "hour", "party_size"]
+
+
+PARITY_ESTIMATORS = 3
+PARITY_MAX_DEPTH = 4
+PARITY_ROWS = 40
+
+
+def build_pipeline(n_estimators: int = 300, max_depth: int | None = None) -> Pipeline:
+    categorical_features = CATEGORICAL_FEATURES
+    numeric_features = NUMERIC_FEATURES
 
     preprocessor = ColumnTransformer(
         transformers=[
@@ -45,7 +66,8 @@ def build_pipeline() -> Pipeline:
     )
 
     model = RandomForestClassifier(
-        n_estimators=300,
+        n_estimators=n_estimators,
+        max_depth=max_depth,
         random_state=42,
         class_weight="balanced_subsample",
     )
@@ -58,6 +80,125 @@ def build_pipeline() -> Pipeline:
     )
 
 
+def portable_model(pipeline: Pipeline) -> dict:
+    """Flatten the fitted forest and its one-hot encoding into arrays.
+
+    Inner nodes keep (feature, threshold, left, right) with absolute child
+    indices; leaves have feature -1 and `left` pointing at their row in
+    `leaf_proba` (n_classes normalized probabilities per leaf), exactly what
+    DecisionTreeClassifier.predict_proba returns for that leaf.
+    """
+    preprocess = pipeline.named_steps["preprocess"]
+    forest = pipeline.named_steps["model"]
+    encoder = preprocess.named_transformers_["cat"]
+
+    features: list[int] = []
+    thresholds: list[float] = []
+    lefts: list[int] = []
+    rights: list[int] = []
+    leaf_proba: list[float] = []
+    roots: list[int] = []
+
+    for estimator in forest.estimators_:
+        tree = estimator.tree_
+        offset = len(features)
+        roots.append(offset)
+        for node in range(tree.node_count):
+            left = int(tree.children_left[node])
+            if left == -1:
+                counts = tree.value[node][0]
+                normalizer = counts.sum()
+                proba = counts / (normalizer if normalizer > 0 else 1.0)
+                features.append(-1)
+                thresholds.append(0.0)
+                lefts.append(len(leaf_proba) // len(forest.classes_))
+                rights.append(-1)
+                leaf_proba.extend(float(p) for p in proba)
+            else:
+                features.append(int(tree.feature[node]))
+                thresholds.append(float(tree.threshold[node]))
+                lefts.append(offset + left)
+                rights.append(offset + int(tree.children_right[node]))
+
+    return {
+        "format": PORTABLE_FORMAT,
+        "classes": [str(c) for c in forest.classes_],
+        "categorical": [
+            {"column": column, "categories": [str(c) for c in categories]}
+            for column, categories in zip(CATEGORICAL_FEATURES, encoder.categories_)
+        ],
+        "numeric": NUMERIC_FEATURES,
+        "tree_roots": roots,
+        "feature": features,
+        "threshold": thresholds,
+        "left": lefts,
+        "right": rights,
+        "leaf_proba": leaf_proba,
+    }
+
+
+def export_portable_model(pipeline: Pipeline, output_path: Path) -> dict:
+    portable = portable_model(pipeline)
+    output_path.parent.mkdir(parents=True, exist_ok=True)
+    with output_path.open("w", encoding="utf-8") as fp:
+        json.dump(portable, fp, separators=(",", ":"))
+    return portable
+
+
+def portable_predict_proba(portable: dict, frame: pd.DataFrame) -> np.ndarray:
+    """Reference evaluator mirroring the JVM walk, used to verify the export."""
+    n_classes = len(portable["classes"])
+    leaf_proba = np.asarray(portable["leaf_proba"]).reshape(-1, n_classes)
+    result = np.zeros((len(frame), n_classes))
+
+    for row_idx, row in enumerate(frame.to_dict("records")):
+        x: list[float] = []
+        for spec in portable["categorical"]:
+            x.extend(1.0 if row[spec["column"]] == c else 0.0 for c in spec["categories"])
+        x.extend(float(row[column]) for column in portable["numeric"])
+        x32 = np.asarray(x, dtype=np.float32)
+
+        for root in portable["tree_roots"]:
+            node = root
+            while portable["feature"][node] >= 0:
+                if x32[portable["feature"][node]] <= portable["threshold"][node]:
+                    node = portable["left"][node]
+                else:
+                    node = portable["right"][node]
+            result[row_idx] += leaf_proba[portable["left"][node]]
+
+    return result / len(portable["tree_roots"])
+
+
+def export_parity_fixture(
+    X_train: pd.DataFrame, y_train: pd.Series, X_test: pd.DataFrame, output_path: Path
+) -> None:
+    """Small forest + sklearn predict_proba on sample rows for the JVM parity test.
+
+    An unseen weekday/payment method row checks handle_unknown="ignore".
+    """
+    pipeline = build_pipeline(n_estimators=PARITY_ESTIMATORS, max_depth=PARITY_MAX_DEPTH)
+    pipeline.fit(X_train, y_train)
+
+    unknown = X_test.head(1).assign(weekday="Holiday", payment_method="POINT")
+    rows = pd.concat([X_test.head(PARITY_ROWS), unknown], ignore_index=True)
+    rows = rows[CATEGORICAL_FEATURES + NUMERIC_FEATURES]
+    portable = portable_model(pipeline)
+    expected = pipeline.predict_proba(rows)
+    if not np.array_equal(expected, portable_predict_proba(portable, rows)):
+        raise RuntimeError("Parity fixture does not match the portable evaluator")
+
+    fixture = {
+        "model": portable,
+        "rows": rows.to_dict("records"),
+        "expected_proba": expected.tolist(),
+    }
+    output_path.parent.mkdir(parents=True, exist_ok=True)
+    with output_path.open("w", encoding="utf-8") as fp:
+        json.dump(fixture, fp, indent=1, default=int)
+    print(f"Parity fixture saved to: {output_path.resolve()} ({len(rows)} rows)")
+
+
 def train(args: argparse.Namespace) -> None:
     df = load_dataset(Path(args.data))
     X = df.drop(columns=["risk_level"])
@@ -95,6 +236,19 @@ def train(args: argparse.Namespace) -> None:
     )
     print(f"Model saved to: {output_path.resolve()}")
 
+    portable_path = Path(args.portable_output)
+    portable = export_portable_model(pipeline, portable_path)
+    expected = pipeline.predict_proba(X_test)
+    actual = portable_predict_proba(portable, X_test)
+    if not np.array_equal(expected, actual):
+        raise RuntimeError(
+            f"Portable export mismatch: max diff {np.abs(expected - actual).max()}"
+        )
+    print(f"Portable model saved to: {portable_path.resolve()} (verified on {len(X_test)} rows)")
+
+    if args.parity_fixture:
+        export_parity_fixture(X_train, y_train, X_test, Path(args.parity_fixture))
+
 
 def parse_args() -> argparse.Namespace:
     parser = argparse.ArgumentParser(description="Train reservation risk model.")
@@ -108,6 +262,16 @@ def parse_args() -> argparse.Namespace:
         default="backend/models/reservation_risk_model.pkl",
         help="Where to store the trained model (joblib).",
     )
+    parser.add_argument(
+        "--portable-output",
+        default="backend/models/reservation_risk_model.json",
+        help="Where to store the portable tree export for the JVM evaluator.",
+    )
+    parser.add_argument(
+        "--parity-fixture",
+        default=None,
+        help="Optional path for a small model + expected probabilities used by the JVM parity test.",
+    )
     return parser.parse_args()
 
 
@@ -1,6 +1,13 @@
 package com.olsaram.backend;
 
+import com.olsaram.backend.config.AiServerProperties;
 import com.olsaram.backend.config.ClovaOcrProperties;
+import com.olsaram.backend.config.NoShowAiScoringProperties;
+import com.olsaram.backend.config.ReservationDataImportProperties;
+import com.olsaram.backend.config.ReservationEnrichmentProperties;
+import com.olsaram.backend.config.ReservationNoShowSweepProperties;
+import com.olsaram.backend.config.ReservationOutboxProperties;
+import com.olsaram.backend.config.ReservationReminderProperties;
 import com.olsaram.backend.config.ReservationRiskModelProperties;
 import com.olsaram.backend.config.TossPaymentProperties;
 import org.springframework.boot.SpringApplication;
@@ -8,7 +15,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties({ClovaOcrProperties.class, ReservationRiskModelProperties.class, TossPaymentProperties.class})
+@EnableConfigurationProperties({AiServerProperties.class, ClovaOcrProperties.class, NoShowAiScoringProperties.class, ReservationDataImportProperties.class, ReservationEnrichmentProperties.class, ReservationNoShowSweepProperties.class, ReservationOutboxProperties.class, ReservationReminderProperties.class, ReservationRiskModelProperties.class, TossPaymentProperties.class})
 public class OlsaramBackendApplication {
 
 	public static void main(String[] args) {
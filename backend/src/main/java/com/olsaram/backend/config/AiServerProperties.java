@@ -0,0 +1,59 @@
+package com.olsaram.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "ai.server")
+public class AiServerProperties {
+
+    /**
+     * 단건 노쇼 예측 엔드포인트 (predict-all).
+     */
+    private String url;
+
+    /**
+     * 배치 예측 엔드포인트. 요청 배열을 받아 같은 순서의 응답 배열을 반환한다.
+     * 비어 있으면 배치 없이 단건 호출.
+     */
+    private String batchUrl;
+
+    /**
+     * AI 서버 모델 버전. 예측 캐시 키에 들어가므로 서버 모델을 바꾸면 같이 올려서 이전 결과를 쓰지 않게 한다.
+     */
+    private String modelVersion = "v1";
+
+    /**
+     * AI 서버 연결 타임아웃.
+     */
+    private long connectTimeoutMs = 1_000;
+
+    /**
+     * AI 서버 응답 타임아웃.
+     */
+    private long readTimeoutMs = 3_000;
+
+    private Batch batch = new Batch();
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * 마이크로 배칭 사용 여부 (batch-url 이 설정된 경우에만 동작).
+         */
+        private boolean enabled = true;
+
+        /**
+         * 한 번에 보낼 최대 요청 수. 이만큼 모이면 대기 없이 바로 전송.
+         */
+        private int maxSize = 16;
+
+        /**
+         * 첫 요청이 들어온 뒤 다른 요청을 모으는 최대 시간.
+         */
+        private long maxWaitMs = 5;
+    }
+}
@@ -0,0 +1,66 @@
+package com.olsaram.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "noshow.ai.scoring")
+public class NoShowAiScoringProperties {
+
+    /**
+     * chat completions 엔드포인트 (테스트에서는 로컬 스텁 주소).
+     */
+    private String apiUrl = "https://api.openai.com/v1/chat/completions";
+
+    private String model = "gpt-4o-mini";
+
+    /**
+     * 프롬프트 한 번에 넣을 예약 수.
+     */
+    private int batchSize = 20;
+
+    /**
+     * 동시에 보낼 배치 수.
+     */
+    private int concurrency = 4;
+
+    /**
+     * 분당 최대 요청 수 / 토큰 수 (token bucket, 토큰은 프롬프트 길이로 추정).
+     */
+    private int requestsPerMinute = 300;
+
+    private int tokensPerMinute = 150_000;
+
+    /**
+     * 예약 한 건당 응답 토큰 추정치 (토큰 버킷 계산용).
+     */
+    private int outputTokensPerRow = 80;
+
+    /**
+     * 배치 하나의 최대 시도 횟수 (429/5xx/응답 형식 오류 시 backoff 후 재시도).
+     */
+    private int maxAttempts = 3;
+
+    private long retryBackoffMs = 2_000;
+
+    private long connectTimeoutMs = 3_000;
+
+    private long readTimeoutMs = 60_000;
+
+    /**
+     * 한 번에 읽는 행 수. 페이지를 끝낼 때마다 진행 위치를 체크포인트에 저장한다.
+     */
+    private int pageSize = 400;
+
+    /**
+     * 실행 lease 길이 (페이지마다 연장, 여러 인스턴스 중 한 곳만 실행).
+     */
+    private long leaseMs = 600_000;
+
+    /**
+     * 시작할 때 중단된 작업(체크포인트가 RUNNING)을 이어서 실행할지.
+     */
+    private boolean resumeOnStartup = true;
+}
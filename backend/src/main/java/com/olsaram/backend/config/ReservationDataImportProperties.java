@@ -0,0 +1,48 @@
+package com.olsaram.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "noshow.import")
+public class ReservationDataImportProperties {
+
+    /**
+     * 시작할 때 reservation_data 가 비어 있으면 startup-location 을 불러온다.
+     */
+    private boolean startupEnabled = true;
+
+    private String startupLocation = "classpath:dummy_noshow_data.csv";
+
+    /**
+     * 관리자 API 로 불러올 수 있는 파일 위치 (이 디렉터리 아래 경로만 허용).
+     */
+    private String importDir = "data/import";
+
+    /**
+     * 거부된 행(줄 번호, 사유, 원본)을 기록할 디렉터리.
+     */
+    private String rejectDir = "data/import/rejects";
+
+    /**
+     * 한 작업 단위(파싱 + 트랜잭션 하나)로 묶을 레코드 수.
+     */
+    private int chunkRows = 5_000;
+
+    /**
+     * JDBC batch 한 번에 보낼 행 수.
+     */
+    private int batchSize = 1_000;
+
+    /**
+     * 동시에 파싱/저장할 청크 수 (0 이면 CPU 코어 수).
+     */
+    private int parallelism = 0;
+
+    /**
+     * 진행 상황 로그 주기.
+     */
+    private long progressLogIntervalMs = 5_000;
+}
@@ -0,0 +1,77 @@
+package com.olsaram.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.enrichment")
+public class ReservationEnrichmentProperties {
+
+    /**
+     * 예약 생성 시 고객/가게 조회, AI 서버, ML 모델을 병렬 실행할 때의 전체 제한 시간.
+     */
+    private long deadlineMs = 3_000;
+
+    /**
+     * 고객 피처 조회 제한 시간. 넘거나 실패하면 신규 고객으로 보고 ML/AI 예측을 진행한다 (데드라인보다 짧게).
+     */
+    private long customerTimeoutMs = 1_000;
+
+    /**
+     * AI 노쇼 예측 실행 방식.
+     * INLINE: 예약 응답 전에 AI 서버 호출 (데드라인 안에서)
+     * ASYNC: 예약은 바로 응답하고 DB 큐에 넣어 백그라운드 워커가 AI 컬럼을 채움
+     */
+    private AiMode aiMode = AiMode.INLINE;
+
+    private Queue queue = new Queue();
+
+    public enum AiMode {
+        INLINE,
+        ASYNC
+    }
+
+    @Getter
+    @Setter
+    public static class Queue {
+
+        /**
+         * AI 서버를 동시에 호출하는 워커 수.
+         */
+        private int workers = 4;
+
+        /**
+         * 워커에 넘겼지만 아직 시작하지 못한 작업의 최대 개수.
+         */
+        private int capacity = 64;
+
+        /**
+         * 한 번의 폴링에서 가져올 최대 작업 수.
+         */
+        private int batchSize = 32;
+
+        /**
+         * DB 큐 폴링 간격.
+         */
+        private long pollIntervalMs = 1_000;
+
+        /**
+         * 최대 시도 횟수. 넘으면 DEAD 상태로 남기고 더 이상 재시도하지 않음.
+         */
+        private int maxAttempts = 5;
+
+        /**
+         * 재시도 대기 시간 (시도마다 2배, max-backoff-ms 까지).
+         */
+        private long initialBackoffMs = 2_000;
+
+        private long maxBackoffMs = 300_000;
+
+        /**
+         * 작업 점유 시간. 워커가 이 시간 안에 끝내지 못하면(서버 재시작 등) 다른 워커가 다시 가져간다.
+         */
+        private long leaseMs = 60_000;
+    }
+}
@@ -0,0 +1,33 @@
+package com.olsaram.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.no-show-sweep")
+public class ReservationNoShowSweepProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 예약 시간이 지나고 몇 분 동안 CONFIRMED 로 남아 있으면 노쇼로 처리할지.
+     */
+    private long graceMinutes = 30;
+
+    /**
+     * 한 트랜잭션으로 처리할 예약 수.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * 한 번 실행할 때 처리할 최대 청크 수 (남은 예약은 다음 실행에서 이어서 처리).
+     */
+    private int maxChunksPerRun = 200;
+
+    /**
+     * 실행 lease 길이 (청크마다 연장).
+     */
+    private long leaseMs = 120_000;
+}
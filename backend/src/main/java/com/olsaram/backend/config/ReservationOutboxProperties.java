@@ -0,0 +1,43 @@
+package com.olsaram.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.outbox")
+public class ReservationOutboxProperties {
+
+    /**
+     * 한 번에 읽어 한 트랜잭션으로 전달할 최대 이벤트 수.
+     */
+    private int batchSize = 100;
+
+    /**
+     * 새 이벤트 알림이 없을 때의 outbox 폴링 간격 (같은 인스턴스의 커밋은 바로 깨운다).
+     */
+    private long pollIntervalMs = 500;
+
+    /**
+     * 최대 시도 횟수. 넘으면 DEAD 로 남기고 같은 예약의 다음 이벤트를 진행.
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * 재시도 대기 시간 (시도마다 2배, max-backoff-ms 까지).
+     */
+    private long initialBackoffMs = 1_000;
+
+    private long maxBackoffMs = 300_000;
+
+    /**
+     * 이벤트 점유 시간. 디스패처가 이 시간 안에 끝내지 못하면(서버 재시작 등) 다시 전달된다.
+     */
+    private long leaseMs = 60_000;
+
+    /**
+     * 전달 완료된 이벤트 보관 기간.
+     */
+    private int retentionDays = 7;
+}
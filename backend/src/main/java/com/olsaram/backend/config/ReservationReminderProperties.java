@@ -0,0 +1,55 @@
+package com.olsaram.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "reservation.reminder")
+public class ReservationReminderProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 모든 유효 예약에 보내는 리마인더 시점 (예약 시간 기준 몇 분 전).
+     */
+    private long reminderLeadMinutes = 180;
+
+    /**
+     * 위험도 DANGER 예약에 보내는 재확인 알림 시점 (예약 시간 기준 몇 분 전).
+     */
+    private long reconfirmLeadMinutes = 60;
+
+    /**
+     * lease 획득 시 타이머로 적재할 예약 범위 (지금부터 며칠 뒤까지).
+     */
+    private int horizonDays = 30;
+
+    /**
+     * 타이밍 휠 한 칸의 길이와 칸 수.
+     */
+    private long tickMs = 1_000;
+
+    private int wheelSize = 4_096;
+
+    /**
+     * 한 트랜잭션으로 발송할 최대 알림 수.
+     */
+    private int batchSize = 200;
+
+    /**
+     * 발송 실패 시 다시 시도하기까지의 대기 시간.
+     */
+    private long retryDelayMs = 30_000;
+
+    /**
+     * 타이머 실행 lease 길이 (lease-ms / 3 마다 연장).
+     */
+    private long leaseMs = 30_000;
+
+    /**
+     * 다른 인스턴스에서 생긴 변경을 반영하기 위해 곧 발송할 예약을 DB 에서 다시 적재하는 주기.
+     */
+    private long resyncIntervalMs = 300_000;
+}
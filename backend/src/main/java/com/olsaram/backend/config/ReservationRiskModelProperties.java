@@ -28,4 +28,205 @@ public class ReservationRiskModelProperties {
      * Path to backend/models/reservation_risk_model.pkl.
      */
     private String modelPath = "backend/models/reservation_risk_model.pkl";
+
+    /**
+     * 예측 백엔드. PYTHON: scikit-learn 파이프라인, JAVA: 내보낸 트리를 JVM 에서 직접 평가,
+     * ONLINE: 실제 예약 결과로 계속 학습하는 JVM 모델 (학습량이 부족하면 JAVA → PYTHON 순으로 대체).
+     */
+    private Backend backend = Backend.PYTHON;
+
+    /**
+     * Path to backend/models/reservation_risk_model.json (train 스크립트의 --portable-output).
+     */
+    private String portableModelPath = "backend/models/reservation_risk_model.json";
+
+    /**
+     * 내보낸 모델 파일 변경 확인 주기 (변경 시 다시 로드).
+     */
+    private long reloadCheckIntervalMs = 60_000;
+
+    /**
+     * 상주 Python 워커 풀 설정 (예약마다 프로세스를 띄우지 않도록)
+     */
+    private Pool pool = new Pool();
+
+    /**
+     * 사전 계산 룩업 테이블 설정 (backend=JAVA 일 때 사용)
+     */
+    private LookupTable lookupTable = new LookupTable();
+
+    /**
+     * 온라인 학습 모델 설정 (backend 와 상관없이 결과를 학습해 두므로 언제든 ONLINE 으로 전환 가능)
+     */
+    private Online online = new Online();
+
+    /**
+     * 룰 기반 위험도 설정 (JSON 룰 파일, 바뀌면 재시작 없이 다시 컴파일)
+     */
+    private Rules rules = new Rules();
+
+    /**
+     * 과거 예약으로 위험도 계산 방식들을 비교하는 백테스트 설정
+     */
+    private Backtest backtest = new Backtest();
+
+    public enum Backend {
+        PYTHON,
+        JAVA,
+        ONLINE
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        /**
+         * 워커 풀 사용 여부. false 면 예약마다 predict 스크립트를 실행한다.
+         */
+        private boolean enabled = true;
+
+        /**
+         * 상주 워커 프로세스 수.
+         */
+        private int size = 2;
+
+        /**
+         * Path to backend/scripts/risk_model_worker.py.
+         */
+        private String workerScriptPath = "backend/scripts/risk_model_worker.py";
+
+        /**
+         * 워커 시작(모델 로드) 대기 시간.
+         */
+        private long startupTimeoutMs = 30_000;
+
+        /**
+         * 유휴 워커를 빌리기까지 기다리는 최대 시간.
+         */
+        private long acquireTimeoutMs = 2_000;
+
+        /**
+         * 요청 1건당 응답 대기 시간. 초과 시 워커를 재시작한다.
+         */
+        private long requestTimeoutMs = 2_000;
+
+        /**
+         * 유휴 워커 헬스체크 주기.
+         */
+        private long healthCheckIntervalMs = 30_000;
+    }
+
+    @Getter
+    @Setter
+    public static class LookupTable {
+
+        /**
+         * 룩업 테이블 사용 여부. 범위 밖 입력은 실시간 모델로 대체한다.
+         */
+        private boolean enabled = true;
+
+        /**
+         * 테이블 저장 위치 (모델 파일 해시로 버전 관리, 모델이 바뀌면 다시 생성).
+         */
+        private String path = "backend/models/reservation_risk_table.bin";
+
+        /**
+         * 테이블에 포함할 최대 노쇼 횟수.
+         */
+        private int noshowCap = 12;
+
+        /**
+         * 테이블에 포함할 최대 예약 횟수.
+         */
+        private int reservationCap = 50;
+
+        /**
+         * 테이블에 포함할 최대 예약 인원 (1명부터).
+         */
+        private int partySizeCap = 12;
+    }
+
+    @Getter
+    @Setter
+    public static class Online {
+
+        /**
+         * 방문 완료/노쇼 결과로 학습할지 여부.
+         */
+        private boolean learningEnabled = true;
+
+        /**
+         * 가중치 체크포인트 파일 (재시작 시 이어서 학습).
+         */
+        private String checkpointPath = "backend/models/reservation_risk_online.bin";
+
+        /**
+         * 체크포인트 저장 주기 (학습한 결과가 있을 때만 저장).
+         */
+        private long checkpointIntervalMs = 60_000;
+
+        /**
+         * 해시 피처 공간 크기 (2^hash-bits 칸).
+         */
+        private int hashBits = 18;
+
+        /**
+         * AdaGrad 기본 학습률과 L2 정규화 강도.
+         */
+        private double learningRate = 0.1;
+
+        private double l2 = 1e-6;
+
+        /**
+         * 이 수만큼 결과를 학습하기 전에는 예측에 쓰지 않는다.
+         */
+        private long minSamples = 500;
+
+        /**
+         * 노쇼 확률 → 위험도 레벨 경계 (이상이면 high / medium, 나머지는 low).
+         */
+        private double highThreshold = 0.5;
+
+        private double mediumThreshold = 0.25;
+    }
+
+    @Getter
+    @Setter
+    public static class Rules {
+
+        /**
+         * 룰 파일 경로. 없으면 내장 기본 룰(classpath:risk/reservation-risk-rules.json)을 사용.
+         */
+        private String path = "backend/models/reservation_risk_rules.json";
+    }
+
+    @Getter
+    @Setter
+    public static class Backtest {
+
+        /**
+         * 한 번에 읽는 예약 수 (메모리 사용량 = 청크 + 고객 한 명의 이력).
+         */
+        private int chunkSize = 5000;
+
+        /**
+         * 채점 fork-join 병렬도 (0 이면 CPU 코어 수).
+         */
+        private int parallelism = 0;
+
+        /**
+         * 이 수 이하로 나뉘면 더 쪼개지 않고 한 스레드에서 채점.
+         */
+        private int forkThreshold = 256;
+
+        /**
+         * AUC 계산용 점수 구간 수 (정렬 대신 히스토그램으로 계산, 오차는 구간 폭 이내).
+         */
+        private int aucBins = 1000;
+
+        /**
+         * 보정(calibration) 표 구간 수.
+         */
+        private int calibrationBins = 10;
+    }
 }
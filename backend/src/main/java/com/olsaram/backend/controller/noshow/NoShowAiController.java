@@ -1,6 +1,7 @@
 package com.olsaram.backend.controller.noshow;
 
 import com.olsaram.backend.dto.FraudDetection.FraudDetectionResponseDto;
+import com.olsaram.backend.dto.noshow.NoShowAiScoringStatus;
 import com.olsaram.backend.entity.noshow.ReservationData;
 import com.olsaram.backend.service.noshow.NoShowAiService;
 
@@ -34,9 +35,15 @@ public class NoShowAiController {
     // 2. AI 예측 실행 (DB 업데이트)
     // ============================
     @PostMapping("/predict")
-    public ResponseEntity<String> runPrediction() {
-        String result = service.predictAndSave();
-        return ResponseEntity.ok(result);
+    public ResponseEntity<String> runPrediction(@RequestParam(defaultValue = "false") boolean restart) {
+        String result = service.predictAndSave(restart);
+        return ResponseEntity.accepted().body(result);
+    }
+
+    // 예측 작업 진행 상황 / 처리량
+    @GetMapping("/predict/status")
+    public ResponseEntity<NoShowAiScoringStatus> getPredictionStatus() {
+        return ResponseEntity.ok(service.getPredictionStatus());
     }
 
     // ============================
@@ -1,15 +1,19 @@
 package com.olsaram.backend.controller.noshow;
 
+import com.olsaram.backend.dto.noshow.NoShowHeatmapResponse;
 import com.olsaram.backend.dto.noshow.NoShowRateResponse;
+import com.olsaram.backend.service.noshow.NoShowRatePeriod;
 import com.olsaram.backend.service.noshow.NoShowRateService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
  * 노쇼율 계산 API 컨트롤러
- * MVP 버전: 실제 DB 기반 노쇼율 제공
+ * 가게별 일/월 상태 집계 기반 노쇼율 제공 (기간: period 또는 from/to, 예약 날짜 기준)
  */
 @RestController
 @RequestMapping("/api")
@@ -20,19 +24,45 @@ public class NoShowRateController {
 
     /**
      * 가게별 노쇼율 조회
-     * GET /api/businesses/{businessId}/noshow-rate
+     * GET /api/businesses/{businessId}/noshow-rate?period=LAST_30_DAYS
+     * GET /api/businesses/{businessId}/noshow-rate?from=2025-01-01&to=2025-02-01 (to 제외)
      */
     @GetMapping("/businesses/{businessId}/noshow-rate")
-    public NoShowRateResponse getNoShowRate(@PathVariable Long businessId) {
-        return noShowRateService.calculateNoShowRate(businessId);
+    public NoShowRateResponse getNoShowRate(
+            @PathVariable Long businessId,
+            @RequestParam(defaultValue = "ALL") NoShowRatePeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate today = LocalDate.now();
+        return noShowRateService.calculateNoShowRate(businessId,
+                from != null ? from : period.from(today),
+                to != null ? to : period.to(today));
     }
 
     /**
      * 사장님의 모든 가게 노쇼율 조회
-     * GET /api/owners/{ownerId}/noshow-rate
+     * GET /api/owners/{ownerId}/noshow-rate?period=THIS_WEEK
      */
     @GetMapping("/owners/{ownerId}/noshow-rate")
-    public List<NoShowRateResponse> getNoShowRatesByOwner(@PathVariable Long ownerId) {
-        return noShowRateService.calculateNoShowRatesByOwnerId(ownerId);
+    public List<NoShowRateResponse> getNoShowRatesByOwner(
+            @PathVariable Long ownerId,
+            @RequestParam(defaultValue = "ALL") NoShowRatePeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate today = LocalDate.now();
+        return noShowRateService.calculateNoShowRatesByOwnerId(ownerId,
+                from != null ? from : period.from(today),
+                to != null ? to : period.to(today));
+    }
+
+    /**
+     * 가게 요일 × 시간대 노쇼 히트맵 (시간대별 예약금 설정용)
+     * GET /api/businesses/{businessId}/noshow-heatmap
+     */
+    @GetMapping("/businesses/{businessId}/noshow-heatmap")
+    public NoShowHeatmapResponse getNoShowHeatmap(@PathVariable Long businessId) {
+        return noShowRateService.getNoShowHeatmap(businessId);
     }
 }
@@ -0,0 +1,38 @@
+package com.olsaram.backend.controller.noshow;
+
+import com.olsaram.backend.dto.noshow.ReservationDataImportStatus;
+import com.olsaram.backend.service.noshow.ReservationDataImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * reservation_data CSV 대량 불러오기 관리자 API
+ * 서버의 noshow.import.import-dir 아래 CSV 를 백그라운드로 불러오고 진행 상황을 조회
+ */
+@RestController
+@RequestMapping("/api/admin/reservation-data")
+@RequiredArgsConstructor
+public class ReservationDataImportController {
+
+    private final ReservationDataImportService importService;
+
+    /**
+     * 불러오기 시작 (이미 실행 중이면 409)
+     * POST /api/admin/reservation-data/imports?path=exports/2025-11.csv
+     */
+    @PostMapping("/imports")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ReservationDataImportStatus startImport(@RequestParam String path) {
+        return importService.start(path);
+    }
+
+    /**
+     * 가장 최근 불러오기 진행 상황/결과
+     * GET /api/admin/reservation-data/imports/latest
+     */
+    @GetMapping("/imports/latest")
+    public ReservationDataImportStatus getLatestImport() {
+        return importService.getLatest();
+    }
+}
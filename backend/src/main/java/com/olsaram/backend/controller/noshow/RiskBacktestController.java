@@ -0,0 +1,44 @@
+package com.olsaram.backend.controller.noshow;
+
+import com.olsaram.backend.dto.noshow.RiskBacktestReport;
+import com.olsaram.backend.service.risk.RiskBacktestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 위험도 계산 방식 백테스트 API 컨트롤러
+ * 과거 예약 결과(방문 완료/노쇼)로 룰/ML/AI 위험도의 AUC, 보정, 예약금 영향을 비교
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class RiskBacktestController {
+
+    private final RiskBacktestService riskBacktestService;
+
+    /**
+     * 백테스트 시작 (예약 시간 범위 선택, 이미 실행 중이면 409)
+     * POST /api/risk/backtests?from=2025-01-01T00:00:00&to=2025-07-01T00:00:00
+     */
+    @PostMapping("/risk/backtests")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public RiskBacktestReport startBacktest(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return riskBacktestService.start(from, to);
+    }
+
+    /**
+     * 가장 최근 백테스트 진행 상황/결과
+     * GET /api/risk/backtests/latest
+     */
+    @GetMapping("/risk/backtests/latest")
+    public RiskBacktestReport getLatestBacktest() {
+        return riskBacktestService.getLatest();
+    }
+}
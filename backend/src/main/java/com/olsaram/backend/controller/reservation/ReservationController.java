@@ -3,19 +3,30 @@ package com.olsaram.backend.controller.reservation;
 import com.olsaram.backend.domain.business.Business;
 import com.olsaram.backend.domain.reservation.Payment;
 import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
 import com.olsaram.backend.domain.reservation.Reward;
+import com.olsaram.backend.dto.reservation.OwnerReservationFilter;
 import com.olsaram.backend.dto.reservation.OwnerReservationResponse;
+import com.olsaram.backend.dto.reservation.OwnerReservationSummaryResponse;
 import com.olsaram.backend.dto.reservation.ReservationFullPayRequest;
 import com.olsaram.backend.dto.reservation.ReservationPaymentResult;
 import com.olsaram.backend.dto.reservation.ReservationStatusUpdateRequest;
 import com.olsaram.backend.dto.reservation.ReservationWithRiskResponse;
+import com.olsaram.backend.dto.reservation.SlotCapacityResponse;
 import com.olsaram.backend.repository.BusinessRepository;
+import com.olsaram.backend.service.reservation.OwnerReservationStreamService;
 import com.olsaram.backend.service.reservation.PaymentService;
+import com.olsaram.backend.service.reservation.ReservationIdempotencyService;
 import com.olsaram.backend.service.reservation.ReservationService;
 import com.olsaram.backend.service.reservation.RewardService;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -30,6 +41,8 @@ public class ReservationController {
     private final ReservationService reservationService;
     private final PaymentService paymentService;
     private final RewardService rewardService;
+    private final ReservationIdempotencyService idempotencyService;
+    private final OwnerReservationStreamService reservationStreamService;
 
     private final BusinessRepository businessRepository;
 
@@ -113,15 +126,79 @@ public class ReservationController {
     }
 
     // 🧑‍🍳 사장님 예약 조회
+    // (선택) status, from~to 범위, 키셋 페이지: cursorTime/cursorId = 이전 페이지 마지막 예약의 reservationTime/id
     @GetMapping("/owners/{ownerId}/reservations")
-    public List<OwnerReservationResponse> getReservationsByOwnerId(@PathVariable Long ownerId) {
-        return reservationService.getReservationsByOwnerId(ownerId);
+    public List<OwnerReservationResponse> getReservationsByOwnerId(
+            @PathVariable Long ownerId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorTime,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false) Integer size) {
+        return reservationService.getReservationsByOwnerId(
+                ownerId, toOwnerFilter(status, from, to, cursorTime, cursorId, size));
     }
 
     // ⭐ 사장님 예약 조회 (노쇼 위험도 포함)
     @GetMapping("/owners/{ownerId}/reservations/with-risk")
-    public List<ReservationWithRiskResponse> getReservationsWithRisk(@PathVariable Long ownerId) {
-        return reservationService.getReservationsWithRisk(ownerId);
+    public List<ReservationWithRiskResponse> getReservationsWithRisk(
+            @PathVariable Long ownerId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorTime,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false) Integer size) {
+        return reservationService.getReservationsWithRisk(
+                ownerId, toOwnerFilter(status, from, to, cursorTime, cursorId, size));
+    }
+
+    // 🪑 시간대별 예약 가능 인원 (from 이 속한 슬롯부터 to 전까지, to 없으면 한 슬롯)
+    @GetMapping("/businesses/{businessId}/capacity")
+    public List<SlotCapacityResponse> getSlotCapacity(
+            @PathVariable Long businessId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return reservationService.getSlotCapacity(businessId, from, to);
+    }
+
+    // 📊 사장님 대시보드 예약 집계
+    @GetMapping("/owners/{ownerId}/reservations/summary")
+    public OwnerReservationSummaryResponse getReservationSummary(@PathVariable Long ownerId) {
+        return reservationService.getReservationSummary(ownerId);
+    }
+
+    // 📡 사장님 예약 변경 실시간 스트림 (생성/상태 변경/AI 분석 완료)
+    @GetMapping(value = "/owners/{ownerId}/reservations/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOwnerReservations(@PathVariable Long ownerId) {
+        return reservationStreamService.subscribe(ownerId);
+    }
+
+    private OwnerReservationFilter toOwnerFilter(
+            String status,
+            LocalDateTime from,
+            LocalDateTime to,
+            LocalDateTime cursorTime,
+            Long cursorId,
+            Integer size) {
+        ReservationStatus reservationStatus = null;
+        if (StringUtils.hasText(status)) {
+            try {
+                reservationStatus = ReservationStatus.valueOf(status.toUpperCase().trim());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid reservation status: " + status, e);
+            }
+        }
+
+        return OwnerReservationFilter.builder()
+                .status(reservationStatus)
+                .from(from)
+                .to(to)
+                .cursorTime(cursorTime)
+                .cursorId(cursorId)
+                .size(size)
+                .build();
     }
 
     // 💳 결제 (Payment)
@@ -203,9 +280,16 @@ public class ReservationController {
     // ⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐⭐ 
 
     @PostMapping("/reservations/full-pay")
-    public ReservationPaymentResult createWithPayment(@RequestBody ReservationFullPayRequest req) {
+    public ReservationPaymentResult createWithPayment(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody ReservationFullPayRequest req
+    ) {
         try {
-            return reservationService.createWithPayment(req);
+            // 같은 Idempotency-Key 재시도는 첫 요청 결과를 그대로 반환 (예약/결제/AI 호출 중복 방지)
+            return idempotencyService.execute(idempotencyKey, req, claim -> reservationService.createWithPayment(req, claim));
+        } catch (ResponseStatusException e) {
+            // 시간대 마감(409) 등 상태 코드가 정해진 실패는 그대로 전달
+            throw e;
         } catch (RuntimeException e) {
             // ML 모델 실패 등 예외를 더 명확하게 전달
             System.err.println("=== 예약 생성 실패 ===");
@@ -95,6 +95,10 @@ public class Business {
     @Builder.Default
     private BigDecimal reservationFeeAmount = ZERO;
 
+    // 시간대(슬롯)당 받을 수 있는 최대 예약 인원 (null 이면 reservation.capacity.default-seats-per-slot)
+    @Column(name = "slot_capacity")
+    private Integer slotCapacity;
+
     @Column(name = "created_at", updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
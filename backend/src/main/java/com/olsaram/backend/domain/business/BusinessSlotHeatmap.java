@@ -0,0 +1,76 @@
+package com.olsaram.backend.domain.business;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 가게별 요일 × 시간대 예약/방문/노쇼 집계 (business_slot_heatmap)
+ *
+ * 7 × 24 int 배열을 행 우선 순서의 4바이트 정수로 묶어 저장한다 (컬럼당 672바이트).
+ * 메모리 사본(BusinessSlotHeatmapStore)에 쌓인 증가분을 주기적으로 더해 쓰며, 인스턴스 간 동시 반영은 @Version 으로 막는다.
+ */
+@Entity
+@Table(name = "business_slot_heatmap")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BusinessSlotHeatmap implements Persistable<Long> {
+
+    public static final int MATRIX_BYTES = 7 * 24 * Integer.BYTES;
+
+    @Id
+    @Column(name = "business_id")
+    private Long businessId;
+
+    // 예약 수 (상태 무관) / 방문 완료 수 / 노쇼 수
+    @Column(name = "bookings", nullable = false, length = MATRIX_BYTES)
+    private byte[] bookings;
+
+    @Column(name = "completed", nullable = false, length = MATRIX_BYTES)
+    private byte[] completed;
+
+    @Column(name = "no_shows", nullable = false, length = MATRIX_BYTES)
+    private byte[] noShows;
+
+    // 과거 이력으로 처음 채운 시각
+    @Column(name = "bootstrapped_at", nullable = false)
+    private LocalDateTime bootstrappedAt;
+
+    // 초기 적재 워터마크: 그 시점 outbox 최대 id / 예약 최대 id (이하의 이벤트는 이미 반영돼 있음)
+    @Column(name = "bootstrap_event_id")
+    private Long bootstrapEventId;
+
+    @Column(name = "bootstrap_reservation_id")
+    private Long bootstrapReservationId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    @Transient
+    @Builder.Default
+    private boolean newRecord = true;
+
+    @Override
+    public Long getId() {
+        return businessId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        this.newRecord = false;
+    }
+}
@@ -0,0 +1,100 @@
+package com.olsaram.backend.domain.customer;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 고객 위험도 피처 (customer_features, 예약 이벤트로 증분 갱신)
+ *
+ * 위험도 계산에 쓰는 고객 단위 값만 모아 둔 원본. 메모리 캐시(CustomerFeatureStore)는 이 행의 사본이다.
+ * 고객 ID 를 직접 지정하므로 Persistable 로 항상 INSERT 하게 해서 동시 생성 시 merge 로 덮어쓰지 않도록 한다.
+ */
+@Entity
+@Table(name = "customer_features")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerFeatures implements Persistable<Long> {
+
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "customer_created_at")
+    private LocalDateTime customerCreatedAt;
+
+    // 예약 생성 / 방문 완료 / 노쇼 / 취소(노쇼 제외) / 예약 시간 직전 취소 횟수
+    @Column(name = "booking_count", nullable = false)
+    private int bookingCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private int completedCount;
+
+    @Column(name = "no_show_count", nullable = false)
+    private int noShowCount;
+
+    @Column(name = "cancel_count", nullable = false)
+    private int cancelCount;
+
+    @Column(name = "last_minute_cancel_count", nullable = false)
+    private int lastMinuteCancelCount;
+
+    // 예약 리드타임(예약한 시점 ~ 예약 시간) 합계와 표본 수 → 평균
+    @Column(name = "lead_time_minutes_total", nullable = false)
+    private long leadTimeMinutesTotal;
+
+    @Column(name = "lead_time_samples", nullable = false)
+    private int leadTimeSamples;
+
+    // 최근 노쇼율: 방문/노쇼 결과를 반감기로 감쇠시킨 가중치 (recentDecayedAt 기준)
+    @Column(name = "recent_no_show_weight", nullable = false)
+    private double recentNoShowWeight;
+
+    @Column(name = "recent_outcome_weight", nullable = false)
+    private double recentOutcomeWeight;
+
+    @Column(name = "recent_decayed_at")
+    private LocalDateTime recentDecayedAt;
+
+    // 과거 이력으로 처음 채운 시각
+    @Column(name = "bootstrapped_at", nullable = false)
+    private LocalDateTime bootstrappedAt;
+
+    // 초기 적재 워터마크: 그 시점 outbox 최대 id / 읽은 예약 중 최대 id (이하의 이벤트·예약 생성은 이미 반영돼 있음)
+    @Column(name = "bootstrap_event_id")
+    private Long bootstrapEventId;
+
+    @Column(name = "bootstrap_reservation_id")
+    private Long bootstrapReservationId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    @Transient
+    @Builder.Default
+    private boolean newRecord = true;
+
+    @Override
+    public Long getId() {
+        return customerId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        this.newRecord = false;
+    }
+}
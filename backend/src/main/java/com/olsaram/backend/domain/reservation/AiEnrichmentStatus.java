@@ -0,0 +1,10 @@
+package com.olsaram.backend.domain.reservation;
+
+/**
+ * 예약의 AI 노쇼 예측 컬럼 상태
+ */
+public enum AiEnrichmentStatus {
+    PENDING,    // 백그라운드 AI 분석 대기 중
+    DONE,       // AI 컬럼 채워짐
+    FAILED      // 재시도 후에도 실패 (AI 컬럼 없음)
+}
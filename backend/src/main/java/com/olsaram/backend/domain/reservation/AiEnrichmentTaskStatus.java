@@ -0,0 +1,8 @@
+package com.olsaram.backend.domain.reservation;
+
+public enum AiEnrichmentTaskStatus {
+    PENDING,        // 실행 대기 (next_attempt_at 이후 실행)
+    IN_PROGRESS,    // 워커가 점유 중 (locked_until 까지)
+    DONE,
+    DEAD            // 최대 시도 횟수 초과
+}
@@ -0,0 +1,77 @@
+package com.olsaram.backend.domain.reservation;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key → 처리 결과 (재시도 요청에 같은 결과를 돌려주기 위해 보관)
+ *
+ * 키를 직접 지정하므로 Persistable 로 항상 INSERT 하게 해서,
+ * 다른 인스턴스가 먼저 같은 키를 넣었으면 merge 대신 중복 키 예외가 나도록 한다.
+ */
+@Entity
+@Table(
+        name = "idempotency_record",
+        indexes = @Index(name = "idx_idempotency_record_expires", columnList = "expires_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    // 같은 키로 다른 요청을 보냈는지 확인하기 위한 요청 본문 해시 (SHA-256)
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(nullable = false)
+    private Boolean completed;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    // 처리 중인 인스턴스 (SchedulerLeaseService owner id). 이 인스턴스만 결과를 기록하거나 키를 지울 수 있다
+    @Column(name = "owner_id", length = 200)
+    private String ownerId;
+
+    // 처리 중인 인스턴스가 주기적으로 갱신. 끊긴 지 heartbeat-timeout-ms 가 지나야 버려진 키로 보고 인수한다
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    // 이 키로 만든 예약 (예약 INSERT 와 같은 트랜잭션에서 기록 → 인수한 쪽이 완료되지 못한 예약을 지운다)
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Transient
+    @Builder.Default
+    private boolean newRecord = true;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    void markLoaded() {
+        this.newRecord = false;
+    }
+}
@@ -1,11 +1,18 @@
 package com.olsaram.backend.domain.reservation;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_reservation_business_time", columnList = "business_id, reservation_time"),
+        @Index(name = "idx_reservation_member_time", columnList = "member_id, reservation_time"),
+        @Index(name = "idx_reservation_member_id", columnList = "member_id, id"),
+        @Index(name = "idx_reservation_status_time", columnList = "status, reservation_time")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -53,6 +60,11 @@ public class Reservation {
     @Column(name = "ai_detection_reason", length = 1000)
     private String aiDetectionReason;
 
+    // AI 컬럼 상태 (비동기 모드에서 PENDING → DONE/FAILED)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ai_enrichment_status", length = 20)
+    private AiEnrichmentStatus aiEnrichmentStatus;
+
     // 예약 시점 위험도/요금 스냅샷 (이후 고객 위험도 변경에 영향받지 않도록 고정)
     private Integer riskScoreSnapshot;          // 0~100 점수 (100 안전)
     private Double riskPercentSnapshot;         // 0~100 퍼센트 (높을수록 위험)
@@ -71,6 +83,44 @@ public class Reservation {
     @Column(name = "ml_model_used")
     private Boolean mlModelUsed;                 // ML 모델 사용 여부
 
+    @Column(name = "risk_features", length = 100)
+    private String riskFeatures;                 // 예측 당시 모델 입력 피처 (온라인 모델 학습용)
+
+    // 예약 리마인더/재확인 알림 발송 시각 (ReservationReminderScheduler, 중복 발송 방지)
+    @Column(name = "reminder_sent_at")
+    private LocalDateTime reminderSentAt;
+
+    @Column(name = "reconfirm_sent_at")
+    private LocalDateTime reconfirmSentAt;
+
+    // 자동 노쇼 처리 시각 (ReservationNoShowSweeper, 사장님이 직접 처리한 노쇼는 null)
+    @Column(name = "auto_no_show_at")
+    private LocalDateTime autoNoShowAt;
+
+    // 노쇼 처리 시각 (수동/자동 모두, 다른 상태로 바뀌면 null) - 같은 CANCELED 중 노쇼와 일반 취소를 구분
+    @Column(name = "no_show_at")
+    private LocalDateTime noShowAt;
+
+    /**
+     * 노쇼로 끝난 예약인지 (no_show_at 도입 전 예약은 자동 노쇼 시각이 있고 일반 취소 시각이 없으면 노쇼로 본다)
+     */
+    @JsonIgnore
+    public boolean isMarkedNoShow() {
+        return isMarkedNoShow(status, noShowAt, autoNoShowAt, canceledAt);
+    }
+
+    /**
+     * 조회 결과 컬럼만으로 노쇼 여부 판단 (isMarkedNoShow 와 같은 규칙)
+     */
+    public static boolean isMarkedNoShow(
+            ReservationStatus status, LocalDateTime noShowAt, LocalDateTime autoNoShowAt, LocalDateTime canceledAt) {
+        if (status == ReservationStatus.NO_SHOW) {
+            return true;
+        }
+        return status == ReservationStatus.CANCELED
+                && (noShowAt != null || (autoNoShowAt != null && canceledAt == null));
+    }
+
     @PrePersist
     public void prePersist() {
         this.createdAt = LocalDateTime.now();
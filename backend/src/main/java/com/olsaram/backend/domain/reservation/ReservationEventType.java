@@ -0,0 +1,8 @@
+package com.olsaram.backend.domain.reservation;
+
+public enum ReservationEventType {
+    CREATED,
+    STATUS_CHANGED,     // 예약 상태/결제 상태/시간 등 변경
+    PAYMENT_CONFIRMED,  // 토스 결제 승인
+    DELETED
+}
@@ -0,0 +1,8 @@
+package com.olsaram.backend.domain.reservation;
+
+public enum ReservationOutboxStatus {
+    PENDING,        // 전달 대기 (next_attempt_at 이후 전달)
+    IN_PROGRESS,    // 디스패처가 점유 중 (locked_until 까지)
+    DONE,
+    DEAD            // 최대 시도 횟수 초과 (같은 예약의 다음 이벤트를 더 이상 막지 않음)
+}
@@ -0,0 +1,6 @@
+package com.olsaram.backend.domain.reservation;
+
+public enum ReservationRollupPeriod {
+    DAY,            // 하루 (bucket_start = 그 날짜)
+    MONTH           // 한 달 (bucket_start = 그 달 1일)
+}
@@ -0,0 +1,56 @@
+package com.olsaram.backend.domain.reservation;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 가게별 상태 집계 초기 적재 시각과 워터마크 (reservation_rollup_state)
+ *
+ * 이 행이 있는 가게만 이벤트로 증분 갱신하고, 워터마크(그때의 outbox 최대 id / 예약 최대 id) 이하의 이벤트는
+ * 초기 적재에 이미 포함된 것으로 본다.
+ * 가게 ID 를 직접 지정하므로 Persistable 로 항상 INSERT 하게 해서 동시 적재가 한 번만 성공하도록 한다.
+ */
+@Entity
+@Table(name = "reservation_rollup_state")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationRollupState implements Persistable<Long> {
+
+    @Id
+    @Column(name = "business_id")
+    private Long businessId;
+
+    @Column(name = "bootstrapped_at", nullable = false)
+    private LocalDateTime bootstrappedAt;
+
+    @Column(name = "bootstrap_event_id")
+    private Long bootstrapEventId;
+
+    @Column(name = "bootstrap_reservation_id")
+    private Long bootstrapReservationId;
+
+    @Transient
+    @Builder.Default
+    private boolean newRecord = true;
+
+    @Override
+    public Long getId() {
+        return businessId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    void markLoaded() {
+        this.newRecord = false;
+    }
+}
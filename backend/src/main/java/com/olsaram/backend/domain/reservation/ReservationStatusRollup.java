@@ -0,0 +1,56 @@
+package com.olsaram.backend.domain.reservation;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 가게별 예약 상태 집계 (reservation_status_rollup, 예약 이벤트로 증분 갱신)
+ *
+ * 예약 시간의 날짜 기준으로 하루/한 달 단위 행을 함께 유지한다.
+ * 기간 노쇼율은 기간 안의 온전한 달은 월 행, 양 끝 남는 날은 일 행으로 합산한다.
+ */
+@Entity
+@Table(name = "reservation_status_rollup",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_reservation_status_rollup",
+                columnNames = {"business_id", "period", "bucket_start"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationStatusRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "business_id", nullable = false)
+    private Long businessId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period", nullable = false, length = 10)
+    private ReservationRollupPeriod period;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    // 대기(PENDING/CONFIRMED) / 방문 완료 / 노쇼 / 취소(노쇼 제외) 예약 수
+    @Column(name = "pending_count", nullable = false)
+    private long pendingCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "no_show_count", nullable = false)
+    private long noShowCount;
+
+    @Column(name = "canceled_count", nullable = false)
+    private long canceledCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,52 @@
+package com.olsaram.backend.domain.reservation;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 여러 인스턴스 중 한 곳만 실행해야 하는 스케줄러의 DB 임대(lease)
+ *
+ * 이름을 직접 지정하므로 Persistable 로 항상 INSERT 하게 해서,
+ * 다른 인스턴스가 먼저 만든 lease 를 merge 로 덮어쓰지 않도록 한다.
+ */
+@Entity
+@Table(name = "scheduler_lease")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLease implements Persistable<String> {
+
+    @Id
+    @Column(name = "lease_name", length = 100)
+    private String leaseName;
+
+    @Column(name = "owner_id", nullable = false, length = 200)
+    private String ownerId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Transient
+    @Builder.Default
+    private boolean newRecord = true;
+
+    @Override
+    public String getId() {
+        return leaseName;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    void markLoaded() {
+        this.newRecord = false;
+    }
+}
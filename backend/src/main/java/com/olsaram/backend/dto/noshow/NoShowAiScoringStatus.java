@@ -0,0 +1,38 @@
+package com.olsaram.backend.dto.noshow;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 노쇼 일괄 예측 작업 진행 상황 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoShowAiScoringStatus {
+
+    private String state;                 // IDLE, RUNNING, STOPPED(lease 상실 - 다른 인스턴스가 이어서 실행), COMPLETED, FAILED
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+    private String cursor;                // 마지막으로 체크포인트한 RESERVATION_ID
+    private String error;
+
+    private Long totalRows;               // 작업 시작 시점 전체 행 수
+    private Long processedRows;           // 확인한 행 수 (예측 + 캐시 + 건너뜀 + 실패)
+    private Long scoredRows;              // 새로 예측해 저장한 행 수
+    private Long cachedRows;              // 같은 피처 조합의 캐시 결과로 저장한 행 수 (API 호출 없음)
+    private Long skippedRows;             // 피처 해시가 같아 건너뛴 행 수
+    private Long failedRows;              // 재시도 후에도 결과를 받지 못한 행 수 (다음 실행에서 다시 예측)
+    private Long apiCalls;
+    private Double progressPercent;
+
+    // 이번 프로세스에서 실행한 구간 기준 처리량
+    private Double rowsPerSecond;
+    private Double scoredRowsPerSecond;
+}
@@ -0,0 +1,28 @@
+package com.olsaram.backend.dto.noshow;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 가게 요일 × 시간대 노쇼 히트맵 응답 DTO (행: 월~일, 열: 0~23시)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoShowHeatmapResponse {
+
+    private Long businessId;              // 가게 ID
+    private String businessName;          // 가게 이름
+    private List<String> days;            // 행 순서 (MON ~ SUN)
+    private int minOutcomes;              // 노쇼율을 계산하는 최소 결과(방문 완료 + 노쇼) 수
+
+    private int[][] bookings;             // 예약 수 (상태 무관)
+    private int[][] completedCounts;      // 방문 완료 수
+    private int[][] noShowCounts;         // 노쇼 수
+    private Double[][] noShowRates;       // 노쇼 / (방문 완료 + 노쇼), 결과가 minOutcomes 건 미만이면 null
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+
 /**
  * 가게별 노쇼율 응답 DTO
  */
@@ -16,6 +18,8 @@ public class NoShowRateResponse {
 
     private Long businessId;              // 가게 ID
     private String businessName;          // 가게 이름
+    private LocalDate from;               // 조회 기간 시작 (포함, null 이면 처음부터)
+    private LocalDate to;                 // 조회 기간 끝 (제외, null 이면 끝까지)
     private Long totalReservations;       // 전체 예약 수
     private Long noShowCount;             // 노쇼 횟수
     private Double noShowRate;            // 노쇼율 (0.0 ~ 1.0)
@@ -0,0 +1,34 @@
+package com.olsaram.backend.dto.noshow;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * reservation_data CSV 불러오기 진행 상황 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationDataImportStatus {
+
+    private String state;                 // RUNNING, COMPLETED, FAILED
+    private String source;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    private Long totalBytes;              // 파일 크기 (알 수 없으면 null)
+    private Long bytesRead;
+    private Double progressPercent;
+
+    private Long rowsRead;                // 읽은 레코드 수 (헤더/빈 줄 제외)
+    private Long rowsInserted;
+    private Long rowsRejected;            // 형식 오류, 값 변환 실패, 중복 키 등 (rejectFile 에 줄 번호/사유/원본 기록)
+    private String rejectFile;
+    private Double rowsPerSecond;
+}
@@ -0,0 +1,66 @@
+package com.olsaram.backend.dto.noshow;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 위험도 백테스트 진행 상황/결과 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskBacktestReport {
+
+    private String state;                 // RUNNING, COMPLETED, FAILED
+    private LocalDateTime from;           // 평가 대상 예약 시간 범위 (null 이면 제한 없음)
+    private LocalDateTime to;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    private Long rowsRead;                // 읽은 예약 수 (특징 재구성용 이력 포함)
+    private Long samples;                 // 결과(방문 완료/노쇼)가 있는 평가 대상 예약 수
+    private Long noShows;
+    private Double rowsPerSecond;
+
+    private List<ScorerResult> scorers;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScorerResult {
+        private String name;
+        private Long samples;             // 이 방식이 점수를 낸 예약 수
+        private Long noShows;
+        private Double auc;               // 노쇼/방문 구분력 (0.5 = 무작위)
+        private Double brierScore;        // 확률 오차 제곱 평균 (낮을수록 좋음)
+        private Double logLoss;
+        private Double expectedCalibrationError;
+        private List<CalibrationBin> calibration;
+
+        // 이 방식의 점수로 예약금을 받았다면 (RiskPricing 요율표)
+        private Double depositTotal;
+        private Double depositOnNoShows;  // 노쇼 예약에서 받은 예약금 (가게 손실 보전)
+        private Double depositOnShows;    // 방문한 고객이 낸 예약금 (고객 부담)
+        private Long uncoveredNoShows;    // 예약금 없이 노쇼한 예약 수
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CalibrationBin {
+        private Double lowerBound;
+        private Double upperBound;
+        private Long count;
+        private Double meanPredicted;
+        private Double observedRate;
+    }
+}
@@ -0,0 +1,42 @@
+package com.olsaram.backend.dto.reservation;
+
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사장님 예약 조회 조건 (모두 선택)
+ *
+ * - status: 해당 상태만
+ * - from ~ to: 예약 시간 범위 [from, to)
+ * - cursorTime/cursorId: 키셋 페이지네이션. 이전 페이지 마지막 행의 (reservationTime, id) 를 넘기면 그 다음부터 조회
+ * - size: 한 페이지 행 수 (없으면 전체)
+ * 페이지 조건(cursorTime/cursorId/size)이 하나라도 있으면 결과는 (reservationTime, id) 순서를 유지한다 (마지막 행이 다음 커서)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerReservationFilter {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private ReservationStatus status;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private LocalDateTime cursorTime;
+    private Long cursorId;
+    private Integer size;
+
+    public static OwnerReservationFilter all() {
+        return new OwnerReservationFilter();
+    }
+
+    public boolean isPaged() {
+        return cursorTime != null || cursorId != null || size != null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.olsaram.backend.dto.reservation;
+
+import com.olsaram.backend.domain.reservation.AiEnrichmentStatus;
+import com.olsaram.backend.domain.reservation.PaymentStatus;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 사장님 위험도 예약 조회 한 행 (reservation + business + customer 조인 프로젝션)
+ * 엔티티를 만들지 않고 ReservationWithRiskResponse 에 필요한 컬럼만 담는다.
+ */
+public record OwnerReservationRiskRow(
+        // 예약
+        Long id,
+        Long businessId,
+        Long memberId,
+        LocalDateTime reservationTime,
+        Integer people,
+        ReservationStatus status,
+        PaymentStatus paymentStatus,
+        Integer riskScoreSnapshot,
+        Double riskPercentSnapshot,
+        String riskLevelSnapshot,
+        Double appliedFeePercentSnapshot,
+        Double baseFeeAmountSnapshot,
+        Double paymentAmountSnapshot,
+        Double aiNoshowProbability,
+        String aiRecommendedPolicy,
+        String aiPolicyReason,
+        String aiSuspiciousPattern,
+        String aiDetectionReason,
+        AiEnrichmentStatus aiEnrichmentStatus,
+        Boolean mlModelUsed,
+        String mlModelRiskLevel,
+        Double mlModelRiskPercent,
+        // 가게
+        String businessName,
+        String businessAddress,
+        BigDecimal reservationFeeAmount,
+        // 고객 (없으면 모두 null)
+        Long customerId,
+        String customerName,
+        String customerPhone,
+        Integer customerNoShowCount,
+        Integer customerReservationCount,
+        Integer customerTrustScore,
+        String customerGrade,
+        LocalDateTime customerCreatedAt
+) {
+}
@@ -0,0 +1,23 @@
+package com.olsaram.backend.dto.reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사장님 대시보드 예약 집계 (DB 에서 COUNT 로 계산)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerReservationSummaryResponse {
+
+    private long total;
+    private long pending;
+    private long confirmed;
+    private long canceled;
+    private long completed;
+    private long upcoming7Days;     // 지금부터 7일 안에 예정된 예약
+}
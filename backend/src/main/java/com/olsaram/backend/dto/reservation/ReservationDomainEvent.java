@@ -0,0 +1,90 @@
+package com.olsaram.backend.dto.reservation;
+
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.domain.reservation.ReservationEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * outbox 에 저장되는 예약 도메인 이벤트 (변경 시점의 예약 상태 스냅샷)
+ */
+@Getter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationDomainEvent {
+
+    private ReservationEventType type;
+    private Long reservationId;
+    private Long businessId;
+    private Long memberId;
+    private String status;
+    private String paymentStatus;
+    private String aiEnrichmentStatus;
+    private LocalDateTime reservationTime;
+    private LocalDateTime createdAt;
+    private String riskLevel;
+    private LocalDateTime occurredAt;
+
+    // outbox 행 id (전달할 때 dispatcher 가 채움). id 는 커밋 순서대로 보이므로 초기 적재 워터마크와 비교한다
+    private Long eventId;
+
+    // STATUS_CHANGED: 예약 상태가 실제로 바뀌었는지 (결제 상태만 바뀐 경우 false), 노쇼 처리인지
+    private boolean statusChanged;
+    private boolean noShow;
+
+    // 노쇼로 끝난 상태인지 (CANCELED 중 노쇼 처리된 예약 - 가게 상태 집계용)
+    private boolean markedNoShow;
+
+    // STATUS_CHANGED: 변경 전 상태/노쇼 여부/가게/예약 시간 (상태 집계를 이전 칸에서 새 칸으로 옮길 때 사용)
+    private String previousStatus;
+    private boolean previousMarkedNoShow;
+    private Long previousBusinessId;
+    private LocalDateTime previousReservationTime;
+
+    // 통계(고객/가게 카운터)를 이벤트를 만든 쪽에서 이미 반영함 (자동 노쇼 일괄 처리)
+    private boolean statsApplied;
+
+    // CREATED: 백그라운드 AI 예측 요청 여부와 결제 수단
+    private boolean aiEnrichmentRequested;
+    private String paymentMethod;
+
+    // PAYMENT_CONFIRMED: 승인 금액
+    private Long amount;
+
+    /**
+     * 초기 적재에 이미 반영된 이벤트인지
+     * (워터마크 = 초기 적재 때의 outbox 최대 id / 예약 최대 id. createWithPayment 는 예약 행을 먼저 저장하고
+     * 생성 이벤트를 나중에 기록하므로, 생성 이벤트는 예약 id 로도 비교한다)
+     */
+    public boolean isCoveredBy(Long watermarkEventId, Long watermarkReservationId) {
+        if (eventId != null && watermarkEventId != null && eventId <= watermarkEventId) {
+            return true;
+        }
+        return type == ReservationEventType.CREATED
+                && reservationId != null
+                && watermarkReservationId != null
+                && reservationId <= watermarkReservationId;
+    }
+
+    public static ReservationDomainEvent of(ReservationEventType type, Reservation reservation) {
+        return ReservationDomainEvent.builder()
+                .type(type)
+                .reservationId(reservation.getId())
+                .businessId(reservation.getBusinessId())
+                .memberId(reservation.getMemberId())
+                .status(reservation.getStatus() != null ? reservation.getStatus().name() : null)
+                .paymentStatus(reservation.getPaymentStatus() != null ? reservation.getPaymentStatus().name() : null)
+                .aiEnrichmentStatus(reservation.getAiEnrichmentStatus() != null ? reservation.getAiEnrichmentStatus().name() : null)
+                .reservationTime(reservation.getReservationTime())
+                .createdAt(reservation.getCreatedAt())
+                .riskLevel(reservation.getRiskLevelSnapshot())
+                .markedNoShow(reservation.isMarkedNoShow())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
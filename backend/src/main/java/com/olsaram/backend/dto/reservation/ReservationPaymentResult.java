@@ -1,10 +1,14 @@
 package com.olsaram.backend.dto.reservation;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ReservationPaymentResult {
     private Long reservationId;
     private Long businessId;
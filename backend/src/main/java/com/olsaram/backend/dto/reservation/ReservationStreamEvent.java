@@ -0,0 +1,59 @@
+package com.olsaram.backend.dto.reservation;
+
+import com.olsaram.backend.domain.reservation.Reservation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사장님 예약 스트림(SSE) 이벤트
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationStreamEvent {
+
+    private Type type;
+    private Long reservationId;
+    private Long businessId;
+    private String status;
+    private String paymentStatus;
+    private String aiEnrichmentStatus;
+    private LocalDateTime reservationTime;
+    private LocalDateTime occurredAt;
+
+    public enum Type {
+        CREATED("reservation-created"),
+        STATUS_CHANGED("reservation-status-changed"),
+        AI_ENRICHED("reservation-ai-enriched"),
+        DELETED("reservation-deleted");
+
+        private final String eventName;
+
+        Type(String eventName) {
+            this.eventName = eventName;
+        }
+
+        /** SSE event 이름 */
+        public String getEventName() {
+            return eventName;
+        }
+    }
+
+    public static ReservationStreamEvent of(Type type, Reservation reservation) {
+        return ReservationStreamEvent.builder()
+                .type(type)
+                .reservationId(reservation.getId())
+                .businessId(reservation.getBusinessId())
+                .status(reservation.getStatus() != null ? reservation.getStatus().name() : null)
+                .paymentStatus(reservation.getPaymentStatus() != null ? reservation.getPaymentStatus().name() : null)
+                .aiEnrichmentStatus(reservation.getAiEnrichmentStatus() != null ? reservation.getAiEnrichmentStatus().name() : null)
+                .reservationTime(reservation.getReservationTime())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -43,6 +43,7 @@ public class ReservationWithRiskResponse {
     private String aiPolicyReason;
     private String aiSuspiciousPattern;
     private String aiDetectionReason;
+    private String aiEnrichmentStatus;    // PENDING 이면 AI 분석 대기 중 (AI 컬럼은 아직 null)
 
     // ⭐ ML 모델 예측 결과 (DB에 저장된 값)
     private Boolean mlModelUsed;
@@ -0,0 +1,25 @@
+package com.olsaram.backend.dto.reservation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시간대(슬롯)별 예약 가능 인원
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotCapacityResponse {
+
+    private Long businessId;
+    private LocalDateTime slotStart;
+    private Integer slotMinutes;
+    private Integer capacity;       // 슬롯당 최대 인원
+    private Integer reserved;       // 이미 예약된 인원
+    private Integer remaining;      // 남은 인원
+}
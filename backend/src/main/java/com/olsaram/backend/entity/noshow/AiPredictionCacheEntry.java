@@ -0,0 +1,63 @@
+package com.olsaram.backend.entity.noshow;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 예측 결과 캐시 (키 = 모델 + 정규화한 입력의 SHA-256)
+ *
+ * 키를 직접 지정하므로 Persistable 로 항상 INSERT 하게 해서,
+ * 다른 인스턴스가 먼저 같은 키를 넣었으면 merge 대신 중복 키 예외가 나도록 한다 (같은 입력이면 결과도 같으니 무시).
+ */
+@Entity
+@Table(
+        name = "ai_prediction_cache",
+        indexes = @Index(name = "idx_ai_prediction_cache_created", columnList = "created_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiPredictionCacheEntry implements Persistable<String> {
+
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    // 예측 종류 (openai-noshow / ai-server-noshow)
+    @Column(nullable = false, length = 50)
+    private String namespace;
+
+    @Column(nullable = false, length = 100)
+    private String model;
+
+    // 예측 결과 JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    @Builder.Default
+    private boolean newRecord = true;
+
+    @Override
+    public String getId() {
+        return cacheKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRecord;
+    }
+
+    @PostLoad
+    void markLoaded() {
+        this.newRecord = false;
+    }
+}
@@ -0,0 +1,64 @@
+package com.olsaram.backend.entity.noshow;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 노쇼 일괄 예측 작업 진행 위치 (재시작 시 cursor 다음 행부터 이어서 실행)
+ */
+@Entity
+@Table(name = "noshow_ai_scoring_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+public class NoShowAiScoringCheckpoint {
+
+    @Id
+    @Column(name = "JOB_NAME", length = 100)
+    private String jobName;
+
+    // RUNNING / COMPLETED / FAILED (RUNNING 으로 남아 있으면 중단된 작업)
+    @Column(name = "STATE", nullable = false, length = 20)
+    private String state;
+
+    // 마지막으로 끝낸 페이지의 마지막 RESERVATION_ID
+    @Column(name = "CURSOR_ID")
+    private String cursorId;
+
+    @Column(name = "TOTAL_ROWS")
+    private long totalRows;
+
+    @Column(name = "PROCESSED_ROWS")
+    private long processedRows;
+
+    @Column(name = "SCORED_ROWS")
+    private long scoredRows;
+
+    @Column(name = "CACHED_ROWS")
+    private long cachedRows;
+
+    @Column(name = "SKIPPED_ROWS")
+    private long skippedRows;
+
+    @Column(name = "FAILED_ROWS")
+    private long failedRows;
+
+    @Column(name = "API_CALLS")
+    private long apiCalls;
+
+    @Column(name = "STARTED_AT")
+    private LocalDateTime startedAt;
+
+    @Column(name = "UPDATED_AT")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "FINISHED_AT")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "LAST_ERROR", length = 500)
+    private String lastError;
+}
@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "reservation_data")
 @Getter
@@ -73,4 +75,11 @@ public class ReservationData {
 
     @Column(name = "REASON", columnDefinition = "TEXT")
     private String reason;
+
+    // 예측에 쓴 입력 피처 해시 (같으면 다시 예측하지 않음) / 예측 시각
+    @Column(name = "FEATURE_HASH", length = 64)
+    private String featureHash;
+
+    @Column(name = "SCORED_AT")
+    private LocalDateTime scoredAt;
 }
@@ -2,11 +2,46 @@ package com.olsaram.backend.repository;
 
 import com.olsaram.backend.domain.business.Business;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BusinessRepository extends JpaRepository<Business, Long> {
     List<Business> findByOwner_OwnerId(Long ownerId);
+
+    @Query("SELECT b.owner.ownerId FROM DomainBusiness b WHERE b.businessId = :businessId")
+    Optional<Long> findOwnerIdByBusinessId(@Param("businessId") Long businessId);
+
+    /** 📊 통계 증가분 반영 (BusinessStatsAggregator 가 가게당 한 번씩 호출) */
+    @Modifying
+    @Transactional
+    @Query("UPDATE DomainBusiness b SET " +
+            "b.totalReservations = COALESCE(b.totalReservations, 0) + :totalReservations, " +
+            "b.completedReservations = COALESCE(b.completedReservations, 0) + :completedReservations, " +
+            "b.noShowCount = COALESCE(b.noShowCount, 0) + :noShowCount, " +
+            "b.monthlyRevenue = COALESCE(b.monthlyRevenue, 0) + :monthlyRevenue, " +
+            "b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.businessId = :businessId")
+    int applyStatsDelta(
+            @Param("businessId") Long businessId,
+            @Param("totalReservations") int totalReservations,
+            @Param("completedReservations") int completedReservations,
+            @Param("noShowCount") int noShowCount,
+            @Param("monthlyRevenue") long monthlyRevenue
+    );
+
+    /** 🚫 여러 가게의 노쇼 카운트 +count (자동 노쇼 처리, 같은 건수끼리 묶어서 호출) */
+    @Modifying
+    @Transactional
+    @Query("UPDATE DomainBusiness b SET " +
+            "b.noShowCount = COALESCE(b.noShowCount, 0) + :count, " +
+            "b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.businessId IN :businessIds")
+    int incrementNoShowCounts(@Param("businessIds") List<Long> businessIds, @Param("count") int count);
 }
@@ -0,0 +1,9 @@
+package com.olsaram.backend.repository;
+
+import com.olsaram.backend.domain.customer.CustomerFeatures;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CustomerFeaturesRepository extends JpaRepository<CustomerFeatures, Long> {
+}
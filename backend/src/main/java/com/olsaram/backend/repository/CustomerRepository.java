@@ -2,8 +2,13 @@ package com.olsaram.backend.repository;
 
 import com.olsaram.backend.domain.customer.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +18,46 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     boolean existsByLoginId(String loginId);
     boolean existsByPhone(String phone);
     boolean existsByEmail(String email);
+
+    // 신뢰 점수 = clamp(100 - 노쇼횟수 * 15 + 예약횟수 * 2, 0, 100)
+    // ⚠️ MySQL 은 SET 절을 왼쪽부터 평가하며 이미 바뀐 값을 참조하므로 trustScore 를 카운터보다 먼저 둔다
+
+    /** 🚫 노쇼 카운트 +1 과 신뢰 점수 재계산을 한 문장으로 */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Customer c SET " +
+            "c.trustScore = CASE " +
+            "  WHEN 100 - (COALESCE(c.noShowCount, 0) + 1) * 15 + COALESCE(c.reservationCount, 0) * 2 < 0 THEN 0 " +
+            "  WHEN 100 - (COALESCE(c.noShowCount, 0) + 1) * 15 + COALESCE(c.reservationCount, 0) * 2 > 100 THEN 100 " +
+            "  ELSE 100 - (COALESCE(c.noShowCount, 0) + 1) * 15 + COALESCE(c.reservationCount, 0) * 2 END, " +
+            "c.noShowCount = COALESCE(c.noShowCount, 0) + 1, " +
+            "c.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE c.customerId = :customerId")
+    int incrementNoShowCount(@Param("customerId") Long customerId);
+
+    /** ✅ 예약 완료 카운트 +1 과 신뢰 점수 재계산을 한 문장으로 */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Customer c SET " +
+            "c.trustScore = CASE " +
+            "  WHEN 100 - COALESCE(c.noShowCount, 0) * 15 + (COALESCE(c.reservationCount, 0) + 1) * 2 < 0 THEN 0 " +
+            "  WHEN 100 - COALESCE(c.noShowCount, 0) * 15 + (COALESCE(c.reservationCount, 0) + 1) * 2 > 100 THEN 100 " +
+            "  ELSE 100 - COALESCE(c.noShowCount, 0) * 15 + (COALESCE(c.reservationCount, 0) + 1) * 2 END, " +
+            "c.reservationCount = COALESCE(c.reservationCount, 0) + 1, " +
+            "c.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE c.customerId = :customerId")
+    int incrementReservationCount(@Param("customerId") Long customerId);
+
+    /** 🚫 여러 고객의 노쇼 카운트 +count 와 신뢰 점수 재계산 (자동 노쇼 처리, 같은 건수끼리 묶어서 호출) */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Customer c SET " +
+            "c.trustScore = CASE " +
+            "  WHEN 100 - (COALESCE(c.noShowCount, 0) + :count) * 15 + COALESCE(c.reservationCount, 0) * 2 < 0 THEN 0 " +
+            "  WHEN 100 - (COALESCE(c.noShowCount, 0) + :count) * 15 + COALESCE(c.reservationCount, 0) * 2 > 100 THEN 100 " +
+            "  ELSE 100 - (COALESCE(c.noShowCount, 0) + :count) * 15 + COALESCE(c.reservationCount, 0) * 2 END, " +
+            "c.noShowCount = COALESCE(c.noShowCount, 0) + :count, " +
+            "c.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE c.customerId IN :customerIds")
+    int incrementNoShowCounts(@Param("customerIds") List<Long> customerIds, @Param("count") int count);
 }
@@ -0,0 +1,7 @@
+package com.olsaram.backend.repository.business;
+
+import com.olsaram.backend.domain.business.BusinessSlotHeatmap;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BusinessSlotHeatmapRepository extends JpaRepository<BusinessSlotHeatmap, Long> {
+}
@@ -0,0 +1,20 @@
+package com.olsaram.backend.repository.noshow;
+
+import com.olsaram.backend.entity.noshow.AiPredictionCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AiPredictionCacheRepository extends JpaRepository<AiPredictionCacheEntry, String> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AiPredictionCacheEntry e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,9 @@
+package com.olsaram.backend.repository.noshow;
+
+import com.olsaram.backend.entity.noshow.NoShowAiScoringCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NoShowAiScoringCheckpointRepository extends JpaRepository<NoShowAiScoringCheckpoint, String> {
+}
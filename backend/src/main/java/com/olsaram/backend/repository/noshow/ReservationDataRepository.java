@@ -1,10 +1,19 @@
 package com.olsaram.backend.repository.noshow;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.olsaram.backend.entity.noshow.ReservationData;
 
+import java.util.List;
+
 @Repository
 public interface ReservationDataRepository extends JpaRepository<ReservationData, String> {
+
+    /** RESERVATION_ID 순서로 afterId 다음 행들 (일괄 예측 키셋 페이지, 처음은 "") */
+    @Query("SELECT r FROM ReservationData r WHERE r.reservationId > :afterId ORDER BY r.reservationId")
+    List<ReservationData> findPageAfter(@Param("afterId") String afterId, Pageable pageable);
 }
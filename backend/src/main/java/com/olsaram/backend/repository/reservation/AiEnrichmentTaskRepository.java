@@ -0,0 +1,63 @@
+package com.olsaram.backend.repository.reservation;
+
+import com.olsaram.backend.domain.reservation.AiEnrichmentTask;
+import com.olsaram.backend.domain.reservation.AiEnrichmentTaskStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AiEnrichmentTaskRepository extends JpaRepository<AiEnrichmentTask, Long> {
+
+    /** 실행할 차례인 작업 (대기 중이거나, 점유 시간이 지난 작업) */
+    @Query("SELECT t.id FROM AiEnrichmentTask t " +
+            "WHERE (t.status = :pending AND t.nextAttemptAt <= :now) " +
+            "OR (t.status = :inProgress AND t.lockedUntil < :now) " +
+            "ORDER BY t.nextAttemptAt")
+    List<Long> findRunnableIds(
+            @Param("pending") AiEnrichmentTaskStatus pending,
+            @Param("inProgress") AiEnrichmentTaskStatus inProgress,
+            @Param("now") LocalDateTime now,
+            Pageable pageable
+    );
+
+    /** 작업 점유 (조건부 UPDATE 라 여러 인스턴스가 동시에 폴링해도 한 곳만 성공) */
+    @Modifying
+    @Transactional
+    @Query("UPDATE AiEnrichmentTask t " +
+            "SET t.status = :inProgress, t.lockedUntil = :lockedUntil, t.attempts = t.attempts + 1, t.updatedAt = :now " +
+            "WHERE t.id = :id AND ((t.status = :pending AND t.nextAttemptAt <= :now) " +
+            "OR (t.status = :inProgress AND t.lockedUntil < :now))")
+    int claim(
+            @Param("id") Long id,
+            @Param("pending") AiEnrichmentTaskStatus pending,
+            @Param("inProgress") AiEnrichmentTaskStatus inProgress,
+            @Param("now") LocalDateTime now,
+            @Param("lockedUntil") LocalDateTime lockedUntil
+    );
+
+    /**
+     * 예약당 작업 하나만 등록 (이미 있으면 아무것도 하지 않고 0 반환).
+     * outbox 이벤트가 다시 전달돼도 unique 위반으로 트랜잭션이 깨지지 않도록 조건부 INSERT 로 처리
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO ai_enrichment_task " +
+            "(reservation_id, payment_method, status, attempts, next_attempt_at, created_at, updated_at) " +
+            "SELECT :reservationId, :paymentMethod, :status, 0, :now, :now, :now FROM DUAL " +
+            "WHERE NOT EXISTS (SELECT 1 FROM ai_enrichment_task t WHERE t.reservation_id = :reservationId)",
+            nativeQuery = true)
+    int insertIfAbsent(
+            @Param("reservationId") Long reservationId,
+            @Param("paymentMethod") String paymentMethod,
+            @Param("status") String status,
+            @Param("now") LocalDateTime now
+    );
+
+    long countByStatus(AiEnrichmentTaskStatus status);
+}
@@ -0,0 +1,73 @@
+package com.olsaram.backend.repository.reservation;
+
+import com.olsaram.backend.domain.reservation.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * 처리 결과 기록. 예약 스냅샷과 같은 트랜잭션에서 호출한다 (키를 가진 인스턴스가 아니면 0)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.completed = true, r.responseBody = :responseBody " +
+            "WHERE r.idempotencyKey = :idempotencyKey AND r.ownerId = :ownerId AND r.completed = false")
+    int markCompleted(@Param("idempotencyKey") String idempotencyKey,
+                      @Param("ownerId") String ownerId,
+                      @Param("responseBody") String responseBody);
+
+    /**
+     * 키로 만든 예약 ID 기록. 예약 INSERT 와 같은 트랜잭션에서 호출한다 (키를 가진 인스턴스가 아니면 0)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.reservationId = :reservationId " +
+            "WHERE r.idempotencyKey = :idempotencyKey AND r.ownerId = :ownerId AND r.completed = false")
+    int bindReservation(@Param("idempotencyKey") String idempotencyKey,
+                        @Param("ownerId") String ownerId,
+                        @Param("reservationId") Long reservationId);
+
+    /**
+     * 처리 중인 키의 heartbeat 연장 (이 인스턴스가 살아 있는 동안 다른 인스턴스가 키를 가져가지 않도록)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.heartbeatAt = :now " +
+            "WHERE r.idempotencyKey IN :idempotencyKeys AND r.ownerId = :ownerId AND r.completed = false")
+    int heartbeat(@Param("idempotencyKeys") Collection<String> idempotencyKeys,
+                  @Param("ownerId") String ownerId,
+                  @Param("now") LocalDateTime now);
+
+    /**
+     * heartbeat 가 끊긴(처리하던 인스턴스가 죽은) 미완료 키 인수. 동시에 여러 인스턴스가 시도해도 한 곳만 1 을 받는다
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.ownerId = :ownerId, r.heartbeatAt = :now " +
+            "WHERE r.idempotencyKey = :idempotencyKey AND r.completed = false AND r.heartbeatAt < :staleBefore")
+    int takeOver(@Param("idempotencyKey") String idempotencyKey,
+                 @Param("ownerId") String ownerId,
+                 @Param("now") LocalDateTime now,
+                 @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * 처리 실패 시 키 삭제 (다음 재시도가 다시 처리할 수 있게). 다른 인스턴스가 인수한 키는 지우지 않는다
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r " +
+            "WHERE r.idempotencyKey = :idempotencyKey AND r.ownerId = :ownerId AND r.completed = false")
+    int deleteOwned(@Param("idempotencyKey") String idempotencyKey, @Param("ownerId") String ownerId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
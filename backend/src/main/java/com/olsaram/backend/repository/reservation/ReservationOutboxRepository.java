@@ -0,0 +1,100 @@
+package com.olsaram.backend.repository.reservation;
+
+import com.olsaram.backend.domain.reservation.ReservationOutboxEvent;
+import com.olsaram.backend.domain.reservation.ReservationOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReservationOutboxRepository extends JpaRepository<ReservationOutboxEvent, Long> {
+
+    /** 지금까지 기록된 이벤트의 최대 id (초기 적재 워터마크, 없으면 null) */
+    @Query("SELECT MAX(e.id) FROM ReservationOutboxEvent e")
+    Long findMaxId();
+
+    /**
+     * 전달할 차례인 이벤트 (id 순).
+     * 같은 예약의 앞선 이벤트가 재시도 대기 중이거나 다른 디스패처가 점유 중이면 뒤 이벤트는 가져오지 않는다 (예약별 순서 보장).
+     */
+    @Query("SELECT e FROM ReservationOutboxEvent e " +
+            "WHERE ((e.status = :pending AND e.nextAttemptAt <= :now) " +
+            "OR (e.status = :inProgress AND e.lockedUntil < :now)) " +
+            "AND NOT EXISTS (SELECT p.id FROM ReservationOutboxEvent p " +
+            "WHERE p.reservationId = e.reservationId AND p.id < e.id " +
+            "AND ((p.status = :pending AND p.nextAttemptAt > :now) " +
+            "OR (p.status = :inProgress AND p.lockedUntil >= :now))) " +
+            "ORDER BY e.id")
+    List<ReservationOutboxEvent> findDispatchable(
+            @Param("pending") ReservationOutboxStatus pending,
+            @Param("inProgress") ReservationOutboxStatus inProgress,
+            @Param("now") LocalDateTime now,
+            Pageable pageable
+    );
+
+    /** 이벤트 점유 (조건부 UPDATE 라 여러 인스턴스가 동시에 폴링해도 한 곳만 성공) */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReservationOutboxEvent e " +
+            "SET e.status = :inProgress, e.lockedUntil = :lockedUntil, e.attempts = e.attempts + 1 " +
+            "WHERE e.id = :id AND ((e.status = :pending AND e.nextAttemptAt <= :now) " +
+            "OR (e.status = :inProgress AND e.lockedUntil < :now))")
+    int claim(
+            @Param("id") Long id,
+            @Param("pending") ReservationOutboxStatus pending,
+            @Param("inProgress") ReservationOutboxStatus inProgress,
+            @Param("now") LocalDateTime now,
+            @Param("lockedUntil") LocalDateTime lockedUntil
+    );
+
+    /** 점유했지만 처리하지 않은 이벤트를 되돌림 (시도 횟수 복원) */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReservationOutboxEvent e " +
+            "SET e.status = :pending, e.lockedUntil = NULL, e.attempts = e.attempts - 1 " +
+            "WHERE e.id = :id AND e.status = :inProgress")
+    int release(
+            @Param("id") Long id,
+            @Param("pending") ReservationOutboxStatus pending,
+            @Param("inProgress") ReservationOutboxStatus inProgress
+    );
+
+    /** 전달 완료 (핸들러와 같은 트랜잭션에서 호출) */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReservationOutboxEvent e " +
+            "SET e.status = :done, e.lockedUntil = NULL, e.lastError = NULL, e.processedAt = :now " +
+            "WHERE e.id IN :ids")
+    int markDone(
+            @Param("ids") List<Long> ids,
+            @Param("done") ReservationOutboxStatus done,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReservationOutboxEvent e " +
+            "SET e.status = :status, e.lockedUntil = NULL, e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError " +
+            "WHERE e.id = :id")
+    int markFailed(
+            @Param("id") Long id,
+            @Param("status") ReservationOutboxStatus status,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("lastError") String lastError
+    );
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ReservationOutboxEvent e WHERE e.status = :done AND e.processedAt < :before")
+    int deleteProcessedBefore(
+            @Param("done") ReservationOutboxStatus done,
+            @Param("before") LocalDateTime before
+    );
+
+    long countByStatusIn(List<ReservationOutboxStatus> statuses);
+}
@@ -1,11 +1,22 @@
 package com.olsaram.backend.repository.reservation;
 
+import com.olsaram.backend.domain.reservation.AiEnrichmentStatus;
 import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.dto.reservation.OwnerReservationRiskRow;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
@@ -18,4 +29,241 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             LocalDateTime startTime,
             LocalDateTime endTime
     );
+
+    /**
+     * 사장님 예약 화면 조회 (ML 모델 적용 예약만, 조건은 null 이면 무시)
+     * (business_id, reservation_time) 인덱스 순서로 읽고 (reservationTime, id) 키셋으로 이어서 조회
+     */
+    @Query("SELECT r FROM Reservation r " +
+            "WHERE r.businessId IN :businessIds AND r.mlModelUsed = true " +
+            "AND (:status IS NULL OR r.status = :status) " +
+            "AND (:from IS NULL OR r.reservationTime >= :from) " +
+            "AND (:to IS NULL OR r.reservationTime < :to) " +
+            "AND (:cursorTime IS NULL OR r.reservationTime > :cursorTime " +
+            "     OR (r.reservationTime = :cursorTime AND r.id > :cursorId)) " +
+            "ORDER BY r.reservationTime, r.id")
+    List<Reservation> findOwnerReservations(
+            @Param("businessIds") List<Long> businessIds,
+            @Param("status") ReservationStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorTime") LocalDateTime cursorTime,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    /**
+     * 사장님 위험도 예약 조회 (예약·가게·고객을 한 번에 조인해 필요한 컬럼만 프로젝션)
+     * 조건/정렬/키셋은 findOwnerReservations 와 동일
+     */
+    @Query("SELECT new com.olsaram.backend.dto.reservation.OwnerReservationRiskRow(" +
+            "r.id, r.businessId, r.memberId, r.reservationTime, r.people, r.status, r.paymentStatus, " +
+            "r.riskScoreSnapshot, r.riskPercentSnapshot, r.riskLevelSnapshot, r.appliedFeePercentSnapshot, " +
+            "r.baseFeeAmountSnapshot, r.paymentAmountSnapshot, " +
+            "r.aiNoshowProbability, r.aiRecommendedPolicy, r.aiPolicyReason, r.aiSuspiciousPattern, " +
+            "r.aiDetectionReason, r.aiEnrichmentStatus, " +
+            "r.mlModelUsed, r.mlModelRiskLevel, r.mlModelRiskPercent, " +
+            "b.businessName, b.address, b.reservationFeeAmount, " +
+            "c.customerId, c.name, c.phone, c.noShowCount, c.reservationCount, c.trustScore, " +
+            "c.customerGrade, c.createdAt) " +
+            "FROM Reservation r " +
+            "JOIN DomainBusiness b ON b.businessId = r.businessId " +
+            "LEFT JOIN Customer c ON c.customerId = r.memberId " +
+            "WHERE b.owner.ownerId = :ownerId AND r.mlModelUsed = true " +
+            "AND (:status IS NULL OR r.status = :status) " +
+            "AND (:from IS NULL OR r.reservationTime >= :from) " +
+            "AND (:to IS NULL OR r.reservationTime < :to) " +
+            "AND (:cursorTime IS NULL OR r.reservationTime > :cursorTime " +
+            "     OR (r.reservationTime = :cursorTime AND r.id > :cursorId)) " +
+            "ORDER BY r.reservationTime, r.id")
+    List<OwnerReservationRiskRow> findOwnerReservationRiskRows(
+            @Param("ownerId") Long ownerId,
+            @Param("status") ReservationStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorTime") LocalDateTime cursorTime,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    /** 슬롯 인덱스 적재용 [reservationTime, people] (취소 제외) */
+    @Query("SELECT r.reservationTime, r.people FROM Reservation r " +
+            "WHERE r.businessId = :businessId AND r.reservationTime >= :from " +
+            "AND (r.status IS NULL OR r.status <> :canceled)")
+    List<Object[]> findSlotLoad(
+            @Param("businessId") Long businessId,
+            @Param("from") LocalDateTime from,
+            @Param("canceled") ReservationStatus canceled
+    );
+
+    /**
+     * 리마인더 타이머 적재용 (from, to] 사이 유효 예약
+     * [id, reservationTime, createdAt, riskLevelSnapshot, reminderSentAt, reconfirmSentAt]
+     */
+    @Query("SELECT r.id, r.reservationTime, r.createdAt, r.riskLevelSnapshot, r.reminderSentAt, r.reconfirmSentAt " +
+            "FROM Reservation r " +
+            "WHERE r.reservationTime > :from AND r.reservationTime <= :to AND r.status IN :statuses")
+    List<Object[]> findReminderCandidates(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("statuses") List<ReservationStatus> statuses
+    );
+
+    /**
+     * 노쇼 처리 대상 예약 ID (예약 시간이 cutoff 이전인 status 예약, 오래된 순)
+     * (status, reservation_time) 인덱스 범위만 읽는다
+     */
+    @Query("SELECT r.id FROM Reservation r " +
+            "WHERE r.status = :status AND r.reservationTime < :cutoff " +
+            "ORDER BY r.reservationTime, r.id")
+    List<Long> findOverdueIds(
+            @Param("status") ReservationStatus status,
+            @Param("cutoff") LocalDateTime cutoff,
+            Pageable pageable
+    );
+
+    /**
+     * 자동 노쇼 처리 (아직 expected 상태인 예약만, 처리 시각을 함께 기록)
+     * NO_SHOW 는 DB enum 에 없어서 수동 노쇼 처리와 같이 CANCELED 로 저장한다
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Reservation r SET r.status = :status, r.autoNoShowAt = :sweptAt, r.noShowAt = :sweptAt " +
+            "WHERE r.id IN :ids AND r.status = :expected")
+    int markAutoNoShow(
+            @Param("ids") List<Long> ids,
+            @Param("expected") ReservationStatus expected,
+            @Param("status") ReservationStatus status,
+            @Param("sweptAt") LocalDateTime sweptAt
+    );
+
+    /**
+     * markAutoNoShow 로 이번에 처리된 예약
+     * [id, businessId, memberId, reservationTime, paymentStatus, aiEnrichmentStatus, createdAt, riskLevelSnapshot]
+     */
+    @Query("SELECT r.id, r.businessId, r.memberId, r.reservationTime, r.paymentStatus, r.aiEnrichmentStatus, " +
+            "r.createdAt, r.riskLevelSnapshot FROM Reservation r " +
+            "WHERE r.id IN :ids AND r.autoNoShowAt = :sweptAt")
+    List<Object[]> findAutoNoShowRows(
+            @Param("ids") List<Long> ids,
+            @Param("sweptAt") LocalDateTime sweptAt
+    );
+
+    /** 지금까지 저장된 예약의 최대 id (집계 초기 적재 워터마크, 없으면 null) */
+    @Query("SELECT MAX(r.id) FROM Reservation r")
+    Long findMaxId();
+
+    /** 고객 피처 초기 적재용 이력 [id, status, reservationTime, createdAt, canceledAt, autoNoShowAt, noShowAt] */
+    @Query("SELECT r.id, r.status, r.reservationTime, r.createdAt, r.canceledAt, r.autoNoShowAt, r.noShowAt " +
+            "FROM Reservation r WHERE r.memberId = :memberId")
+    List<Object[]> findCustomerHistory(@Param("memberId") Long memberId);
+
+    /**
+     * 가게 상태 집계 초기 적재용 (예약 날짜, 상태별) [date, status, noShowCount, count]
+     * 노쇼 판단은 Reservation.isMarkedNoShow 와 같다
+     */
+    @Query("SELECT CAST(r.reservationTime AS LocalDate), r.status, " +
+            "SUM(CASE WHEN r.noShowAt IS NOT NULL OR (r.autoNoShowAt IS NOT NULL AND r.canceledAt IS NULL) " +
+            "THEN 1 ELSE 0 END), COUNT(r) " +
+            "FROM Reservation r WHERE r.businessId = :businessId AND r.reservationTime IS NOT NULL " +
+            "GROUP BY CAST(r.reservationTime AS LocalDate), r.status")
+    List<Object[]> countDailyStatusesByBusiness(@Param("businessId") Long businessId);
+
+    /**
+     * 가게 요일 × 시간대 집계 초기 적재용 (예약 날짜, 시, 상태별) [date, hour, status, noShowCount, count]
+     * 노쇼 판단은 Reservation.isMarkedNoShow 와 같다
+     */
+    @Query("SELECT CAST(r.reservationTime AS LocalDate), EXTRACT(HOUR FROM r.reservationTime), r.status, " +
+            "SUM(CASE WHEN r.noShowAt IS NOT NULL OR (r.autoNoShowAt IS NOT NULL AND r.canceledAt IS NULL) " +
+            "THEN 1 ELSE 0 END), COUNT(r) " +
+            "FROM Reservation r WHERE r.businessId = :businessId AND r.reservationTime IS NOT NULL " +
+            "GROUP BY CAST(r.reservationTime AS LocalDate), EXTRACT(HOUR FROM r.reservationTime), r.status")
+    List<Object[]> countHourlyStatusesByBusiness(@Param("businessId") Long businessId);
+
+    /**
+     * 백테스트용 회원 예약 (회원별로 이어서 읽도록 (memberId, id) 키셋)
+     * [id, memberId, status, reservationTime, createdAt, canceledAt, autoNoShowAt, noShowAt, people, paymentStatus,
+     *  baseFeeAmountSnapshot, aiNoshowProbability, mlModelRiskPercent, riskFeatures, customer.createdAt]
+     */
+    @Query("SELECT r.id, r.memberId, r.status, r.reservationTime, r.createdAt, r.canceledAt, r.autoNoShowAt, " +
+            "r.noShowAt, r.people, r.paymentStatus, r.baseFeeAmountSnapshot, r.aiNoshowProbability, r.mlModelRiskPercent, " +
+            "r.riskFeatures, c.createdAt " +
+            "FROM Reservation r LEFT JOIN Customer c ON c.customerId = r.memberId " +
+            "WHERE r.memberId > :afterMemberId OR (r.memberId = :afterMemberId AND r.id > :afterId) " +
+            "ORDER BY r.memberId, r.id")
+    List<Object[]> findBacktestRows(@Param("afterMemberId") Long afterMemberId,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
+
+    /** 예측 당시 저장한 위험도 모델 피처 (온라인 모델 학습용) */
+    @Query("SELECT r.riskFeatures FROM Reservation r WHERE r.id = :id")
+    Optional<String> findRiskFeatures(@Param("id") Long id);
+
+    /** 상태별 예약 수 [status, count] */
+    @Query("SELECT r.status, COUNT(r) FROM Reservation r " +
+            "WHERE r.businessId IN :businessIds AND r.mlModelUsed = true GROUP BY r.status")
+    List<Object[]> countOwnerReservationsByStatus(@Param("businessIds") List<Long> businessIds);
+
+    @Query("SELECT COUNT(r) FROM Reservation r " +
+            "WHERE r.businessId IN :businessIds AND r.mlModelUsed = true " +
+            "AND r.reservationTime >= :from AND r.reservationTime < :to")
+    long countOwnerReservationsBetween(
+            @Param("businessIds") List<Long> businessIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * 상태 변경용 조회 (행 잠금). 먼저 커밋된 요청의 노쇼/취소 시각을 읽은 뒤 저장하도록
+     * 같은 예약의 상태 변경을 직렬화한다 (오래된 사본을 저장하면 no_show_at 이 지워져 노쇼가 다시 집계됨)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * 예약 상태 변경 (이미 같은 상태면 0 반환)
+     * 동시에 같은 변경이 들어와도 행 잠금 때문에 한 요청만 1 을 받는다 → 통계 중복 반영 방지
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Reservation r SET r.status = :status " +
+            "WHERE r.id = :id AND (r.status IS NULL OR r.status <> :status)")
+    int updateStatusIfChanged(@Param("id") Long id, @Param("status") ReservationStatus status);
+
+    /**
+     * 노쇼 처리 (CANCELED + no_show_at). 이미 노쇼로 처리된 예약이면 0 (Reservation.isMarkedNoShow 와 같은 조건)
+     * 상태 enum 이 같은 취소 → 노쇼 전환도 1 을 받아 통계에 반영된다
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Reservation r SET r.status = :canceled, r.noShowAt = :now " +
+            "WHERE r.id = :id AND (r.status IS NULL OR NOT (r.status = :noShow OR (r.status = :canceled " +
+            "AND (r.noShowAt IS NOT NULL OR (r.autoNoShowAt IS NOT NULL AND r.canceledAt IS NULL)))))")
+    int markNoShowIfNotMarked(@Param("id") Long id,
+                              @Param("canceled") ReservationStatus canceled,
+                              @Param("noShow") ReservationStatus noShow,
+                              @Param("now") LocalDateTime now);
+
+    /** 백그라운드 AI 예측 결과 반영 (AI 컬럼만 갱신 - 그 사이 바뀐 예약 상태를 덮어쓰지 않음) */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Reservation r SET r.aiNoshowProbability = :probability, " +
+            "r.aiRecommendedPolicy = :recommendedPolicy, r.aiPolicyReason = :policyReason, " +
+            "r.aiSuspiciousPattern = :suspiciousPattern, r.aiDetectionReason = :detectionReason, " +
+            "r.aiEnrichmentStatus = :status WHERE r.id = :id")
+    int updateAiPrediction(
+            @Param("id") Long id,
+            @Param("probability") Double probability,
+            @Param("recommendedPolicy") String recommendedPolicy,
+            @Param("policyReason") String policyReason,
+            @Param("suspiciousPattern") String suspiciousPattern,
+            @Param("detectionReason") String detectionReason,
+            @Param("status") AiEnrichmentStatus status
+    );
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Reservation r SET r.aiEnrichmentStatus = :status WHERE r.id = :id")
+    int updateAiEnrichmentStatus(@Param("id") Long id, @Param("status") AiEnrichmentStatus status);
 }
@@ -0,0 +1,7 @@
+package com.olsaram.backend.repository.reservation;
+
+import com.olsaram.backend.domain.reservation.ReservationRollupState;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ReservationRollupStateRepository extends JpaRepository<ReservationRollupState, Long> {
+}
@@ -0,0 +1,56 @@
+package com.olsaram.backend.repository.reservation;
+
+import com.olsaram.backend.domain.reservation.ReservationRollupPeriod;
+import com.olsaram.backend.domain.reservation.ReservationStatusRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReservationStatusRollupRepository extends JpaRepository<ReservationStatusRollup, Long> {
+
+    /** 집계 행 증감 (행이 없으면 0 반환 → 호출한 쪽에서 INSERT) */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReservationStatusRollup r SET r.pendingCount = r.pendingCount + :pending, " +
+            "r.completedCount = r.completedCount + :completed, r.noShowCount = r.noShowCount + :noShow, " +
+            "r.canceledCount = r.canceledCount + :canceled, r.updatedAt = :now " +
+            "WHERE r.businessId = :businessId AND r.period = :period AND r.bucketStart = :bucketStart")
+    int addCounts(
+            @Param("businessId") Long businessId,
+            @Param("period") ReservationRollupPeriod period,
+            @Param("bucketStart") LocalDate bucketStart,
+            @Param("pending") long pending,
+            @Param("completed") long completed,
+            @Param("noShow") long noShow,
+            @Param("canceled") long canceled,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * 가게별 기간 합계 [businessId, pending, completed, noShow, canceled]
+     * 온전한 달 [monthFrom, monthTo) 은 월 행, 앞뒤로 남는 날 [headFrom, headTo), [tailFrom, tailTo) 은 일 행
+     */
+    @Query("SELECT r.businessId, SUM(r.pendingCount), SUM(r.completedCount), SUM(r.noShowCount), SUM(r.canceledCount) " +
+            "FROM ReservationStatusRollup r WHERE r.businessId IN :businessIds AND (" +
+            "(r.period = :month AND r.bucketStart >= :monthFrom AND r.bucketStart < :monthTo) OR " +
+            "(r.period = :day AND ((r.bucketStart >= :headFrom AND r.bucketStart < :headTo) " +
+            "OR (r.bucketStart >= :tailFrom AND r.bucketStart < :tailTo)))) " +
+            "GROUP BY r.businessId")
+    List<Object[]> sumByBusiness(
+            @Param("businessIds") List<Long> businessIds,
+            @Param("month") ReservationRollupPeriod month,
+            @Param("monthFrom") LocalDate monthFrom,
+            @Param("monthTo") LocalDate monthTo,
+            @Param("day") ReservationRollupPeriod day,
+            @Param("headFrom") LocalDate headFrom,
+            @Param("headTo") LocalDate headTo,
+            @Param("tailFrom") LocalDate tailFrom,
+            @Param("tailTo") LocalDate tailTo
+    );
+}
@@ -0,0 +1,35 @@
+package com.olsaram.backend.repository.reservation;
+
+import com.olsaram.backend.domain.reservation.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /** 내가 가진 lease 연장, 또는 만료된 lease 인수 (조건부 UPDATE 라 한 인스턴스만 성공) */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLease l SET l.ownerId = :ownerId, l.expiresAt = :expiresAt " +
+            "WHERE l.leaseName = :leaseName AND (l.ownerId = :ownerId OR l.expiresAt < :now)")
+    int acquire(
+            @Param("leaseName") String leaseName,
+            @Param("ownerId") String ownerId,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :now " +
+            "WHERE l.leaseName = :leaseName AND l.ownerId = :ownerId")
+    int release(
+            @Param("leaseName") String leaseName,
+            @Param("ownerId") String ownerId,
+            @Param("now") LocalDateTime now
+    );
+}
@@ -0,0 +1,24 @@
+package com.olsaram.backend.service.ai;
+
+import com.olsaram.backend.domain.reservation.ReservationEventType;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.service.reservation.ReservationOutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 예약 생성 이벤트 → AI 노쇼 예측 작업 등록 (ASYNC 모드로 생성된 예약만)
+ */
+@Component
+@RequiredArgsConstructor
+public class AiEnrichmentOutboxHandler implements ReservationOutboxHandler {
+
+    private final AiEnrichmentQueue aiEnrichmentQueue;
+
+    @Override
+    public void handle(ReservationDomainEvent event) {
+        if (event.getType() == ReservationEventType.CREATED && event.isAiEnrichmentRequested()) {
+            aiEnrichmentQueue.enqueue(event.getReservationId(), event.getPaymentMethod());
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.olsaram.backend.service.ai;
+
+import com.olsaram.backend.config.ReservationEnrichmentProperties;
+import com.olsaram.backend.domain.reservation.AiEnrichmentStatus;
+import com.olsaram.backend.domain.reservation.AiEnrichmentTask;
+import com.olsaram.backend.domain.reservation.AiEnrichmentTaskStatus;
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.dto.ai.AiNoshowResponse;
+import com.olsaram.backend.dto.reservation.ReservationStreamEvent;
+import com.olsaram.backend.repository.reservation.AiEnrichmentTaskRepository;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import com.olsaram.backend.service.customer.CustomerFeatureSnapshot;
+import com.olsaram.backend.service.customer.CustomerFeatureStore;
+import com.olsaram.backend.service.reservation.OwnerReservationStreamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 예약 AI 노쇼 예측 백그라운드 큐
+ *
+ * - 예약 생성 시 ai_enrichment_task 에 작업을 넣고 바로 응답
+ * - 폴러가 실행할 차례인 작업을 점유(조건부 UPDATE)해 고정 크기 워커 풀에 넘김
+ * - 실패 시 지수 백오프로 재시도, max-attempts 를 넘으면 DEAD (예약 AI 상태 FAILED)
+ * - 점유 중 서버가 죽으면 lease-ms 이후 다시 실행 (재시작 후 이어서 처리)
+ */
+@Component
+@Slf4j
+public class AiEnrichmentQueue {
+
+    private static final String PROCESSED_COUNTER = "ai.enrichment.queue.processed";
+
+    private final ReservationEnrichmentProperties properties;
+    private final AiEnrichmentTaskRepository taskRepository;
+    private final ReservationRepository reservationRepository;
+    private final CustomerFeatureStore customerFeatureStore;
+    private final AiNoshowService aiNoshowService;
+    private final AiNoshowRequestFactory requestFactory;
+    private final MeterRegistry meterRegistry;
+    private final OwnerReservationStreamService reservationStreamService;
+
+    private final ThreadPoolExecutor workers;
+
+    public AiEnrichmentQueue(
+            ReservationEnrichmentProperties properties,
+            AiEnrichmentTaskRepository taskRepository,
+            ReservationRepository reservationRepository,
+            CustomerFeatureStore customerFeatureStore,
+            AiNoshowService aiNoshowService,
+            AiNoshowRequestFactory requestFactory,
+            MeterRegistry meterRegistry,
+            OwnerReservationStreamService reservationStreamService
+    ) {
+        this.properties = properties;
+        this.taskRepository = taskRepository;
+        this.reservationRepository = reservationRepository;
+        this.customerFeatureStore = customerFeatureStore;
+        this.aiNoshowService = aiNoshowService;
+        this.requestFactory = requestFactory;
+        this.meterRegistry = meterRegistry;
+        this.reservationStreamService = reservationStreamService;
+
+        ReservationEnrichmentProperties.Queue queue = properties.getQueue();
+        int size = Math.max(1, queue.getWorkers());
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queue.getCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ai-enrichment-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        meterRegistry.gauge("ai.enrichment.queue.backlog", workers, executor -> executor.getQueue().size());
+        meterRegistry.gauge("ai.enrichment.queue.active", workers, ThreadPoolExecutor::getActiveCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 처리 중이던 작업은 IN_PROGRESS 로 남고, lease 가 끝나면 다음 기동 시 다시 실행된다
+        workers.shutdownNow();
+    }
+
+    /**
+     * 예약의 AI 예측 작업 등록 (예약 AI 상태는 호출한 쪽에서 PENDING 으로 저장)
+     */
+    public void enqueue(Reservation reservation, String paymentMethod) {
+        enqueue(reservation.getId(), paymentMethod);
+    }
+
+    /**
+     * 같은 예약으로 다시 호출돼도(outbox 재전달 등) 작업은 하나만 남는다
+     */
+    public void enqueue(Long reservationId, String paymentMethod) {
+        int inserted = taskRepository.insertIfAbsent(
+                reservationId, paymentMethod, AiEnrichmentTaskStatus.PENDING.name(), LocalDateTime.now());
+        if (inserted == 0) {
+            log.debug("AI 예측 작업 이미 등록됨 - 예약ID: {}", reservationId);
+            return;
+        }
+        log.debug("AI 예측 작업 등록 - 예약ID: {}", reservationId);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${reservation.enrichment.queue.poll-interval-ms:1000}",
+            initialDelayString = "${reservation.enrichment.queue.poll-interval-ms:1000}"
+    )
+    public void poll() {
+        ReservationEnrichmentProperties.Queue queue = properties.getQueue();
+        int free = workers.getQueue().remainingCapacity();
+        if (free <= 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = taskRepository.findRunnableIds(
+                AiEnrichmentTaskStatus.PENDING,
+                AiEnrichmentTaskStatus.IN_PROGRESS,
+                now,
+                PageRequest.of(0, Math.min(free, Math.max(1, queue.getBatchSize())))
+        );
+
+        for (Long id : ids) {
+            LocalDateTime lockedUntil = now.plusNanos(TimeUnit.MILLISECONDS.toNanos(queue.getLeaseMs()));
+            int claimed = taskRepository.claim(
+                    id, AiEnrichmentTaskStatus.PENDING, AiEnrichmentTaskStatus.IN_PROGRESS, now, lockedUntil);
+            if (claimed == 0) {
+                continue; // 다른 인스턴스가 먼저 가져감
+            }
+
+            try {
+                workers.execute(() -> process(id));
+            } catch (RejectedExecutionException e) {
+                // 점유만 된 상태로 남고 lease 가 끝나면 다시 실행된다
+                log.warn("⚠️ AI 예측 워커 풀이 가득 찼습니다 - 작업ID: {}", id);
+                return;
+            }
+        }
+    }
+
+    private void process(Long taskId) {
+        AiEnrichmentTask task = taskRepository.findById(taskId).orElse(null);
+        if (task == null) {
+            return;
+        }
+
+        Reservation reservation = reservationRepository.findById(task.getReservationId()).orElse(null);
+        if (reservation == null) {
+            task.setStatus(AiEnrichmentTaskStatus.DEAD);
+            task.setLockedUntil(null);
+            task.setLastError("Reservation not found");
+            taskRepository.save(task);
+            meterRegistry.counter(PROCESSED_COUNTER, "result", "dead").increment();
+            return;
+        }
+
+        try {
+            CustomerFeatureSnapshot customer = customerFeatureStore.get(reservation.getMemberId());
+            List<Reservation> todayReservations = requestFactory.findTodayReservations(reservation.getBusinessId());
+
+            AiNoshowResponse response = aiNoshowService.safePredict(
+                    requestFactory.build(reservation, task.getPaymentMethod(), customer, todayReservations));
+            if (response == null) {
+                throw new IllegalStateException("AI server returned no prediction");
+            }
+
+            requestFactory.apply(reservation, response);
+            reservationRepository.updateAiPrediction(
+                    reservation.getId(),
+                    reservation.getAiNoshowProbability(),
+                    reservation.getAiRecommendedPolicy(),
+                    reservation.getAiPolicyReason(),
+                    reservation.getAiSuspiciousPattern(),
+                    reservation.getAiDetectionReason(),
+                    AiEnrichmentStatus.DONE
+            );
+
+            task.setStatus(AiEnrichmentTaskStatus.DONE);
+            task.setLockedUntil(null);
+            task.setLastError(null);
+            taskRepository.save(task);
+            meterRegistry.counter(PROCESSED_COUNTER, "result", "done").increment();
+            reservationStreamService.publish(ReservationStreamEvent.Type.AI_ENRICHED, reservation);
+            log.info("AI 예측 작업 완료 - 예약ID: {}, 노쇼 확률: {}%", reservation.getId(), response.getNoshowProbability());
+        } catch (Exception e) {
+            fail(task, e);
+        }
+    }
+
+    private void fail(AiEnrichmentTask task, Exception error) {
+        ReservationEnrichmentProperties.Queue queue = properties.getQueue();
+        int attempts = task.getAttempts() != null ? task.getAttempts() : 1;
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+
+        task.setLockedUntil(null);
+        task.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+
+        if (attempts >= queue.getMaxAttempts()) {
+            task.setStatus(AiEnrichmentTaskStatus.DEAD);
+            taskRepository.save(task);
+            reservationRepository.updateAiEnrichmentStatus(task.getReservationId(), AiEnrichmentStatus.FAILED);
+            meterRegistry.counter(PROCESSED_COUNTER, "result", "dead").increment();
+            reservationRepository.findById(task.getReservationId())
+                    .ifPresent(reservation -> reservationStreamService.publish(ReservationStreamEvent.Type.AI_ENRICHED, reservation));
+            log.error("❌ AI 예측 작업 최종 실패 - 예약ID: {}, 시도: {}회, 오류: {}", task.getReservationId(), attempts, message);
+            return;
+        }
+
+        long backoffMs = backoffMs(attempts, queue);
+        task.setStatus(AiEnrichmentTaskStatus.PENDING);
+        task.setNextAttemptAt(LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs)));
+        taskRepository.save(task);
+        meterRegistry.counter(PROCESSED_COUNTER, "result", "retry").increment();
+        log.warn("⚠️ AI 예측 작업 실패 - 예약ID: {}, 시도: {}회, {}ms 후 재시도, 오류: {}",
+                task.getReservationId(), attempts, backoffMs, message);
+    }
+
+    static long backoffMs(int attempts, ReservationEnrichmentProperties.Queue queue) {
+        long delay = Math.max(1, queue.getInitialBackoffMs());
+        for (int i = 1; i < attempts && delay < queue.getMaxBackoffMs(); i++) {
+            delay *= 2;
+        }
+        return Math.min(delay, queue.getMaxBackoffMs());
+    }
+}
@@ -0,0 +1,167 @@
+package com.olsaram.backend.service.ai;
+
+import com.olsaram.backend.config.AiServerProperties;
+import com.olsaram.backend.dto.ai.AiNoshowRequest;
+import com.olsaram.backend.dto.ai.AiNoshowResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 노쇼 서버 마이크로 배칭 클라이언트
+ *
+ * 동시에 들어온 예측 요청을 최대 max-wait-ms 동안(또는 max-size 개가 찰 때까지) 모아
+ * batch-url 로 한 번에 전송하고, 응답 배열을 순서대로 각 호출자의 future 에 전달한다.
+ * 배치 계약: POST [요청, ...] → [응답, ...] (같은 길이, 같은 순서)
+ */
+@Component
+@Slf4j
+public class AiNoshowBatchClient {
+
+    private final AiServerProperties properties;
+    private final RestTemplate restTemplate;
+    private final DistributionSummary batchSizeSummary;
+
+    private final BlockingQueue<PendingPrediction> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public AiNoshowBatchClient(
+            AiServerProperties properties,
+            RestTemplateBuilder restTemplateBuilder,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.restTemplate = restTemplateBuilder
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs()))
+                .readTimeout(Duration.ofMillis(properties.getReadTimeoutMs()))
+                .build();
+        this.batchSizeSummary = DistributionSummary.builder("ai.noshow.batch.size")
+                .description("AI 서버로 한 번에 보낸 예측 요청 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.getBatch().isEnabled() || !StringUtils.hasText(properties.getBatchUrl())) {
+            log.info("AI 노쇼 배치 클라이언트 비활성화 (batch-url 미설정)");
+            return;
+        }
+
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "ai-noshow-batcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        senders.shutdown();
+
+        PendingPrediction pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future().completeExceptionally(new IllegalStateException("AI batch client stopped"));
+        }
+    }
+
+    /**
+     * 예측 요청을 다음 배치에 싣는다.
+     */
+    public CompletableFuture<AiNoshowResponse> submit(AiNoshowRequest request) {
+        CompletableFuture<AiNoshowResponse> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new IllegalStateException("AI batch client is not running"));
+            return future;
+        }
+        queue.offer(new PendingPrediction(request, future));
+        return future;
+    }
+
+    private void dispatchLoop() {
+        int maxSize = Math.max(1, properties.getBatch().getMaxSize());
+        long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(properties.getBatch().getMaxWaitMs());
+
+        while (running) {
+            try {
+                PendingPrediction first = queue.take();
+                List<PendingPrediction> batch = new ArrayList<>(maxSize);
+                batch.add(first);
+
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.drainTo(batch, maxSize - batch.size());
+                        break;
+                    }
+                    PendingPrediction next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                senders.execute(() -> send(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ AI 배치 디스패처 오류: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void send(List<PendingPrediction> batch) {
+        batchSizeSummary.record(batch.size());
+        List<AiNoshowRequest> requests = batch.stream().map(PendingPrediction::request).toList();
+
+        try {
+            AiNoshowResponse[] responses =
+                    restTemplate.postForObject(properties.getBatchUrl(), requests, AiNoshowResponse[].class);
+
+            if (responses == null || responses.length != batch.size()) {
+                throw new IllegalStateException("AI batch response size mismatch: expected "
+                        + batch.size() + ", got " + (responses == null ? "null" : responses.length));
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(responses[i]);
+            }
+            log.debug("AI 배치 예측 완료 - {}건", batch.size());
+        } catch (Exception e) {
+            log.warn("⚠️ AI 배치 예측 실패 - {}건, url={}, error={}", batch.size(), properties.getBatchUrl(), e.getMessage());
+            for (PendingPrediction pending : batch) {
+                pending.future().completeExceptionally(e);
+            }
+        }
+    }
+
+    private record PendingPrediction(AiNoshowRequest request, CompletableFuture<AiNoshowResponse> future) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.olsaram.backend.service.ai;
+
+import com.olsaram.backend.domain.reservation.AiEnrichmentStatus;
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.dto.ai.AiNoshowRequest;
+import com.olsaram.backend.dto.ai.AiNoshowResponse;
+import com.olsaram.backend.dto.ai.AiTodayReservationDto;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import com.olsaram.backend.service.customer.CustomerFeatureSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 예약 → AI 노쇼 예측 요청 변환, 응답 → 예약 AI 컬럼 반영
+ * (예약 생성 시 즉시 호출과 백그라운드 큐 워커가 함께 사용)
+ */
+@Component
+@RequiredArgsConstructor
+public class AiNoshowRequestFactory {
+
+    private final ReservationRepository reservationRepository;
+
+    /**
+     * 오늘 해당 가게 예약 목록 (AI 요청용)
+     */
+    public List<Reservation> findTodayReservations(Long businessId) {
+        LocalDateTime todayStart = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
+        LocalDateTime todayEnd = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59);
+
+        return reservationRepository.findByBusinessIdAndReservationTimeBetween(businessId, todayStart, todayEnd);
+    }
+
+    /**
+     * AI 노쇼 예측 요청 객체 생성
+     */
+    public AiNoshowRequest build(
+            Reservation reservation,
+            String paymentMethod,
+            CustomerFeatureSnapshot customer,
+            List<Reservation> todayReservations) {
+
+        List<AiTodayReservationDto> todayReservationDtos = todayReservations.stream()
+                .map(r -> AiTodayReservationDto.builder()
+                        .reservationId(r.getId())
+                        .reservationTime(r.getReservationTime().toString())
+                        .partySize(r.getPeople())
+                        .paymentMethod(paymentMethod)
+                        .build())
+                .toList();
+
+        boolean isSameDayReservation = reservation.getReservationTime()
+                .toLocalDate().equals(LocalDateTime.now().toLocalDate());
+
+        return AiNoshowRequest.builder()
+                .customerId(reservation.getMemberId())
+                .reservationTime(reservation.getReservationTime().toString())
+                .partySize(reservation.getPeople())
+                .paymentMethod(paymentMethod)
+                .customerPastNoshowCount(customer != null ? customer.noShowCount() : 0)
+                .customerPastReservationCount(customer != null ? customer.completedCount() : 0)
+                .reservationChangeCount(0)
+                .isSameDayReservation(isSameDayReservation ? 1 : 0)
+                .todayReservations(todayReservationDtos)
+                .build();
+    }
+
+    /**
+     * AI 예측 결과를 예약 엔티티에 반영 (저장은 호출한 쪽에서)
+     */
+    public void apply(Reservation reservation, AiNoshowResponse response) {
+        reservation.setAiNoshowProbability(response.getNoshowProbability());
+
+        if (response.getPolicyRecommendation() != null) {
+            reservation.setAiRecommendedPolicy(response.getPolicyRecommendation().getRecommendedPolicy());
+            reservation.setAiPolicyReason(response.getPolicyRecommendation().getReason());
+        }
+
+        if (response.getSuspiciousResult() != null) {
+            reservation.setAiSuspiciousPattern(response.getSuspiciousResult().getSuspiciousPattern());
+            reservation.setAiDetectionReason(response.getSuspiciousResult().getDetectionReason());
+        }
+
+        reservation.setAiEnrichmentStatus(AiEnrichmentStatus.DONE);
+    }
+}
@@ -1,22 +1,42 @@
 package com.olsaram.backend.service.ai;
 
+import com.olsaram.backend.config.AiServerProperties;
 import com.olsaram.backend.dto.ai.AiNoshowRequest;
 import com.olsaram.backend.dto.ai.AiNoshowResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AiNoshowService {
 
     private final RestTemplate restTemplate;
+    private final AiNoshowBatchClient batchClient;
+    private final AiPredictionCache predictionCache;
+    private final AiServerProperties properties;
+    private final String aiUrl;
 
-    @Value("${ai.server.url}")
-    private String aiUrl;
+    public AiNoshowService(
+            RestTemplateBuilder restTemplateBuilder,
+            AiNoshowBatchClient batchClient,
+            AiPredictionCache predictionCache,
+            AiServerProperties properties
+    ) {
+        this.restTemplate = restTemplateBuilder
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs()))
+                .readTimeout(Duration.ofMillis(properties.getReadTimeoutMs()))
+                .build();
+        this.batchClient = batchClient;
+        this.predictionCache = predictionCache;
+        this.properties = properties;
+        this.aiUrl = properties.getUrl();
+    }
 
     /**
      * AI 노쇼 예측 (예외 발생 시 null 반환 - 안전 버전)
@@ -36,9 +56,24 @@ public class AiNoshowService {
             log.info("오늘 예약 목록 개수: {}",
                      request.getTodayReservations() != null ? request.getTodayReservations().size() : 0);
 
-            AiNoshowResponse response = restTemplate.postForObject(aiUrl, request, AiNoshowResponse.class);
+            // 같은 입력(모델 버전 포함)으로 이미 받은 예측이면 AI 서버를 부르지 않는다
+            String cacheKey = predictionCache.key(
+                    AiPredictionCache.AI_SERVER_NOSHOW, properties.getModelVersion(), request);
+            Optional<AiNoshowResponse> cached = predictionCache.get(
+                    AiPredictionCache.AI_SERVER_NOSHOW, cacheKey, AiNoshowResponse.class);
+            if (cached.isPresent()) {
+                log.info("========== AI 노쇼 예측 캐시 사용 ==========");
+                log.info("노쇼 확률: {}%", cached.get().getNoshowProbability());
+                return cached.get();
+            }
+
+            AiNoshowResponse response = batchClient.isEnabled()
+                    ? batchClient.submit(request).get(
+                            properties.getReadTimeoutMs() + properties.getBatch().getMaxWaitMs(), TimeUnit.MILLISECONDS)
+                    : restTemplate.postForObject(aiUrl, request, AiNoshowResponse.class);
 
             if (response != null) {
+                predictionCache.put(AiPredictionCache.AI_SERVER_NOSHOW, properties.getModelVersion(), cacheKey, response);
                 log.info("========== AI 노쇼 예측 성공 ==========");
                 log.info("노쇼 확률: {}%", response.getNoshowProbability());
                 if (response.getPolicyRecommendation() != null) {
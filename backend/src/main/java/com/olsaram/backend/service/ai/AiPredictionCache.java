@@ -0,0 +1,273 @@
+package com.olsaram.backend.service.ai;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.olsaram.backend.entity.noshow.AiPredictionCacheEntry;
+import com.olsaram.backend.repository.noshow.AiPredictionCacheRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * AI 예측 결과 캐시 (메모리 LRU → ai_prediction_cache 테이블)
+ *
+ * - 키는 예측 종류 + 모델 + 정규화한 입력의 SHA-256. 입력 객체는 필드/맵 키를 정렬한 JSON 으로 만들어
+ *   필드 순서가 달라도 같은 키가 된다
+ * - 같은 입력이면 같은 결과로 보고 ttl-hours 동안 다시 호출하지 않는다 (모델/프롬프트를 바꾸면 키가 바뀜)
+ * - DB 는 호출한 쪽 트랜잭션과 분리해서 읽고 쓴다. 캐시 오류는 로그만 남기고 미스로 처리
+ */
+@Service
+@Slf4j
+public class AiPredictionCache {
+
+    public static final String OPENAI_NOSHOW = "openai-noshow";
+    public static final String AI_SERVER_NOSHOW = "ai-server-noshow";
+
+    private static final String REQUESTS_COUNTER = "ai.prediction.cache.requests";
+
+    // 입력 정규화용 (결과 JSON 은 스프링 ObjectMapper 로 읽고 쓴다)
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    private final AiPredictionCacheRepository repository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate requiresNew;
+    private final boolean enabled;
+    private final Duration ttl;
+
+    private final Map<String, Entry> memory;
+
+    public AiPredictionCache(
+            AiPredictionCacheRepository repository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${ai.prediction-cache.enabled:true}") boolean enabled,
+            @Value("${ai.prediction-cache.max-entries:100000}") int maxEntries,
+            @Value("${ai.prediction-cache.ttl-hours:720}") long ttlHours
+    ) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.ttl = Duration.ofHours(ttlHours);
+        // access-order LinkedHashMap = LRU
+        this.memory = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        meterRegistry.gauge("ai.prediction.cache.size", memory, map -> {
+            synchronized (map) {
+                return map.size();
+            }
+        });
+    }
+
+    /**
+     * 이미 정규화된 입력 문자열의 캐시 키
+     */
+    public static String keyOf(String namespace, String model, String canonicalInput) {
+        return sha256(namespace + "|" + model + "|" + canonicalInput);
+    }
+
+    /**
+     * 입력 객체의 캐시 키 (필드/맵 키를 정렬한 JSON 기준)
+     */
+    public String key(String namespace, String model, Object input) {
+        try {
+            return keyOf(namespace, model, CANONICAL_MAPPER.writeValueAsString(input));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("AI 예측 캐시 키 계산 실패", e);
+        }
+    }
+
+    public <T> Optional<T> get(String namespace, String key, Class<T> type) {
+        return Optional.ofNullable(getAll(namespace, List.of(key), type).get(key));
+    }
+
+    /**
+     * 여러 키 조회 (메모리에 없는 키만 DB 에서 한 번에 읽는다). 없거나 만료된 키는 결과에서 빠진다.
+     */
+    public <T> Map<String, T> getAll(String namespace, Collection<String> keys, Class<T> type) {
+        Map<String, T> found = new LinkedHashMap<>();
+        if (!enabled || keys.isEmpty()) {
+            return found;
+        }
+
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(ttl);
+        Map<String, String> cached = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        synchronized (memory) {
+            for (String key : keys) {
+                Entry entry = memory.get(key);
+                if (entry != null && entry.createdAt().isBefore(expiredBefore)) {
+                    memory.remove(key);
+                    entry = null;
+                }
+                if (entry == null) {
+                    missing.add(key);
+                } else {
+                    cached.put(key, entry.payload());
+                }
+            }
+        }
+        cached.forEach((key, payload) -> putIfReadable(found, key, payload, type));
+        int memoryHits = found.size();
+
+        if (!missing.isEmpty()) {
+            try {
+                List<AiPredictionCacheEntry> stored = requiresNew.execute(status -> repository.findAllById(missing));
+                for (AiPredictionCacheEntry row : stored != null ? stored : List.<AiPredictionCacheEntry>of()) {
+                    if (row.getCreatedAt().isBefore(expiredBefore)) {
+                        continue;
+                    }
+                    putIfReadable(found, row.getCacheKey(), row.getPayload(), type);
+                    remember(row.getCacheKey(), new Entry(row.getPayload(), row.getCreatedAt()));
+                }
+            } catch (Exception e) {
+                log.warn("⚠️ AI 예측 캐시 조회 실패 - 미스로 처리: {}", e.getMessage());
+            }
+        }
+
+        count(namespace, "memory_hit", memoryHits);
+        count(namespace, "db_hit", found.size() - memoryHits);
+        count(namespace, "miss", keys.size() - found.size());
+        return found;
+    }
+
+    public void put(String namespace, String model, String key, Object value) {
+        putAll(namespace, model, Map.of(key, value));
+    }
+
+    /**
+     * 예측 결과 저장 (메모리 + DB). 다른 인스턴스가 같은 키를 먼저 넣었거나 만료된 행이 남아 있으면 덮어쓴다.
+     */
+    public void putAll(String namespace, String model, Map<String, ?> values) {
+        if (!enabled || values.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, String> payloads = new LinkedHashMap<>();
+        values.forEach((key, value) -> {
+            try {
+                payloads.put(key, objectMapper.writeValueAsString(value));
+            } catch (JsonProcessingException e) {
+                log.warn("⚠️ AI 예측 캐시 직렬화 실패 - key: {}, error: {}", key, e.getMessage());
+            }
+        });
+        payloads.forEach((key, payload) -> remember(key, new Entry(payload, now)));
+
+        try {
+            requiresNew.executeWithoutResult(status -> repository.saveAllAndFlush(
+                    payloads.entrySet().stream().map(e -> newEntry(namespace, model, e.getKey(), e.getValue(), now)).toList()));
+        } catch (DataIntegrityViolationException e) {
+            payloads.forEach((key, payload) -> saveOne(newEntry(namespace, model, key, payload, now)));
+        } catch (Exception e) {
+            log.warn("⚠️ AI 예측 캐시 저장 실패 ({}건): {}", payloads.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 만료된 캐시 정리 (DB + 메모리)
+     */
+    @Scheduled(fixedDelayString = "${ai.prediction-cache.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        synchronized (memory) {
+            memory.values().removeIf(entry -> entry.createdAt().isBefore(cutoff));
+        }
+
+        int deleted = repository.deleteCreatedBefore(cutoff);
+        if (deleted > 0) {
+            log.info("🧹 만료된 AI 예측 캐시 {}건 삭제", deleted);
+        }
+    }
+
+    private void saveOne(AiPredictionCacheEntry entry) {
+        try {
+            requiresNew.executeWithoutResult(status -> repository.saveAndFlush(entry));
+        } catch (DataIntegrityViolationException duplicate) {
+            try {
+                entry.setNewRecord(false); // 이미 있는 키 → merge 로 덮어쓰기
+                requiresNew.executeWithoutResult(status -> repository.saveAndFlush(entry));
+            } catch (Exception e) {
+                log.warn("⚠️ AI 예측 캐시 저장 실패 - key: {}, error: {}", entry.getCacheKey(), e.getMessage());
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ AI 예측 캐시 저장 실패 - key: {}, error: {}", entry.getCacheKey(), e.getMessage());
+        }
+    }
+
+    private static AiPredictionCacheEntry newEntry(
+            String namespace, String model, String key, String payload, LocalDateTime createdAt) {
+        return AiPredictionCacheEntry.builder()
+                .cacheKey(key)
+                .namespace(namespace)
+                .model(model)
+                .payload(payload)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private <T> void putIfReadable(Map<String, T> found, String key, String payload, Class<T> type) {
+        try {
+            found.put(key, objectMapper.readValue(payload, type));
+        } catch (JsonProcessingException e) {
+            log.warn("⚠️ AI 예측 캐시 역직렬화 실패 - key: {}, error: {}", key, e.getMessage());
+        }
+    }
+
+    private void remember(String key, Entry entry) {
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+    }
+
+    private void count(String namespace, String result, long amount) {
+        if (amount > 0) {
+            meterRegistry.counter(REQUESTS_COUNTER, "namespace", namespace, "result", result).increment(amount);
+        }
+    }
+
+    static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(String payload, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.olsaram.backend.service.business;
+
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.service.reservation.ReservationOutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 예약 이벤트 → 가게 요일 × 시간대 집계
+ *
+ * 가게 행은 outbox 배치 트랜잭션 안에서, 메모리 사본은 커밋된 뒤에 반영된다 (롤백되면 반영 안 됨).
+ */
+@Component
+@RequiredArgsConstructor
+public class BusinessSlotHeatmapOutboxHandler implements ReservationOutboxHandler {
+
+    private final BusinessSlotHeatmapStore businessSlotHeatmapStore;
+
+    @Override
+    public void handle(ReservationDomainEvent event) {
+        businessSlotHeatmapStore.apply(event);
+    }
+}
@@ -0,0 +1,468 @@
+package com.olsaram.backend.service.business;
+
+import com.olsaram.backend.domain.business.BusinessSlotHeatmap;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.repository.business.BusinessSlotHeatmapRepository;
+import com.olsaram.backend.repository.reservation.ReservationOutboxRepository;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 가게별 요일 × 시간대 예약/노쇼 집계 (메모리 int[7][24] + business_slot_heatmap write-behind)
+ *
+ * - 조회는 메모리 사본에서 168칸만 읽는다 (예약 테이블 조회 없음). 다른 인스턴스가 반영한 값은 ttl-ms 가 지나면 다시 읽음
+ * - 예약 이벤트(outbox)의 증감은 배치 트랜잭션 동안 가게별로 합쳐 커밋 직전에 같은 트랜잭션에서 가게 행에 더해 쓰고,
+ *   메모리 사본에는 커밋 후 더한다 → 이벤트 전달 완료 표시와 함께 커밋/롤백되어 서버가 죽어도 잃지 않는다
+ *   (인스턴스 간 동시 반영은 @Version 충돌 → 배치 롤백 → outbox 재시도)
+ * - 트랜잭션 밖에서 반영하면 메모리 사본과 증가분 버퍼에 더하고, 증가분은 flush-interval-ms 마다 가게 행에 더해 쓴다
+ * - 집계 행이 없는 가게는 처음 접근할 때 예약 이력 GROUP BY 한 번으로 채운다
+ *   (같은 트랜잭션에서 읽은 outbox/예약 최대 id 를 워터마크로 남겨, 그 이하의 이벤트는 이미 포함된 것으로 본다)
+ */
+@Component
+@Slf4j
+public class BusinessSlotHeatmapStore {
+
+    private static final int STRIPES = 32;
+    private static final int FLUSH_BATCH_SIZE = 200;
+
+    private final BusinessSlotHeatmapRepository heatmapRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate requiresNew;
+    private final Counter flushedRows;
+    private final long ttlMs;
+    private final int minOutcomes;
+
+    private final Object[] locks = new Object[STRIPES];
+    private final Map<Long, SlotHeatmap>[] pending;
+    private final Map<Long, Entry> cache = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public BusinessSlotHeatmapStore(
+            BusinessSlotHeatmapRepository heatmapRepository,
+            ReservationRepository reservationRepository,
+            ReservationOutboxRepository outboxRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${business.heatmap.ttl-ms:60000}") long ttlMs,
+            @Value("${business.heatmap.min-outcomes:5}") int minOutcomes
+    ) {
+        this.heatmapRepository = heatmapRepository;
+        this.reservationRepository = reservationRepository;
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.flushedRows = Counter.builder("business.heatmap.flushed_rows")
+                .description("write-behind 로 반영한 business_slot_heatmap 행 수")
+                .register(meterRegistry);
+        this.ttlMs = ttlMs;
+        this.minOutcomes = minOutcomes;
+
+        this.pending = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+            pending[i] = new HashMap<>();
+        }
+    }
+
+    public int getMinOutcomes() {
+        return minOutcomes;
+    }
+
+    /**
+     * 가게 집계 복사본 (집계가 없으면 먼저 채운다)
+     */
+    public SlotHeatmap get(Long businessId) {
+        Entry entry = entry(businessId);
+        if (entry == null) {
+            return new SlotHeatmap();
+        }
+        synchronized (lockOf(businessId)) {
+            return entry.heatmap.copy();
+        }
+    }
+
+    /**
+     * 예약 시간대(요일 × 시)의 노쇼율 퍼센트 - 위험도 모델 피처용 (결과가 min-outcomes 건 미만이면 -1)
+     */
+    public int noShowPercent(Long businessId, LocalDateTime reservationTime) {
+        if (businessId == null || reservationTime == null) {
+            return -1;
+        }
+        Entry entry = entry(businessId);
+        if (entry == null) {
+            return -1;
+        }
+        double rate;
+        synchronized (lockOf(businessId)) {
+            rate = entry.heatmap.noShowRate(SlotHeatmap.dayOf(reservationTime), reservationTime.getHour(), minOutcomes);
+        }
+        return Double.isNaN(rate) ? -1 : (int) Math.round(rate * 100);
+    }
+
+    /**
+     * 예약 이벤트를 집계에 반영 (outbox 트랜잭션 안에서 호출하면 가게 행은 같은 트랜잭션에서, 메모리 사본은 커밋 후 갱신)
+     */
+    public void apply(ReservationDomainEvent event) {
+        List<Delta> deltas = deltasOf(event);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Set<Long> skipped = new HashSet<>();
+        for (Long businessId : deltas.stream().map(Delta::businessId).distinct().toList()) {
+            Entry entry = loadedEntry(businessId);
+            if (entry == null) {
+                // 처음 보는 가게: 이 이벤트까지 커밋된 이력으로 채운다 (동시에 다른 곳에서 채우면 INSERT 충돌 → outbox 재시도)
+                heatmapRepository.saveAndFlush(bootstrap(businessId));
+                skipped.add(businessId);
+            } else if (event.isCoveredBy(entry.bootstrapEventId, entry.bootstrapReservationId)) {
+                skipped.add(businessId); // 초기 적재에 이미 포함된 이벤트
+            }
+        }
+        List<Delta> applied = deltas.stream().filter(delta -> !skipped.contains(delta.businessId())).toList();
+        if (applied.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<Long, SlotHeatmap> transactionDeltas = transactionDeltas();
+            for (Delta delta : applied) {
+                transactionDeltas.computeIfAbsent(delta.businessId(), id -> new SlotHeatmap())
+                        .add(delta.day(), delta.hour(), delta.bookings(), delta.completed(), delta.noShows());
+            }
+        } else {
+            record(applied);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션의 가게별 증감 (처음 기록할 때 커밋 직전 행 반영과 커밋 후 메모리 반영을 등록)
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, SlotHeatmap> transactionDeltas() {
+        Map<Long, SlotHeatmap> deltas = (Map<Long, SlotHeatmap>) TransactionSynchronizationManager.getResource(this);
+        if (deltas != null) {
+            return deltas;
+        }
+        Map<Long, SlotHeatmap> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // @Version 충돌 등으로 실패하면 트랜잭션이 롤백되어 outbox 가 이벤트를 다시 전달한다
+                created.values().removeIf(SlotHeatmap::isEmpty);
+                addToRows(created.entrySet());
+                heatmapRepository.flush();
+                flushedRows.increment(created.size());
+            }
+
+            @Override
+            public void afterCommit() {
+                for (Map.Entry<Long, SlotHeatmap> entry : created.entrySet()) {
+                    Entry cached = cache.get(entry.getKey());
+                    if (cached != null) {
+                        synchronized (lockOf(entry.getKey())) {
+                            cached.heatmap.addAll(entry.getValue());
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(BusinessSlotHeatmapStore.this);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * 가게 행에 증감을 더한다 (호출한 트랜잭션 안에서, 행이 없는 가게는 건너뜀)
+     */
+    private void addToRows(Iterable<Map.Entry<Long, SlotHeatmap>> entries) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, SlotHeatmap> entry : entries) {
+            BusinessSlotHeatmap row = heatmapRepository.findById(entry.getKey()).orElse(null);
+            if (row == null) {
+                continue; // 증가분은 초기 적재 뒤에만 쌓이므로 행이 지워진 경우뿐
+            }
+            SlotHeatmap heatmap = SlotHeatmap.decode(row.getBookings(), row.getCompleted(), row.getNoShows());
+            heatmap.addAll(entry.getValue());
+            row.setBookings(heatmap.encodeBookings());
+            row.setCompleted(heatmap.encodeCompleted());
+            row.setNoShows(heatmap.encodeNoShows());
+            row.setUpdatedAt(now);
+        }
+    }
+
+    /**
+     * 이벤트 → 칸별 증감 (이전 상태의 기여분을 빼고 새 상태의 기여분을 더한다)
+     */
+    static List<Delta> deltasOf(ReservationDomainEvent event) {
+        List<Delta> deltas = new ArrayList<>(2);
+        switch (event.getType()) {
+            case CREATED -> addContribution(deltas, event.getBusinessId(), event.getReservationTime(),
+                    event.getStatus(), event.isMarkedNoShow(), 1);
+            case DELETED -> addContribution(deltas, event.getBusinessId(), event.getReservationTime(),
+                    event.getStatus(), event.isMarkedNoShow(), -1);
+            case STATUS_CHANGED -> {
+                if (event.getPreviousStatus() == null) {
+                    return deltas; // 이전 상태가 없는 이벤트 (이 기능 도입 전 outbox 에 쌓인 것)
+                }
+                addContribution(deltas,
+                        event.getPreviousBusinessId() != null ? event.getPreviousBusinessId() : event.getBusinessId(),
+                        event.getPreviousReservationTime() != null ? event.getPreviousReservationTime() : event.getReservationTime(),
+                        event.getPreviousStatus(), event.isPreviousMarkedNoShow(), -1);
+                addContribution(deltas, event.getBusinessId(), event.getReservationTime(),
+                        event.getStatus(), event.isMarkedNoShow(), 1);
+            }
+            default -> {
+            }
+        }
+        return merge(deltas);
+    }
+
+    private static void addContribution(List<Delta> deltas, Long businessId, LocalDateTime reservationTime,
+                                        String status, boolean markedNoShow, int sign) {
+        if (businessId == null || reservationTime == null || status == null) {
+            return;
+        }
+        ReservationStatus reservationStatus = ReservationStatus.valueOf(status);
+        boolean completed = reservationStatus == ReservationStatus.COMPLETED;
+        boolean noShow = reservationStatus == ReservationStatus.NO_SHOW
+                || (reservationStatus == ReservationStatus.CANCELED && markedNoShow);
+        deltas.add(new Delta(businessId, SlotHeatmap.dayOf(reservationTime), reservationTime.getHour(),
+                sign, completed ? sign : 0, noShow ? sign : 0));
+    }
+
+    /** 같은 칸끼리 합치고 0 인 증감은 뺀다 (결제 상태만 바뀐 이벤트 등) */
+    private static List<Delta> merge(List<Delta> deltas) {
+        if (deltas.size() == 2 && deltas.get(0).sameSlot(deltas.get(1))) {
+            Delta a = deltas.get(0);
+            Delta b = deltas.get(1);
+            Delta merged = new Delta(a.businessId(), a.day(), a.hour(),
+                    a.bookings() + b.bookings(), a.completed() + b.completed(), a.noShows() + b.noShows());
+            return merged.isZero() ? List.of() : List.of(merged);
+        }
+        return deltas;
+    }
+
+    private void record(List<Delta> deltas) {
+        for (Delta delta : deltas) {
+            int stripe = stripeOf(delta.businessId());
+            synchronized (locks[stripe]) {
+                pending[stripe].computeIfAbsent(delta.businessId(), id -> new SlotHeatmap())
+                        .add(delta.day(), delta.hour(), delta.bookings(), delta.completed(), delta.noShows());
+                Entry entry = cache.get(delta.businessId());
+                if (entry != null) {
+                    entry.heatmap.add(delta.day(), delta.hour(), delta.bookings(), delta.completed(), delta.noShows());
+                }
+            }
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${business.heatmap.flush-interval-ms:10000}",
+            initialDelayString = "${business.heatmap.flush-interval-ms:10000}"
+    )
+    public void flush() {
+        Map<Long, SlotHeatmap> drained = drain();
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, SlotHeatmap>> entries = new ArrayList<>(drained.entrySet());
+        for (int from = 0; from < entries.size(); from += FLUSH_BATCH_SIZE) {
+            List<Map.Entry<Long, SlotHeatmap>> batch = entries.subList(from, Math.min(entries.size(), from + FLUSH_BATCH_SIZE));
+            try {
+                transactionTemplate.executeWithoutResult(status -> addToRows(batch));
+                flushedRows.increment(batch.size());
+            } catch (Exception e) {
+                // 실패한 배치(다른 인스턴스와 @Version 충돌 등)는 버퍼로 되돌려 다음 주기에 다시 반영
+                log.warn("⚠️ 가게 시간대 집계 반영 실패 - {}개 가게, 다음 주기에 재시도: {}", batch.size(), e.getMessage());
+                for (Map.Entry<Long, SlotHeatmap> entry : batch) {
+                    int stripe = stripeOf(entry.getKey());
+                    synchronized (locks[stripe]) {
+                        pending[stripe].computeIfAbsent(entry.getKey(), id -> new SlotHeatmap()).addAll(entry.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private Map<Long, SlotHeatmap> drain() {
+        Map<Long, SlotHeatmap> drained = new HashMap<>();
+        for (int i = 0; i < STRIPES; i++) {
+            Map<Long, SlotHeatmap> buffer;
+            synchronized (locks[i]) {
+                buffer = pending[i];
+                if (buffer.isEmpty()) {
+                    continue;
+                }
+                pending[i] = new HashMap<>();
+            }
+            buffer.values().removeIf(SlotHeatmap::isEmpty);
+            drained.putAll(buffer);
+        }
+        return drained;
+    }
+
+    private Entry entry(Long businessId) {
+        Entry entry = cache.get(businessId);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAtMs < ttlMs) {
+            return entry;
+        }
+
+        BusinessSlotHeatmap row = heatmapRepository.findById(businessId).orElse(null);
+        if (row == null) {
+            row = insertOrLoad(businessId);
+            if (row == null) {
+                return null;
+            }
+        }
+        return cache(row);
+    }
+
+    /** 메모리 사본 또는 저장된 집계 (초기 적재 전이면 null) */
+    private Entry loadedEntry(Long businessId) {
+        Entry entry = cache.get(businessId);
+        if (entry != null) {
+            return entry;
+        }
+        return heatmapRepository.findById(businessId)
+                .map(this::cache)
+                .orElse(null);
+    }
+
+    /** DB 값 + 아직 반영 안 된 증가분으로 메모리 사본을 만든다 */
+    private Entry cache(BusinessSlotHeatmap row) {
+        SlotHeatmap heatmap = SlotHeatmap.decode(row.getBookings(), row.getCompleted(), row.getNoShows());
+        Long businessId = row.getBusinessId();
+        int stripe = stripeOf(businessId);
+        synchronized (locks[stripe]) {
+            SlotHeatmap unflushed = pending[stripe].get(businessId);
+            if (unflushed != null) {
+                heatmap.addAll(unflushed);
+            }
+            Entry entry = new Entry(heatmap, row.getBootstrapEventId(), row.getBootstrapReservationId(), System.currentTimeMillis());
+            cache.put(businessId, entry);
+            return entry;
+        }
+    }
+
+    private BusinessSlotHeatmap insertOrLoad(Long businessId) {
+        try {
+            return requiresNew.execute(status -> heatmapRepository.saveAndFlush(bootstrap(businessId)));
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 다른 요청/이벤트가 먼저 채움
+            return heatmapRepository.findById(businessId).orElse(null);
+        }
+    }
+
+    /**
+     * 가게 예약 이력을 날짜/시/상태별로 세어 요일 × 시간대 집계를 만든다 (워터마크는 이력과 같은 트랜잭션에서 먼저 읽는다)
+     */
+    private BusinessSlotHeatmap bootstrap(Long businessId) {
+        LocalDateTime now = LocalDateTime.now();
+        Long bootstrapEventId = outboxRepository.findMaxId();
+        Long bootstrapReservationId = reservationRepository.findMaxId();
+        SlotHeatmap heatmap = new SlotHeatmap();
+        for (Object[] row : reservationRepository.countHourlyStatusesByBusiness(businessId)) {
+            LocalDate date = (LocalDate) row[0];
+            ReservationStatus status = (ReservationStatus) row[2];
+            if (date == null || row[1] == null || status == null) {
+                continue;
+            }
+            int day = date.getDayOfWeek().getValue() - 1;
+            int hour = ((Number) row[1]).intValue();
+            int noShows = ((Number) row[3]).intValue();
+            int total = ((Number) row[4]).intValue();
+
+            if (status == ReservationStatus.COMPLETED) {
+                heatmap.add(day, hour, total, total, 0);
+            } else if (status == ReservationStatus.NO_SHOW) {
+                heatmap.add(day, hour, total, 0, total);
+            } else if (status == ReservationStatus.CANCELED) {
+                heatmap.add(day, hour, total, 0, noShows);
+            } else {
+                heatmap.add(day, hour, total, 0, 0);
+            }
+        }
+        log.info("💾 가게 시간대 집계 초기 적재 - businessId={}", businessId);
+
+        return BusinessSlotHeatmap.builder()
+                .businessId(businessId)
+                .bookings(heatmap.encodeBookings())
+                .completed(heatmap.encodeCompleted())
+                .noShows(heatmap.encodeNoShows())
+                .bootstrappedAt(now)
+                .bootstrapEventId(bootstrapEventId)
+                .bootstrapReservationId(bootstrapReservationId)
+                .updatedAt(now)
+                .build();
+    }
+
+    private Object lockOf(Long businessId) {
+        return locks[stripeOf(businessId)];
+    }
+
+    private static int stripeOf(Long businessId) {
+        return (Long.hashCode(businessId) & 0x7fffffff) % STRIPES;
+    }
+
+    record Delta(Long businessId, int day, int hour, int bookings, int completed, int noShows) {
+
+        boolean sameSlot(Delta other) {
+            return businessId.equals(other.businessId) && day == other.day && hour == other.hour;
+        }
+
+        boolean isZero() {
+            return bookings == 0 && completed == 0 && noShows == 0;
+        }
+    }
+
+    private static final class Entry {
+        private final SlotHeatmap heatmap;
+        private final Long bootstrapEventId;
+        private final Long bootstrapReservationId;
+        private final long loadedAtMs;
+
+        private Entry(SlotHeatmap heatmap, Long bootstrapEventId, Long bootstrapReservationId, long loadedAtMs) {
+            this.heatmap = heatmap;
+            this.bootstrapEventId = bootstrapEventId;
+            this.bootstrapReservationId = bootstrapReservationId;
+            this.loadedAtMs = loadedAtMs;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.olsaram.backend.service.business;
+
+import com.olsaram.backend.repository.BusinessRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 가게 통계 카운터 증가분 모으기
+ *
+ * 예약 생성/완료/노쇼/결제마다 business 행을 바로 UPDATE 하면 피크 시간에 같은 행 잠금을 두고 경합한다.
+ * - 트랜잭션 안(outbox 배치)에서 기록하면 그 트랜잭션 동안 가게별로 합쳐 두었다가 커밋 직전에 같은 트랜잭션에서
+ *   가게당 UPDATE 한 번으로 반영한다 → 이벤트 전달 완료 표시와 함께 커밋/롤백되어 서버가 죽어도 잃지 않는다
+ * - 트랜잭션 밖에서 기록하면 가게 ID 기준 lock striping 버퍼에 모아 두고, 주기적으로(그리고 종료 시) 반영한다
+ */
+@Component
+@Slf4j
+public class BusinessStatsAggregator {
+
+    private static final int STRIPES = 32;
+    private static final int FLUSH_BATCH_SIZE = 200;
+
+    private static final int TOTAL_RESERVATIONS = 0;
+    private static final int COMPLETED_RESERVATIONS = 1;
+    private static final int NO_SHOW_COUNT = 2;
+    private static final int MONTHLY_REVENUE = 3;
+
+    private final BusinessRepository businessRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter flushedRows;
+
+    private final Object[] locks = new Object[STRIPES];
+    private final Map<Long, long[]>[] buffers;
+
+    @SuppressWarnings("unchecked")
+    public BusinessStatsAggregator(
+            BusinessRepository businessRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.businessRepository = businessRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushedRows = Counter.builder("business.stats.flushed_rows")
+                .description("write-behind 로 반영한 business 행 UPDATE 수")
+                .register(meterRegistry);
+
+        this.buffers = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+            buffers[i] = new HashMap<>();
+        }
+    }
+
+    public void reservationCreated(Long businessId) {
+        record(businessId, TOTAL_RESERVATIONS, 1);
+    }
+
+    public void reservationCompleted(Long businessId) {
+        record(businessId, COMPLETED_RESERVATIONS, 1);
+    }
+
+    public void noShow(Long businessId) {
+        record(businessId, NO_SHOW_COUNT, 1);
+    }
+
+    public void revenue(Long businessId, long amount) {
+        if (amount != 0) {
+            record(businessId, MONTHLY_REVENUE, amount);
+        }
+    }
+
+    private void record(Long businessId, int field, long delta) {
+        if (businessId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionDeltas().computeIfAbsent(businessId, id -> new long[4])[field] += delta;
+        } else {
+            add(businessId, field, delta);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션의 가게별 증가분 (처음 기록할 때 커밋 직전 반영을 등록)
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, long[]> transactionDeltas() {
+        Map<Long, long[]> deltas = (Map<Long, long[]>) TransactionSynchronizationManager.getResource(this);
+        if (deltas != null) {
+            return deltas;
+        }
+        Map<Long, long[]> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // 실패하면 트랜잭션이 롤백되어 outbox 가 이벤트를 다시 전달한다
+                applyDeltas(created.entrySet());
+                flushedRows.increment(created.size());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(BusinessStatsAggregator.this);
+            }
+        });
+        return created;
+    }
+
+    private void applyDeltas(Iterable<Map.Entry<Long, long[]>> entries) {
+        for (Map.Entry<Long, long[]> entry : entries) {
+            long[] delta = entry.getValue();
+            businessRepository.applyStatsDelta(
+                    entry.getKey(),
+                    (int) delta[TOTAL_RESERVATIONS],
+                    (int) delta[COMPLETED_RESERVATIONS],
+                    (int) delta[NO_SHOW_COUNT],
+                    delta[MONTHLY_REVENUE]
+            );
+        }
+    }
+
+    private void add(Long businessId, int field, long delta) {
+        int stripe = stripeOf(businessId);
+        synchronized (locks[stripe]) {
+            buffers[stripe].computeIfAbsent(businessId, id -> new long[4])[field] += delta;
+        }
+    }
+
+    private static int stripeOf(Long businessId) {
+        return (Long.hashCode(businessId) & 0x7fffffff) % STRIPES;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${business.stats.flush-interval-ms:3000}",
+            initialDelayString = "${business.stats.flush-interval-ms:3000}"
+    )
+    public void flush() {
+        Map<Long, long[]> pending = drain();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, long[]>> entries = new ArrayList<>(pending.entrySet());
+        for (int from = 0; from < entries.size(); from += FLUSH_BATCH_SIZE) {
+            List<Map.Entry<Long, long[]>> batch = entries.subList(from, Math.min(entries.size(), from + FLUSH_BATCH_SIZE));
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyDeltas(batch));
+                flushedRows.increment(batch.size());
+            } catch (Exception e) {
+                // 실패한 배치는 버퍼로 되돌려 다음 주기에 다시 반영
+                log.warn("⚠️ 가게 통계 반영 실패 - {}개 가게, 다음 주기에 재시도: {}", batch.size(), e.getMessage());
+                for (Map.Entry<Long, long[]> entry : batch) {
+                    long[] delta = entry.getValue();
+                    for (int field = 0; field < delta.length; field++) {
+                        if (delta[field] != 0) {
+                            add(entry.getKey(), field, delta[field]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private Map<Long, long[]> drain() {
+        Map<Long, long[]> drained = new HashMap<>();
+        for (int i = 0; i < STRIPES; i++) {
+            Map<Long, long[]> buffer;
+            synchronized (locks[i]) {
+                buffer = buffers[i];
+                if (buffer.isEmpty()) {
+                    continue;
+                }
+                buffers[i] = new HashMap<>();
+            }
+            drained.putAll(buffer);
+        }
+        return drained;
+    }
+}
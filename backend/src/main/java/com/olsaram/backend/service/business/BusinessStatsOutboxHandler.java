@@ -0,0 +1,47 @@
+package com.olsaram.backend.service.business;
+
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.service.reservation.ReservationOutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 예약 이벤트 → 가게 통계 카운터
+ *
+ * outbox 배치 트랜잭션 안에서 호출되므로 증가분은 배치 안에서 가게별로 합쳐져 같은 트랜잭션에서 반영된다 (롤백되면 반영 안 됨).
+ */
+@Component
+@RequiredArgsConstructor
+public class BusinessStatsOutboxHandler implements ReservationOutboxHandler {
+
+    private final BusinessStatsAggregator businessStatsAggregator;
+
+    @Override
+    public void handle(ReservationDomainEvent event) {
+        if (event.getBusinessId() == null) {
+            return;
+        }
+
+        switch (event.getType()) {
+            case CREATED -> businessStatsAggregator.reservationCreated(event.getBusinessId());
+            case STATUS_CHANGED -> {
+                if (!event.isStatusChanged() || event.isStatsApplied()) {
+                    return;
+                }
+                if (event.isNoShow()) {
+                    businessStatsAggregator.noShow(event.getBusinessId());
+                } else if (ReservationStatus.COMPLETED.name().equals(event.getStatus())) {
+                    businessStatsAggregator.reservationCompleted(event.getBusinessId());
+                }
+            }
+            case PAYMENT_CONFIRMED -> {
+                if (event.getAmount() != null) {
+                    businessStatsAggregator.revenue(event.getBusinessId(), event.getAmount());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+}
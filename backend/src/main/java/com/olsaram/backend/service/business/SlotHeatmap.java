@@ -0,0 +1,127 @@
+package com.olsaram.backend.service.business;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+/**
+ * 요일(월=0 ~ 일=6) × 시간(0~23) 예약/방문 완료/노쇼 카운트 (int[7][24] 세 개)
+ *
+ * 스레드 안전하지 않다 - BusinessSlotHeatmapStore 가 가게별 잠금 안에서만 고치고, 밖으로는 복사본을 내보낸다.
+ */
+public final class SlotHeatmap {
+
+    public static final int DAYS = 7;
+    public static final int HOURS = 24;
+
+    private final int[][] bookings;
+    private final int[][] completed;
+    private final int[][] noShows;
+
+    public SlotHeatmap() {
+        this(new int[DAYS][HOURS], new int[DAYS][HOURS], new int[DAYS][HOURS]);
+    }
+
+    private SlotHeatmap(int[][] bookings, int[][] completed, int[][] noShows) {
+        this.bookings = bookings;
+        this.completed = completed;
+        this.noShows = noShows;
+    }
+
+    public static int dayOf(LocalDateTime time) {
+        return time.getDayOfWeek().getValue() - 1;
+    }
+
+    public int bookings(int day, int hour) {
+        return bookings[day][hour];
+    }
+
+    public int completed(int day, int hour) {
+        return completed[day][hour];
+    }
+
+    public int noShows(int day, int hour) {
+        return noShows[day][hour];
+    }
+
+    /**
+     * 결과가 난 예약(방문 완료 + 노쇼) 중 노쇼 비율, 결과가 minOutcomes 건 미만이면 NaN
+     */
+    public double noShowRate(int day, int hour, int minOutcomes) {
+        int outcomes = completed[day][hour] + noShows[day][hour];
+        if (outcomes <= 0 || outcomes < minOutcomes) {
+            return Double.NaN;
+        }
+        return (double) noShows[day][hour] / outcomes;
+    }
+
+    void add(int day, int hour, int bookingDelta, int completedDelta, int noShowDelta) {
+        bookings[day][hour] += bookingDelta;
+        completed[day][hour] += completedDelta;
+        noShows[day][hour] += noShowDelta;
+    }
+
+    void addAll(SlotHeatmap other) {
+        for (int day = 0; day < DAYS; day++) {
+            for (int hour = 0; hour < HOURS; hour++) {
+                add(day, hour, other.bookings[day][hour], other.completed[day][hour], other.noShows[day][hour]);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        for (int day = 0; day < DAYS; day++) {
+            for (int hour = 0; hour < HOURS; hour++) {
+                if (bookings[day][hour] != 0 || completed[day][hour] != 0 || noShows[day][hour] != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    SlotHeatmap copy() {
+        SlotHeatmap copy = new SlotHeatmap();
+        copy.addAll(this);
+        return copy;
+    }
+
+    byte[] encodeBookings() {
+        return encode(bookings);
+    }
+
+    byte[] encodeCompleted() {
+        return encode(completed);
+    }
+
+    byte[] encodeNoShows() {
+        return encode(noShows);
+    }
+
+    static SlotHeatmap decode(byte[] bookings, byte[] completed, byte[] noShows) {
+        return new SlotHeatmap(decode(bookings), decode(completed), decode(noShows));
+    }
+
+    private static byte[] encode(int[][] matrix) {
+        ByteBuffer buffer = ByteBuffer.allocate(DAYS * HOURS * Integer.BYTES);
+        for (int[] row : matrix) {
+            for (int value : row) {
+                buffer.putInt(value);
+            }
+        }
+        return buffer.array();
+    }
+
+    private static int[][] decode(byte[] bytes) {
+        int[][] matrix = new int[DAYS][HOURS];
+        if (bytes == null || bytes.length != DAYS * HOURS * Integer.BYTES) {
+            return matrix;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        for (int day = 0; day < DAYS; day++) {
+            for (int hour = 0; hour < HOURS; hour++) {
+                matrix[day][hour] = buffer.getInt();
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,21 @@
+package com.olsaram.backend.service.customer;
+
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.service.reservation.ReservationOutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 예약 이벤트 → 고객 위험도 피처 증분 갱신
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerFeatureOutboxHandler implements ReservationOutboxHandler {
+
+    private final CustomerFeatureStore customerFeatureStore;
+
+    @Override
+    public void handle(ReservationDomainEvent event) {
+        customerFeatureStore.apply(event);
+    }
+}
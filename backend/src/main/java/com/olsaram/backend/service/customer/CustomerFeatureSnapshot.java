@@ -0,0 +1,70 @@
+package com.olsaram.backend.service.customer;
+
+import com.olsaram.backend.domain.customer.CustomerFeatures;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 위험도 계산용 고객 피처 (캐시에 보관하는 불변 사본)
+ *
+ * @param completedCount     방문 완료 횟수 (Customer.reservationCount 와 같은 의미 - 모델 입력 "예약 횟수")
+ * @param avgLeadTimeMinutes 평균 예약 리드타임 (표본이 없으면 null)
+ * @param recentNoShowRate   최근 가중 노쇼율 0~1 (방문/노쇼 이력이 없으면 null)
+ */
+public record CustomerFeatureSnapshot(
+        Long customerId,
+        LocalDateTime customerCreatedAt,
+        int bookingCount,
+        int completedCount,
+        int noShowCount,
+        int cancelCount,
+        int lastMinuteCancelCount,
+        Double avgLeadTimeMinutes,
+        Double recentNoShowRate
+) {
+
+    public static CustomerFeatureSnapshot of(CustomerFeatures features, LocalDateTime now, double halfLifeDays) {
+        double decay = decayFactor(features.getRecentDecayedAt(), now, halfLifeDays);
+        double outcomeWeight = features.getRecentOutcomeWeight() * decay;
+
+        return new CustomerFeatureSnapshot(
+                features.getCustomerId(),
+                features.getCustomerCreatedAt(),
+                features.getBookingCount(),
+                features.getCompletedCount(),
+                features.getNoShowCount(),
+                features.getCancelCount(),
+                features.getLastMinuteCancelCount(),
+                features.getLeadTimeSamples() > 0
+                        ? (double) features.getLeadTimeMinutesTotal() / features.getLeadTimeSamples()
+                        : null,
+                outcomeWeight > 0 ? features.getRecentNoShowWeight() * decay / outcomeWeight : null
+        );
+    }
+
+    /**
+     * from 시점의 가중치를 now 시점으로 감쇠시키는 배수 (반감기마다 절반)
+     */
+    public static double decayFactor(LocalDateTime from, LocalDateTime now, double halfLifeDays) {
+        if (from == null || !now.isAfter(from) || halfLifeDays <= 0) {
+            return 1.0;
+        }
+        double elapsedDays = Duration.between(from, now).toMinutes() / (60.0 * 24);
+        return Math.pow(0.5, elapsedDays / halfLifeDays);
+    }
+
+    /** 가입 후 경과 일수 (가입일을 모르면 오래된 계정으로 취급) */
+    public int accountAgeDays() {
+        if (customerCreatedAt == null) {
+            return 365;
+        }
+        return (int) ChronoUnit.DAYS.between(customerCreatedAt.toLocalDate(), LocalDateTime.now().toLocalDate());
+    }
+
+    /** 신뢰 점수 = clamp(100 - 노쇼횟수 * 15 + 완료횟수 * 2, 0, 100) (CustomerRepository 와 같은 식) */
+    public int trustScore() {
+        return Math.max(0, Math.min(100, 100 - noShowCount * 15 + completedCount * 2));
+    }
+}
@@ -0,0 +1,343 @@
+package com.olsaram.backend.service.customer;
+
+import com.olsaram.backend.domain.customer.Customer;
+import com.olsaram.backend.domain.customer.CustomerFeatures;
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.domain.reservation.ReservationEventType;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.repository.CustomerFeaturesRepository;
+import com.olsaram.backend.repository.CustomerRepository;
+import com.olsaram.backend.repository.reservation.ReservationOutboxRepository;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 고객 위험도 피처 저장소
+ *
+ * - 원본은 customer_features 테이블. 예약 이벤트(outbox)마다 해당 고객 행만 증분 갱신 (@Version 충돌 시 outbox 가 재시도)
+ * - 위험도 계산 경로는 메모리 LRU(max-entries) 캐시에서 읽는다. 다른 인스턴스가 갱신한 값은 ttl-ms 가 지나면 다시 읽음
+ * - 피처 행이 없는 고객은 처음 접근할 때 Customer 카운터와 예약 이력으로 채운다.
+ *   그때의 outbox 최대 id 와 읽은 예약 최대 id 를 워터마크로 남겨, 그 이하의 이벤트/예약 생성은 다시 세지 않는다
+ * - 예전 예약에는 취소 시각이 없어서 직전 취소 횟수는 이 기능 도입 이후의 취소부터 집계된다
+ */
+@Service
+public class CustomerFeatureStore {
+
+    private static final String CACHE_COUNTER = "customer.features.cache";
+
+    private final CustomerFeaturesRepository featuresRepository;
+    private final CustomerRepository customerRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long ttlMs;
+    private final double halfLifeDays;
+    private final long lastMinuteCancelMinutes;
+
+    private final Map<Long, Entry> cache;
+
+    public CustomerFeatureStore(
+            CustomerFeaturesRepository featuresRepository,
+            CustomerRepository customerRepository,
+            ReservationRepository reservationRepository,
+            ReservationOutboxRepository outboxRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${customer.features.max-entries:50000}") int maxEntries,
+            @Value("${customer.features.ttl-ms:60000}") long ttlMs,
+            @Value("${customer.features.recent-half-life-days:90}") double halfLifeDays,
+            @Value("${customer.features.last-minute-cancel-minutes:180}") long lastMinuteCancelMinutes
+    ) {
+        this.featuresRepository = featuresRepository;
+        this.customerRepository = customerRepository;
+        this.reservationRepository = reservationRepository;
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.ttlMs = ttlMs;
+        this.halfLifeDays = halfLifeDays;
+        this.lastMinuteCancelMinutes = lastMinuteCancelMinutes;
+        // access-order LinkedHashMap = LRU
+        this.cache = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        meterRegistry.gauge("customer.features.cache.size", cache, map -> {
+            synchronized (map) {
+                return map.size();
+            }
+        });
+    }
+
+    /**
+     * 고객 피처 조회 (캐시 → 테이블 → 이력으로 생성). 고객이 없으면 null.
+     */
+    public CustomerFeatureSnapshot get(Long customerId) {
+        if (customerId == null) {
+            return null;
+        }
+        CustomerFeatureSnapshot cached = cached(customerId);
+        if (cached != null) {
+            return cached;
+        }
+
+        CustomerFeatures features = featuresRepository.findById(customerId)
+                .orElseGet(() -> insertOrLoad(bootstrap(customerId)));
+        return features != null ? put(features) : null;
+    }
+
+    /**
+     * 여러 고객 피처 조회 (캐시에 없는 고객은 테이블에서 한 번에 읽는다)
+     */
+    public Map<Long, CustomerFeatureSnapshot> getAll(Collection<Long> customerIds) {
+        Map<Long, CustomerFeatureSnapshot> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long customerId : customerIds) {
+            if (customerId == null || result.containsKey(customerId)) {
+                continue;
+            }
+            CustomerFeatureSnapshot cached = cached(customerId);
+            if (cached != null) {
+                result.put(customerId, cached);
+            } else {
+                missing.add(customerId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        for (CustomerFeatures features : featuresRepository.findAllById(missing)) {
+            result.put(features.getCustomerId(), put(features));
+        }
+        for (Long customerId : missing) {
+            if (!result.containsKey(customerId)) {
+                CustomerFeatures features = insertOrLoad(bootstrap(customerId));
+                if (features != null) {
+                    result.put(customerId, put(features));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 예약 이벤트를 고객 피처에 반영 (outbox 트랜잭션 안에서 호출, 캐시는 커밋 후 갱신)
+     */
+    public void apply(ReservationDomainEvent event) {
+        Long customerId = event.getMemberId();
+        if (customerId == null || !affectsFeatures(event)) {
+            return;
+        }
+
+        Optional<CustomerFeatures> stored = featuresRepository.findById(customerId);
+        if (stored.isEmpty()) {
+            // 처음 보는 고객: 이 이벤트까지 커밋된 이력으로 채운다 (동시에 다른 곳에서 만들면 INSERT 충돌 → outbox 재시도)
+            CustomerFeatures created = bootstrap(customerId);
+            if (created != null) {
+                putAfterCommit(featuresRepository.save(created));
+            }
+            return;
+        }
+
+        CustomerFeatures features = stored.get();
+        if (event.isCoveredBy(features.getBootstrapEventId(), features.getBootstrapReservationId())) {
+            return; // 초기 적재에 이미 포함된 이벤트
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime occurredAt = event.getOccurredAt() != null ? event.getOccurredAt() : now;
+        if (event.getType() == ReservationEventType.CREATED) {
+            features.setBookingCount(features.getBookingCount() + 1);
+            addLeadTime(features, event.getCreatedAt() != null ? event.getCreatedAt() : occurredAt, event.getReservationTime());
+        } else if (event.isNoShow()) {
+            features.setNoShowCount(features.getNoShowCount() + 1);
+            addOutcome(features, true, now);
+            if (ReservationStatus.CANCELED.name().equals(event.getPreviousStatus()) && !event.isPreviousMarkedNoShow()) {
+                features.setCancelCount(Math.max(0, features.getCancelCount() - 1)); // 취소했던 예약을 노쇼로 정정
+            }
+        } else if (ReservationStatus.COMPLETED.name().equals(event.getStatus())) {
+            features.setCompletedCount(features.getCompletedCount() + 1);
+            addOutcome(features, false, now);
+        } else if (ReservationStatus.CANCELED.name().equals(event.getStatus())) {
+            features.setCancelCount(features.getCancelCount() + 1);
+            if (isLastMinute(occurredAt, event.getReservationTime())) {
+                features.setLastMinuteCancelCount(features.getLastMinuteCancelCount() + 1);
+            }
+        }
+
+        features.setUpdatedAt(now);
+        putAfterCommit(featuresRepository.save(features));
+    }
+
+    private static boolean affectsFeatures(ReservationDomainEvent event) {
+        return switch (event.getType()) {
+            case CREATED -> true;
+            case STATUS_CHANGED -> event.isStatusChanged();
+            default -> false;
+        };
+    }
+
+    /**
+     * Customer 카운터 + 예약 이력으로 피처 행 생성 (저장은 호출한 쪽에서)
+     * 워터마크와 이력은 한 트랜잭션에서 읽는다 (사이에 커밋된 이벤트가 빠지거나 두 번 반영되지 않도록)
+     */
+    private CustomerFeatures bootstrap(Long customerId) {
+        return transactionTemplate.execute(status -> readHistory(customerId));
+    }
+
+    private CustomerFeatures readHistory(Long customerId) {
+        Customer customer = customerRepository.findById(customerId).orElse(null);
+        if (customer == null) {
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int noShowCount = customer.getNoShowCount() != null ? customer.getNoShowCount() : 0;
+        CustomerFeatures features = CustomerFeatures.builder()
+                .customerId(customerId)
+                .customerCreatedAt(customer.getCreatedAt())
+                .noShowCount(noShowCount)
+                .completedCount(customer.getReservationCount() != null ? customer.getReservationCount() : 0)
+                .recentDecayedAt(now)
+                .bootstrappedAt(now)
+                .bootstrapEventId(outboxRepository.findMaxId())
+                .updatedAt(now)
+                .build();
+
+        int canceled = 0;
+        int markedNoShows = 0;
+        long maxReservationId = 0;
+        for (Object[] row : reservationRepository.findCustomerHistory(customerId)) {
+            Long reservationId = (Long) row[0];
+            ReservationStatus status = (ReservationStatus) row[1];
+            LocalDateTime reservationTime = (LocalDateTime) row[2];
+            LocalDateTime canceledAt = (LocalDateTime) row[4];
+            LocalDateTime autoNoShowAt = (LocalDateTime) row[5];
+            LocalDateTime noShowAt = (LocalDateTime) row[6];
+
+            maxReservationId = Math.max(maxReservationId, reservationId);
+            features.setBookingCount(features.getBookingCount() + 1);
+            addLeadTime(features, (LocalDateTime) row[3], reservationTime);
+
+            if (Reservation.isMarkedNoShow(status, noShowAt, autoNoShowAt, canceledAt)) {
+                markedNoShows++;
+                LocalDateTime noShowTime = noShowAt != null ? noShowAt : autoNoShowAt != null ? autoNoShowAt : reservationTime;
+                if (noShowTime != null) {
+                    addPastOutcome(features, true, noShowTime, now);
+                }
+            } else if (status == ReservationStatus.COMPLETED && reservationTime != null) {
+                addPastOutcome(features, false, reservationTime, now);
+            } else if (status == ReservationStatus.CANCELED) {
+                canceled++;
+                if (canceledAt != null && isLastMinute(canceledAt, reservationTime)) {
+                    features.setLastMinuteCancelCount(features.getLastMinuteCancelCount() + 1);
+                }
+            }
+        }
+        features.setBootstrapReservationId(maxReservationId > 0 ? maxReservationId : null);
+        // no_show_at 도입 전 사장님이 처리한 노쇼는 일반 취소와 구분되지 않으므로 Customer 카운터와의 차이만큼 취소 횟수에서 뺀다
+        // (시각을 알 수 없어 최근 노쇼율에는 미포함)
+        int legacyNoShows = Math.max(0, noShowCount - markedNoShows);
+        features.setCancelCount(Math.max(0, canceled - legacyNoShows));
+        return features;
+    }
+
+    private CustomerFeatures insertOrLoad(CustomerFeatures features) {
+        if (features == null) {
+            return null;
+        }
+        try {
+            return featuresRepository.saveAndFlush(features);
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 다른 요청/이벤트가 먼저 만듦
+            return featuresRepository.findById(features.getCustomerId()).orElse(features);
+        }
+    }
+
+    private void addLeadTime(CustomerFeatures features, LocalDateTime bookedAt, LocalDateTime reservationTime) {
+        if (bookedAt == null || reservationTime == null || !reservationTime.isAfter(bookedAt)) {
+            return;
+        }
+        features.setLeadTimeMinutesTotal(features.getLeadTimeMinutesTotal() + Duration.between(bookedAt, reservationTime).toMinutes());
+        features.setLeadTimeSamples(features.getLeadTimeSamples() + 1);
+    }
+
+    /** 저장된 가중치를 now 로 감쇠시킨 뒤 결과 하나를 더한다 */
+    private void addOutcome(CustomerFeatures features, boolean noShow, LocalDateTime now) {
+        double decay = CustomerFeatureSnapshot.decayFactor(features.getRecentDecayedAt(), now, halfLifeDays);
+        features.setRecentNoShowWeight(features.getRecentNoShowWeight() * decay + (noShow ? 1 : 0));
+        features.setRecentOutcomeWeight(features.getRecentOutcomeWeight() * decay + 1);
+        features.setRecentDecayedAt(now);
+    }
+
+    /** 과거 시점(at)의 결과를 now 기준 가중치로 더한다 (초기 적재용) */
+    private void addPastOutcome(CustomerFeatures features, boolean noShow, LocalDateTime at, LocalDateTime now) {
+        double weight = CustomerFeatureSnapshot.decayFactor(at, now, halfLifeDays);
+        features.setRecentNoShowWeight(features.getRecentNoShowWeight() + (noShow ? weight : 0));
+        features.setRecentOutcomeWeight(features.getRecentOutcomeWeight() + weight);
+    }
+
+    private boolean isLastMinute(LocalDateTime canceledAt, LocalDateTime reservationTime) {
+        return reservationTime != null
+                && Duration.between(canceledAt, reservationTime).toMinutes() <= lastMinuteCancelMinutes;
+    }
+
+    private CustomerFeatureSnapshot cached(Long customerId) {
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(customerId);
+        }
+        if (entry != null && System.currentTimeMillis() - entry.loadedAtMs() < ttlMs) {
+            meterRegistry.counter(CACHE_COUNTER, "result", "hit").increment();
+            return entry.snapshot();
+        }
+        meterRegistry.counter(CACHE_COUNTER, "result", "miss").increment();
+        return null;
+    }
+
+    private CustomerFeatureSnapshot put(CustomerFeatures features) {
+        CustomerFeatureSnapshot snapshot = CustomerFeatureSnapshot.of(features, LocalDateTime.now(), halfLifeDays);
+        synchronized (cache) {
+            cache.put(features.getCustomerId(), new Entry(snapshot, System.currentTimeMillis()));
+        }
+        return snapshot;
+    }
+
+    private void putAfterCommit(CustomerFeatures features) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(features);
+                }
+            });
+        } else {
+            put(features);
+        }
+    }
+
+    private record Entry(CustomerFeatureSnapshot snapshot, long loadedAtMs) {
+    }
+}
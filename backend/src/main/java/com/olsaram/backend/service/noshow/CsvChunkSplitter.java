@@ -0,0 +1,101 @@
+package com.olsaram.backend.service.noshow;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * CSV 스트림을 레코드 경계(따옴표 밖 줄바꿈)에서 잘라 청크로 넘긴다
+ *
+ * - 필드는 나누지 않고 경계만 찾으므로 한 스레드로 읽어도 빠르다. 필드 파싱/변환은 청크마다 병렬로 CsvRecordParser 가 한다
+ * - 따옴표는 CsvRecordParser 와 같은 규칙으로만 의미가 있다 (필드 시작의 " 또는 따옴표 필드 안의 ")
+ * - 닫히지 않은 따옴표로 파일 끝까지 한 레코드가 되는 것을 막기 위해 레코드 길이를 제한한다
+ */
+final class CsvChunkSplitter {
+
+    static final int MAX_RECORD_CHARS = 1 << 20;
+
+    private final Reader reader;
+    private final char[] buffer = new char[1 << 16];
+    private int position;
+    private int limit;
+
+    private boolean inQuotes;
+    private boolean quoteClosed;
+    private boolean fieldStart = true;
+    private int recordChars;
+    private long nextLine = 1;
+
+    CsvChunkSplitter(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 다음 레코드 maxRecords 개 (파일 끝이면 null). 마지막 레코드가 줄바꿈 없이 끝나도 포함한다.
+     */
+    Chunk next(int maxRecords) throws IOException {
+        StringBuilder text = new StringBuilder();
+        long firstLine = nextLine;
+        int records = 0;
+
+        while (records < maxRecords) {
+            if (position == limit) {
+                int read = reader.read(buffer, 0, buffer.length);
+                if (read <= 0) {
+                    break;
+                }
+                position = 0;
+                limit = read;
+            }
+
+            int start = position;
+            while (position < limit && records < maxRecords) {
+                char c = buffer[position++];
+                if (c == '"') {
+                    if (inQuotes) {
+                        inQuotes = false;
+                        quoteClosed = true;
+                    } else if (fieldStart || quoteClosed) {
+                        inQuotes = true; // 필드 시작 또는 "" 이스케이프
+                        quoteClosed = false;
+                    }
+                    fieldStart = false;
+                } else {
+                    quoteClosed = false;
+                    if (c == '\n') {
+                        nextLine++;
+                        if (!inQuotes) {
+                            records++;
+                            recordChars = 0;
+                            fieldStart = true;
+                            continue;
+                        }
+                    } else if (c == ',' && !inQuotes) {
+                        fieldStart = true;
+                    } else if (c != '\r') {
+                        fieldStart = false;
+                    }
+                }
+
+                if (++recordChars > MAX_RECORD_CHARS) {
+                    throw new IOException(nextLine + "번째 줄 근처 레코드가 너무 깁니다 (닫히지 않은 따옴표?)");
+                }
+            }
+            text.append(buffer, start, position - start);
+        }
+
+        if (text.isEmpty()) {
+            return null;
+        }
+        if (records < maxRecords && text.charAt(text.length() - 1) != '\n') {
+            records++; // 줄바꿈 없이 끝난 마지막 레코드
+        }
+        return new Chunk(firstLine, text.toString(), records);
+    }
+
+    /**
+     * @param firstLine 청크 첫 레코드의 물리적 줄 번호 (1부터)
+     * @param records   청크에 든 레코드 수 (빈 줄 포함)
+     */
+    record Chunk(long firstLine, String text, int records) {
+    }
+}
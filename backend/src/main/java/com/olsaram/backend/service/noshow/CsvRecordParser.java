@@ -0,0 +1,112 @@
+package com.olsaram.backend.service.noshow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * RFC 4180 CSV 레코드 파서 (따옴표 안의 쉼표/줄바꿈, "" 이스케이프, CRLF 지원)
+ *
+ * - 필드 중간의 " 는 일반 문자로 본다. 따옴표 필드 뒤에 구분자가 아닌 문자가 오거나 따옴표가 닫히지 않으면 오류 레코드
+ * - 빈 줄은 건너뛴다
+ */
+final class CsvRecordParser {
+
+    private CsvRecordParser() {
+    }
+
+    /**
+     * text 의 레코드를 순서대로 consumer 에 넘긴다
+     *
+     * @param firstLine text 첫 줄의 물리적 줄 번호 (거부 기록용)
+     */
+    static void parse(String text, long firstLine, Consumer<CsvRecord> consumer) {
+        int length = text.length();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        long line = firstLine;
+
+        while (i < length) {
+            int recordStart = i;
+            long recordLine = line;
+            List<String> fields = new ArrayList<>(24);
+            String error = null;
+
+            while (true) {
+                field.setLength(0);
+                if (i < length && text.charAt(i) == '"') {
+                    i++;
+                    boolean closed = false;
+                    while (i < length) {
+                        char c = text.charAt(i++);
+                        if (c == '"') {
+                            if (i < length && text.charAt(i) == '"') {
+                                field.append('"');
+                                i++;
+                            } else {
+                                closed = true;
+                                break;
+                            }
+                        } else {
+                            if (c == '\n') {
+                                line++;
+                            }
+                            field.append(c);
+                        }
+                    }
+                    if (!closed) {
+                        error = "닫히지 않은 따옴표";
+                    } else {
+                        if (i + 1 < length && text.charAt(i) == '\r' && text.charAt(i + 1) == '\n') {
+                            i++;
+                        }
+                        if (i < length && text.charAt(i) != ',' && text.charAt(i) != '\n') {
+                            error = "따옴표 필드 뒤에 구분자가 없습니다";
+                            while (i < length && text.charAt(i) != ',' && text.charAt(i) != '\n') {
+                                i++;
+                            }
+                        }
+                    }
+                } else {
+                    int start = i;
+                    while (i < length && text.charAt(i) != ',' && text.charAt(i) != '\n') {
+                        i++;
+                    }
+                    int end = i;
+                    if (end > start && text.charAt(end - 1) == '\r' && (i == length || text.charAt(i) == '\n')) {
+                        end--;
+                    }
+                    field.append(text, start, end);
+                }
+                fields.add(field.toString());
+
+                if (i < length && text.charAt(i) == ',') {
+                    i++;
+                    continue;
+                }
+                break;
+            }
+
+            int recordEnd = i;
+            if (i < length) {
+                i++; // '\n'
+                line++;
+            }
+
+            boolean blank = error == null && fields.size() == 1 && fields.get(0).isBlank();
+            if (!blank) {
+                String raw = text.substring(recordStart, recordEnd);
+                consumer.accept(new CsvRecord(recordLine, fields, raw.endsWith("\r") ? raw.substring(0, raw.length() - 1) : raw, error));
+            }
+        }
+    }
+
+    /**
+     * @param line   레코드 첫 줄 번호
+     * @param fields 필드 값 (따옴표/이스케이프 제거)
+     * @param raw    원본 레코드 (거부 파일 기록용)
+     * @param error  형식 오류 (정상이면 null)
+     */
+    record CsvRecord(long line, List<String> fields, String raw, String error) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.olsaram.backend.service.noshow;
+
+import com.olsaram.backend.config.NoShowAiScoringProperties;
+import com.olsaram.backend.config.OpenAiProperties;
+import com.olsaram.backend.entity.noshow.ReservationData;
+import com.olsaram.backend.service.ai.AiPredictionCache;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 예약 데이터 여러 건을 한 프롬프트로 묶어 노쇼 위험도를 받는 chat completions 클라이언트
+ *
+ * - 응답은 json_schema 구조화 출력 {"results": [{"id", "risk_level", "risk_score", "reason"}]} 로 강제하고 id 로 짝을 맞춘다
+ * - 프롬프트에는 예측에 쓰는 피처만 넣는다 (이름/전화번호 제외). 같은 피처 문자열 → 같은 해시 → 다시 예측하지 않음
+ *   (해시는 AiPredictionCache 키로도 써서 다른 행의 같은 피처 조합도 캐시 결과를 쓴다)
+ */
+@Component
+public class NoShowAiChatClient {
+
+    // 프롬프트/응답 형식을 바꾸면 올려서 기존 예측을 모두 다시 계산하게 한다
+    static final String PROMPT_VERSION = "v2";
+
+    private static final String SYSTEM_PROMPT = "너는 음식점 예약 데이터를 분석해 노쇼 위험도를 예측하는 AI야.";
+    private static final String INSTRUCTION = """
+            아래 JSON 배열의 예약마다 고객의 노쇼 위험도를 예측하세요.
+            모든 id 에 대해 results 에 하나씩 응답하세요.
+            risk_level 은 "위험", "보통", "안전" 중 하나, risk_score 는 0.0~1.0, reason 은 한 문장 요약 사유입니다.
+
+            예약:
+            """;
+
+    private final NoShowAiScoringProperties properties;
+    private final OpenAiProperties openAiProperties;
+    private final RestTemplate restTemplate;
+
+    public NoShowAiChatClient(
+            NoShowAiScoringProperties properties,
+            OpenAiProperties openAiProperties,
+            RestTemplateBuilder restTemplateBuilder
+    ) {
+        this.properties = properties;
+        this.openAiProperties = openAiProperties;
+        this.restTemplate = restTemplateBuilder
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs()))
+                .readTimeout(Duration.ofMillis(properties.getReadTimeoutMs()))
+                .build();
+    }
+
+    /**
+     * 예측 입력 피처 문자열
+     */
+    static String features(ReservationData data) {
+        return String.format(Locale.ROOT,
+                "결제금액=%.1f, 방문이력=%d, 취소횟수=%d, 노쇼이력=%d, 결제패턴=%s, 행동메모=%s, 등급=%s, " +
+                        "리드타임=%d, 공휴일=%d, 지역=%s, 이벤트=%s, 인원=%d, 일시=%s",
+                data.getAmount() != null ? data.getAmount() : 0.0,
+                orZero(data.getVisitHistory()),
+                orZero(data.getCancelCount()),
+                orZero(data.getNoshowHistory()),
+                data.getPaymentPattern(),
+                data.getBehaviorNote(),
+                data.getLoyaltyGrade(),
+                orZero(data.getLeadTimeHours()),
+                orZero(data.getHolidayFlag()),
+                data.getRegion(),
+                data.getEventNearby(),
+                orZero(data.getPartySize()),
+                data.getDateTime());
+    }
+
+    /**
+     * 피처 + 모델 + 프롬프트 버전 해시 (AI 예측 캐시 키와 같은 값)
+     */
+    public String featureHash(ReservationData data) {
+        return AiPredictionCache.keyOf(AiPredictionCache.OPENAI_NOSHOW, properties.getModel(),
+                PROMPT_VERSION + "|" + features(data));
+    }
+
+    /**
+     * 토큰 버킷용 요청 토큰 추정 (한글 기준 대략 글자 2개당 1토큰 + 예상 응답)
+     */
+    public int estimateTokens(List<ReservationData> batch) {
+        int chars = SYSTEM_PROMPT.length() + INSTRUCTION.length();
+        for (ReservationData data : batch) {
+            chars += features(data).length() + 40;
+        }
+        return chars / 2 + batch.size() * properties.getOutputTokensPerRow();
+    }
+
+    /**
+     * 한 번의 호출로 배치 전체 예측 (응답에 없는 id 는 결과 맵에서 빠진다)
+     *
+     * @throws org.springframework.web.client.RestClientException HTTP 오류
+     * @throws org.json.JSONException 응답 형식 오류
+     */
+    public Map<String, Prediction> score(List<ReservationData> batch) {
+        JSONArray items = new JSONArray();
+        for (ReservationData data : batch) {
+            items.put(new JSONObject()
+                    .put("id", data.getReservationId())
+                    .put("features", features(data)));
+        }
+
+        JSONObject body = new JSONObject()
+                .put("model", properties.getModel())
+                .put("temperature", 0)
+                .put("response_format", responseFormat())
+                .put("messages", new JSONArray()
+                        .put(new JSONObject().put("role", "system").put("content", SYSTEM_PROMPT))
+                        .put(new JSONObject().put("role", "user").put("content", INSTRUCTION + items)));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(openAiProperties.getApiKey());
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                properties.getApiUrl(), HttpMethod.POST, new HttpEntity<>(body.toString(), headers), String.class);
+
+        String content = new JSONObject(response.getBody())
+                .getJSONArray("choices")
+                .getJSONObject(0)
+                .getJSONObject("message")
+                .getString("content")
+                .trim();
+        if (!content.startsWith("{")) {
+            content = content.substring(content.indexOf('{'));
+        }
+
+        JSONArray results = new JSONObject(content).getJSONArray("results");
+        Map<String, Prediction> predictions = new LinkedHashMap<>();
+        for (int i = 0; i < results.length(); i++) {
+            JSONObject result = results.getJSONObject(i);
+            String id = result.optString("id", null);
+            if (id == null) {
+                continue;
+            }
+            predictions.put(id, new Prediction(
+                    result.optString("risk_level", "보통"),
+                    Math.max(0.0, Math.min(1.0, result.optDouble("risk_score", 0.5))),
+                    result.optString("reason", "분석 실패")));
+        }
+        return predictions;
+    }
+
+    private static JSONObject responseFormat() {
+        JSONObject result = new JSONObject()
+                .put("type", "object")
+                .put("additionalProperties", false)
+                .put("required", new JSONArray().put("id").put("risk_level").put("risk_score").put("reason"))
+                .put("properties", new JSONObject()
+                        .put("id", new JSONObject().put("type", "string"))
+                        .put("risk_level", new JSONObject().put("type", "string")
+                                .put("enum", new JSONArray().put("위험").put("보통").put("안전")))
+                        .put("risk_score", new JSONObject().put("type", "number"))
+                        .put("reason", new JSONObject().put("type", "string")));
+
+        JSONObject schema = new JSONObject()
+                .put("type", "object")
+                .put("additionalProperties", false)
+                .put("required", new JSONArray().put("results"))
+                .put("properties", new JSONObject()
+                        .put("results", new JSONObject().put("type", "array").put("items", result)));
+
+        return new JSONObject()
+                .put("type", "json_schema")
+                .put("json_schema", new JSONObject()
+                        .put("name", "noshow_predictions")
+                        .put("strict", true)
+                        .put("schema", schema));
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    public record Prediction(String riskLevel, double riskScore, String reason) {
+
+        /** 기존 라벨 규칙: 위험 → 1, 그 외 → 0 */
+        public int label() {
+            return "위험".equals(riskLevel) ? 1 : 0;
+        }
+    }
+}
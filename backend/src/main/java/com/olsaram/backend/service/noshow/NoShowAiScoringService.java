@@ -0,0 +1,516 @@
+package com.olsaram.backend.service.noshow;
+
+import com.olsaram.backend.config.NoShowAiScoringProperties;
+import com.olsaram.backend.config.OpenAiProperties;
+import com.olsaram.backend.dto.noshow.NoShowAiScoringStatus;
+import com.olsaram.backend.entity.noshow.NoShowAiScoringCheckpoint;
+import com.olsaram.backend.entity.noshow.ReservationData;
+import com.olsaram.backend.repository.noshow.NoShowAiScoringCheckpointRepository;
+import com.olsaram.backend.repository.noshow.ReservationDataRepository;
+import com.olsaram.backend.service.ai.AiPredictionCache;
+import com.olsaram.backend.service.reservation.SchedulerLeaseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * reservation_data AI 노쇼 일괄 예측 작업
+ *
+ * - RESERVATION_ID 키셋으로 page-size 행씩 읽고, 피처 해시가 저장된 값과 같은 행은 건너뛴다
+ * - 피처 조합이 같은 행은 AiPredictionCache 결과를 쓰고, 캐시에 없으면 조합별 대표 행 하나만 예측해 같은 결과를 저장
+ * - 나머지는 batch-size 건씩 한 프롬프트로 묶어 concurrency 개 배치를 동시에 보낸다 (분당 요청/토큰 token bucket)
+ * - 배치 결과는 받는 즉시 피처 해시와 함께 저장하고, 페이지를 끝낼 때마다 진행 위치를 체크포인트에 저장
+ *   → 재시작하면 체크포인트 다음 행부터 이어서 실행 (중간에 끊긴 페이지도 저장된 행은 해시로 건너뜀)
+ * - DB lease 를 가진 인스턴스 하나만 실행. 실행 중에는 별도 스레드가 lease-ms/3 마다 lease 를 연장하고,
+ *   연장에 실패하면(lease 상실) 새 배치를 보내지 않고 체크포인트를 RUNNING 으로 둔 채 멈춘다
+ */
+@Service
+@Slf4j
+public class NoShowAiScoringService {
+
+    static final String JOB_NAME = "reservation-data";
+    static final String LEASE_NAME = "noshow-ai-scoring";
+
+    public static final String STATE_IDLE = "IDLE";
+    public static final String STATE_RUNNING = "RUNNING";
+    public static final String STATE_STOPPED = "STOPPED";
+    public static final String STATE_COMPLETED = "COMPLETED";
+    public static final String STATE_FAILED = "FAILED";
+
+    private static final String ROWS_COUNTER = "noshow.ai.scoring.rows";
+
+    private final NoShowAiScoringProperties properties;
+    private final OpenAiProperties openAiProperties;
+    private final ReservationDataRepository dataRepository;
+    private final NoShowAiScoringCheckpointRepository checkpointRepository;
+    private final NoShowAiChatClient chatClient;
+    private final AiPredictionCache predictionCache;
+    private final SchedulerLeaseService leaseService;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> new Thread(r, "noshow-ai-scoring"));
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "noshow-ai-scoring-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Run current;
+
+    public NoShowAiScoringService(
+            NoShowAiScoringProperties properties,
+            OpenAiProperties openAiProperties,
+            ReservationDataRepository dataRepository,
+            NoShowAiScoringCheckpointRepository checkpointRepository,
+            NoShowAiChatClient chatClient,
+            AiPredictionCache predictionCache,
+            SchedulerLeaseService leaseService,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.openAiProperties = openAiProperties;
+        this.dataRepository = dataRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.chatClient = chatClient;
+        this.predictionCache = predictionCache;
+        this.leaseService = leaseService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        heartbeat.shutdownNow();
+    }
+
+    /**
+     * 중단된 작업(체크포인트가 RUNNING)이 있으면 시작할 때 이어서 실행
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (!properties.isResumeOnStartup() || !openAiProperties.isConfigured()) {
+            return;
+        }
+        checkpointRepository.findById(JOB_NAME)
+                .filter(checkpoint -> STATE_RUNNING.equals(checkpoint.getState()))
+                .ifPresent(checkpoint -> {
+                    log.info("🔵 중단된 AI 노쇼 일괄 예측 이어서 실행 - cursor: {}", checkpoint.getCursorId());
+                    submit(false);
+                });
+    }
+
+    /**
+     * 작업 시작 (완료되지 않은 체크포인트가 있으면 이어서, restart 면 처음부터)
+     * lease 는 여기서 먼저 잡아, 다른 인스턴스가 실행 중이면 요청한 쪽에 바로 409 로 알린다
+     */
+    public NoShowAiScoringStatus start(boolean restart) {
+        if (!openAiProperties.isConfigured()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "OpenAI API 키가 설정되지 않았습니다.");
+        }
+        if (!running.get() && !leaseService.tryAcquire(LEASE_NAME, Duration.ofMillis(properties.getLeaseMs()))) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "다른 서버에서 AI 노쇼 예측 작업이 실행 중입니다.");
+        }
+        if (!submit(restart)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 AI 노쇼 예측 작업이 실행 중입니다.");
+        }
+        return getStatus();
+    }
+
+    public NoShowAiScoringStatus getStatus() {
+        Run run = current;
+        if (run != null) {
+            return run.status();
+        }
+        return checkpointRepository.findById(JOB_NAME)
+                .map(checkpoint -> new Run(checkpoint).status())
+                .orElseGet(() -> NoShowAiScoringStatus.builder().state(STATE_IDLE).build());
+    }
+
+    private boolean submit(boolean restart) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            runner.execute(() -> {
+                try {
+                    execute(restart);
+                } finally {
+                    running.set(false);
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    private void execute(boolean restart) {
+        Duration lease = Duration.ofMillis(properties.getLeaseMs());
+        if (!leaseService.tryAcquire(LEASE_NAME, lease)) {
+            log.info("ℹ️ 다른 인스턴스가 AI 노쇼 일괄 예측 실행 중");
+            return;
+        }
+
+        int concurrency = Math.max(1, properties.getConcurrency());
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService batchExecutor = Executors.newFixedThreadPool(concurrency,
+                r -> new Thread(r, "noshow-ai-scoring-batch-" + threadIndex.incrementAndGet()));
+        Run run = null;
+        ScheduledFuture<?> renewal = null;
+        try {
+            NoShowAiScoringCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElse(null);
+            boolean resume = !restart && checkpoint != null && !STATE_COMPLETED.equals(checkpoint.getState());
+            if (!resume) {
+                checkpoint = newCheckpoint();
+            }
+            checkpoint.setState(STATE_RUNNING);
+            checkpoint.setLastError(null);
+            checkpoint.setFinishedAt(null);
+            run = new Run(checkpoint);
+            current = run;
+            renewal = startLeaseRenewal(run, lease);
+            saveCheckpoint(run);
+
+            log.info("🔵 AI 노쇼 일괄 예측 {} - 전체 {}건, cursor: '{}', 배치: {}건, 동시 배치: {}",
+                    resume ? "재개" : "시작", run.totalRows, run.cursor, properties.getBatchSize(), concurrency);
+
+            Limits limits = new Limits(
+                    TokenBucket.perMinute(properties.getRequestsPerMinute()),
+                    TokenBucket.perMinute(properties.getTokensPerMinute()));
+            int pageSize = Math.max(1, properties.getPageSize());
+            while (true) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+
+                List<ReservationData> page = dataRepository.findPageAfter(run.cursor, PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                processPage(page, run, batchExecutor, limits);
+                if (run.leaseLost.get()) {
+                    // 보내지 못한 배치가 있을 수 있으므로 cursor 는 옮기지 않는다 (저장된 행은 다음 실행에서 해시로 건너뜀)
+                    run.state = STATE_STOPPED;
+                    run.sessionEndNanos = System.nanoTime();
+                    log.warn("⚠️ AI 노쇼 일괄 예측 lease 상실 - cursor '{}' 에서 중단 (다른 인스턴스가 이어서 실행)", run.cursor);
+                    return;
+                }
+                run.cursor = page.get(page.size() - 1).getReservationId();
+                saveCheckpoint(run);
+
+                if (page.size() < pageSize) {
+                    break;
+                }
+            }
+
+            run.state = STATE_COMPLETED;
+            run.finishedAt = LocalDateTime.now();
+            saveCheckpoint(run);
+            log.info("✅ AI 노쇼 일괄 예측 완료 - 예측 {}건, 캐시 {}건, 건너뜀 {}건, 실패 {}건, API 호출 {}회",
+                    run.scored.get(), run.cached.get(), run.skipped.get(), run.failed.get(), run.apiCalls.get());
+        } catch (InterruptedException e) {
+            // 종료 중: 체크포인트를 RUNNING 으로 남겨 다음 기동 때 이어서 실행
+            Thread.currentThread().interrupt();
+            if (run != null) {
+                run.state = STATE_STOPPED;
+                run.sessionEndNanos = System.nanoTime();
+            }
+            log.warn("⚠️ AI 노쇼 일괄 예측 중단 - 다음 실행에서 이어서 처리");
+        } catch (Exception e) {
+            log.error("❌ AI 노쇼 일괄 예측 실패: {}", e.getMessage(), e);
+            if (run != null) {
+                run.state = STATE_FAILED;
+                run.lastError = e.getMessage();
+                run.finishedAt = LocalDateTime.now();
+                try {
+                    saveCheckpoint(run);
+                } catch (Exception saveError) {
+                    log.warn("⚠️ AI 노쇼 예측 체크포인트 저장 실패: {}", saveError.getMessage());
+                }
+            }
+        } finally {
+            if (renewal != null) {
+                renewal.cancel(false);
+            }
+            batchExecutor.shutdownNow();
+            if (run == null || !run.leaseLost.get()) {
+                leaseService.release(LEASE_NAME);
+            }
+        }
+    }
+
+    /**
+     * 페이지 처리 시간과 무관하게 lease 를 연장 (한 페이지가 lease-ms 보다 오래 걸려도 다른 인스턴스가 끼어들지 않도록)
+     */
+    private ScheduledFuture<?> startLeaseRenewal(Run run, Duration lease) {
+        long intervalMs = Math.max(1_000, lease.toMillis() / 3);
+        return heartbeat.scheduleWithFixedDelay(() -> {
+            if (!run.leaseLost.get() && !leaseService.tryAcquire(LEASE_NAME, lease)) {
+                run.leaseLost.set(true);
+                log.warn("⚠️ AI 노쇼 일괄 예측 lease 연장 실패 - 진행 중인 배치까지만 처리하고 중단");
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 한 페이지: 해시가 같은 행은 건너뛰고, 같은 피처 조합은 캐시 결과를 쓰거나 대표 행 하나만 예측한다.
+     * 나머지를 배치로 나눠 동시에 예측 (모든 배치가 끝날 때까지 대기)
+     */
+    private void processPage(List<ReservationData> page, Run run, ExecutorService batchExecutor, Limits limits)
+            throws InterruptedException {
+        Map<String, List<ReservationData>> rowsByHash = new LinkedHashMap<>();
+        for (ReservationData data : page) {
+            String hash = chatClient.featureHash(data);
+            if (hash.equals(data.getFeatureHash()) && data.getRiskScore() != null) {
+                run.skipped.incrementAndGet();
+                meterRegistry.counter(ROWS_COUNTER, "result", "skipped").increment();
+            } else {
+                rowsByHash.computeIfAbsent(hash, key -> new ArrayList<>()).add(data);
+            }
+        }
+
+        Map<String, NoShowAiChatClient.Prediction> cached = predictionCache.getAll(
+                AiPredictionCache.OPENAI_NOSHOW, rowsByHash.keySet(), NoShowAiChatClient.Prediction.class);
+        if (!cached.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            List<ReservationData> rows = new ArrayList<>();
+            cached.forEach((hash, prediction) -> {
+                for (ReservationData data : rowsByHash.remove(hash)) {
+                    apply(data, prediction, hash, now);
+                    rows.add(data);
+                }
+            });
+            dataRepository.saveAll(rows);
+            run.cached.addAndGet(rows.size());
+            meterRegistry.counter(ROWS_COUNTER, "result", "cached").increment(rows.size());
+        }
+
+        List<ReservationData> targets = new ArrayList<>(rowsByHash.size());
+        Map<String, String> hashes = new HashMap<>();
+        rowsByHash.forEach((hash, rows) -> {
+            targets.add(rows.get(0));
+            hashes.put(rows.get(0).getReservationId(), hash);
+        });
+
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < targets.size(); from += batchSize) {
+            List<ReservationData> batch = targets.subList(from, Math.min(targets.size(), from + batchSize));
+            futures.add(CompletableFuture.runAsync(
+                    () -> scoreBatch(batch, hashes, rowsByHash, run, limits), batchExecutor));
+        }
+
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        run.processed.addAndGet(page.size());
+    }
+
+    /**
+     * 배치(피처 조합별 대표 행) 하나 예측 후 같은 조합의 행 전체에 저장하고 캐시에 넣는다
+     * (429/5xx/형식 오류는 backoff 후 재시도, 끝내 실패한 행은 해시가 없어 다음 실행에서 다시 예측)
+     */
+    private void scoreBatch(List<ReservationData> batch, Map<String, String> hashes,
+                            Map<String, List<ReservationData>> rowsByHash, Run run, Limits limits) {
+        int rowCount = batch.stream().mapToInt(data -> rowsByHash.get(hashes.get(data.getReservationId())).size()).sum();
+        int maxAttempts = Math.max(1, properties.getMaxAttempts());
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (run.leaseLost.get()) {
+                return; // 다른 인스턴스가 이어서 실행 (해시가 없는 행이라 거기서 다시 예측)
+            }
+            try {
+                limits.requests().acquire(1);
+                limits.tokens().acquire(chatClient.estimateTokens(batch));
+                run.apiCalls.incrementAndGet();
+
+                Map<String, NoShowAiChatClient.Prediction> predictions = chatClient.score(batch);
+                LocalDateTime now = LocalDateTime.now();
+                List<ReservationData> scored = new ArrayList<>(rowCount);
+                Map<String, NoShowAiChatClient.Prediction> byHash = new HashMap<>();
+                for (ReservationData data : batch) {
+                    NoShowAiChatClient.Prediction prediction = predictions.get(data.getReservationId());
+                    if (prediction == null) {
+                        continue; // 응답에서 빠진 행은 해시를 저장하지 않아 다음 실행에서 다시 예측
+                    }
+                    String hash = hashes.get(data.getReservationId());
+                    for (ReservationData row : rowsByHash.get(hash)) {
+                        apply(row, prediction, hash, now);
+                        scored.add(row);
+                    }
+                    byHash.put(hash, prediction);
+                }
+                if (!scored.isEmpty()) {
+                    dataRepository.saveAll(scored);
+                    predictionCache.putAll(AiPredictionCache.OPENAI_NOSHOW, properties.getModel(), byHash);
+                }
+                countScored(run, scored.size(), rowCount - scored.size());
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                boolean retryable = !(e instanceof HttpClientErrorException http) || http.getStatusCode().value() == 429;
+                log.warn("⚠️ AI 노쇼 예측 배치 실패 ({}/{}회, {}건): {}", attempt, maxAttempts, batch.size(), e.getMessage());
+                if (!retryable || attempt == maxAttempts) {
+                    break;
+                }
+                try {
+                    Thread.sleep(properties.getRetryBackoffMs() * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        countScored(run, 0, rowCount);
+    }
+
+    private static void apply(ReservationData data, NoShowAiChatClient.Prediction prediction, String hash, LocalDateTime now) {
+        data.setLabel(prediction.label());
+        data.setRiskScore(prediction.riskScore());
+        data.setReason(prediction.reason());
+        data.setFeatureHash(hash);
+        data.setScoredAt(now);
+    }
+
+    private void countScored(Run run, int scored, int failed) {
+        run.scored.addAndGet(scored);
+        run.failed.addAndGet(failed);
+        meterRegistry.counter(ROWS_COUNTER, "result", "scored").increment(scored);
+        meterRegistry.counter(ROWS_COUNTER, "result", "failed").increment(failed);
+    }
+
+    private NoShowAiScoringCheckpoint newCheckpoint() {
+        NoShowAiScoringCheckpoint checkpoint = new NoShowAiScoringCheckpoint();
+        checkpoint.setJobName(JOB_NAME);
+        checkpoint.setCursorId("");
+        checkpoint.setTotalRows(dataRepository.count());
+        checkpoint.setStartedAt(LocalDateTime.now());
+        return checkpoint;
+    }
+
+    private void saveCheckpoint(Run run) {
+        if (!STATE_RUNNING.equals(run.state)) {
+            run.sessionEndNanos = System.nanoTime();
+        }
+        NoShowAiScoringCheckpoint checkpoint = new NoShowAiScoringCheckpoint();
+        checkpoint.setJobName(JOB_NAME);
+        checkpoint.setState(STATE_STOPPED.equals(run.state) ? STATE_RUNNING : run.state);
+        checkpoint.setCursorId(run.cursor);
+        checkpoint.setTotalRows(run.totalRows);
+        checkpoint.setProcessedRows(run.processed.get());
+        checkpoint.setScoredRows(run.scored.get());
+        checkpoint.setCachedRows(run.cached.get());
+        checkpoint.setSkippedRows(run.skipped.get());
+        checkpoint.setFailedRows(run.failed.get());
+        checkpoint.setApiCalls(run.apiCalls.get());
+        checkpoint.setStartedAt(run.startedAt);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpoint.setFinishedAt(run.finishedAt);
+        checkpoint.setLastError(run.lastError != null && run.lastError.length() > 500
+                ? run.lastError.substring(0, 500) : run.lastError);
+        checkpointRepository.save(checkpoint);
+        run.updatedAt = checkpoint.getUpdatedAt();
+    }
+
+    private record Limits(TokenBucket requests, TokenBucket tokens) {
+    }
+
+    /**
+     * 실행 중 진행 상황 (배치 스레드들이 동시에 세므로 카운터는 Atomic)
+     */
+    private static final class Run {
+        private final long totalRows;
+        private final LocalDateTime startedAt;
+        private final AtomicLong processed;
+        private final AtomicLong scored;
+        private final AtomicLong cached;
+        private final AtomicLong skipped;
+        private final AtomicLong failed;
+        private final AtomicLong apiCalls;
+        private final AtomicBoolean leaseLost = new AtomicBoolean();
+
+        // 처리량은 이번 프로세스에서 실행한 구간만으로 계산
+        private final long sessionStartNanos = System.nanoTime();
+        private volatile long sessionEndNanos;
+        private final long sessionProcessedBase;
+        private final long sessionScoredBase;
+
+        private volatile String state;
+        private volatile String cursor;
+        private volatile LocalDateTime updatedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String lastError;
+
+        private Run(NoShowAiScoringCheckpoint checkpoint) {
+            this.totalRows = checkpoint.getTotalRows();
+            this.startedAt = checkpoint.getStartedAt();
+            this.processed = new AtomicLong(checkpoint.getProcessedRows());
+            this.scored = new AtomicLong(checkpoint.getScoredRows());
+            this.cached = new AtomicLong(checkpoint.getCachedRows());
+            this.skipped = new AtomicLong(checkpoint.getSkippedRows());
+            this.failed = new AtomicLong(checkpoint.getFailedRows());
+            this.apiCalls = new AtomicLong(checkpoint.getApiCalls());
+            this.sessionProcessedBase = checkpoint.getProcessedRows();
+            this.sessionScoredBase = checkpoint.getScoredRows();
+            this.state = checkpoint.getState();
+            this.cursor = checkpoint.getCursorId() != null ? checkpoint.getCursorId() : "";
+            this.updatedAt = checkpoint.getUpdatedAt();
+            this.finishedAt = checkpoint.getFinishedAt();
+            this.lastError = checkpoint.getLastError();
+        }
+
+        private NoShowAiScoringStatus status() {
+            long end = sessionEndNanos != 0 ? sessionEndNanos : System.nanoTime();
+            double seconds = Math.max(1e-3, (end - sessionStartNanos) / 1e9);
+            return NoShowAiScoringStatus.builder()
+                    .state(state)
+                    .startedAt(startedAt)
+                    .updatedAt(updatedAt)
+                    .finishedAt(finishedAt)
+                    .cursor(cursor)
+                    .error(lastError)
+                    .totalRows(totalRows)
+                    .processedRows(processed.get())
+                    .scoredRows(scored.get())
+                    .cachedRows(cached.get())
+                    .skippedRows(skipped.get())
+                    .failedRows(failed.get())
+                    .apiCalls(apiCalls.get())
+                    .progressPercent(totalRows > 0 ? Math.min(100.0, processed.get() * 100.0 / totalRows) : 0.0)
+                    .rowsPerSecond((processed.get() - sessionProcessedBase) / seconds)
+                    .scoredRowsPerSecond((scored.get() - sessionScoredBase) / seconds)
+                    .build();
+        }
+    }
+}
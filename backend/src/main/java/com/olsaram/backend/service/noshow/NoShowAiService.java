@@ -2,14 +2,10 @@ package com.olsaram.backend.service.noshow;
 
 import com.olsaram.backend.dto.FraudDetection.FraudDetectionResponseDto;
 import com.olsaram.backend.dto.FraudDetection.SuspiciousReservationDto;
+import com.olsaram.backend.dto.noshow.NoShowAiScoringStatus;
 import com.olsaram.backend.entity.noshow.ReservationData;
 import com.olsaram.backend.repository.noshow.ReservationDataRepository;
-import org.json.JSONArray;
-import org.json.JSONObject;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,14 +14,11 @@ import java.util.List;
 public class NoShowAiService {
 
     private final ReservationDataRepository repository;
+    private final NoShowAiScoringService scoringService;
 
-    @Value("${openai.api.key}")
-    private String apiKey;
-
-    private final String apiUrl = "https://api.openai.com/v1/chat/completions";
-
-    public NoShowAiService(ReservationDataRepository repository) {
+    public NoShowAiService(ReservationDataRepository repository, NoShowAiScoringService scoringService) {
         this.repository = repository;
+        this.scoringService = scoringService;
     }
 
     // 1. 전체 조회
@@ -33,94 +26,16 @@ public class NoShowAiService {
         return repository.findAll();
     }
 
-    // 2. 예측 실행 후 DB 저장
-    public String predictAndSave() {
-        List<ReservationData> list = repository.findAll();
-        if (list.isEmpty()) return "⚠️ DB에 데이터가 없습니다.";
-
-        RestTemplate restTemplate = new RestTemplate();
-        int count = 0;
-
-        for (ReservationData data : list) {
-            try {
-                // Prompt 구성
-                String prompt = String.format("""
-                    아래 예약 데이터를 기반으로 고객의 노쇼 위험도를 예측하세요.
-                    반드시 아래 JSON 형식으로만 응답하세요:
-                    {"risk_level": "위험"|"보통"|"안전", "risk_score": 0.0~1.0, "reason": "요약 사유"}
-
-                    데이터:
-                    고객ID=%s, 고객명=%s, 전화번호=%s, 결제금액=%.1f, 방문이력=%d, 취소횟수=%d, 노쇼이력=%d,
-                    결제패턴=%s, 행동메모=%s, 등급=%s, 리드타임=%d, 공휴일=%d, 지역=%s, 이벤트=%s
-                    """,
-                        data.getCustomerId(),
-                        data.getCustomerName(),
-                        data.getPhoneNumber(),
-                        data.getAmount(),
-                        data.getVisitHistory(),
-                        data.getCancelCount(),
-                        data.getNoshowHistory(),
-                        data.getPaymentPattern(),
-                        data.getBehaviorNote(),
-                        data.getLoyaltyGrade(),
-                        data.getLeadTimeHours(),
-                        data.getHolidayFlag(),
-                        data.getRegion(),
-                        data.getEventNearby()
-                );
-
-                JSONObject body = new JSONObject()
-                        .put("model", "gpt-4o-mini")
-                        .put("messages", new JSONArray()
-                                .put(new JSONObject().put("role", "system").put("content",
-                                        "너는 음식점 예약 데이터를 분석해 노쇼 위험도를 예측하는 AI야."))
-                                .put(new JSONObject().put("role", "user").put("content", prompt))
-                        );
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
-                headers.setBearerAuth(apiKey);
-
-                HttpEntity<String> request = new HttpEntity<>(body.toString(), headers);
-                ResponseEntity<String> response =
-                        restTemplate.exchange(apiUrl, HttpMethod.POST, request, String.class);
-
-                JSONObject json = new JSONObject(response.getBody());
-                String content = json.getJSONArray("choices")
-                        .getJSONObject(0)
-                        .getJSONObject("message")
-                        .getString("content")
-                        .trim();
-
-                if (!content.startsWith("{")) {
-                    content = content.substring(content.indexOf("{"));
-                }
-
-                JSONObject result = new JSONObject(content);
-
-                String level = result.optString("risk_level", "보통");
-                double score = result.optDouble("risk_score", 0.5);
-                String reason = result.optString("reason", "분석 실패");
-
-                int label = switch (level) {
-                    case "위험" -> 1;
-                    case "보통" -> 0;
-                    default -> 0;
-                };
-
-                data.setLabel(label);
-                data.setRiskScore(score);
-                data.setReason(reason);
-                repository.save(data);
-
-                count++;
-
-            } catch (Exception e) {
-                System.err.println("❌ 예측 실패 [" + data.getCustomerId() + "] : " + e.getMessage());
-            }
-        }
+    // 2. 예측 실행 후 DB 저장 (배치/동시 실행/체크포인트는 NoShowAiScoringService 가 담당, restart 면 처음부터)
+    public String predictAndSave(boolean restart) {
+        if (repository.count() == 0) return "⚠️ DB에 데이터가 없습니다.";
+
+        NoShowAiScoringStatus status = scoringService.start(restart);
+        return "🔵 예측 작업 시작 — 전체 " + status.getTotalRows() + "건 (진행 상황: GET /api/noshow/predict/status)";
+    }
 
-        return "✅ 예측 완료 — 총 " + count + "건의 데이터 업데이트됨";
+    public NoShowAiScoringStatus getPredictionStatus() {
+        return scoringService.getStatus();
     }
 
     // 3. AI 예측된 데이터만 조회
@@ -0,0 +1,34 @@
+package com.olsaram.backend.service.noshow;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * 노쇼율 조회 기간 (예약 날짜 기준, [from, to))
+ */
+public enum NoShowRatePeriod {
+    ALL,            // 전체 기간
+    LAST_30_DAYS,   // 오늘 포함 최근 30일
+    THIS_WEEK,      // 이번 주 (월요일 ~ 일요일)
+    THIS_MONTH;     // 이번 달
+
+    /** 시작일 (포함, null 이면 처음부터) */
+    public LocalDate from(LocalDate today) {
+        return switch (this) {
+            case ALL -> null;
+            case LAST_30_DAYS -> today.minusDays(29);
+            case THIS_WEEK -> today.with(DayOfWeek.MONDAY);
+            case THIS_MONTH -> today.withDayOfMonth(1);
+        };
+    }
+
+    /** 종료일 (제외, null 이면 끝까지) */
+    public LocalDate to(LocalDate today) {
+        return switch (this) {
+            case ALL -> null;
+            case LAST_30_DAYS -> today.plusDays(1);
+            case THIS_WEEK -> today.with(DayOfWeek.MONDAY).plusWeeks(1);
+            case THIS_MONTH -> today.withDayOfMonth(1).plusMonths(1);
+        };
+    }
+}
@@ -1,26 +1,40 @@
 package com.olsaram.backend.service.noshow;
 
 import com.olsaram.backend.domain.business.Business;
-import com.olsaram.backend.domain.reservation.Reservation;
-import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.dto.noshow.NoShowHeatmapResponse;
 import com.olsaram.backend.dto.noshow.NoShowRateResponse;
 import com.olsaram.backend.repository.BusinessRepository;
-import com.olsaram.backend.repository.reservation.ReservationRepository;
+import com.olsaram.backend.service.business.BusinessSlotHeatmapStore;
+import com.olsaram.backend.service.business.SlotHeatmap;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * 가게별 노쇼율 계산 서비스
- * MVP 버전: 실제 DB 데이터 기반으로 노쇼율 계산
+ *
+ * 예약을 직접 세지 않고 가게별 일/월 상태 집계(NoShowRollupStore)를 기간만큼 합산한다.
+ * 노쇼는 CANCELED 로 저장되므로 노쇼 처리 여부(no_show_at)로 일반 취소와 구분해서 센다.
+ * 요일 × 시간대 히트맵은 메모리 집계(BusinessSlotHeatmapStore) 168칸을 그대로 읽는다.
  */
 @Service
 @RequiredArgsConstructor
 public class NoShowRateService {
 
-    private final ReservationRepository reservationRepository;
+    private static final List<String> DAYS = Arrays.stream(DayOfWeek.values())
+            .map(day -> day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH).toUpperCase(Locale.ROOT))
+            .toList();
+
     private final BusinessRepository businessRepository;
+    private final NoShowRollupStore noShowRollupStore;
+    private final BusinessSlotHeatmapStore businessSlotHeatmapStore;
 
     /**
      * 가게별 노쇼율 계산 (전체 기간)
@@ -29,37 +43,99 @@ public class NoShowRateService {
      * @return 노쇼율 응답 DTO
      */
     public NoShowRateResponse calculateNoShowRate(Long businessId) {
+        return calculateNoShowRate(businessId, null, null);
+    }
+
+    /**
+     * 가게별 노쇼율 계산 (예약 날짜 기준 기간)
+     *
+     * @param businessId 가게 ID
+     * @param from       시작일 (포함, null 이면 처음부터)
+     * @param to         종료일 (제외, null 이면 끝까지)
+     * @return 노쇼율 응답 DTO
+     */
+    public NoShowRateResponse calculateNoShowRate(Long businessId, LocalDate from, LocalDate to) {
 
         // 가게 정보 조회
         Business business = businessRepository.findById(businessId)
                 .orElseThrow(() -> new RuntimeException("Business not found (id=" + businessId + ")"));
 
-        // 해당 가게의 모든 예약 조회
-        List<Reservation> reservations = reservationRepository.findByBusinessId(businessId);
+        Map<Long, long[]> counts = noShowRollupStore.sum(List.of(businessId), from, to);
+        return toResponse(business, counts.get(businessId), from, to);
+    }
 
-        // 전체 예약 수
-        long totalReservations = reservations.size();
+    /**
+     * 사장님 ID로 가게들의 노쇼율 조회 (전체 기간)
+     * (한 사장님이 여러 가게를 소유한 경우를 대비)
+     *
+     * @param ownerId 사장님 ID
+     * @return 노쇼율 응답 리스트
+     */
+    public List<NoShowRateResponse> calculateNoShowRatesByOwnerId(Long ownerId) {
+        return calculateNoShowRatesByOwnerId(ownerId, null, null);
+    }
 
-        // 노쇼 횟수 계산
-        long noShowCount = reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.NO_SHOW)
-                .count();
+    /**
+     * 사장님 가게들의 기간 노쇼율 (모든 가게를 집계 조회 한 번으로 합산)
+     */
+    public List<NoShowRateResponse> calculateNoShowRatesByOwnerId(Long ownerId, LocalDate from, LocalDate to) {
 
-        // 완료된 예약 수
-        long completedCount = reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.COMPLETED)
-                .count();
+        // 사장님의 모든 가게 조회
+        List<Business> businesses = businessRepository.findByOwner_OwnerId(ownerId);
 
-        // 대기 중 예약 수
-        long pendingCount = reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.PENDING
-                          || r.getStatus() == ReservationStatus.CONFIRMED)
-                .count();
+        Map<Long, long[]> counts = noShowRollupStore.sum(
+                businesses.stream().map(Business::getBusinessId).toList(), from, to);
+        return businesses.stream()
+                .map(business -> toResponse(business, counts.get(business.getBusinessId()), from, to))
+                .toList();
+    }
 
-        // 취소된 예약 수
-        long canceledCount = reservations.stream()
-                .filter(r -> r.getStatus() == ReservationStatus.CANCELED)
-                .count();
+    /**
+     * 가게 요일 × 시간대 노쇼 히트맵 (예약 시간 기준, 전체 기간)
+     *
+     * @param businessId 가게 ID
+     * @return 7 × 24 예약 수 / 노쇼율
+     */
+    public NoShowHeatmapResponse getNoShowHeatmap(Long businessId) {
+        Business business = businessRepository.findById(businessId)
+                .orElseThrow(() -> new RuntimeException("Business not found (id=" + businessId + ")"));
+
+        SlotHeatmap heatmap = businessSlotHeatmapStore.get(businessId);
+        int minOutcomes = businessSlotHeatmapStore.getMinOutcomes();
+        int[][] bookings = new int[SlotHeatmap.DAYS][SlotHeatmap.HOURS];
+        int[][] completed = new int[SlotHeatmap.DAYS][SlotHeatmap.HOURS];
+        int[][] noShows = new int[SlotHeatmap.DAYS][SlotHeatmap.HOURS];
+        Double[][] rates = new Double[SlotHeatmap.DAYS][SlotHeatmap.HOURS];
+        for (int day = 0; day < SlotHeatmap.DAYS; day++) {
+            for (int hour = 0; hour < SlotHeatmap.HOURS; hour++) {
+                bookings[day][hour] = heatmap.bookings(day, hour);
+                completed[day][hour] = heatmap.completed(day, hour);
+                noShows[day][hour] = heatmap.noShows(day, hour);
+                double rate = heatmap.noShowRate(day, hour, minOutcomes);
+                rates[day][hour] = Double.isNaN(rate) ? null : rate;
+            }
+        }
+
+        return NoShowHeatmapResponse.builder()
+                .businessId(businessId)
+                .businessName(business.getBusinessName())
+                .days(DAYS)
+                .minOutcomes(minOutcomes)
+                .bookings(bookings)
+                .completedCounts(completed)
+                .noShowCounts(noShows)
+                .noShowRates(rates)
+                .build();
+    }
+
+    private NoShowRateResponse toResponse(Business business, long[] counts, LocalDate from, LocalDate to) {
+        long pendingCount = counts != null ? counts[NoShowRollupStore.PENDING] : 0;
+        long completedCount = counts != null ? counts[NoShowRollupStore.COMPLETED] : 0;
+        long noShowCount = counts != null ? counts[NoShowRollupStore.NO_SHOW] : 0;
+        long canceledCount = counts != null ? counts[NoShowRollupStore.CANCELED] : 0;
+
+        // 전체 예약 수
+        long totalReservations = pendingCount + completedCount + noShowCount + canceledCount;
 
         // 노쇼율 계산 (0으로 나누기 방지)
         double noShowRate = totalReservations > 0
@@ -69,8 +145,10 @@ public class NoShowRateService {
         double noShowPercentage = noShowRate * 100;
 
         return NoShowRateResponse.builder()
-                .businessId(businessId)
+                .businessId(business.getBusinessId())
                 .businessName(business.getBusinessName())
+                .from(from)
+                .to(to)
                 .totalReservations(totalReservations)
                 .noShowCount(noShowCount)
                 .noShowRate(noShowRate)
@@ -80,22 +158,4 @@ public class NoShowRateService {
                 .canceledCount(canceledCount)
                 .build();
     }
-
-    /**
-     * 사장님 ID로 가게들의 노쇼율 조회
-     * (한 사장님이 여러 가게를 소유한 경우를 대비)
-     *
-     * @param ownerId 사장님 ID
-     * @return 노쇼율 응답 리스트
-     */
-    public List<NoShowRateResponse> calculateNoShowRatesByOwnerId(Long ownerId) {
-
-        // 사장님의 모든 가게 조회
-        List<Business> businesses = businessRepository.findByOwner_OwnerId(ownerId);
-
-        // 각 가게별 노쇼율 계산
-        return businesses.stream()
-                .map(business -> calculateNoShowRate(business.getBusinessId()))
-                .toList();
-    }
 }
@@ -0,0 +1,23 @@
+package com.olsaram.backend.service.noshow;
+
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.service.reservation.ReservationOutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 예약 이벤트 → 가게 상태 집계 (노쇼율 조회용)
+ *
+ * outbox 배치 트랜잭션 안에서 집계 행을 갱신하므로 롤백되면 함께 롤백되고 재시도된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NoShowRollupOutboxHandler implements ReservationOutboxHandler {
+
+    private final NoShowRollupStore noShowRollupStore;
+
+    @Override
+    public void handle(ReservationDomainEvent event) {
+        noShowRollupStore.apply(event);
+    }
+}
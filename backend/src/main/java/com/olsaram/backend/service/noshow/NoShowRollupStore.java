@@ -0,0 +1,266 @@
+package com.olsaram.backend.service.noshow;
+
+import com.olsaram.backend.domain.reservation.ReservationRollupPeriod;
+import com.olsaram.backend.domain.reservation.ReservationRollupState;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.domain.reservation.ReservationStatusRollup;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.repository.reservation.ReservationOutboxRepository;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import com.olsaram.backend.repository.reservation.ReservationRollupStateRepository;
+import com.olsaram.backend.repository.reservation.ReservationStatusRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 가게별 예약 상태 집계 저장소 (reservation_status_rollup)
+ *
+ * - 예약 이벤트(outbox)마다 예약 날짜의 일/월 행을 UPDATE ... SET x = x + n 으로 증감 (행이 없으면 INSERT, 충돌 시 outbox 재시도)
+ * - 상태 변경은 이전 칸 -1, 새 칸 +1 (예약 시간/가게가 바뀌면 다른 날짜 행으로 옮긴다)
+ * - 집계가 없는 가게는 처음 접근할 때 예약 이력 GROUP BY 한 번으로 채운다
+ *   (같은 트랜잭션에서 읽은 outbox/예약 최대 id 를 워터마크로 남겨, 그 이하의 이벤트는 이미 포함된 것으로 본다)
+ */
+@Service
+@Slf4j
+public class NoShowRollupStore {
+
+    static final int PENDING = 0;
+    static final int COMPLETED = 1;
+    static final int NO_SHOW = 2;
+    static final int CANCELED = 3;
+
+    private final ReservationStatusRollupRepository rollupRepository;
+    private final ReservationRollupStateRepository stateRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReservationOutboxRepository outboxRepository;
+    private final TransactionTemplate requiresNew;
+
+    public NoShowRollupStore(
+            ReservationStatusRollupRepository rollupRepository,
+            ReservationRollupStateRepository stateRepository,
+            ReservationRepository reservationRepository,
+            ReservationOutboxRepository outboxRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.stateRepository = stateRepository;
+        this.reservationRepository = reservationRepository;
+        this.outboxRepository = outboxRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 가게별 기간 합계 [pending, completed, noShow, canceled] (집계가 없는 가게는 먼저 채운다)
+     *
+     * @param from 예약 날짜 시작 (포함, null 이면 처음부터)
+     * @param to   예약 날짜 끝 (제외, null 이면 끝까지)
+     */
+    public Map<Long, long[]> sum(List<Long> businessIds, LocalDate from, LocalDate to) {
+        Map<Long, long[]> result = new LinkedHashMap<>();
+        if (businessIds.isEmpty()) {
+            return result;
+        }
+        ensureBootstrapped(businessIds);
+
+        NoShowRollupWindow window = NoShowRollupWindow.of(from, to);
+        List<Object[]> rows = rollupRepository.sumByBusiness(
+                businessIds,
+                ReservationRollupPeriod.MONTH, window.monthFrom(), window.monthTo(),
+                ReservationRollupPeriod.DAY, window.headFrom(), window.headTo(),
+                window.tailFrom(), window.tailTo());
+        for (Object[] row : rows) {
+            result.put((Long) row[0], new long[]{
+                    toLong(row[1]), toLong(row[2]), toLong(row[3]), toLong(row[4])});
+        }
+        return result;
+    }
+
+    /**
+     * 예약 이벤트를 상태 집계에 반영 (outbox 트랜잭션 안에서 호출)
+     */
+    public void apply(ReservationDomainEvent event) {
+        Map<Key, long[]> deltas = new HashMap<>();
+        switch (event.getType()) {
+            case CREATED -> add(deltas, event.getBusinessId(), event.getReservationTime(),
+                    bucketOf(event.getStatus(), event.isMarkedNoShow()), 1);
+            case DELETED -> add(deltas, event.getBusinessId(), event.getReservationTime(),
+                    bucketOf(event.getStatus(), event.isMarkedNoShow()), -1);
+            case STATUS_CHANGED -> {
+                if (event.getPreviousStatus() == null) {
+                    return; // 이전 상태가 없는 이벤트 (이 기능 도입 전 outbox 에 쌓인 것)
+                }
+                add(deltas,
+                        event.getPreviousBusinessId() != null ? event.getPreviousBusinessId() : event.getBusinessId(),
+                        event.getPreviousReservationTime() != null ? event.getPreviousReservationTime() : event.getReservationTime(),
+                        bucketOf(event.getPreviousStatus(), event.isPreviousMarkedNoShow()), -1);
+                add(deltas, event.getBusinessId(), event.getReservationTime(),
+                        bucketOf(event.getStatus(), event.isMarkedNoShow()), 1);
+            }
+            default -> {
+                return;
+            }
+        }
+        deltas.values().removeIf(NoShowRollupStore::isZero);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Set<Long> skipped = new HashSet<>();
+        for (Long businessId : deltas.keySet().stream().map(Key::businessId).distinct().toList()) {
+            ReservationRollupState state = stateRepository.findById(businessId).orElse(null);
+            if (state == null) {
+                // 처음 보는 가게: 이 이벤트까지 커밋된 이력으로 채운다 (동시에 다른 곳에서 채우면 INSERT 충돌 → outbox 재시도)
+                bootstrap(businessId);
+                skipped.add(businessId);
+            } else if (event.isCoveredBy(state.getBootstrapEventId(), state.getBootstrapReservationId())) {
+                skipped.add(businessId); // 초기 적재에 이미 포함된 이벤트
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        deltas.forEach((key, delta) -> {
+            if (!skipped.contains(key.businessId())) {
+                addCounts(key, delta, now);
+            }
+        });
+    }
+
+    /**
+     * 상태 → 집계 칸 (집계하지 않는 상태는 -1)
+     */
+    static int bucketOf(String status, boolean markedNoShow) {
+        if (status == null) {
+            return -1;
+        }
+        return switch (ReservationStatus.valueOf(status)) {
+            case PENDING, CONFIRMED -> PENDING;
+            case COMPLETED -> COMPLETED;
+            case NO_SHOW -> NO_SHOW;
+            case CANCELED -> markedNoShow ? NO_SHOW : CANCELED;
+        };
+    }
+
+    private void ensureBootstrapped(Collection<Long> businessIds) {
+        Set<Long> ready = new HashSet<>();
+        for (ReservationRollupState state : stateRepository.findAllById(businessIds)) {
+            ready.add(state.getBusinessId());
+        }
+        for (Long businessId : businessIds) {
+            if (ready.contains(businessId)) {
+                continue;
+            }
+            try {
+                requiresNew.executeWithoutResult(status -> bootstrap(businessId));
+            } catch (DataIntegrityViolationException e) {
+                // 동시에 다른 요청/이벤트가 먼저 채움
+                log.debug("상태 집계 초기 적재 충돌 (businessId={}) - 먼저 채운 쪽 사용", businessId);
+            }
+        }
+    }
+
+    /**
+     * 가게 예약 이력을 날짜/상태별로 세어 일/월 행을 만든다 (상태 행을 먼저 INSERT 해서 동시 적재는 하나만 성공)
+     * 워터마크는 이력과 같은 트랜잭션에서 먼저 읽는다
+     */
+    private void bootstrap(Long businessId) {
+        LocalDateTime now = LocalDateTime.now();
+        stateRepository.saveAndFlush(ReservationRollupState.builder()
+                .businessId(businessId)
+                .bootstrappedAt(now)
+                .bootstrapEventId(outboxRepository.findMaxId())
+                .bootstrapReservationId(reservationRepository.findMaxId())
+                .build());
+
+        Map<Key, long[]> counts = new HashMap<>();
+        for (Object[] row : reservationRepository.countDailyStatusesByBusiness(businessId)) {
+            LocalDate day = (LocalDate) row[0];
+            ReservationStatus status = (ReservationStatus) row[1];
+            long noShows = toLong(row[2]);
+            long total = toLong(row[3]);
+            if (day == null || status == null) {
+                continue;
+            }
+
+            long[] dayCounts = counts.computeIfAbsent(new Key(businessId, ReservationRollupPeriod.DAY, day), key -> new long[4]);
+            long[] monthCounts = counts.computeIfAbsent(new Key(businessId, ReservationRollupPeriod.MONTH, day.withDayOfMonth(1)), key -> new long[4]);
+            if (status == ReservationStatus.CANCELED) {
+                addTo(dayCounts, monthCounts, NO_SHOW, noShows);
+                addTo(dayCounts, monthCounts, CANCELED, total - noShows);
+            } else {
+                addTo(dayCounts, monthCounts, bucketOf(status.name(), false), total);
+            }
+        }
+
+        List<ReservationStatusRollup> rollups = counts.entrySet().stream()
+                .map(entry -> newRollup(entry.getKey(), entry.getValue(), now))
+                .toList();
+        rollupRepository.saveAll(rollups);
+        log.info("💾 가게 상태 집계 초기 적재 - businessId={}, {}행", businessId, rollups.size());
+    }
+
+    private void addCounts(Key key, long[] delta, LocalDateTime now) {
+        int updated = rollupRepository.addCounts(key.businessId(), key.period(), key.bucketStart(),
+                delta[PENDING], delta[COMPLETED], delta[NO_SHOW], delta[CANCELED], now);
+        if (updated == 0) {
+            rollupRepository.saveAndFlush(newRollup(key, delta, now));
+        }
+    }
+
+    private static void add(Map<Key, long[]> deltas, Long businessId, LocalDateTime reservationTime, int bucket, long delta) {
+        if (businessId == null || reservationTime == null || bucket < 0) {
+            return;
+        }
+        LocalDate day = reservationTime.toLocalDate();
+        deltas.computeIfAbsent(new Key(businessId, ReservationRollupPeriod.DAY, day), key -> new long[4])[bucket] += delta;
+        deltas.computeIfAbsent(new Key(businessId, ReservationRollupPeriod.MONTH, day.withDayOfMonth(1)), key -> new long[4])[bucket] += delta;
+    }
+
+    private static void addTo(long[] dayCounts, long[] monthCounts, int bucket, long count) {
+        dayCounts[bucket] += count;
+        monthCounts[bucket] += count;
+    }
+
+    private static ReservationStatusRollup newRollup(Key key, long[] counts, LocalDateTime now) {
+        return ReservationStatusRollup.builder()
+                .businessId(key.businessId())
+                .period(key.period())
+                .bucketStart(key.bucketStart())
+                .pendingCount(counts[PENDING])
+                .completedCount(counts[COMPLETED])
+                .noShowCount(counts[NO_SHOW])
+                .canceledCount(counts[CANCELED])
+                .updatedAt(now)
+                .build();
+    }
+
+    private static boolean isZero(long[] counts) {
+        for (long count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private record Key(Long businessId, ReservationRollupPeriod period, LocalDate bucketStart) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.olsaram.backend.service.noshow;
+
+import java.time.LocalDate;
+
+/**
+ * 날짜 구간 [from, to) 을 롤업 행 조회 범위로 나눈 것
+ *
+ * 온전한 달은 월 행 [monthFrom, monthTo), 앞뒤로 남는 날은 일 행 [headFrom, headTo), [tailFrom, tailTo).
+ * 몇 년치 전체 기간도 달 수 + 최대 60여 개 일 행만 읽는다.
+ */
+record NoShowRollupWindow(
+        LocalDate monthFrom, LocalDate monthTo,
+        LocalDate headFrom, LocalDate headTo,
+        LocalDate tailFrom, LocalDate tailTo
+) {
+
+    // 열린 구간 대신 쓰는 경계 (DB DATE 범위 안, 월 경계라 월 행만으로 덮인다)
+    static final LocalDate MIN_DATE = LocalDate.of(1970, 1, 1);
+    static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 1);
+
+    /**
+     * @param from 시작일 (포함, null 이면 처음부터)
+     * @param to   종료일 (제외, null 이면 끝까지)
+     */
+    static NoShowRollupWindow of(LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : MIN_DATE;
+        LocalDate end = to != null ? to : MAX_DATE;
+        if (!start.isBefore(end)) {
+            return new NoShowRollupWindow(start, start, start, start, start, start);
+        }
+
+        LocalDate monthFrom = start.getDayOfMonth() == 1 ? start : start.withDayOfMonth(1).plusMonths(1);
+        LocalDate monthTo = end.withDayOfMonth(1);
+        if (!monthFrom.isBefore(monthTo)) {
+            // 온전한 달이 없음 → 전부 일 행
+            return new NoShowRollupWindow(start, start, start, end, end, end);
+        }
+        return new NoShowRollupWindow(monthFrom, monthTo, start, monthFrom, monthTo, end);
+    }
+}
@@ -0,0 +1,574 @@
+package com.olsaram.backend.service.noshow;
+
+import com.olsaram.backend.config.ReservationDataImportProperties;
+import com.olsaram.backend.dto.noshow.ReservationDataImportStatus;
+import com.olsaram.backend.repository.noshow.ReservationDataRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * reservation_data CSV 대량 불러오기 (시작 시 더미 데이터 / 관리자 API 로 학습용 내보내기 파일)
+ *
+ * - 파일을 스트리밍으로 읽어 레코드 경계에서 chunk-rows 씩 자르고(CsvChunkSplitter),
+ *   청크마다 병렬로 파싱/변환한 뒤 한 트랜잭션에서 JDBC batch INSERT (JPA merge 의 행별 SELECT 없음)
+ * - 메모리는 동시에 처리 중인 청크 수(병렬도 × 2)로 제한되므로 파일 크기와 상관없다
+ * - 열은 헤더 이름으로 찾는다 (순서 무관, 모르는 열은 무시, RESERVATION_ID 필수)
+ * - 형식 오류/값 변환 실패/중복 키 행은 건너뛰고 reject-dir 의 거부 파일에 줄 번호, 사유, 원본을 남긴다
+ *   (배치가 실패한 청크만 한 행씩 다시 넣어 실패한 행을 가려낸다)
+ * - 한 번에 하나만 실행, 진행 상황은 getLatest() 로 확인
+ *
+ * MySQL 에서는 SPRING_DATASOURCE_URL 에 rewriteBatchedStatements=true 를 붙여야 batch 가 다중 행 INSERT 로 나간다.
+ */
+@Service
+@Slf4j
+public class ReservationDataImportService {
+
+    public static final String STATE_RUNNING = "RUNNING";
+    public static final String STATE_COMPLETED = "COMPLETED";
+    public static final String STATE_FAILED = "FAILED";
+
+    private static final String ROWS_COUNTER = "noshow.import.rows";
+    private static final DateTimeFormatter REJECT_FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    // 불러올 수 있는 reservation_data 열 (예측 입력 해시/시각은 예측 작업이 채운다)
+    private static final Map<String, ColumnType> COLUMNS = Map.ofEntries(
+            Map.entry("RESERVATION_ID", ColumnType.STRING),
+            Map.entry("CUSTOMER_ID", ColumnType.STRING),
+            Map.entry("CUSTOMER_NAME", ColumnType.STRING),
+            Map.entry("PHONE_NUMBER", ColumnType.STRING),
+            Map.entry("DATE_TIME", ColumnType.STRING),
+            Map.entry("PARTY_SIZE", ColumnType.INTEGER),
+            Map.entry("AMOUNT", ColumnType.DOUBLE),
+            Map.entry("VISIT_HISTORY", ColumnType.INTEGER),
+            Map.entry("CANCEL_COUNT", ColumnType.INTEGER),
+            Map.entry("NOSHOW_HISTORY", ColumnType.INTEGER),
+            Map.entry("PAYMENT_PATTERN", ColumnType.STRING),
+            Map.entry("BEHAVIOR_NOTE", ColumnType.STRING),
+            Map.entry("LOYALTY_GRADE", ColumnType.STRING),
+            Map.entry("LEAD_TIME_HOURS", ColumnType.INTEGER),
+            Map.entry("HOLIDAY_FLAG", ColumnType.INTEGER),
+            Map.entry("REGION", ColumnType.STRING),
+            Map.entry("EVENT_NEARBY", ColumnType.STRING),
+            Map.entry("RISK_SCORE", ColumnType.DOUBLE),
+            Map.entry("LABEL", ColumnType.INTEGER),
+            Map.entry("REASON", ColumnType.STRING)
+    );
+
+    private final ReservationDataImportProperties properties;
+    private final ReservationDataRepository dataRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ResourceLoader resourceLoader;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> new Thread(r, "reservation-data-import"));
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<Run> latest = new AtomicReference<>();
+
+    public ReservationDataImportService(
+            ReservationDataImportProperties properties,
+            ReservationDataRepository dataRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ResourceLoader resourceLoader,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.dataRepository = dataRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resourceLoader = resourceLoader;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    /**
+     * reservation_data 가 비어 있으면 startup-location 을 불러온다 (시작 시 DataLoader 에서 호출, 끝날 때까지 대기)
+     */
+    public void importOnStartup() {
+        if (!properties.isStartupEnabled()) {
+            return;
+        }
+        if (dataRepository.count() > 0) {
+            log.info("✅ 이미 DB에 데이터가 존재하므로 CSV import 생략");
+            return;
+        }
+        Resource resource = resourceLoader.getResource(properties.getStartupLocation());
+        if (!resource.exists()) {
+            log.warn("⚠️ CSV 파일을 찾을 수 없습니다: {}", properties.getStartupLocation());
+            return;
+        }
+        importNow(resource, properties.getStartupLocation());
+    }
+
+    /**
+     * 지금 스레드에서 불러오고 최종 상태를 반환한다 (이미 실행 중이면 409)
+     */
+    public ReservationDataImportStatus importNow(Resource resource, String source) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 CSV 불러오기가 실행 중입니다.");
+        }
+        try {
+            Run run = new Run(source, contentLength(resource));
+            latest.set(run);
+            execute(run, resource);
+            return run.status();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * import-dir 아래 파일 불러오기 시작 (백그라운드 실행, 이미 실행 중이면 409)
+     */
+    public ReservationDataImportStatus start(String path) {
+        Path file = resolveImportFile(path);
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 CSV 불러오기가 실행 중입니다.");
+        }
+
+        Resource resource = new FileSystemResource(file);
+        Run run = new Run(file.toString(), contentLength(resource));
+        latest.set(run);
+        try {
+            runner.execute(() -> {
+                try {
+                    execute(run, resource);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return run.status();
+    }
+
+    public ReservationDataImportStatus getLatest() {
+        Run run = latest.get();
+        if (run == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "실행한 CSV 불러오기가 없습니다.");
+        }
+        return run.status();
+    }
+
+    private Path resolveImportFile(String path) {
+        if (!StringUtils.hasText(path)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "path 는 필수입니다.");
+        }
+        Path base = Path.of(properties.getImportDir()).toAbsolutePath().normalize();
+        Path file = base.resolve(path).normalize();
+        if (!file.startsWith(base)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "import-dir 밖의 파일은 불러올 수 없습니다.");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "파일을 찾을 수 없습니다: " + path);
+        }
+        return file;
+    }
+
+    private void execute(Run run, Resource resource) {
+        int chunkRows = Math.max(1, properties.getChunkRows());
+        int parallelism = properties.getParallelism() > 0 ? properties.getParallelism() : Runtime.getRuntime().availableProcessors();
+        int maxInFlight = parallelism * 2;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+                r -> new Thread(r, "reservation-data-import-" + threadIndex.incrementAndGet()));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        RejectWriter rejects = new RejectWriter(
+                Path.of(properties.getRejectDir(), "reservation_data-" + LocalDateTime.now().format(REJECT_FILE_TIME) + ".rejects.csv"),
+                run);
+
+        log.info("📁 reservation_data CSV 불러오기 시작 - {}, 청크: {}행, 병렬도: {}", run.source, chunkRows, parallelism);
+        try (InputStream in = new CountingInputStream(resource.getInputStream(), run.bytesRead)) {
+            CsvChunkSplitter splitter = new CsvChunkSplitter(new InputStreamReader(in, StandardCharsets.UTF_8));
+            Insert insert = readHeader(splitter);
+
+            long nextLogAt = System.currentTimeMillis() + properties.getProgressLogIntervalMs();
+            CsvChunkSplitter.Chunk chunk;
+            while (failure.get() == null && (chunk = splitter.next(chunkRows)) != null) {
+                inFlight.acquire();
+                CsvChunkSplitter.Chunk current = chunk;
+                try {
+                    workers.execute(() -> {
+                        try {
+                            importChunk(current, insert, run, rejects);
+                        } catch (Throwable t) {
+                            failure.compareAndSet(null, t);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    inFlight.release();
+                    throw e;
+                }
+
+                if (System.currentTimeMillis() >= nextLogAt) {
+                    nextLogAt = System.currentTimeMillis() + properties.getProgressLogIntervalMs();
+                    ReservationDataImportStatus status = run.status();
+                    log.info("🔵 reservation_data 불러오는 중 - 저장 {}건, 거부 {}건, {}%, {}건/초",
+                            status.getRowsInserted(), status.getRowsRejected(),
+                            status.getProgressPercent() != null ? String.format(Locale.ROOT, "%.1f", status.getProgressPercent()) : "?",
+                            String.format(Locale.ROOT, "%.0f", status.getRowsPerSecond()));
+                }
+            }
+
+            inFlight.acquire(maxInFlight); // 남은 청크가 모두 끝날 때까지 대기
+            inFlight.release(maxInFlight);
+            if (failure.get() != null) {
+                throw new IllegalStateException(failure.get().getMessage(), failure.get());
+            }
+
+            run.state = STATE_COMPLETED;
+            ReservationDataImportStatus status = run.status();
+            log.info("✅ reservation_data CSV 불러오기 완료 - 저장 {}건, 거부 {}건, {}건/초{}",
+                    status.getRowsInserted(), status.getRowsRejected(),
+                    String.format(Locale.ROOT, "%.0f", status.getRowsPerSecond()),
+                    status.getRejectFile() != null ? ", 거부 파일: " + status.getRejectFile() : "");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(run, "불러오기가 중단되었습니다.");
+        } catch (Exception e) {
+            log.error("❌ reservation_data CSV 불러오기 실패: {}", e.getMessage(), e);
+            fail(run, e.getMessage());
+        } finally {
+            workers.shutdown();
+            try {
+                if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                    workers.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                workers.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            rejects.close();
+            run.finishedAt = LocalDateTime.now();
+            run.endNanos = System.nanoTime();
+        }
+    }
+
+    private Insert readHeader(CsvChunkSplitter splitter) throws IOException {
+        CsvChunkSplitter.Chunk chunk = splitter.next(1);
+        List<CsvRecordParser.CsvRecord> records = new ArrayList<>(1);
+        if (chunk != null) {
+            CsvRecordParser.parse(chunk.text(), chunk.firstLine(), records::add);
+        }
+        if (records.isEmpty() || records.get(0).error() != null) {
+            throw new IllegalArgumentException("CSV 헤더를 읽을 수 없습니다.");
+        }
+        return Insert.of(records.get(0).fields());
+    }
+
+    /**
+     * 청크 하나: 파싱/변환 → 한 트랜잭션에서 batch INSERT (실패하면 한 행씩 다시 넣고 실패한 행만 거부)
+     */
+    private void importChunk(CsvChunkSplitter.Chunk chunk, Insert insert, Run run, RejectWriter rejects) {
+        List<Object[]> rows = new ArrayList<>(chunk.records());
+        List<CsvRecordParser.CsvRecord> sources = new ArrayList<>(chunk.records());
+        CsvRecordParser.parse(chunk.text(), chunk.firstLine(), record -> {
+            run.rowsRead.incrementAndGet();
+            if (record.error() != null) {
+                reject(record, record.error(), run, rejects);
+                return;
+            }
+            if (record.fields().size() != insert.fieldCount()) {
+                reject(record, "열 개수 불일치 (" + record.fields().size() + "개, 헤더 " + insert.fieldCount() + "개)", run, rejects);
+                return;
+            }
+            try {
+                rows.add(insert.values(record.fields()));
+                sources.add(record);
+            } catch (IllegalArgumentException e) {
+                reject(record, e.getMessage(), run, rejects);
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        int batchSize = Math.max(1, properties.getBatchSize());
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(insert.sql(), rows, batchSize,
+                    (ps, args) -> new ArgumentPreparedStatementSetter(args).setValues(ps)));
+            inserted(run, rows.size());
+        } catch (DataAccessException e) {
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    jdbcTemplate.update(insert.sql(), rows.get(i));
+                    inserted(run, 1);
+                } catch (DataAccessException rowError) {
+                    reject(sources.get(i), "저장 실패: " + rowError.getMostSpecificCause().getMessage(), run, rejects);
+                }
+            }
+        }
+    }
+
+    private void inserted(Run run, int count) {
+        run.rowsInserted.addAndGet(count);
+        meterRegistry.counter(ROWS_COUNTER, "result", "inserted").increment(count);
+    }
+
+    private void reject(CsvRecordParser.CsvRecord record, String reason, Run run, RejectWriter rejects) {
+        run.rowsRejected.incrementAndGet();
+        meterRegistry.counter(ROWS_COUNTER, "result", "rejected").increment();
+        rejects.write(record.line(), reason, record.raw());
+    }
+
+    private static void fail(Run run, String error) {
+        run.state = STATE_FAILED;
+        run.error = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    private static Long contentLength(Resource resource) {
+        try {
+            long length = resource.contentLength();
+            return length >= 0 ? length : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private enum ColumnType {
+        STRING,
+        INTEGER,
+        DOUBLE
+    }
+
+    /**
+     * 헤더로 만든 INSERT 문과 CSV 필드 → 열 매핑
+     */
+    private record Insert(String sql, int fieldCount, int[] fieldIndexes, String[] names, ColumnType[] types) {
+
+        static Insert of(List<String> header) {
+            List<Integer> indexes = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).replace("\uFEFF", "").trim().toUpperCase(Locale.ROOT);
+                if (!COLUMNS.containsKey(name)) {
+                    log.warn("⚠️ 알 수 없는 CSV 열 무시: {}", header.get(i));
+                    continue;
+                }
+                if (!seen.add(name)) {
+                    throw new IllegalArgumentException("CSV 헤더에 같은 열이 두 번 있습니다: " + name);
+                }
+                indexes.add(i);
+                names.add(name);
+            }
+            if (!seen.contains("RESERVATION_ID")) {
+                throw new IllegalArgumentException("CSV 헤더에 RESERVATION_ID 열이 없습니다.");
+            }
+
+            String sql = "INSERT INTO reservation_data (" + String.join(", ", names) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(names.size(), "?")) + ")";
+            return new Insert(sql, header.size(),
+                    indexes.stream().mapToInt(Integer::intValue).toArray(),
+                    names.toArray(String[]::new),
+                    names.stream().map(COLUMNS::get).toArray(ColumnType[]::new));
+        }
+
+        /**
+         * 문자열은 앞뒤 공백 제거, 숫자는 빈 값이면 null
+         *
+         * @throws IllegalArgumentException 숫자 변환 실패 / RESERVATION_ID 없음
+         */
+        Object[] values(List<String> fields) {
+            Object[] values = new Object[fieldIndexes.length];
+            for (int i = 0; i < fieldIndexes.length; i++) {
+                String value = fields.get(fieldIndexes[i]).trim();
+                try {
+                    values[i] = switch (types[i]) {
+                        case STRING -> value;
+                        case INTEGER -> value.isEmpty() ? null : Integer.valueOf(value);
+                        case DOUBLE -> value.isEmpty() ? null : Double.valueOf(value);
+                    };
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(names[i] + " 값이 숫자가 아닙니다: " + value);
+                }
+                if (values[i] instanceof String s && s.isEmpty() && "RESERVATION_ID".equals(names[i])) {
+                    throw new IllegalArgumentException("RESERVATION_ID 가 비어 있습니다.");
+                }
+            }
+            return values;
+        }
+    }
+
+    /**
+     * 거부 행 기록 (첫 거부 때 파일 생성, 여러 청크 스레드가 같이 쓴다)
+     */
+    private static final class RejectWriter {
+        private final Path path;
+        private final Run run;
+        private BufferedWriter writer;
+        private boolean broken;
+
+        private RejectWriter(Path path, Run run) {
+            this.path = path;
+            this.run = run;
+        }
+
+        synchronized void write(long line, String reason, String raw) {
+            if (broken) {
+                return;
+            }
+            try {
+                if (writer == null) {
+                    Files.createDirectories(path.toAbsolutePath().getParent());
+                    writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                    writer.write("LINE,ERROR,RECORD\n");
+                    run.rejectFile = path.toAbsolutePath().toString();
+                }
+                // 사유는 DB 오류 메시지처럼 여러 줄일 수 있어 한 줄로 기록
+                writer.write(line + "," + quote(reason != null ? reason.replaceAll("\\s*\\R\\s*", " ") : null) + "," + quote(raw) + "\n");
+            } catch (IOException e) {
+                broken = true;
+                log.warn("⚠️ 거부 파일 기록 실패 - {}: {}", path, e.getMessage());
+            }
+        }
+
+        synchronized void close() {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("⚠️ 거부 파일 닫기 실패 - {}: {}", path, e.getMessage());
+            }
+        }
+
+        private static String quote(String value) {
+            return "\"" + (value != null ? value.replace("\"", "\"\"") : "") + "\"";
+        }
+    }
+
+    /**
+     * 읽은 바이트 수를 세는 스트림 (진행률 계산용)
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private final AtomicLong count;
+
+        private CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count.addAndGet(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count.addAndGet(skipped);
+            return skipped;
+        }
+    }
+
+    /**
+     * 실행 중 진행 상황 (청크 스레드들이 동시에 세므로 카운터는 Atomic)
+     */
+    private static final class Run {
+        private final String source;
+        private final Long totalBytes;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong bytesRead = new AtomicLong();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsInserted = new AtomicLong();
+        private final AtomicLong rowsRejected = new AtomicLong();
+
+        private volatile String state = STATE_RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile long endNanos;
+        private volatile String error;
+        private volatile String rejectFile;
+
+        private Run(String source, Long totalBytes) {
+            this.source = source;
+            this.totalBytes = totalBytes;
+        }
+
+        private ReservationDataImportStatus status() {
+            long end = endNanos != 0 ? endNanos : System.nanoTime();
+            double seconds = Math.max(1e-3, (end - startNanos) / 1e9);
+            return ReservationDataImportStatus.builder()
+                    .state(state)
+                    .source(source)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .totalBytes(totalBytes)
+                    .bytesRead(bytesRead.get())
+                    .progressPercent(totalBytes != null && totalBytes > 0
+                            ? Math.min(100.0, bytesRead.get() * 100.0 / totalBytes) : null)
+                    .rowsRead(rowsRead.get())
+                    .rowsInserted(rowsInserted.get())
+                    .rowsRejected(rowsRejected.get())
+                    .rejectFile(rejectFile)
+                    .rowsPerSecond(rowsInserted.get() / seconds)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.olsaram.backend.service.noshow;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 초당 일정량씩 채워지는 토큰 버킷 (가득 차면 capacity 까지만)
+ *
+ * 모자라면 미리 빚을 지고(음수) 그만큼 기다리게 해서, 동시에 요청한 스레드들이 도착 순서대로 간격을 두고 나간다.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double perNano;
+
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double capacity, double perSecond) {
+        this.capacity = Math.max(1, capacity);
+        this.perNano = perSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = this.capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    static TokenBucket perMinute(double amount) {
+        return new TokenBucket(amount, amount / 60.0);
+    }
+
+    /**
+     * permits 만큼 꺼낸다 (부족하면 채워질 때까지 대기, capacity 보다 큰 요청은 capacity 로 취급)
+     */
+    void acquire(double permits) throws InterruptedException {
+        long waitNanos = reserve(Math.min(permits, capacity));
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    synchronized long reserve(double permits) {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * perNano);
+        refilledAt = now;
+
+        tokens -= permits;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / perNano);
+    }
+}
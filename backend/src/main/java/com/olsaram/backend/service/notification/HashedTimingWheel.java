@@ -0,0 +1,150 @@
+package com.olsaram.backend.service.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 해시 타이밍 휠 (Varghese & Lauck scheme 6)
+ *
+ * - 시간을 tick-ms 단위 칸 wheel-size 개로 나누고, 타이머는 (만료 tick % wheel-size) 칸에 넣는다
+ * - advance() 는 지난 tick 의 칸만 훑으므로 tick 당 비용이 전체 타이머 수와 무관 (칸당 타이머 수에 비례)
+ * - 먼 미래 타이머는 휠을 여러 바퀴 도는 동안 칸에 남아 있다가 만료 tick 에 도달한 바퀴에 꺼내진다
+ * - schedule/cancel 은 아무 스레드에서나 호출 가능, advance 는 한 스레드에서만 호출
+ * - 같은 키로 다시 schedule 하면 이전 타이머는 취소된다 (취소된 타이머는 칸을 지날 때 정리)
+ */
+public final class HashedTimingWheel<K> {
+
+    private final long tickMs;
+    private final int mask;
+    private final List<Timeout<K>>[] buckets;
+
+    private final Map<K, Timeout<K>> timeouts = new ConcurrentHashMap<>();
+    private final Queue<Timeout<K>> pendingAdds = new ConcurrentLinkedQueue<>();
+
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMs, int wheelSize, long startEpochMs) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("tickMs must be positive: " + tickMs);
+        }
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1; // 2의 거듭제곱으로 올림
+        this.tickMs = tickMs;
+        this.mask = size - 1;
+        this.buckets = new List[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.currentTick = startEpochMs / tickMs;
+    }
+
+    /**
+     * deadline(epoch ms) 에 만료되는 타이머 등록 (이미 지났으면 다음 advance 에서 만료)
+     */
+    public void schedule(K key, long deadlineEpochMs) {
+        Timeout<K> timeout = new Timeout<>(key, Math.floorDiv(deadlineEpochMs + tickMs - 1, tickMs));
+        Timeout<K> previous = timeouts.put(key, timeout);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        pendingAdds.add(timeout);
+    }
+
+    public boolean cancel(K key) {
+        Timeout<K> timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        timeout.cancelled = true;
+        return true;
+    }
+
+    public boolean contains(K key) {
+        return timeouts.containsKey(key);
+    }
+
+    /**
+     * 모든 타이머 취소
+     */
+    public void clear() {
+        timeouts.values().forEach(timeout -> timeout.cancelled = true);
+        timeouts.clear();
+    }
+
+    /** 대기 중인 타이머 수 */
+    public int size() {
+        return timeouts.size();
+    }
+
+    /**
+     * nowEpochMs 까지 휠을 돌리고 만료된 키를 반환 (advance 를 호출하는 스레드 하나에서만 사용)
+     */
+    public List<K> advance(long nowEpochMs) {
+        transferPendingAdds();
+
+        long targetTick = nowEpochMs / tickMs;
+        List<K> expired = new ArrayList<>();
+        if (targetTick - currentTick >= buckets.length) {
+            // 한 바퀴 이상 밀렸으면 (시계 점프, 긴 정지) 모든 칸을 한 번씩만 훑는다
+            for (List<Timeout<K>> bucket : buckets) {
+                expireBucket(bucket, targetTick, expired);
+            }
+            currentTick = targetTick + 1;
+            return expired;
+        }
+
+        while (currentTick <= targetTick) {
+            expireBucket(buckets[(int) (currentTick & mask)], currentTick, expired);
+            currentTick++;
+        }
+        return expired;
+    }
+
+    private void transferPendingAdds() {
+        Timeout<K> timeout;
+        while ((timeout = pendingAdds.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            // 이미 지난 tick 이면 지금 칸에 넣어 이번 advance 에서 만료
+            long tick = Math.max(timeout.deadlineTick, currentTick);
+            buckets[(int) (tick & mask)].add(timeout);
+        }
+    }
+
+    private void expireBucket(List<Timeout<K>> bucket, long upToTick, List<K> expired) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            Timeout<K> timeout = bucket.get(i);
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.deadlineTick <= upToTick) {
+                if (timeouts.remove(timeout.key, timeout)) {
+                    expired.add(timeout.key);
+                }
+                continue;
+            }
+            bucket.set(kept++, timeout); // 다음 바퀴에 만료
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    private static final class Timeout<K> {
+        private final K key;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Timeout(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.olsaram.backend.service.notification;
+
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.service.reservation.ReservationOutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 예약 이벤트 → 리마인더/재확인 타이머 갱신 (lease 를 가진 인스턴스에서만 반영)
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationReminderOutboxHandler implements ReservationOutboxHandler {
+
+    private final ReservationReminderScheduler reminderScheduler;
+
+    @Override
+    public void handle(ReservationDomainEvent event) {
+        reminderScheduler.onReservationChanged(event);
+    }
+}
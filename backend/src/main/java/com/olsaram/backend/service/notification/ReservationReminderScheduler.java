@@ -0,0 +1,332 @@
+package com.olsaram.backend.service.notification;
+
+import com.olsaram.backend.config.ReservationReminderProperties;
+import com.olsaram.backend.domain.business.Business;
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.domain.reservation.ReservationEventType;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.entity.notification.Notification;
+import com.olsaram.backend.repository.BusinessRepository;
+import com.olsaram.backend.repository.notification.NotificationRepository;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import com.olsaram.backend.service.reservation.SchedulerLeaseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 예약 리마인더 / 재확인 알림 스케줄러
+ *
+ * - 리마인더: 유효 예약(PENDING, CONFIRMED)마다 reminder-lead-minutes 전 (리마인더 시점 이후에 잡힌 예약은 제외)
+ * - 재확인: 위험도 DANGER 예약에 reconfirm-lead-minutes 전 (RiskCalculationService.getAutoActions 의 "재확인 알림")
+ * - 타이머는 HashedTimingWheel 에 보관하고 전용 스레드가 tick-ms 마다 돌려 만료된 알림을 batch-size 씩 Notification 으로 저장
+ * - DB lease(scheduler_lease) 를 가진 인스턴스 하나만 타이머를 적재/발송. lease 를 얻으면 horizon-days 까지 예약을 다시 적재
+ * - 예약 변경은 outbox 이벤트로 반영하고, 다른 인스턴스가 처리한 변경은 resync-interval-ms 마다 곧 발송할 예약을 다시 읽어 맞춘다
+ * - 발송 직전에 DB 의 예약을 다시 확인하고 발송 시각을 기록하므로, 오래된 타이머나 재적재로 중복 발송되지 않는다
+ */
+@Component
+@Slf4j
+public class ReservationReminderScheduler {
+
+    static final String LEASE_NAME = "reservation-reminder";
+
+    private static final List<ReservationStatus> ACTIVE_STATUSES = List.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+    private static final String DANGER = "DANGER";
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("M월 d일 HH:mm");
+    private static final String SENT_COUNTER = "reservation.reminder.sent";
+
+    public enum ReminderType {
+        REMINDER,
+        RECONFIRM
+    }
+
+    public record ReminderKey(Long reservationId, ReminderType type) {
+    }
+
+    private final ReservationReminderProperties properties;
+    private final ReservationRepository reservationRepository;
+    private final BusinessRepository businessRepository;
+    private final NotificationRepository notificationRepository;
+    private final SchedulerLeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final HashedTimingWheel<ReminderKey> wheel;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reservation-reminder-wheel");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean leader;
+
+    public ReservationReminderScheduler(
+            ReservationReminderProperties properties,
+            ReservationRepository reservationRepository,
+            BusinessRepository businessRepository,
+            NotificationRepository notificationRepository,
+            SchedulerLeaseService leaseService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.reservationRepository = reservationRepository;
+        this.businessRepository = businessRepository;
+        this.notificationRepository = notificationRepository;
+        this.leaseService = leaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.wheel = new HashedTimingWheel<>(properties.getTickMs(), properties.getWheelSize(), System.currentTimeMillis());
+
+        meterRegistry.gauge("reservation.reminder.pending_timers", wheel, HashedTimingWheel::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            log.info("예약 리마인더 스케줄러 비활성화");
+            return;
+        }
+        // lease 연장, 재적재, tick 모두 같은 스레드에서 실행 (휠 advance 는 단일 스레드)
+        long renewMs = Math.max(1_000, properties.getLeaseMs() / 3);
+        ticker.scheduleWithFixedDelay(this::renewLease, 0, renewMs, TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::resync,
+                properties.getResyncIntervalMs(), properties.getResyncIntervalMs(), TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::tick,
+                properties.getTickMs(), properties.getTickMs(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        if (leader) {
+            leader = false;
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    public int pendingTimers() {
+        return wheel.size();
+    }
+
+    /**
+     * 예약 변경 이벤트 반영 (lease 를 가진 인스턴스에서만)
+     */
+    public void onReservationChanged(ReservationDomainEvent event) {
+        if (!leader || event.getReservationId() == null) {
+            return;
+        }
+
+        boolean active = event.getType() != ReservationEventType.DELETED
+                && event.getStatus() != null
+                && ACTIVE_STATUSES.contains(ReservationStatus.valueOf(event.getStatus()))
+                && event.getReservationTime() != null
+                && event.getReservationTime().isAfter(LocalDateTime.now());
+        if (!active) {
+            wheel.cancel(new ReminderKey(event.getReservationId(), ReminderType.REMINDER));
+            wheel.cancel(new ReminderKey(event.getReservationId(), ReminderType.RECONFIRM));
+            return;
+        }
+        // 이미 발송했는지는 모르므로 일단 등록하고, 발송 시 DB 기록으로 걸러낸다
+        schedule(event.getReservationId(), event.getReservationTime(), event.getCreatedAt(), event.getRiskLevel(), null, null);
+    }
+
+    private void renewLease() {
+        try {
+            boolean acquired = leaseService.tryAcquire(LEASE_NAME, Duration.ofMillis(properties.getLeaseMs()));
+            if (acquired && !leader) {
+                leader = true;
+                LocalDateTime now = LocalDateTime.now();
+                int loaded = load(now, now.plusDays(properties.getHorizonDays()));
+                log.info("✅ 예약 리마인더 lease 획득 - 노드: {}, 예약 {}건 적재, 타이머 {}개",
+                        leaseService.getOwnerId(), loaded, wheel.size());
+            } else if (!acquired && leader) {
+                leader = false;
+                wheel.clear();
+                log.warn("⚠️ 예약 리마인더 lease 상실 - 타이머를 비우고 대기합니다.");
+            }
+        } catch (Exception e) {
+            log.error("❌ 예약 리마인더 lease 처리 오류: {}", e.getMessage(), e);
+        }
+    }
+
+    private void resync() {
+        if (!leader) {
+            return;
+        }
+        try {
+            // 다음 재적재 전까지 발송 시점이 오는 예약만 다시 읽는다
+            long leadMinutes = Math.max(properties.getReminderLeadMinutes(), properties.getReconfirmLeadMinutes());
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime to = now.plusMinutes(leadMinutes)
+                    .plusNanos(TimeUnit.MILLISECONDS.toNanos(properties.getResyncIntervalMs() * 2));
+            int loaded = load(now, to);
+            log.debug("예약 리마인더 재적재 - {}건, 타이머 {}개", loaded, wheel.size());
+        } catch (Exception e) {
+            log.error("❌ 예약 리마인더 재적재 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private int load(LocalDateTime from, LocalDateTime to) {
+        List<Object[]> rows = reservationRepository.findReminderCandidates(from, to, ACTIVE_STATUSES);
+        for (Object[] row : rows) {
+            schedule((Long) row[0], (LocalDateTime) row[1], (LocalDateTime) row[2], (String) row[3],
+                    (LocalDateTime) row[4], (LocalDateTime) row[5]);
+        }
+        return rows.size();
+    }
+
+    private void schedule(
+            Long reservationId,
+            LocalDateTime reservationTime,
+            LocalDateTime createdAt,
+            String riskLevel,
+            LocalDateTime reminderSentAt,
+            LocalDateTime reconfirmSentAt
+    ) {
+        ReminderKey reminder = new ReminderKey(reservationId, ReminderType.REMINDER);
+        LocalDateTime reminderAt = fireTime(ReminderType.REMINDER, reservationTime);
+        if (reminderSentAt == null && bookedBefore(createdAt, reminderAt)) {
+            wheel.schedule(reminder, toEpochMs(reminderAt));
+        } else {
+            wheel.cancel(reminder);
+        }
+
+        ReminderKey reconfirm = new ReminderKey(reservationId, ReminderType.RECONFIRM);
+        if (reconfirmSentAt == null && DANGER.equals(riskLevel)) {
+            wheel.schedule(reconfirm, toEpochMs(fireTime(ReminderType.RECONFIRM, reservationTime)));
+        } else {
+            wheel.cancel(reconfirm);
+        }
+    }
+
+    private void tick() {
+        if (!leader) {
+            return;
+        }
+        try {
+            List<ReminderKey> expired = wheel.advance(System.currentTimeMillis());
+            if (expired.isEmpty()) {
+                return;
+            }
+            int batchSize = Math.max(1, properties.getBatchSize());
+            for (int from = 0; from < expired.size(); from += batchSize) {
+                sendBatch(expired.subList(from, Math.min(expired.size(), from + batchSize)));
+            }
+        } catch (Exception e) {
+            log.error("❌ 예약 리마인더 tick 오류: {}", e.getMessage(), e);
+        }
+    }
+
+    private void sendBatch(List<ReminderKey> batch) {
+        try {
+            Integer sent = transactionTemplate.execute(status -> send(batch));
+            meterRegistry.counter(SENT_COUNTER).increment(sent != null ? sent : 0);
+        } catch (Exception e) {
+            log.warn("⚠️ 예약 알림 {}건 발송 실패 - {}ms 후 재시도: {}", batch.size(), properties.getRetryDelayMs(), e.getMessage());
+            long retryAt = System.currentTimeMillis() + properties.getRetryDelayMs();
+            batch.forEach(key -> wheel.schedule(key, retryAt));
+        }
+    }
+
+    private int send(List<ReminderKey> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Reservation> reservations = reservationRepository.findAllById(
+                        batch.stream().map(ReminderKey::reservationId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Reservation::getId, Function.identity()));
+        Map<Long, Business> businesses = businessRepository.findAllById(
+                        reservations.values().stream().map(Reservation::getBusinessId).filter(Objects::nonNull).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Business::getBusinessId, Function.identity()));
+
+        List<Notification> notifications = new ArrayList<>(batch.size());
+        for (ReminderKey key : batch) {
+            Reservation reservation = reservations.get(key.reservationId());
+            if (reservation == null || !isDue(key.type(), reservation, now)) {
+                continue; // 취소/삭제/시간 변경/이미 발송
+            }
+
+            if (key.type() == ReminderType.REMINDER) {
+                reservation.setReminderSentAt(now);
+            } else {
+                reservation.setReconfirmSentAt(now);
+            }
+            if (reservation.getMemberId() != null) {
+                notifications.add(Notification.builder()
+                        .memberId(reservation.getMemberId())
+                        .message(message(key.type(), reservation, businesses.get(reservation.getBusinessId())))
+                        .build());
+            }
+        }
+
+        notificationRepository.saveAll(notifications);
+        return notifications.size();
+    }
+
+    private boolean isDue(ReminderType type, Reservation reservation, LocalDateTime now) {
+        LocalDateTime reservationTime = reservation.getReservationTime();
+        if (reservationTime == null || !reservationTime.isAfter(now) || !ACTIVE_STATUSES.contains(reservation.getStatus())) {
+            return false;
+        }
+        LocalDateTime fireAt = fireTime(type, reservationTime);
+        // 예약 시간이 뒤로 밀렸으면 아직 발송 시점이 아니다 (변경 이벤트로 새 타이머가 잡혀 있음)
+        if (now.plusNanos(TimeUnit.MILLISECONDS.toNanos(properties.getTickMs())).isBefore(fireAt)) {
+            return false;
+        }
+        if (type == ReminderType.REMINDER) {
+            return reservation.getReminderSentAt() == null && bookedBefore(reservation.getCreatedAt(), fireAt);
+        }
+        return reservation.getReconfirmSentAt() == null && DANGER.equals(reservation.getRiskLevelSnapshot());
+    }
+
+    private LocalDateTime fireTime(ReminderType type, LocalDateTime reservationTime) {
+        long leadMinutes = type == ReminderType.REMINDER
+                ? properties.getReminderLeadMinutes()
+                : properties.getReconfirmLeadMinutes();
+        return reservationTime.minusMinutes(leadMinutes);
+    }
+
+    /** 리마인더 시점 이후에 잡은 예약(방금 예약한 고객)에는 리마인더를 보내지 않는다 */
+    private static boolean bookedBefore(LocalDateTime createdAt, LocalDateTime reminderAt) {
+        return createdAt == null || createdAt.isBefore(reminderAt);
+    }
+
+    private static String message(ReminderType type, Reservation reservation, Business business) {
+        String businessName = business != null && business.getBusinessName() != null ? business.getBusinessName() : "가게";
+        String time = reservation.getReservationTime().format(TIME_FORMAT);
+        if (type == ReminderType.RECONFIRM) {
+            return "[예약 재확인] " + businessName + " " + time + " 예약 방문 여부를 확인해 주세요. "
+                    + "방문이 어려우시면 미리 취소해 주세요.";
+        }
+        int people = reservation.getPeople() != null ? reservation.getPeople() : 1;
+        return "[예약 알림] " + businessName + " " + time + " " + people + "명 예약이 다가오고 있습니다.";
+    }
+
+    private static long toEpochMs(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,245 @@
+package com.olsaram.backend.service.reservation;
+
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.dto.reservation.ReservationStreamEvent;
+import com.olsaram.backend.repository.BusinessRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사장님 예약 변경 스트림 (SSE)
+ *
+ * - 사장님별 구독자 레지스트리. 구독자가 없으면 이벤트 발행은 바로 끝난다 (조회/직렬화 없음)
+ * - 연결마다 크기 제한 버퍼 + 전송 전담 가상 스레드 하나. 느린 연결이 버퍼를 넘기면
+ *   쌓인 이벤트를 버리고 resync 이벤트 하나만 보내 클라이언트가 다시 조회하게 한다
+ * - heartbeat-interval-ms 마다 주석 이벤트를 보내 프록시 타임아웃을 막고 끊긴 연결을 정리
+ * - 트랜잭션 안에서 발행하면 커밋 후에 전달 (롤백된 변경은 보내지 않음)
+ * - 단일 인스턴스 기준. 구독자 레지스트리가 메모리에 있어 이벤트를 발행한 인스턴스(outbox 디스패처/AI 작업을 처리한
+ *   인스턴스)에 연결된 구독자에게만 전달된다. 여러 인스턴스로 늘리려면 DB 나 pub/sub 으로 팬아웃해야 한다.
+ */
+@Service
+@Slf4j
+public class OwnerReservationStreamService {
+
+    private static final String RESYNC_EVENT = "resync";
+    private static final String CONNECTED_EVENT = "connected";
+
+    private final BusinessRepository businessRepository;
+    private final MeterRegistry meterRegistry;
+    private final long emitterTimeoutMs;
+    private final int bufferSize;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Long> ownerIdByBusinessId = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public OwnerReservationStreamService(
+            BusinessRepository businessRepository,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${reservation.stream.buffer-size:64}") int bufferSize
+    ) {
+        this.businessRepository = businessRepository;
+        this.meterRegistry = meterRegistry;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.bufferSize = Math.max(2, bufferSize);
+        meterRegistry.gauge("reservation.stream.subscribers", subscribers,
+                map -> map.values().stream().mapToInt(Set::size).sum());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    /**
+     * 사장님 스트림 구독. 타임아웃되면 연결이 닫히고 EventSource 가 자동으로 다시 연결한다.
+     */
+    public SseEmitter subscribe(Long ownerId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(ownerId, emitter, bufferSize);
+
+        subscribers.compute(ownerId, (id, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        // 연결 직후 한 번 보내 응답 헤더를 바로 내보낸다 (클라이언트는 이때 현재 상태를 조회)
+        subscriber.offer(new Message(CONNECTED_EVENT, Map.of("ownerId", ownerId)));
+        return emitter;
+    }
+
+    public void publish(ReservationStreamEvent.Type type, Reservation reservation) {
+        if (subscribers.isEmpty() || reservation == null || reservation.getBusinessId() == null) {
+            return;
+        }
+        publish(ReservationStreamEvent.of(type, reservation));
+    }
+
+    public void publish(ReservationStreamEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                // 보낼 이벤트가 쌓여 있으면 그게 heartbeat 역할을 한다
+                if (subscriber.buffer.isEmpty()) {
+                    subscriber.offer(Message.HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    private void dispatch(ReservationStreamEvent event) {
+        Long ownerId = ownerIdOf(event.getBusinessId());
+        if (ownerId == null) {
+            return;
+        }
+        Set<Subscriber> targets = subscribers.get(ownerId);
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+
+        Message message = new Message(event.getType().getEventName(), event);
+        targets.forEach(subscriber -> subscriber.offer(message));
+        meterRegistry.counter("reservation.stream.events", "type", event.getType().name()).increment();
+    }
+
+    private Long ownerIdOf(Long businessId) {
+        if (businessId == null) {
+            return null;
+        }
+        Long cached = ownerIdByBusinessId.get(businessId);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            Long ownerId = businessRepository.findOwnerIdByBusinessId(businessId).orElse(null);
+            if (ownerId != null) {
+                ownerIdByBusinessId.put(businessId, ownerId);
+            }
+            return ownerId;
+        } catch (Exception e) {
+            log.warn("⚠️ 예약 스트림 가게 사장님 조회 실패 - 가게ID: {}, 오류: {}", businessId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.computeIfPresent(subscriber.ownerId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private record Message(String name, Object data) {
+        static final Message HEARTBEAT = new Message(null, null);
+    }
+
+    private final class Subscriber {
+
+        private final Long ownerId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Message> buffer;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Long ownerId, SseEmitter emitter, int bufferSize) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(Message message) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(message)) {
+                // 전송이 밀린 연결: 쌓인 이벤트 대신 전체 재조회 신호 하나만 남긴다
+                buffer.clear();
+                buffer.offer(new Message(RESYNC_EVENT, Map.of("reason", "buffer-overflow")));
+                meterRegistry.counter("reservation.stream.overflows").increment();
+            }
+            drain();
+        }
+
+        private void drain() {
+            if (closed || buffer.isEmpty() || !sending.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::sendBuffered);
+            } catch (RejectedExecutionException e) {
+                sending.set(false);
+            }
+        }
+
+        private void sendBuffered() {
+            try {
+                Message message;
+                while (!closed && (message = buffer.poll()) != null) {
+                    emitter.send(toEvent(message));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 연결을 끊음 (컨테이너가 emitter 를 정리한다)
+                log.debug("예약 스트림 연결 종료 - 사장님ID: {}, 사유: {}", ownerId, e.getMessage());
+                remove(this);
+            } finally {
+                sending.set(false);
+            }
+            // 전송 종료 직전에 들어온 이벤트 처리
+            drain();
+        }
+
+        private SseEmitter.SseEventBuilder toEvent(Message message) {
+            if (message.name() == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event()
+                    .id(Long.toString(sequence.incrementAndGet()))
+                    .name(message.name())
+                    .data(message.data(), MediaType.APPLICATION_JSON);
+        }
+    }
+}
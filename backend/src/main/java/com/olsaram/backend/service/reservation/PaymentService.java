@@ -18,6 +18,10 @@ public class PaymentService {
         return paymentRepository.save(payment);
     }
 
+    public void deletePaymentsByReservationId(Long reservationId) {
+        paymentRepository.deleteAll(paymentRepository.findByReservationId(reservationId));
+    }
+
     public List<Payment> getAllPayments() {
         return paymentRepository.findAll();
     }
@@ -0,0 +1,380 @@
+package com.olsaram.backend.service.reservation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olsaram.backend.domain.reservation.IdempotencyRecord;
+import com.olsaram.backend.dto.reservation.ReservationPaymentResult;
+import com.olsaram.backend.repository.reservation.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 예약+결제 생성 요청 중복 제거 (Idempotency-Key)
+ *
+ * - 같은 키의 첫 요청만 실제로 처리하고, 결과를 retention-hours 동안 보관해 재시도에는 저장된 결과를 그대로 반환
+ * - 최근 키는 메모리 LRU(max-entries, 넘지 않음)에, 전체는 idempotency_record 테이블에 보관 (재시작/다른 인스턴스 대비)
+ * - 처리 중에 들어온 같은 키 요청은 새로 처리하지 않고 첫 요청의 결과를 기다림 (in-flight-timeout-ms 를 넘으면 409)
+ * - 같은 키로 다른 본문을 보내면 422, 처리에 실패하면 키를 지워 다음 재시도가 다시 처리할 수 있게 함
+ * - 예약 ID 는 예약 INSERT 와, 결과는 예약 스냅샷과 같은 트랜잭션에서 기록 (Claim) → 예약이 커밋됐는데 키가 미완료로 남지 않음
+ * - 처리 중인 키는 heartbeat 로 소유를 유지하고, heartbeat 가 heartbeat-timeout-ms 동안 끊긴 키만 다른 요청이 인수해
+ *   끝나지 못한 예약을 지우고 다시 처리한다 (처리 중인 인스턴스가 살아 있으면 expires_at 까지 409)
+ */
+@Service
+@Slf4j
+public class ReservationIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final long STORED_POLL_INTERVAL_MS = 100;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final String ownerId;
+    private final Duration retention;
+    private final long inFlightTimeoutMs;
+    private final long heartbeatTimeoutMs;
+    private final int maxEntries;
+
+    private final Map<String, Entry> entries;
+    // 이 인스턴스가 처리 중인 키 (heartbeat 대상)
+    private final Set<String> inFlightKeys = ConcurrentHashMap.newKeySet();
+
+    public ReservationIdempotencyService(
+            IdempotencyRecordRepository repository,
+            ObjectMapper objectMapper,
+            SchedulerLeaseService leaseService,
+            @Value("${reservation.idempotency.retention-hours:24}") long retentionHours,
+            @Value("${reservation.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${reservation.idempotency.in-flight-timeout-ms:30000}") long inFlightTimeoutMs,
+            @Value("${reservation.idempotency.heartbeat-timeout-ms:30000}") long heartbeatTimeoutMs
+    ) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ownerId = leaseService.getOwnerId();
+        this.retention = Duration.ofHours(retentionHours);
+        this.inFlightTimeoutMs = inFlightTimeoutMs;
+        this.heartbeatTimeoutMs = heartbeatTimeoutMs;
+        this.maxEntries = maxEntries;
+        // access-order LinkedHashMap = LRU. 내보내기는 put 전에 evictCompleted() 로 직접 한다.
+        this.entries = new LinkedHashMap<>(256, 0.75f, true);
+    }
+
+    /**
+     * 키가 없으면 그대로 실행, 있으면 키당 한 번만 실행하고 같은 결과를 돌려준다.
+     * action 은 받은 Claim 으로 예약 ID/결과를 자기 트랜잭션 안에서 기록해야 한다.
+     */
+    public ReservationPaymentResult execute(String idempotencyKey, Object request, Function<Claim, ReservationPaymentResult> action) {
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return action.apply(Claim.NONE);
+        }
+        String key = idempotencyKey.trim();
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key는 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+
+        String requestHash = hash(request);
+        LocalDateTime now = LocalDateTime.now();
+        Entry entry;
+        boolean first = false;
+
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.future().isDone() && entry.expiresAt().isBefore(now)) {
+                entries.remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                if (entries.size() >= maxEntries && !evictCompleted()) {
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "처리 중인 예약 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+                }
+                entry = new Entry(requestHash, now.plus(retention), new CompletableFuture<>());
+                entries.put(key, entry);
+                first = true;
+            }
+        }
+
+        verifySameRequest(entry.requestHash(), requestHash);
+        if (!first) {
+            return await(entry.future());
+        }
+
+        try {
+            ReservationPaymentResult result = executeOnce(key, requestHash, now, entry.expiresAt(), action);
+            entry.future().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.future().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 처리 중인 키의 heartbeat 갱신 (heartbeat-timeout-ms 보다 충분히 짧은 주기로)
+     */
+    @Scheduled(fixedDelayString = "${reservation.idempotency.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        if (inFlightKeys.isEmpty()) {
+            return;
+        }
+        try {
+            repository.heartbeat(Set.copyOf(inFlightKeys), ownerId, LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("⚠️ Idempotency-Key heartbeat 갱신 실패 - {}건, error={}", inFlightKeys.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 만료된 키 정리 (DB + 메모리)
+     */
+    @Scheduled(fixedDelayString = "${reservation.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.future().isDone() && entry.expiresAt().isBefore(now)) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        int deleted = repository.deleteExpired(now);
+        if (deleted > 0) {
+            log.info("🧹 만료된 Idempotency-Key {}건 삭제", deleted);
+        }
+    }
+
+    /**
+     * 가장 오래 안 쓴 완료 항목 하나를 내보낸다 (entries 잠금 안에서 호출).
+     * 처리 중인 항목은 기다리는 요청이 있으므로 건너뛰고, 전부 처리 중이면 false → 새 키를 받지 않아 크기가 max-entries 를 넘지 않는다.
+     */
+    private boolean evictCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().future().isDone()) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ReservationPaymentResult executeOnce(
+            String key,
+            String requestHash,
+            LocalDateTime now,
+            LocalDateTime expiresAt,
+            Function<Claim, ReservationPaymentResult> action
+    ) {
+        Long abandonedReservationId = null;
+        boolean claimed = false;
+        Optional<IdempotencyRecord> stored = repository.findById(key);
+        if (stored.isPresent()) {
+            IdempotencyRecord record = stored.get();
+            if (record.getExpiresAt().isBefore(now)) {
+                // 만료된 키 → 새 요청으로 처리
+                repository.delete(record);
+            } else {
+                verifySameRequest(record.getRequestHash(), requestHash);
+                if (Boolean.TRUE.equals(record.getCompleted())) {
+                    return read(record);
+                }
+                if (!isAbandoned(record, now)
+                        || repository.takeOver(key, ownerId, now, staleBefore(now)) == 0) {
+                    // 처리 중인 인스턴스가 살아 있음 (또는 다른 요청이 먼저 인수)
+                    return awaitStored(key, requestHash);
+                }
+                // 처리하던 인스턴스의 heartbeat 가 끊김 → 인수하고, 끝나지 못한 예약은 action 이 지운다
+                log.warn("⚠️ 버려진 Idempotency-Key 인수 - key={}, previousOwner={}, reservationId={}",
+                        key, record.getOwnerId(), record.getReservationId());
+                abandonedReservationId = record.getReservationId();
+                claimed = true;
+            }
+        }
+
+        if (!claimed) {
+            try {
+                repository.saveAndFlush(IdempotencyRecord.builder()
+                        .idempotencyKey(key)
+                        .requestHash(requestHash)
+                        .completed(false)
+                        .ownerId(ownerId)
+                        .heartbeatAt(now)
+                        .createdAt(now)
+                        .expiresAt(expiresAt)
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // 다른 인스턴스가 같은 키를 먼저 처리 중
+                return awaitStored(key, requestHash);
+            }
+        }
+
+        inFlightKeys.add(key);
+        try {
+            return action.apply(new Claim(this, key, abandonedReservationId));
+        } catch (RuntimeException e) {
+            repository.deleteOwned(key, ownerId);
+            throw e;
+        } finally {
+            inFlightKeys.remove(key);
+        }
+    }
+
+    private ReservationPaymentResult awaitStored(String key, String requestHash) {
+        long deadline = System.currentTimeMillis() + inFlightTimeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<IdempotencyRecord> stored = repository.findById(key);
+            if (stored.isEmpty()) {
+                break; // 처리하던 요청이 실패해 키가 지워짐
+            }
+            verifySameRequest(stored.get().getRequestHash(), requestHash);
+            if (Boolean.TRUE.equals(stored.get().getCompleted())) {
+                return read(stored.get());
+            }
+            try {
+                Thread.sleep(STORED_POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "같은 Idempotency-Key의 요청이 아직 처리 중입니다.");
+    }
+
+    private ReservationPaymentResult await(CompletableFuture<ReservationPaymentResult> future) {
+        try {
+            return future.get(inFlightTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "같은 Idempotency-Key의 요청이 아직 처리 중입니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "같은 Idempotency-Key의 요청이 아직 처리 중입니다.");
+        } catch (ExecutionException e) {
+            // 첫 요청과 같은 실패를 그대로 전달
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * 미완료 키를 처리하던 인스턴스의 heartbeat 가 끊겼는지 (오래 걸리는 것만으로는 버려진 것으로 보지 않는다)
+     */
+    private boolean isAbandoned(IdempotencyRecord record, LocalDateTime now) {
+        return !Boolean.TRUE.equals(record.getCompleted())
+                && (record.getHeartbeatAt() == null || record.getHeartbeatAt().isBefore(staleBefore(now)));
+    }
+
+    private LocalDateTime staleBefore(LocalDateTime now) {
+        return now.minusNanos(TimeUnit.MILLISECONDS.toNanos(heartbeatTimeoutMs));
+    }
+
+    private void verifySameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "같은 Idempotency-Key로 다른 요청을 보낼 수 없습니다.");
+        }
+    }
+
+    private ReservationPaymentResult read(IdempotencyRecord record) {
+        try {
+            return objectMapper.readValue(record.getResponseBody(), ReservationPaymentResult.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 Idempotency 결과를 읽을 수 없습니다: " + record.getIdempotencyKey(), e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("요청 해시 계산 실패", e);
+        }
+    }
+
+    /**
+     * 키 하나의 처리 권한. 예약 생성 트랜잭션 안에서 예약 ID/결과를 기록하며,
+     * 그 사이 다른 인스턴스가 키를 인수했으면 409 로 트랜잭션을 되돌린다.
+     */
+    public static final class Claim {
+
+        /** Idempotency-Key 가 없는 요청 (기록하지 않음) */
+        public static final Claim NONE = new Claim(null, null, null);
+
+        private final ReservationIdempotencyService service;
+        private final String key;
+        private final Long abandonedReservationId;
+
+        private Claim(ReservationIdempotencyService service, String key, Long abandonedReservationId) {
+            this.service = service;
+            this.key = key;
+            this.abandonedReservationId = abandonedReservationId;
+        }
+
+        /** 인수한 키로 이전 인스턴스가 만들다 만 예약 (없으면 null) */
+        public Long abandonedReservationId() {
+            return abandonedReservationId;
+        }
+
+        /** 예약 INSERT 와 같은 트랜잭션에서 호출 */
+        public void reserved(Long reservationId) {
+            if (service != null && service.repository.bindReservation(key, service.ownerId, reservationId) == 0) {
+                throw lost();
+            }
+        }
+
+        /** 예약 스냅샷/생성 이벤트와 같은 트랜잭션에서 호출 */
+        public void completed(ReservationPaymentResult result) {
+            if (service == null) {
+                return;
+            }
+            String body;
+            try {
+                body = service.objectMapper.writeValueAsString(result);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Idempotency 결과 직렬화 실패: " + key, e);
+            }
+            if (service.repository.markCompleted(key, service.ownerId, body) == 0) {
+                throw lost();
+            }
+        }
+
+        private ResponseStatusException lost() {
+            return new ResponseStatusException(HttpStatus.CONFLICT, "같은 Idempotency-Key의 요청을 다른 서버가 처리 중입니다.");
+        }
+    }
+
+    private record Entry(String requestHash, LocalDateTime expiresAt, CompletableFuture<ReservationPaymentResult> future) {
+    }
+}
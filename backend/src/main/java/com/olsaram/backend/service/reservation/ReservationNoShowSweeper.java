@@ -0,0 +1,194 @@
+package com.olsaram.backend.service.reservation;
+
+import com.olsaram.backend.config.ReservationNoShowSweepProperties;
+import com.olsaram.backend.domain.reservation.ReservationEventType;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.repository.BusinessRepository;
+import com.olsaram.backend.repository.CustomerRepository;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 자동 노쇼 처리
+ *
+ * - 예약 시간 + grace-minutes 가 지나도록 CONFIRMED 인 예약을 노쇼로 처리 (사장님이 직접 NO_SHOW 로 바꾸는 것과 같은 결과)
+ * - (status, reservation_time) 인덱스로 대상 ID 만 chunk-size 씩 읽고, 청크마다 한 트랜잭션에서
+ *   상태 일괄 UPDATE → 고객/가게 노쇼 카운터 일괄 UPDATE(같은 건수끼리 IN 절 한 문장) → outbox 이벤트 기록
+ * - 예약 엔티티는 읽지 않으므로 대상이 많아도 메모리 사용량은 청크 크기로 제한된다
+ * - DB lease 를 가진 인스턴스 하나만 실행. 한 번에 max-chunks-per-run 청크까지 처리하고 나머지는 다음 실행에서 이어서 처리
+ */
+@Component
+@Slf4j
+public class ReservationNoShowSweeper {
+
+    static final String LEASE_NAME = "reservation-no-show-sweeper";
+    private static final String SWEPT_COUNTER = "reservation.no_show_sweep.swept";
+
+    private final ReservationNoShowSweepProperties properties;
+    private final ReservationRepository reservationRepository;
+    private final CustomerRepository customerRepository;
+    private final BusinessRepository businessRepository;
+    private final ReservationOutbox reservationOutbox;
+    private final SchedulerLeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public ReservationNoShowSweeper(
+            ReservationNoShowSweepProperties properties,
+            ReservationRepository reservationRepository,
+            CustomerRepository customerRepository,
+            BusinessRepository businessRepository,
+            ReservationOutbox reservationOutbox,
+            SchedulerLeaseService leaseService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.reservationRepository = reservationRepository;
+        this.customerRepository = customerRepository;
+        this.businessRepository = businessRepository;
+        this.reservationOutbox = reservationOutbox;
+        this.leaseService = leaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${reservation.no-show-sweep.interval-ms:300000}",
+            initialDelayString = "${reservation.no-show-sweep.initial-delay-ms:60000}"
+    )
+    public void sweep() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Duration lease = Duration.ofMillis(properties.getLeaseMs());
+        if (!leaseService.tryAcquire(LEASE_NAME, lease)) {
+            return; // 다른 인스턴스가 처리 중
+        }
+
+        try {
+            int swept = sweepOverdue(LocalDateTime.now().minusMinutes(properties.getGraceMinutes()), lease);
+            if (swept > 0) {
+                log.info("🚫 자동 노쇼 처리 완료 - {}건", swept);
+            }
+        } catch (Exception e) {
+            log.error("❌ 자동 노쇼 처리 실패: {}", e.getMessage(), e);
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * cutoff 이전 예약을 청크 단위로 노쇼 처리하고 처리한 건수를 반환한다.
+     */
+    int sweepOverdue(LocalDateTime cutoff, Duration lease) {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        int total = 0;
+        for (int chunk = 0; chunk < properties.getMaxChunksPerRun(); chunk++) {
+            ChunkResult result = transactionTemplate.execute(status -> sweepChunk(cutoff, chunkSize));
+            if (result == null || result.candidates() == 0) {
+                break;
+            }
+            total += result.swept();
+            meterRegistry.counter(SWEPT_COUNTER).increment(result.swept());
+
+            if (result.candidates() < chunkSize) {
+                break;
+            }
+            if (!leaseService.tryAcquire(LEASE_NAME, lease)) {
+                log.warn("⚠️ 자동 노쇼 처리 lease 상실 - {}건 처리 후 중단", total);
+                break;
+            }
+        }
+        return total;
+    }
+
+    private ChunkResult sweepChunk(LocalDateTime cutoff, int chunkSize) {
+        List<Long> ids = reservationRepository.findOverdueIds(
+                ReservationStatus.CONFIRMED, cutoff, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return new ChunkResult(0, 0);
+        }
+
+        // 초 단위로 잘라야 DB 컬럼 정밀도와 상관없이 아래 조회에서 같은 값으로 비교된다
+        LocalDateTime sweptAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        // 그 사이 사장님이 상태를 바꾼 예약은 조건부 UPDATE 에서 빠진다
+        int marked = reservationRepository.markAutoNoShow(
+                ids, ReservationStatus.CONFIRMED, ReservationStatus.CANCELED, sweptAt);
+        if (marked == 0) {
+            return new ChunkResult(ids.size(), 0);
+        }
+
+        List<Object[]> rows = reservationRepository.findAutoNoShowRows(ids, sweptAt);
+        Map<Long, Integer> noShowsByCustomer = new HashMap<>();
+        Map<Long, Integer> noShowsByBusiness = new HashMap<>();
+        List<ReservationDomainEvent> events = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long businessId = (Long) row[1];
+            Long memberId = (Long) row[2];
+            if (memberId != null) {
+                noShowsByCustomer.merge(memberId, 1, Integer::sum);
+            }
+            if (businessId != null) {
+                noShowsByBusiness.merge(businessId, 1, Integer::sum);
+            }
+            events.add(ReservationDomainEvent.builder()
+                    .type(ReservationEventType.STATUS_CHANGED)
+                    .reservationId((Long) row[0])
+                    .businessId(businessId)
+                    .memberId(memberId)
+                    .status(ReservationStatus.CANCELED.name())
+                    .paymentStatus(nameOf(row[4]))
+                    .aiEnrichmentStatus(nameOf(row[5]))
+                    .reservationTime((LocalDateTime) row[3])
+                    .createdAt((LocalDateTime) row[6])
+                    .riskLevel((String) row[7])
+                    .occurredAt(sweptAt)
+                    .statusChanged(true)
+                    .noShow(true)
+                    .markedNoShow(true)
+                    .previousStatus(ReservationStatus.CONFIRMED.name())
+                    .previousBusinessId(businessId)
+                    .previousReservationTime((LocalDateTime) row[3])
+                    .statsApplied(true)
+                    .build());
+        }
+
+        // 수동 노쇼 처리와 같은 통계 변경을 건수별 일괄 UPDATE 로 (대부분 1건이라 청크당 한두 문장)
+        groupByCount(noShowsByCustomer).forEach((count, customerIds) ->
+                customerRepository.incrementNoShowCounts(customerIds, count));
+        groupByCount(noShowsByBusiness).forEach((count, businessIds) ->
+                businessRepository.incrementNoShowCounts(businessIds, count));
+
+        reservationOutbox.appendAll(events);
+        return new ChunkResult(ids.size(), marked);
+    }
+
+    private static Map<Integer, List<Long>> groupByCount(Map<Long, Integer> counts) {
+        Map<Integer, List<Long>> grouped = new HashMap<>();
+        counts.forEach((id, count) -> grouped.computeIfAbsent(count, key -> new ArrayList<>()).add(id));
+        return grouped;
+    }
+
+    private static String nameOf(Object value) {
+        return value instanceof Enum<?> e ? e.name() : null;
+    }
+
+    private record ChunkResult(int candidates, int swept) {
+    }
+}
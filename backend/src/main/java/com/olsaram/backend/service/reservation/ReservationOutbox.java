@@ -0,0 +1,73 @@
+package com.olsaram.backend.service.reservation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olsaram.backend.domain.reservation.ReservationOutboxEvent;
+import com.olsaram.backend.domain.reservation.ReservationOutboxStatus;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.repository.reservation.ReservationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 예약 도메인 이벤트를 outbox 에 기록 (호출한 쪽의 트랜잭션에 참여)
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationOutbox {
+
+    private final ReservationOutboxRepository outboxRepository;
+    private final ReservationOutboxDispatcher dispatcher;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(ReservationDomainEvent event) {
+        appendAll(List.of(event));
+    }
+
+    /**
+     * 여러 이벤트를 한 번에 기록 (일괄 처리용, 목록 순서대로 전달)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<ReservationDomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ReservationOutboxEvent> rows = new ArrayList<>(events.size());
+        for (ReservationDomainEvent event : events) {
+            String payload;
+            try {
+                payload = objectMapper.writeValueAsString(event);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("예약 이벤트 직렬화 실패: " + event.getType(), e);
+            }
+            rows.add(ReservationOutboxEvent.builder()
+                    .reservationId(event.getReservationId())
+                    .eventType(event.getType())
+                    .payload(payload)
+                    .status(ReservationOutboxStatus.PENDING)
+                    .attempts(0)
+                    .nextAttemptAt(now)
+                    .build());
+        }
+        outboxRepository.saveAll(rows);
+
+        // 커밋되면 폴링 간격을 기다리지 않고 바로 전달
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.wakeUp();
+            }
+        });
+    }
+}
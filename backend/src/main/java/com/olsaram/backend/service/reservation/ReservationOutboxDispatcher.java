@@ -0,0 +1,253 @@
+package com.olsaram.backend.service.reservation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olsaram.backend.config.ReservationOutboxProperties;
+import com.olsaram.backend.domain.reservation.ReservationOutboxEvent;
+import com.olsaram.backend.domain.reservation.ReservationOutboxStatus;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.repository.reservation.ReservationOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예약 outbox 디스패처
+ *
+ * - 전용 스레드 하나가 outbox 를 id 순으로 배치 조회 → 점유 → 모든 핸들러 실행 → DONE 표시를 한 트랜잭션으로 처리
+ * - 같은 인스턴스에서 커밋된 이벤트는 바로 깨워서 전달, 그 외(다른 인스턴스/재시도)는 poll-interval-ms 마다 확인
+ * - 배치 중 하나라도 실패하면 롤백 후 이벤트 단위로 다시 처리해 실패한 이벤트만 지수 백오프로 재시도
+ * - 실패한 이벤트 뒤에 있는 같은 예약의 이벤트는 앞 이벤트가 성공(또는 DEAD)할 때까지 전달하지 않음 (예약별 순서)
+ * - 전달 보장은 at-least-once (DONE 커밋 전에 서버가 죽으면 lease-ms 후 다시 전달)
+ */
+@Component
+@Slf4j
+public class ReservationOutboxDispatcher {
+
+    private static final String DISPATCHED_COUNTER = "reservation.outbox.dispatched";
+
+    private final ReservationOutboxProperties properties;
+    private final ReservationOutboxRepository outboxRepository;
+    private final List<ReservationOutboxHandler> handlers;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Semaphore signal = new Semaphore(0);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reservation-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean running;
+
+    public ReservationOutboxDispatcher(
+            ReservationOutboxProperties properties,
+            ReservationOutboxRepository outboxRepository,
+            List<ReservationOutboxHandler> handlers,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.outboxRepository = outboxRepository;
+        this.handlers = handlers;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        executor.execute(this::dispatchLoop);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 처리 중이던 배치는 롤백되거나 IN_PROGRESS 로 남고, lease 가 끝나면 다시 전달된다
+        running = false;
+        executor.shutdownNow();
+    }
+
+    /**
+     * 새 이벤트가 커밋됨 → 디스패처를 바로 깨운다.
+     */
+    public void wakeUp() {
+        if (signal.availablePermits() == 0) {
+            signal.release();
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                if (dispatchBatch() == 0) {
+                    signal.tryAcquire(properties.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+                    signal.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ 예약 outbox 디스패처 오류: {}", e.getMessage(), e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(properties.getPollIntervalMs());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 전달할 차례인 이벤트를 한 배치 처리하고, 점유한 이벤트 수를 반환한다.
+     */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ReservationOutboxEvent> candidates = outboxRepository.findDispatchable(
+                ReservationOutboxStatus.PENDING,
+                ReservationOutboxStatus.IN_PROGRESS,
+                now,
+                PageRequest.of(0, Math.max(1, properties.getBatchSize()))
+        );
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime lockedUntil = now.plusNanos(TimeUnit.MILLISECONDS.toNanos(properties.getLeaseMs()));
+        List<ReservationOutboxEvent> claimed = new ArrayList<>(candidates.size());
+        Set<Long> skippedReservations = new HashSet<>();
+        for (ReservationOutboxEvent event : candidates) {
+            if (skippedReservations.contains(event.getReservationId())) {
+                continue;
+            }
+            int updated = outboxRepository.claim(
+                    event.getId(), ReservationOutboxStatus.PENDING, ReservationOutboxStatus.IN_PROGRESS, now, lockedUntil);
+            if (updated == 0) {
+                // 다른 인스턴스가 먼저 가져감 → 이 예약의 뒤 이벤트도 이번에는 건드리지 않는다
+                skippedReservations.add(event.getReservationId());
+                continue;
+            }
+            event.setAttempts(event.getAttempts() + 1);
+            claimed.add(event);
+        }
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        if (dispatchInOneTransaction(claimed)) {
+            meterRegistry.counter(DISPATCHED_COUNTER, "result", "done").increment(claimed.size());
+            return claimed.size();
+        }
+
+        // 배치 실패 → 이벤트 단위로 다시 처리
+        Set<Long> failedReservations = new HashSet<>();
+        for (ReservationOutboxEvent event : claimed) {
+            if (failedReservations.contains(event.getReservationId())) {
+                outboxRepository.release(event.getId(), ReservationOutboxStatus.PENDING, ReservationOutboxStatus.IN_PROGRESS);
+                continue;
+            }
+            if (dispatchInOneTransaction(List.of(event))) {
+                meterRegistry.counter(DISPATCHED_COUNTER, "result", "done").increment();
+            } else {
+                failedReservations.add(event.getReservationId());
+            }
+        }
+        return claimed.size();
+    }
+
+    private boolean dispatchInOneTransaction(List<ReservationOutboxEvent> events) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (ReservationOutboxEvent event : events) {
+                    dispatch(event);
+                }
+                outboxRepository.markDone(
+                        events.stream().map(ReservationOutboxEvent::getId).toList(),
+                        ReservationOutboxStatus.DONE,
+                        LocalDateTime.now());
+            });
+            return true;
+        } catch (Exception e) {
+            if (events.size() == 1) {
+                fail(events.get(0), e);
+            } else {
+                log.debug("예약 outbox 배치 실패 - 이벤트 단위로 재처리: {}", e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private void dispatch(ReservationOutboxEvent event) {
+        ReservationDomainEvent domainEvent;
+        try {
+            domainEvent = objectMapper.readValue(event.getPayload(), ReservationDomainEvent.class).toBuilder()
+                    .eventId(event.getId())
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException("예약 이벤트 payload 읽기 실패 - id=" + event.getId(), e);
+        }
+        for (ReservationOutboxHandler handler : handlers) {
+            handler.handle(domainEvent);
+        }
+    }
+
+    private void fail(ReservationOutboxEvent event, Exception error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        String lastError = message.length() > 1000 ? message.substring(0, 1000) : message;
+        int attempts = event.getAttempts();
+
+        if (attempts >= properties.getMaxAttempts()) {
+            outboxRepository.markFailed(event.getId(), ReservationOutboxStatus.DEAD, null, lastError);
+            meterRegistry.counter(DISPATCHED_COUNTER, "result", "dead").increment();
+            log.error("❌ 예약 이벤트 최종 전달 실패 - 이벤트ID: {}, 예약ID: {}, 유형: {}, 시도: {}회, 오류: {}",
+                    event.getId(), event.getReservationId(), event.getEventType(), attempts, message);
+            return;
+        }
+
+        long backoffMs = backoffMs(attempts);
+        outboxRepository.markFailed(event.getId(), ReservationOutboxStatus.PENDING,
+                LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs)), lastError);
+        meterRegistry.counter(DISPATCHED_COUNTER, "result", "retry").increment();
+        log.warn("⚠️ 예약 이벤트 전달 실패 - 이벤트ID: {}, 예약ID: {}, 유형: {}, 시도: {}회, {}ms 후 재시도, 오류: {}",
+                event.getId(), event.getReservationId(), event.getEventType(), attempts, backoffMs, message);
+    }
+
+    private long backoffMs(int attempts) {
+        long backoff = Math.max(1, properties.getInitialBackoffMs());
+        for (int i = 1; i < attempts && backoff < properties.getMaxBackoffMs(); i++) {
+            backoff *= 2;
+        }
+        return Math.min(backoff, properties.getMaxBackoffMs());
+    }
+
+    /**
+     * 전달 완료된 오래된 이벤트 정리
+     */
+    @Scheduled(cron = "${reservation.outbox.cleanup-cron:0 30 4 * * *}")
+    public void purgeProcessed() {
+        int deleted = outboxRepository.deleteProcessedBefore(
+                ReservationOutboxStatus.DONE, LocalDateTime.now().minusDays(properties.getRetentionDays()));
+        if (deleted > 0) {
+            log.info("🧹 전달 완료된 예약 이벤트 {}건 삭제", deleted);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.olsaram.backend.service.reservation;
+
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+
+/**
+ * outbox 이벤트 처리기 (빈으로 등록하면 ReservationOutboxDispatcher 가 모든 이벤트를 전달)
+ *
+ * 배치 트랜잭션 안에서 호출되므로 DB 변경은 전달 완료 표시와 함께 커밋/롤백된다.
+ * DB 밖의 부수 효과는 커밋 후에 실행해야 한다 (재시도 시 중복 방지).
+ */
+public interface ReservationOutboxHandler {
+
+    void handle(ReservationDomainEvent event);
+}
@@ -3,8 +3,10 @@ package com.olsaram.backend.service.reservation;
 import com.olsaram.backend.domain.reservation.Payment;
 import com.olsaram.backend.domain.reservation.PaymentStatus;
 import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.domain.reservation.ReservationEventType;
 import com.olsaram.backend.dto.payment.TossPaymentRequest;
 import com.olsaram.backend.dto.payment.TossPaymentResponse;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
 import com.olsaram.backend.repository.reservation.ReservationRepository;
 import com.olsaram.backend.service.payment.TossPaymentService;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +21,7 @@ public class ReservationPaymentService {
 
     private final TossPaymentService tossPaymentService;
     private final ReservationRepository reservationRepository;
+    private final ReservationOutbox reservationOutbox;
 
     /**
      * 토스 페이먼츠 결제 승인 후 예약 상태 업데이트
@@ -39,6 +42,11 @@ public class ReservationPaymentService {
         reservation.setPaymentStatus(PaymentStatus.PAID);
         reservationRepository.save(reservation);
 
+        // 가게 매출 누적/실시간 알림은 같은 트랜잭션의 outbox 이벤트로 처리
+        reservationOutbox.append(ReservationDomainEvent.of(ReservationEventType.PAYMENT_CONFIRMED, reservation).toBuilder()
+                .amount(paymentResponse.getTotalAmount())
+                .build());
+
         log.info("예약 결제 완료 - 예약ID: {}, 주문ID: {}, 금액: {}원",
                 reservation.getId(), paymentResponse.getOrderId(), paymentResponse.getTotalAmount());
 
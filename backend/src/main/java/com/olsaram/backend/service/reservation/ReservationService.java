@@ -1,30 +1,60 @@
 package com.olsaram.backend.service.reservation;
 
+import com.olsaram.backend.config.ReservationEnrichmentProperties;
 import com.olsaram.backend.domain.business.Business;
 import com.olsaram.backend.domain.customer.Customer;
+import com.olsaram.backend.domain.reservation.AiEnrichmentStatus;
 import com.olsaram.backend.domain.reservation.PaymentStatus;
 import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.domain.reservation.ReservationEventType;
 import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.dto.reservation.OwnerReservationFilter;
 import com.olsaram.backend.dto.reservation.OwnerReservationResponse;
+import com.olsaram.backend.dto.reservation.OwnerReservationRiskRow;
+import com.olsaram.backend.dto.reservation.OwnerReservationSummaryResponse;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
 import com.olsaram.backend.dto.reservation.ReservationFullPayRequest;
 import com.olsaram.backend.dto.reservation.ReservationPaymentResult;
 import com.olsaram.backend.dto.reservation.ReservationStatusUpdateRequest;
 import com.olsaram.backend.dto.reservation.ReservationWithRiskResponse;
+import com.olsaram.backend.dto.reservation.SlotCapacityResponse;
 import com.olsaram.backend.repository.BusinessRepository;
 import com.olsaram.backend.repository.CustomerRepository;
 import com.olsaram.backend.repository.reservation.ReservationRepository;
+import com.olsaram.backend.service.ai.AiNoshowRequestFactory;
 import com.olsaram.backend.service.ai.AiNoshowService;
+import com.olsaram.backend.service.customer.CustomerFeatureSnapshot;
+import com.olsaram.backend.service.customer.CustomerFeatureStore;
 import com.olsaram.backend.service.risk.ReservationRiskModelService;
 import com.olsaram.backend.service.risk.ReservationRiskPrediction;
+import com.olsaram.backend.service.risk.RiskPricing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
 
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,24 +63,53 @@ import java.util.stream.Collectors;
 public class ReservationService {
 
     private static final double DEFAULT_BASE_AMOUNT_PER_PERSON = 10000.0;
+    private static final String STAGE_TIMER = "reservation.create.stage";
+    private static final String FALLBACK_COUNTER = "reservation.create.fallback";
 
     private final ReservationRepository reservationRepository;
     private final BusinessRepository businessRepository;
     private final CustomerRepository customerRepository;
+    private final CustomerFeatureStore customerFeatureStore;
     private final PaymentService paymentService;
     private final RiskCalculationService riskCalculationService;
     private final AiNoshowService aiNoshowService;
+    private final AiNoshowRequestFactory aiNoshowRequestFactory;
     private final ReservationRiskModelService reservationRiskModelService;
-
-
+    private final MeterRegistry meterRegistry;
+    private final ReservationSlotIndex reservationSlotIndex;
+    private final ReservationOutbox reservationOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationEnrichmentProperties enrichmentProperties;
+
+    // 예약 생성 시 조회/예측 단계를 병렬로 실행하는 가상 스레드 실행기
+    private final ExecutorService enrichmentExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PreDestroy
+    public void shutdownEnrichmentExecutor() {
+        // 진행 중인 예약 생성은 전체 데드라인 안에 끝나므로 그만큼만 기다린다
+        enrichmentExecutor.shutdown();
+        try {
+            if (!enrichmentExecutor.awaitTermination(enrichmentProperties.getDeadlineMs(), TimeUnit.MILLISECONDS)) {
+                enrichmentExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            enrichmentExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
 
     // -------------------------
     // CREATE
     // -------------------------
+    @Transactional
     public Reservation createReservation(Reservation reservation) {
         // ⭐ customer 예약이 아닌 경우 ML 모델 실행하지 않음
         // customer 예약은 createWithPayment를 통해 처리됨
         Reservation savedReservation = reservationRepository.save(reservation);
+        // 가게 통계/실시간 알림은 같은 트랜잭션의 outbox 이벤트로 처리
+        reservationOutbox.append(ReservationDomainEvent.of(ReservationEventType.CREATED, savedReservation));
+        // 직접 등록된 예약은 용량과 관계없이 슬롯에 반영
+        afterCommit(() -> occupySlot(savedReservation));
         return savedReservation;
     }
 
@@ -73,6 +132,10 @@ public class ReservationService {
     // OWNER 예약조회 (사장님)
     // -------------------------
     public List<OwnerReservationResponse> getReservationsByOwnerId(Long ownerId) {
+        return getReservationsByOwnerId(ownerId, OwnerReservationFilter.all());
+    }
+
+    public List<OwnerReservationResponse> getReservationsByOwnerId(Long ownerId, OwnerReservationFilter filter) {
 
         List<Business> businesses = businessRepository.findByOwner_OwnerId(ownerId);
         if (businesses.isEmpty()) return Collections.emptyList();
@@ -84,12 +147,8 @@ public class ReservationService {
 
         if (businessIds.isEmpty()) return Collections.emptyList();
 
-        List<Reservation> reservations = reservationRepository.findByBusinessIdIn(businessIds);
-
-        // ⭐ ML 모델이 실행된 예약만 필터링 (mlModelUsed가 true인 예약만)
-        reservations = reservations.stream()
-                .filter(reservation -> reservation.getMlModelUsed() != null && reservation.getMlModelUsed())
-                .toList();
+        // ⭐ ML 모델이 실행된 예약만, 조건/페이지는 DB에서 필터링
+        List<Reservation> reservations = findOwnerReservations(businessIds, filter);
 
         Map<Long, Business> businessMap = businesses.stream()
                 .collect(Collectors.toMap(
@@ -134,13 +193,80 @@ public class ReservationService {
                 .toList();
     }
 
+    /**
+     * 사장님 예약 화면 조회 (ML 모델 적용 예약만, 예약 시간 → ID 순)
+     */
+    private List<Reservation> findOwnerReservations(List<Long> businessIds, OwnerReservationFilter filter) {
+        return reservationRepository.findOwnerReservations(
+                businessIds,
+                filter.getStatus(),
+                filter.getFrom(),
+                filter.getTo(),
+                filter.getCursorTime(),
+                cursorIdOf(filter),
+                pageOf(filter)
+        );
+    }
+
+    private Pageable pageOf(OwnerReservationFilter filter) {
+        return filter.getSize() != null
+                ? PageRequest.of(0, Math.max(1, Math.min(filter.getSize(), OwnerReservationFilter.MAX_PAGE_SIZE)))
+                : Pageable.unpaged();
+    }
+
+    /**
+     * 커서 ID 가 없으면 커서 시간과 같은 예약은 모두 이전 페이지에 있었던 것으로 본다
+     */
+    private Long cursorIdOf(OwnerReservationFilter filter) {
+        return filter.getCursorTime() != null && filter.getCursorId() == null
+                ? Long.valueOf(Long.MAX_VALUE) // 원시 long 이면 커서가 없을 때 null 언박싱으로 NPE
+                : filter.getCursorId();
+    }
+
+    /**
+     * 사장님 대시보드 예약 집계 (행을 가져오지 않고 DB 에서 COUNT)
+     */
+    public OwnerReservationSummaryResponse getReservationSummary(Long ownerId) {
+        List<Long> businessIds = businessRepository.findByOwner_OwnerId(ownerId).stream()
+                .map(Business::getBusinessId)
+                .filter(Objects::nonNull)
+                .toList();
+
+        if (businessIds.isEmpty()) return OwnerReservationSummaryResponse.builder().build();
+
+        Map<ReservationStatus, Long> byStatus = new EnumMap<>(ReservationStatus.class);
+        for (Object[] row : reservationRepository.countOwnerReservationsByStatus(businessIds)) {
+            if (row[0] != null) {
+                byStatus.put((ReservationStatus) row[0], ((Number) row[1]).longValue());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+
+        return OwnerReservationSummaryResponse.builder()
+                .total(total)
+                .pending(byStatus.getOrDefault(ReservationStatus.PENDING, 0L))
+                .confirmed(byStatus.getOrDefault(ReservationStatus.CONFIRMED, 0L))
+                .canceled(byStatus.getOrDefault(ReservationStatus.CANCELED, 0L))
+                .completed(byStatus.getOrDefault(ReservationStatus.COMPLETED, 0L))
+                .upcoming7Days(reservationRepository.countOwnerReservationsBetween(businessIds, now, now.plusDays(7)))
+                .build();
+    }
+
     // -------------------------
     // UPDATE (전체 업데이트)
     // -------------------------
+    @Transactional
     public Reservation updateReservation(Long id, Reservation request) {
 
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Reservation not found id=" + id));
+        SlotKey before = SlotKey.of(reservation);
+        ReservationStatus statusBefore = reservation.getStatus();
+        boolean noShowBefore = reservation.isMarkedNoShow();
+        Long businessBefore = reservation.getBusinessId();
+        LocalDateTime timeBefore = reservation.getReservationTime();
 
         if (request.getMemberId() != null)
             reservation.setMemberId(request.getMemberId());
@@ -154,27 +280,46 @@ public class ReservationService {
         if (request.getReservationTime() != null)
             reservation.setReservationTime(request.getReservationTime());
 
-        if (request.getStatus() != null)
+        if (request.getStatus() != null && request.getStatus() != statusBefore) {
             reservation.setStatus(request.getStatus());
+            reservation.setNoShowAt(null);
+        }
 
         if (request.getPaymentStatus() != null)
             reservation.setPaymentStatus(request.getPaymentStatus());
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+
+        // 시간/인원/상태가 바뀌었으면 슬롯 인덱스도 옮긴다
+        SlotKey after = SlotKey.of(saved);
+        if (!Objects.equals(before, after)) {
+            afterCommit(() -> {
+                releaseSlot(before);
+                if (after != null) {
+                    reservationSlotIndex.occupy(after.businessId(), after.time(), after.people());
+                }
+            });
+        }
+        reservationOutbox.append(ReservationDomainEvent.of(ReservationEventType.STATUS_CHANGED, saved).toBuilder()
+                .statusChanged(statusBefore != saved.getStatus())
+                .previousStatus(statusBefore != null ? statusBefore.name() : null)
+                .previousMarkedNoShow(noShowBefore)
+                .previousBusinessId(businessBefore)
+                .previousReservationTime(timeBefore)
+                .build());
+        return saved;
     }
 
     // -------------------------
     // STATUS UPDATE (부분 업데이트)
     // -------------------------
+    @Transactional
     public Reservation updateReservationStatus(Long reservationId, ReservationStatusUpdateRequest request) {
         try {
-            Reservation reservation = reservationRepository.findById(reservationId)
+            Reservation reservation = reservationRepository.findByIdForUpdate(reservationId)
                     .orElseThrow(() -> new RuntimeException("Reservation not found (id=" + reservationId + ")"));
 
-            // 기존 상태 저장 (변경 감지용) - null 안전 처리
-            ReservationStatus oldStatus = reservation.getStatus();
             ReservationStatus newStatus = null;
-
             boolean isNoShowRequest = false;
 
             // 상태 업데이트
@@ -191,13 +336,32 @@ public class ReservationService {
                     } else {
                         newStatus = ReservationStatus.valueOf(statusStr);
                     }
-
-                    reservation.setStatus(newStatus);
                 } catch (IllegalArgumentException e) {
                     throw new RuntimeException("Invalid reservation status: " + request.getStatus() + ". Valid values: PENDING, CONFIRMED, CANCELED, NO_SHOW, COMPLETED", e);
                 }
             }
 
+            // ⭐ 조건부 UPDATE 로 상태를 바꾸고, 실제로 바뀐 요청만 통계에 반영 (동시 요청 중복 반영 방지)
+            SlotKey slotBefore = SlotKey.of(reservation);
+            ReservationStatus statusBefore = reservation.getStatus();
+            boolean noShowBefore = reservation.isMarkedNoShow();
+            boolean statusChanged = false;
+            if (newStatus != null) {
+                LocalDateTime now = LocalDateTime.now();
+                // 노쇼는 상태 enum 이 아니라 노쇼 여부가 바뀌었는지로 판단 (이미 취소된 예약을 노쇼로 바꾸는 경우 포함)
+                statusChanged = isNoShowRequest
+                        ? reservationRepository.markNoShowIfNotMarked(
+                                reservationId, ReservationStatus.CANCELED, ReservationStatus.NO_SHOW, now) == 1
+                        : reservationRepository.updateStatusIfChanged(reservationId, newStatus) == 1;
+                reservation.setStatus(newStatus);
+                if (statusChanged && newStatus == ReservationStatus.CANCELED && !isNoShowRequest) {
+                    reservation.setCanceledAt(now); // 직전 취소 집계용
+                }
+                if (statusChanged) {
+                    reservation.setNoShowAt(isNoShowRequest ? now : null);
+                }
+            }
+
             if (StringUtils.hasText(request.getPaymentStatus())) {
                 try {
                     String paymentStatusStr = request.getPaymentStatus().toUpperCase().trim();
@@ -207,38 +371,36 @@ public class ReservationService {
                 }
             }
 
-            // 예약 상태 저장 (통계 업데이트 전에 먼저 저장)
             Reservation savedReservation = reservationRepository.save(reservation);
 
-            // ⭐ 노쇼 상태로 변경 시 고객 및 가게 통계 자동 업데이트
-            // oldStatus가 null이거나 NO_SHOW가 아닌 경우에만 처리
-            if (isNoShowRequest) {
-                boolean shouldUpdate = (oldStatus == null || oldStatus != ReservationStatus.NO_SHOW);
-                if (shouldUpdate) {
-                    try {
-                        updateCustomerAndBusinessOnNoShow(savedReservation);
-                    } catch (Exception e) {
-                        // 통계 업데이트 실패해도 예약 상태는 이미 변경됨
-                        System.err.println("Failed to update customer/business stats on NO_SHOW: " + e.getMessage());
-                        e.printStackTrace();
-                        // 예외를 다시 throw하지 않음 - 예약 상태 변경은 성공한 것으로 간주
-                    }
+            // 취소되면 자리 반납, 취소에서 되살아나면 다시 차지 (커밋 후 반영)
+            if (statusChanged) {
+                SlotKey slotAfter = SlotKey.of(savedReservation);
+                if (slotBefore != null && slotAfter == null) {
+                    afterCommit(() -> releaseSlot(slotBefore));
+                } else if (slotBefore == null && slotAfter != null) {
+                    afterCommit(() -> reservationSlotIndex.occupy(slotAfter.businessId(), slotAfter.time(), slotAfter.people()));
                 }
             }
-            // ⭐ 완료 상태로 변경 시 고객 예약 카운트 증가
-            // oldStatus가 null이거나 COMPLETED가 아닌 경우에만 처리
-            else if (newStatus != null && newStatus == ReservationStatus.COMPLETED) {
-                boolean shouldUpdate = (oldStatus == null || oldStatus != ReservationStatus.COMPLETED);
-                if (shouldUpdate) {
-                    try {
-                        updateCustomerAndBusinessOnComplete(savedReservation);
-                    } catch (Exception e) {
-                        // 통계 업데이트 실패해도 예약 상태는 이미 변경됨
-                        System.err.println("Failed to update customer/business stats on COMPLETED: " + e.getMessage());
-                        e.printStackTrace();
-                        // 예외를 다시 throw하지 않음 - 예약 상태 변경은 성공한 것으로 간주
-                    }
-                }
+
+            // ⭐ 노쇼/완료로 바뀐 경우 고객 통계를 같은 트랜잭션에서 원자적으로 증가
+            if (statusChanged && isNoShowRequest) {
+                updateCustomerOnNoShow(savedReservation);
+            } else if (statusChanged && newStatus == ReservationStatus.COMPLETED) {
+                updateCustomerOnComplete(savedReservation);
+            }
+
+            // 가게 통계/실시간 알림은 같은 트랜잭션의 outbox 이벤트로 처리 (실제로 바뀐 요청만 통계에 반영)
+            if (statusChanged || StringUtils.hasText(request.getPaymentStatus())) {
+                reservationOutbox.append(ReservationDomainEvent.of(ReservationEventType.STATUS_CHANGED, savedReservation)
+                        .toBuilder()
+                        .statusChanged(statusChanged)
+                        .noShow(statusChanged && isNoShowRequest)
+                        .previousStatus(statusBefore != null ? statusBefore.name() : null)
+                        .previousMarkedNoShow(noShowBefore)
+                        .previousBusinessId(savedReservation.getBusinessId())
+                        .previousReservationTime(savedReservation.getReservationTime())
+                        .build());
             }
 
             return savedReservation;
@@ -250,180 +412,223 @@ public class ReservationService {
     }
 
     /**
-     * 노쇼 발생 시 고객 및 가게 통계 업데이트
+     * 노쇼 발생 시 고객 통계 업데이트 (UPDATE ... SET x = x + 1)
+     * 고객 노쇼 카운트 증가 + 신뢰 점수 재계산 (노쇼 가중치 15점, 예약 가중치 2점)
+     * 가게 노쇼 카운트는 outbox 이벤트(BusinessStatsOutboxHandler)로 반영
      */
-    private void updateCustomerAndBusinessOnNoShow(Reservation reservation) {
-        // 1. 고객 노쇼 카운트 증가
+    private void updateCustomerOnNoShow(Reservation reservation) {
         if (reservation.getMemberId() != null) {
-            try {
-                customerRepository.findById(reservation.getMemberId()).ifPresent(customer -> {
-                    try {
-                        int currentNoShowCount = customer.getNoShowCount() != null ? customer.getNoShowCount() : 0;
-                        customer.setNoShowCount(currentNoShowCount + 1);
-                        int newNoShowCount = currentNoShowCount + 1;
-
-                        // 신뢰 점수 계산: 노쇼 횟수에 따라 더 큰 가중치로 감소
-                        // 노쇼 횟수가 많을수록 더 많이 감소 (노쇼 횟수 * 15점 감소, 최소 0점)
-                        int reservationCount = customer.getReservationCount() != null ? customer.getReservationCount() : 0;
-                        
-                        // trust_score = 100 - (노쇼횟수 * 큰가중치) + (예약횟수 * 작은가중치)
-                        // 노쇼 가중치: 15점, 예약 가중치: 2점
-                        int calculatedTrustScore = 100 - (newNoShowCount * 15) + (reservationCount * 2);
-                        customer.setTrustScore(Math.max(0, Math.min(100, calculatedTrustScore)));
-
-                        customerRepository.save(customer);
-                    } catch (Exception e) {
-                        System.err.println("Failed to save customer stats on NO_SHOW: " + e.getMessage());
-                        e.printStackTrace();
-                        // 저장 실패해도 계속 진행
-                    }
-                });
-            } catch (Exception e) {
-                System.err.println("Failed to find customer on NO_SHOW: " + e.getMessage());
-                e.printStackTrace();
-                // 고객을 찾지 못해도 계속 진행
-            }
-        }
-
-        // 2. 가게 노쇼 카운트 증가
-        if (reservation.getBusinessId() != null) {
-            try {
-                businessRepository.findById(reservation.getBusinessId()).ifPresent(business -> {
-                    try {
-                        int currentNoShowCount = business.getNoShowCount() != null ? business.getNoShowCount() : 0;
-                        business.setNoShowCount(currentNoShowCount + 1);
-                        businessRepository.save(business);
-                    } catch (Exception e) {
-                        System.err.println("Failed to save business stats on NO_SHOW: " + e.getMessage());
-                        e.printStackTrace();
-                        // 저장 실패해도 계속 진행
-                    }
-                });
-            } catch (Exception e) {
-                System.err.println("Failed to find business on NO_SHOW: " + e.getMessage());
-                e.printStackTrace();
-                // 가게를 찾지 못해도 계속 진행
-            }
+            customerRepository.incrementNoShowCount(reservation.getMemberId());
         }
     }
 
     /**
-     * 예약 완료 시 고객 및 가게 통계 업데이트
+     * 예약 완료 시 고객 통계 업데이트 (UPDATE ... SET x = x + 1)
+     * 가게 완료 예약 카운트는 outbox 이벤트(BusinessStatsOutboxHandler)로 반영
      */
-    private void updateCustomerAndBusinessOnComplete(Reservation reservation) {
-        // 1. 고객 예약 완료 카운트 증가
+    private void updateCustomerOnComplete(Reservation reservation) {
         if (reservation.getMemberId() != null) {
-            try {
-                customerRepository.findById(reservation.getMemberId()).ifPresent(customer -> {
-                    try {
-                        int currentReservationCount = customer.getReservationCount() != null ? customer.getReservationCount() : 0;
-                        customer.setReservationCount(currentReservationCount + 1);
-                        int newReservationCount = currentReservationCount + 1;
-
-                        // 신뢰 점수 계산: 예약 횟수에 따라 증가, 노쇼 횟수에 따라 감소
-                        // 노쇼 횟수가 더 큰 가중치를 가짐
-                        int noShowCount = customer.getNoShowCount() != null ? customer.getNoShowCount() : 0;
-                        
-                        // trust_score = 100 - (노쇼횟수 * 큰가중치) + (예약횟수 * 작은가중치)
-                        // 노쇼 가중치: 15점, 예약 가중치: 2점
-                        int calculatedTrustScore = 100 - (noShowCount * 15) + (newReservationCount * 2);
-                        customer.setTrustScore(Math.max(0, Math.min(100, calculatedTrustScore)));
-
-                        customerRepository.save(customer);
-                    } catch (Exception e) {
-                        System.err.println("Failed to save customer stats on COMPLETED: " + e.getMessage());
-                        e.printStackTrace();
-                        // 저장 실패해도 계속 진행
-                    }
-                });
-            } catch (Exception e) {
-                System.err.println("Failed to find customer on COMPLETED: " + e.getMessage());
-                e.printStackTrace();
-                // 고객을 찾지 못해도 계속 진행
-            }
-        }
-
-        // 2. 가게 완료 예약 카운트 증가
-        if (reservation.getBusinessId() != null) {
-            try {
-                businessRepository.findById(reservation.getBusinessId()).ifPresent(business -> {
-                    try {
-                        int currentCompletedCount = business.getCompletedReservations() != null ? business.getCompletedReservations() : 0;
-                        business.setCompletedReservations(currentCompletedCount + 1);
-                        businessRepository.save(business);
-                    } catch (Exception e) {
-                        System.err.println("Failed to save business stats on COMPLETED: " + e.getMessage());
-                        e.printStackTrace();
-                        // 저장 실패해도 계속 진행
-                    }
-                });
-            } catch (Exception e) {
-                System.err.println("Failed to find business on COMPLETED: " + e.getMessage());
-                e.printStackTrace();
-                // 가게를 찾지 못해도 계속 진행
-            }
+            customerRepository.incrementReservationCount(reservation.getMemberId());
         }
     }
 
     // -------------------------
     // DELETE
     // -------------------------
+    @Transactional
     public void deleteReservation(Long id) {
+        Reservation reservation = reservationRepository.findById(id).orElse(null);
         reservationRepository.deleteById(id);
+        if (reservation != null) {
+            SlotKey slot = SlotKey.of(reservation);
+            reservationOutbox.append(ReservationDomainEvent.of(ReservationEventType.DELETED, reservation));
+            afterCommit(() -> releaseSlot(slot));
+        }
+    }
+
+    // -------------------------
+    // 시간대별 예약 가능 인원 (메모리 인덱스 조회)
+    // -------------------------
+    public List<SlotCapacityResponse> getSlotCapacity(Long businessId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = to != null ? to : from.plusMinutes(reservationSlotIndex.getSlotMinutes());
+        if (!end.isAfter(from) || ChronoUnit.DAYS.between(from, end) > 7) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "조회 범위는 최대 7일입니다.");
+        }
+
+        List<SlotCapacityResponse> slots = new ArrayList<>();
+        for (LocalDateTime slot = reservationSlotIndex.slotStart(from);
+             slot.isBefore(end);
+             slot = slot.plusMinutes(reservationSlotIndex.getSlotMinutes())) {
+            ReservationSlotIndex.SlotUsage usage = reservationSlotIndex.usage(businessId, slot);
+            slots.add(SlotCapacityResponse.builder()
+                    .businessId(businessId)
+                    .slotStart(usage.slotStart())
+                    .slotMinutes(reservationSlotIndex.getSlotMinutes())
+                    .capacity(usage.capacity())
+                    .reserved(usage.reserved())
+                    .remaining(usage.remaining())
+                    .build());
+        }
+        return slots;
+    }
+
+    // -------------------------
+    // 시간대 슬롯 인덱스 동기화
+    // -------------------------
+    private void occupySlot(Reservation reservation) {
+        SlotKey slot = SlotKey.of(reservation);
+        if (slot != null) {
+            reservationSlotIndex.occupy(slot.businessId(), slot.time(), slot.people());
+        }
+    }
+
+    private void releaseSlot(SlotKey slot) {
+        if (slot != null) {
+            reservationSlotIndex.release(slot.businessId(), slot.time(), slot.people());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 슬롯 인덱스에서 예약이 차지하는 자리 (취소된 예약이면 null)
+     */
+    private record SlotKey(Long businessId, LocalDateTime time, int people) {
+        static SlotKey of(Reservation reservation) {
+            if (reservation.getBusinessId() == null
+                    || reservation.getReservationTime() == null
+                    || reservation.getStatus() == ReservationStatus.CANCELED) {
+                return null;
+            }
+            int people = reservation.getPeople() != null ? reservation.getPeople() : 1;
+            return new SlotKey(reservation.getBusinessId(), reservation.getReservationTime(), people);
+        }
     }
     // -------------------------
 // ⭐ 예약 + 모의 결제 통합 처리 + AI 노쇼 예측
 // -------------------------
     public ReservationPaymentResult createWithPayment(ReservationFullPayRequest req) {
+        return createWithPayment(req, ReservationIdempotencyService.Claim.NONE);
+    }
+
+    /**
+     * Idempotency-Key 요청: 예약 ID 는 예약 INSERT 와, 결과는 스냅샷과 같은 트랜잭션에서 claim 에 기록
+     */
+    public ReservationPaymentResult createWithPayment(ReservationFullPayRequest req, ReservationIdempotencyService.Claim claim) {
+        Timer.Sample totalSample = Timer.start(meterRegistry);
 
         // 1. 예약 엔티티 생성 (사장님 승인 대기 상태)
         Reservation reservation = new Reservation();
         reservation.setMemberId(req.getMemberId());
         reservation.setBusinessId(req.getBusinessId());
-    reservation.setPeople(req.getPeople());
-    reservation.setReservationTime(java.time.LocalDateTime.parse(req.getReservationTime()));
-    reservation.setStatus(ReservationStatus.PENDING);  // ⭐ 사장님 승인 대기
-
-    // 기본적으로 결제 대기
-    reservation.setPaymentStatus(PaymentStatus.PENDING);
-
-    // DB 저장
-        Reservation savedReservation = reservationRepository.save(reservation);
-
-        Customer customer = customerRepository.findById(req.getMemberId()).orElse(null);
-        Business business = businessRepository.findById(req.getBusinessId()).orElse(null);
-
-        // 2. AI 노쇼 예측 호출 (AI 서버 다운 시에도 예약은 정상 진행)
-        com.olsaram.backend.dto.ai.AiNoshowRequest aiRequest = buildAiNoshowRequest(savedReservation, req);
-        com.olsaram.backend.dto.ai.AiNoshowResponse aiResponse = aiNoshowService.safePredict(aiRequest);
-
-    if (aiResponse != null) {
-        // AI 예측 성공 → 결과를 예약 엔티티에 저장
-        savedReservation.setAiNoshowProbability(aiResponse.getNoshowProbability());
-
-        if (aiResponse.getPolicyRecommendation() != null) {
-            savedReservation.setAiRecommendedPolicy(aiResponse.getPolicyRecommendation().getRecommendedPolicy());
-            savedReservation.setAiPolicyReason(aiResponse.getPolicyRecommendation().getReason());
+        reservation.setPeople(req.getPeople());
+        reservation.setReservationTime(java.time.LocalDateTime.parse(req.getReservationTime()));
+        reservation.setStatus(ReservationStatus.PENDING);  // ⭐ 사장님 승인 대기
+
+        // 기본적으로 결제 대기
+        reservation.setPaymentStatus(PaymentStatus.PENDING);
+
+        // ⭐ 시간대 용량 확인 + 자리 차지 (메모리 인덱스에서 원자적으로)
+        int seats = req.getPeople() > 0 ? req.getPeople() : 1;
+        if (!reservationSlotIndex.tryReserve(req.getBusinessId(), reservation.getReservationTime(), seats)) {
+            meterRegistry.counter("reservation.create.rejected", "reason", "capacity").increment();
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "선택한 시간대의 예약이 마감되었습니다.");
         }
 
-        if (aiResponse.getSuspiciousResult() != null) {
-            savedReservation.setAiSuspiciousPattern(aiResponse.getSuspiciousResult().getSuspiciousPattern());
-            savedReservation.setAiDetectionReason(aiResponse.getSuspiciousResult().getDetectionReason());
+        // DB 저장 후 예측/결제/스냅샷 어느 단계에서 실패해도 차지한 자리를 돌려주고 저장한 예약을 지운다
+        Reservation savedReservation = null;
+        try {
+            savedReservation = timed("save", () -> transactionTemplate.execute(status -> {
+                // 같은 키로 다른 인스턴스가 만들다 만 예약은 새 예약과 함께 지운다 (둘 중 하나만 남도록)
+                discardAbandonedReservation(claim.abandonedReservationId());
+                Reservation saved = reservationRepository.save(reservation);
+                claim.reserved(saved.getId());
+                return saved;
+            }));
+            return completeWithPayment(req, savedReservation, claim, totalSample);
+        } catch (RuntimeException e) {
+            reservationSlotIndex.release(req.getBusinessId(), reservation.getReservationTime(), seats);
+            discardFailedReservation(savedReservation);
+            throw e;
         }
-
-        log.info("AI noshow prediction success probability={}%", aiResponse.getNoshowProbability());
-    } else {
-        // AI 예측 실패 → AI 컬럼은 null 유지, 예약은 정상 진행
-        log.info("AI noshow server response missing; skipping AI fields");
     }
 
-    // 3. 모의 결제 처리 (Payment 엔티티 생성)
+    /**
+     * 저장된 예약에 AI/ML 예측, 모의 결제, 위험도 스냅샷을 채운다
+     */
+    private ReservationPaymentResult completeWithPayment(
+            ReservationFullPayRequest req, Reservation savedReservation,
+            ReservationIdempotencyService.Claim claim, Timer.Sample totalSample) {
         String paymentMethod = StringUtils.hasText(req.getPaymentMethod())
                 ? req.getPaymentMethod()
                 : "CARD";
 
+        // 2. 독립적인 조회와 AI/ML 예측을 가상 스레드에서 동시에 실행 (전체 데드라인 하나로 제한)
+        //    - 가게 조회 실패·지연 → null (기본 금액으로 계산)
+        //    - 고객 조회 실패·지연(customer-timeout-ms) → null (신규 고객으로 ML/AI 예측)
+        //    - AI 서버 실패·지연 → AI 컬럼 null 유지, 예약은 정상 진행
+        //    - ML 모델 실패·지연 → 예약 생성 실패 (ML 위험도는 필수)
+        //    - ASYNC 모드에서는 AI 서버를 기다리지 않고 백그라운드 큐에 맡김
+        boolean asyncAi = enrichmentProperties.getAiMode() == ReservationEnrichmentProperties.AiMode.ASYNC;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(enrichmentProperties.getDeadlineMs());
+
+        // 고객 피처는 ML/AI 입력이므로 먼저 자체 기본값을 붙인다 (조회 실패·지연 → 신규 고객으로 예측)
+        CompletableFuture<CustomerFeatureSnapshot> customerFuture = async("customer",
+                () -> customerFeatureStore.get(req.getMemberId()))
+                .completeOnTimeout(null, enrichmentProperties.getCustomerTimeoutMs(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    meterRegistry.counter(FALLBACK_COUNTER, "stage", "customer", "reason", "error").increment();
+                    log.warn("⚠️ 예약 생성 단계 실패 - 단계: customer, 오류: {}", e.getMessage());
+                    return null;
+                });
+        CompletableFuture<Business> businessFuture = async("business",
+                () -> businessRepository.findById(req.getBusinessId()).orElse(null));
+
+        CompletableFuture<com.olsaram.backend.dto.ai.AiNoshowResponse> aiFuture;
+        if (asyncAi) {
+            aiFuture = CompletableFuture.completedFuture(null);
+        } else {
+            CompletableFuture<List<Reservation>> todayFuture = async("today_reservations",
+                    () -> aiNoshowRequestFactory.findTodayReservations(req.getBusinessId()));
+            aiFuture = customerFuture.thenCombineAsync(
+                    todayFuture,
+                    (customer, todayReservations) -> timed("ai", () -> aiNoshowService.safePredict(
+                            aiNoshowRequestFactory.build(savedReservation, req.getPaymentMethod(), customer, todayReservations))),
+                    enrichmentExecutor);
+        }
+        CompletableFuture<RiskSnapshot> mlFuture = customerFuture.thenApplyAsync(
+                customer -> timed("ml", () -> applyMlRiskModel(customer, savedReservation, paymentMethod)),
+                enrichmentExecutor);
+
+        Business business = awaitOrFallback("business", businessFuture, deadline, null);
+        com.olsaram.backend.dto.ai.AiNoshowResponse aiResponse = awaitOrFallback("ai", aiFuture, deadline, null);
+        RiskSnapshot paymentSnapshot = awaitMlSnapshot(mlFuture, deadline, savedReservation);
+
+        if (asyncAi) {
+            // AI 컬럼은 백그라운드 워커가 채움 (그 전까지 사장님 화면에는 분석 대기 중)
+            savedReservation.setAiEnrichmentStatus(AiEnrichmentStatus.PENDING);
+        } else if (aiResponse != null) {
+            // AI 예측 성공 → 결과를 예약 엔티티에 저장
+            aiNoshowRequestFactory.apply(savedReservation, aiResponse);
+            log.info("AI noshow prediction success probability={}%", aiResponse.getNoshowProbability());
+        } else {
+            // AI 예측 실패 → AI 컬럼은 null 유지, 예약은 정상 진행
+            log.info("AI noshow server response missing; skipping AI fields");
+        }
+
+        // 3. 모의 결제 처리 (Payment 엔티티 생성)
         // ⭐ ML 모델을 필수로 사용하여 위험도 계산
-        RiskSnapshot paymentSnapshot = applyMlRiskModel(customer, savedReservation, paymentMethod);
         int baseScore = paymentSnapshot.score();
         double riskPercent = paymentSnapshot.percent();
         String riskLevel = paymentSnapshot.level();
@@ -438,7 +643,7 @@ public class ReservationService {
 
         // ⭐ ML 모델 사용 정보 로깅
         log.info("✅ 노쇼 감지 ML 모델 적용 성공 - 예약ID: {}, 위험도 레벨: {}, 위험도 퍼센트: {}%, 위험도 점수: {}, 예약금: {}원",
-                savedReservation.getId(), paymentSnapshot.mlModelRiskLevel(), 
+                savedReservation.getId(), paymentSnapshot.mlModelRiskLevel(),
                 paymentSnapshot.mlModelRiskPercent(), baseScore, chargedAmount);
 
         com.olsaram.backend.domain.reservation.Payment payment =
@@ -450,7 +655,7 @@ public class ReservationService {
                         .build();
 
         // PaymentService 사용 (결제 대기 상태로 저장)
-        paymentService.createPayment(payment);
+        timed("payment", () -> paymentService.createPayment(payment));
 
         // 4. 결제 대기 상태로 유지 (토스 페이먼츠 결제 승인 후 PAID로 변경)
         savedReservation.setPaymentStatus(PaymentStatus.PENDING);
@@ -461,13 +666,13 @@ public class ReservationService {
         savedReservation.setAppliedFeePercentSnapshot(appliedFeePercent);
         savedReservation.setBaseFeeAmountSnapshot(baseFeeAmount);
         savedReservation.setPaymentAmountSnapshot(chargedAmount);
+        savedReservation.setRiskFeatures(paymentSnapshot.riskFeatures());
         // ⭐ ML 모델 결과 저장
         savedReservation.setMlModelUsed(paymentSnapshot.mlModelUsed());
         savedReservation.setMlModelRiskLevel(paymentSnapshot.mlModelRiskLevel());
         savedReservation.setMlModelRiskPercent(paymentSnapshot.mlModelRiskPercent());
-        reservationRepository.save(savedReservation);
 
-        return ReservationPaymentResult.builder()
+        ReservationPaymentResult result = ReservationPaymentResult.builder()
                 .reservationId(savedReservation.getId())
                 .businessId(savedReservation.getBusinessId())
                 .memberId(savedReservation.getMemberId())
@@ -487,231 +692,272 @@ public class ReservationService {
                 .mlModelRiskLevel(paymentSnapshot.mlModelRiskLevel())
                 .mlModelRiskPercent(paymentSnapshot.mlModelRiskPercent())
                 .build();
-}
 
-/**
- * AI 노쇼 예측 요청 객체 생성
- */
-    private com.olsaram.backend.dto.ai.AiNoshowRequest buildAiNoshowRequest(
-            Reservation reservation, ReservationFullPayRequest req) {
-
-    // 고객 정보 조회
-    Customer customer = customerRepository.findById(req.getMemberId()).orElse(null);
+        // 스냅샷 저장, 생성 이벤트(가게 통계, 실시간 알림, ASYNC 모드 AI 예측 등록), Idempotency 결과를 한 트랜잭션으로 기록
+        timed("save_snapshot", () -> transactionTemplate.execute(status -> {
+            Reservation snapshot = reservationRepository.save(savedReservation);
+            reservationOutbox.append(ReservationDomainEvent.of(ReservationEventType.CREATED, snapshot).toBuilder()
+                    .aiEnrichmentRequested(asyncAi)
+                    .paymentMethod(req.getPaymentMethod())
+                    .build());
+            claim.completed(result);
+            return snapshot;
+        }));
 
-    // 오늘 예약 목록 조회
-    LocalDateTime todayStart = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
-    LocalDateTime todayEnd = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59);
+        totalSample.stop(meterRegistry.timer(STAGE_TIMER, "stage", "total"));
+        return result;
+    }
 
-    List<Reservation> todayReservations = reservationRepository
-            .findByBusinessIdAndReservationTimeBetween(req.getBusinessId(), todayStart, todayEnd);
+    /**
+     * 인수한 Idempotency-Key 로 이전 인스턴스가 만들다 만 예약과 결제 대기 행 삭제 (호출한 트랜잭션 안에서)
+     * 스냅샷 트랜잭션이 커밋됐다면 키가 완료 상태라 인수되지 않으므로, 여기 오는 예약은 생성 이벤트가 없다
+     */
+    private void discardAbandonedReservation(Long reservationId) {
+        if (reservationId == null) {
+            return;
+        }
+        reservationRepository.findById(reservationId).ifPresent(abandoned -> {
+            SlotKey slot = SlotKey.of(abandoned);
+            paymentService.deletePaymentsByReservationId(reservationId);
+            reservationRepository.delete(abandoned);
+            afterCommit(() -> releaseSlot(slot));
+            log.warn("🧹 버려진 Idempotency-Key 의 미완료 예약 삭제 - 예약ID: {}", reservationId);
+        });
+    }
 
-    List<com.olsaram.backend.dto.ai.AiTodayReservationDto> todayReservationDtos = todayReservations.stream()
-            .map(r -> com.olsaram.backend.dto.ai.AiTodayReservationDto.builder()
-                    .reservationId(r.getId())
-                    .reservationTime(r.getReservationTime().toString())
-                    .partySize(r.getPeople())
-                    .paymentMethod(req.getPaymentMethod())
-                    .build())
-            .toList();
-
-    boolean isSameDayReservation = reservation.getReservationTime()
-            .toLocalDate().equals(LocalDateTime.now().toLocalDate());
-
-    return com.olsaram.backend.dto.ai.AiNoshowRequest.builder()
-            .customerId(req.getMemberId())
-            .reservationTime(req.getReservationTime())
-            .partySize(req.getPeople())
-            .paymentMethod(req.getPaymentMethod())
-            .customerPastNoshowCount(customer != null ? customer.getNoShowCount() : 0)
-            .customerPastReservationCount(customer != null ? customer.getReservationCount() : 0)
-            .reservationChangeCount(0)
-            .isSameDayReservation(isSameDayReservation ? 1 : 0)
-            .todayReservations(todayReservationDtos)
-            .build();
-}
+    /**
+     * 생성 도중 실패한 예약과 결제 대기 행 삭제 (생성 이벤트는 마지막 스냅샷 트랜잭션에서만 기록되므로 되돌릴 통계 없음)
+     */
+    private void discardFailedReservation(Reservation reservation) {
+        if (reservation == null || reservation.getId() == null) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                paymentService.deletePaymentsByReservationId(reservation.getId());
+                reservationRepository.deleteById(reservation.getId());
+            });
+            meterRegistry.counter("reservation.create.rejected", "reason", "pipeline_error").increment();
+            log.warn("🧹 생성 중 실패한 예약 삭제 - 예약ID: {}", reservation.getId());
+        } catch (RuntimeException e) {
+            log.error("❌ 생성 중 실패한 예약 삭제 실패 - 예약ID: {}, 오류: {}", reservation.getId(), e.getMessage());
+        }
+    }
 
     // -------------------------
-    // ⭐ 위험도 포함 예약 조회 (사장님용)
+    // 예약 생성 파이프라인 헬퍼 (단계별 소요 시간 메트릭)
     // -------------------------
-    public List<ReservationWithRiskResponse> getReservationsWithRisk(Long ownerId) {
+    private <T> T timed(String stage, Supplier<T> supplier) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return supplier.get();
+        } finally {
+            sample.stop(meterRegistry.timer(STAGE_TIMER, "stage", stage));
+        }
+    }
 
-        List<Business> businesses = businessRepository.findByOwner_OwnerId(ownerId);
-        if (businesses.isEmpty()) return Collections.emptyList();
+    private <T> CompletableFuture<T> async(String stage, Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(() -> timed(stage, supplier), enrichmentExecutor);
+    }
 
-        List<Long> businessIds = businesses.stream()
-                .map(Business::getBusinessId)
-                .filter(Objects::nonNull)
-                .toList();
+    /**
+     * 데드라인까지 결과를 기다리고, 지연/실패 시 fallback 반환
+     */
+    private <T> T awaitOrFallback(String stage, CompletableFuture<T> future, long deadlineNanos, T fallback) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            meterRegistry.counter(FALLBACK_COUNTER, "stage", stage, "reason", "timeout").increment();
+            log.warn("⚠️ 예약 생성 단계 데드라인 초과 - 단계: {}, 기본값으로 진행", stage);
+        } catch (ExecutionException e) {
+            meterRegistry.counter(FALLBACK_COUNTER, "stage", stage, "reason", "error").increment();
+            log.warn("⚠️ 예약 생성 단계 실패 - 단계: {}, 오류: {}", stage, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return fallback;
+    }
 
-        if (businessIds.isEmpty()) return Collections.emptyList();
+    /**
+     * ML 위험도는 필수이므로 데드라인 초과/실패 시 예약 생성 실패
+     */
+    private RiskSnapshot awaitMlSnapshot(CompletableFuture<RiskSnapshot> future, long deadlineNanos, Reservation reservation) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            meterRegistry.counter(FALLBACK_COUNTER, "stage", "ml", "reason", "timeout").increment();
+            String errorMsg = String.format(
+                    "ML 모델 예측이 제한 시간(%dms) 안에 끝나지 않았습니다. 예약ID: %d",
+                    enrichmentProperties.getDeadlineMs(), reservation.getId());
+            log.error("❌ ML 모델 예측 실패 - {}", errorMsg);
+            throw new RuntimeException(errorMsg, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("ML 모델 예측 실패: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("ML 모델 예측 대기 중 중단됨 (예약ID: " + reservation.getId() + ")", e);
+        }
+    }
 
-        List<Reservation> reservations = reservationRepository.findByBusinessIdIn(businessIds);
+    // -------------------------
+    // ⭐ 위험도 포함 예약 조회 (사장님용)
+    // -------------------------
+    public List<ReservationWithRiskResponse> getReservationsWithRisk(Long ownerId) {
+        return getReservationsWithRisk(ownerId, OwnerReservationFilter.all());
+    }
 
-        // ⭐ ML 모델이 실행된 예약만 필터링 (mlModelUsed가 true인 예약만)
-        reservations = reservations.stream()
-                .filter(reservation -> reservation.getMlModelUsed() != null && reservation.getMlModelUsed())
+    public List<ReservationWithRiskResponse> getReservationsWithRisk(Long ownerId, OwnerReservationFilter filter) {
+
+        // ⭐ 예약·가게·고객을 한 번의 조인 쿼리로 필요한 컬럼만 조회 (ML 모델이 실행된 예약만)
+        List<OwnerReservationRiskRow> rows = reservationRepository.findOwnerReservationRiskRows(
+                ownerId,
+                filter.getStatus(),
+                filter.getFrom(),
+                filter.getTo(),
+                filter.getCursorTime(),
+                cursorIdOf(filter),
+                pageOf(filter)
+        );
+
+        // 고객 피처(직전 취소 등)는 캐시에서 한 번에
+        Map<Long, CustomerFeatureSnapshot> customerFeatures = customerFeatureStore.getAll(
+                rows.stream().map(OwnerReservationRiskRow::customerId).filter(Objects::nonNull).toList());
+
+        List<ReservationWithRiskResponse> responses = rows.stream()
+                .map(row -> toReservationWithRisk(row, customerFeatures.get(row.customerId())))
                 .toList();
+        if (filter.isPaged()) {
+            // 키셋 페이지는 (reservationTime, id) 순서 그대로 (마지막 행이 다음 페이지 커서)
+            return responses;
+        }
+        return responses.stream()
+                .sorted(Comparator.comparing(ReservationWithRiskResponse::getRiskScore)) // 전체 조회만 위험도 순 정렬
+                .toList();
+    }
 
-        Map<Long, Business> businessMap = businesses.stream()
-                .collect(Collectors.toMap(
-                        Business::getBusinessId,
-                        b -> b,
-                        (a, b) -> a
-                ));
-
-        // 고객 정보 조회 (전체 Customer 객체)
-        Set<Long> memberIds = reservations.stream()
-                .map(Reservation::getMemberId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-
-        Map<Long, Customer> customerMap = customerRepository
-                .findAllById(memberIds)
-                .stream()
-                .collect(Collectors.toMap(
-                        Customer::getCustomerId,
-                        c -> c,
-                        (a, b) -> a
-                ));
-
-        return reservations.stream()
-                .map(reservation -> {
-                    Customer customer = customerMap.get(reservation.getMemberId());
-                    Business business = businessMap.get(reservation.getBusinessId());
-
-                    // ⭐ ML 모델 결과를 우선 사용하여 위험도 계산
-                    String mlModelRiskLevel = reservation.getMlModelRiskLevel();
-                    Double mlModelRiskPercent = reservation.getMlModelRiskPercent();
-                    
-                    int feeBaseScore;
-                    double riskPercent;
-                    String riskLevel;
-                    double appliedFeePercent;
-                    double baseFeeAmount;
-                    double paidAmount;
-
-                    // ML 모델 결과가 있으면 ML 모델 결과를 사용
-                    if (mlModelRiskLevel != null && mlModelRiskPercent != null) {
-                        // ML 모델 결과를 기반으로 계산
-                        riskPercent = mlModelRiskPercent;
-                        riskLevel = mapMlLabelToLegacyLevel(mlModelRiskLevel, "SAFE");
-                        feeBaseScore = clampScore((int) Math.round(100 - riskPercent));
-                        appliedFeePercent = mapRiskPercentToFeePercent(riskPercent);
-                        
-                        // 기본 금액은 스냅샷 또는 비즈니스 설정 사용
-                        Double snapshotBaseFee = reservation.getBaseFeeAmountSnapshot();
-                        baseFeeAmount = snapshotBaseFee != null
-                                ? snapshotBaseFee
-                                : (business != null && business.getReservationFeeAmount() != null
-                                    ? business.getReservationFeeAmount().doubleValue()
-                                    : DEFAULT_BASE_AMOUNT_PER_PERSON);
-                        
-                        // 결제 금액 계산
-                        int headCount = reservation.getPeople() != null ? reservation.getPeople() : 1;
-                        double estimatedBaseAmount = baseFeeAmount * headCount;
-                        paidAmount = Math.max(0.0, estimatedBaseAmount * (appliedFeePercent / 100.0));
-                        
-                        log.debug("ML 모델 결과 사용 - 예약ID: {}, ML 레벨: {}, ML 퍼센트: {}%, 위험도 점수: {}, 수수료율: {}%",
-                                reservation.getId(), mlModelRiskLevel, mlModelRiskPercent, feeBaseScore, appliedFeePercent);
-                    } else {
-                        // ML 모델 결과가 없으면 스냅샷 사용 (하지만 이미 필터링되어 있으므로 이 경우는 없어야 함)
-                        Integer snapshotScore = reservation.getRiskScoreSnapshot();
-                        Double snapshotPercent = reservation.getRiskPercentSnapshot();
-                        String snapshotLevel = reservation.getRiskLevelSnapshot();
-                        Double snapshotAppliedFee = reservation.getAppliedFeePercentSnapshot();
-                        Double snapshotBaseFee = reservation.getBaseFeeAmountSnapshot();
-                        Double snapshotPaymentAmount = reservation.getPaymentAmountSnapshot();
-
-                        feeBaseScore = snapshotScore != null
-                                ? clampScore(snapshotScore)
-                                : (customer != null && customer.getTrustScore() != null
-                                    ? clampScore(customer.getTrustScore())
-                                    : clampScore(riskCalculationService.calculateRiskScore(customer, reservation)));
-
-                        riskLevel = snapshotLevel != null
-                                ? snapshotLevel
-                                : riskCalculationService.getRiskLevel(feeBaseScore);
-
-                        baseFeeAmount = snapshotBaseFee != null
-                                ? snapshotBaseFee
-                                : (business != null && business.getReservationFeeAmount() != null
-                                    ? business.getReservationFeeAmount().doubleValue()
-                                    : DEFAULT_BASE_AMOUNT_PER_PERSON);
-
-                        riskPercent = snapshotPercent != null
-                                ? snapshotPercent
-                                : calculateRiskPercent(feeBaseScore);
-
-                        appliedFeePercent = snapshotAppliedFee != null
-                                ? snapshotAppliedFee
-                                : mapRiskPercentToFeePercent(riskPercent);
-                        
-                        int headCount = reservation.getPeople() != null ? reservation.getPeople() : 1;
-                        double estimatedBaseAmount = baseFeeAmount * headCount;
-                        double expectedFeeAmount = Math.max(0.0, estimatedBaseAmount * (appliedFeePercent / 100.0));
-                        paidAmount = snapshotPaymentAmount != null ? snapshotPaymentAmount : expectedFeeAmount;
-                        
-                        log.warn("ML 모델 결과 없음, 스냅샷 사용 - 예약ID: {}", reservation.getId());
-                    }
+    private ReservationWithRiskResponse toReservationWithRisk(OwnerReservationRiskRow row, CustomerFeatureSnapshot features) {
+        int headCount = row.people() != null ? row.people() : 1;
+
+        // 1인 기준 기본 금액은 스냅샷 또는 비즈니스 설정 사용
+        double baseFeeAmount = row.baseFeeAmountSnapshot() != null
+                ? row.baseFeeAmountSnapshot()
+                : (row.reservationFeeAmount() != null
+                    ? row.reservationFeeAmount().doubleValue()
+                    : DEFAULT_BASE_AMOUNT_PER_PERSON);
+
+        int feeBaseScore;
+        double riskPercent;
+        String riskLevel;
+        double appliedFeePercent;
+        double paidAmount;
+
+        if (row.mlModelRiskLevel() != null && row.mlModelRiskPercent() != null) {
+            // ⭐ ML 모델 결과 기반 (예약 시점에 같은 값으로 계산해 둔 스냅샷이 있으면 그대로 사용)
+            riskPercent = row.mlModelRiskPercent();
+            riskLevel = row.riskLevelSnapshot() != null
+                    ? row.riskLevelSnapshot()
+                    : mapMlLabelToLegacyLevel(row.mlModelRiskLevel(), "SAFE");
+            feeBaseScore = row.riskScoreSnapshot() != null
+                    ? clampScore(row.riskScoreSnapshot())
+                    : clampScore((int) Math.round(100 - riskPercent));
+            appliedFeePercent = row.appliedFeePercentSnapshot() != null
+                    ? row.appliedFeePercentSnapshot()
+                    : mapRiskPercentToFeePercent(riskPercent);
+            paidAmount = row.paymentAmountSnapshot() != null
+                    ? row.paymentAmountSnapshot()
+                    : Math.max(0.0, baseFeeAmount * headCount * (appliedFeePercent / 100.0));
+        } else {
+            // ML 모델 결과가 없으면 스냅샷 사용 (하지만 이미 필터링되어 있으므로 이 경우는 없어야 함)
+            feeBaseScore = row.riskScoreSnapshot() != null
+                    ? clampScore(row.riskScoreSnapshot())
+                    : (row.customerTrustScore() != null
+                        ? clampScore(row.customerTrustScore())
+                        : (row.customerId() != null
+                            ? clampScore(riskCalculationService.calculateRiskScore(
+                                    row.customerNoShowCount(), row.customerReservationCount(),
+                                    row.customerCreatedAt(), row.paymentStatus(), row.people()))
+                            : 100));
+
+            riskLevel = row.riskLevelSnapshot() != null
+                    ? row.riskLevelSnapshot()
+                    : riskCalculationService.getRiskLevel(feeBaseScore);
+
+            riskPercent = row.riskPercentSnapshot() != null
+                    ? row.riskPercentSnapshot()
+                    : calculateRiskPercent(feeBaseScore);
+
+            appliedFeePercent = row.appliedFeePercentSnapshot() != null
+                    ? row.appliedFeePercentSnapshot()
+                    : mapRiskPercentToFeePercent(riskPercent);
+
+            paidAmount = row.paymentAmountSnapshot() != null
+                    ? row.paymentAmountSnapshot()
+                    : Math.max(0.0, baseFeeAmount * headCount * (appliedFeePercent / 100.0));
+
+            log.warn("ML 모델 결과 없음, 스냅샷 사용 - 예약ID: {}", row.id());
+        }
 
-                    List<String> patterns = riskCalculationService.analyzeSuspiciousPatterns(customer, reservation);
-
-                    // 고객 이력 정보 생성
-                    ReservationWithRiskResponse.CustomerRiskData customerData = null;
-                    if (customer != null) {
-                        int accountAgeDays = customer.getCreatedAt() != null
-                                ? (int) ChronoUnit.DAYS.between(customer.getCreatedAt().toLocalDate(), LocalDateTime.now().toLocalDate())
-                                : 365;
-
-                        // ⭐ 신뢰점수는 ML 모델 기반 위험도 점수를 사용 (ML 모델이 예약 시점의 위험도를 반영)
-                        int displayTrustScore = feeBaseScore; // ML 모델 기반 위험도 점수를 신뢰점수로 표시
-                        
-                        customerData = ReservationWithRiskResponse.CustomerRiskData.builder()
-                                .customerId(customer.getCustomerId())
-                                .name(customer.getName())
-                                .phone(customer.getPhone())
-                                .noShowCount(customer.getNoShowCount() != null ? customer.getNoShowCount() : 0)
-                                .reservationCount(customer.getReservationCount() != null ? customer.getReservationCount() : 0)
-                                .lastMinuteCancels(0) // 추후 구현
-                                .accountAgeDays(accountAgeDays)
-                                .trustScore(displayTrustScore) // ML 모델 기반 위험도 점수 사용
-                                .customerGrade(customer.getCustomerGrade())
-                                .build();
-                    }
+        List<String> patterns = features != null
+                ? riskCalculationService.analyzeSuspiciousPatterns(features, row.people())
+                : row.customerId() != null
+                    ? riskCalculationService.analyzeSuspiciousPatterns(
+                            row.customerNoShowCount(), row.customerReservationCount(), row.customerCreatedAt(), row.people())
+                    : new ArrayList<>();
+
+        // 고객 이력 정보 생성
+        ReservationWithRiskResponse.CustomerRiskData customerData = null;
+        if (row.customerId() != null) {
+            int accountAgeDays = row.customerCreatedAt() != null
+                    ? (int) ChronoUnit.DAYS.between(row.customerCreatedAt().toLocalDate(), LocalDateTime.now().toLocalDate())
+                    : 365;
+
+            customerData = ReservationWithRiskResponse.CustomerRiskData.builder()
+                    .customerId(row.customerId())
+                    .name(row.customerName())
+                    .phone(row.customerPhone())
+                    .noShowCount(row.customerNoShowCount() != null ? row.customerNoShowCount() : 0)
+                    .reservationCount(row.customerReservationCount() != null ? row.customerReservationCount() : 0)
+                    .lastMinuteCancels(features != null ? features.lastMinuteCancelCount() : 0)
+                    .accountAgeDays(accountAgeDays)
+                    .trustScore(feeBaseScore) // ⭐ ML 모델 기반 위험도 점수를 신뢰점수로 표시
+                    .customerGrade(row.customerGrade())
+                    .build();
+        }
 
-                    return ReservationWithRiskResponse.builder()
-                            .id(reservation.getId())
-                            .businessId(reservation.getBusinessId())
-                            .businessName(business != null ? business.getBusinessName() : null)
-                            .businessAddress(business != null ? business.getAddress() : null)
-                            .memberId(reservation.getMemberId())
-                            .customerName(customer != null ? customer.getName() : null)
-                            .customerPhone(customer != null ? customer.getPhone() : null)
-                            .reservationTime(reservation.getReservationTime())
-                            .people(reservation.getPeople())
-                            .status(reservation.getStatus() != null ? reservation.getStatus().name() : null)
-                            .paymentStatus(reservation.getPaymentStatus() != null ? reservation.getPaymentStatus().name() : null)
-                            .paymentAmount(paidAmount)
-                            .baseFeeAmount(baseFeeAmount)
-                            .appliedFeePercent(appliedFeePercent)
-                            .riskPercent(riskPercent)
-                            .customerData(customerData)
-                            .riskScore(feeBaseScore)
-                            .riskLevel(riskLevel)
-                            .suspiciousPatterns(patterns)
-                            .aiNoshowProbability(reservation.getAiNoshowProbability())
-                            .aiRecommendedPolicy(reservation.getAiRecommendedPolicy())
-                            .aiPolicyReason(reservation.getAiPolicyReason())
-                            .aiSuspiciousPattern(reservation.getAiSuspiciousPattern())
-                            .aiDetectionReason(reservation.getAiDetectionReason())
-                            // ⭐ ML 모델 결과 (DB에 저장된 값)
-                            .mlModelUsed(reservation.getMlModelUsed())
-                            .mlModelRiskLevel(reservation.getMlModelRiskLevel())
-                            .mlModelRiskPercent(reservation.getMlModelRiskPercent())
-                            .build();
-                })
-                .sorted(Comparator.comparing(ReservationWithRiskResponse::getRiskScore)) // 위험도 순 정렬
-                .toList();
+        return ReservationWithRiskResponse.builder()
+                .id(row.id())
+                .businessId(row.businessId())
+                .businessName(row.businessName())
+                .businessAddress(row.businessAddress())
+                .memberId(row.memberId())
+                .customerName(row.customerName())
+                .customerPhone(row.customerPhone())
+                .reservationTime(row.reservationTime())
+                .people(row.people())
+                .status(row.status() != null ? row.status().name() : null)
+                .paymentStatus(row.paymentStatus() != null ? row.paymentStatus().name() : null)
+                .paymentAmount(paidAmount)
+                .baseFeeAmount(baseFeeAmount)
+                .appliedFeePercent(appliedFeePercent)
+                .riskPercent(riskPercent)
+                .customerData(customerData)
+                .riskScore(feeBaseScore)
+                .riskLevel(riskLevel)
+                .suspiciousPatterns(patterns)
+                .aiNoshowProbability(row.aiNoshowProbability())
+                .aiRecommendedPolicy(row.aiRecommendedPolicy())
+                .aiPolicyReason(row.aiPolicyReason())
+                .aiSuspiciousPattern(row.aiSuspiciousPattern())
+                .aiDetectionReason(row.aiDetectionReason())
+                .aiEnrichmentStatus(row.aiEnrichmentStatus() != null ? row.aiEnrichmentStatus().name() : null)
+                // ⭐ ML 모델 결과 (DB에 저장된 값)
+                .mlModelUsed(row.mlModelUsed())
+                .mlModelRiskLevel(row.mlModelRiskLevel())
+                .mlModelRiskPercent(row.mlModelRiskPercent())
+                .build();
     }
 
     private double calculateRiskPercent(int riskScore) {
@@ -720,22 +966,11 @@ public class ReservationService {
     }
 
     private double mapRiskPercentToFeePercent(double riskPercent) {
-        if (riskPercent < 30) return 0.0;          // 0~29.99%
-        if (riskPercent < 50) return 10.0;         // 30~49.99%
-        if (riskPercent < 70) return 20.0;         // 50~69.99%
-        if (riskPercent < 90) return 30.0;         // 70~89.99%
-        return 40.0;                               // 90~100%
+        return RiskPricing.feePercentFor(riskPercent);
     }
 
     private double mapMlLabelToRiskPercent(String label) {
-        if (!StringUtils.hasText(label)) return -1;
-        String normalized = label.toLowerCase(Locale.ROOT);
-        return switch (normalized) {
-            case "high" -> 85.0;
-            case "medium" -> 55.0;
-            case "low" -> 25.0;
-            default -> -1;
-        };
+        return RiskPricing.riskPercentOf(label);
     }
 
     private String mapMlLabelToLegacyLevel(String label, String fallback) {
@@ -758,7 +993,7 @@ public class ReservationService {
      * ML 모델이 실패하면 예외를 던집니다.
      */
     private RiskSnapshot applyMlRiskModel(
-            Customer customer,
+            CustomerFeatureSnapshot customer,
             Reservation reservation,
             String paymentMethod
     ) {
@@ -771,7 +1006,7 @@ public class ReservationService {
                         "ML 모델 예측에 실패했습니다. 예약ID: %d, 고객ID: %s, 예약시간: %s. " +
                         "ML 모델 설정이 활성화되어 있는지, Python 스크립트가 정상적으로 실행되는지 확인해주세요.",
                         reservation.getId(),
-                        customer != null ? String.valueOf(customer.getCustomerId()) : "null",
+                        customer != null ? String.valueOf(customer.customerId()) : "null",
                         reservation.getReservationTime() != null ? reservation.getReservationTime().toString() : "null"
                 );
                 log.error("❌ ML 모델 예측 실패 - {}", errorMsg);
@@ -808,7 +1043,8 @@ public class ReservationService {
             log.info("✅ ML 모델 적용 성공 - 예약ID: {}, 위험도 레벨: {}, 위험도 퍼센트: {}%, 위험도 점수: {}, 결제수단: {}",
                     reservation.getId(), mlRiskLevel, adjustedPercent, score, paymentMethod);
             
-            return new RiskSnapshot(score, adjustedPercent, level, true, "SUCCESS", mlRiskLevel, adjustedPercent);
+            String riskFeatures = reservationRiskModelService.features(customer, reservation, paymentMethod).encode();
+            return new RiskSnapshot(score, adjustedPercent, level, true, "SUCCESS", mlRiskLevel, adjustedPercent, riskFeatures);
         } catch (RuntimeException e) {
             // 이미 로깅된 예외는 그대로 재던지기
             throw e;
@@ -830,7 +1066,8 @@ public class ReservationService {
             Boolean mlModelUsed,
             String mlModelResult,
             String mlModelRiskLevel,
-            Double mlModelRiskPercent
+            Double mlModelRiskPercent,
+            String riskFeatures
     ) {
     }
 }
@@ -0,0 +1,191 @@
+package com.olsaram.backend.service.reservation;
+
+import com.olsaram.backend.domain.business.Business;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.repository.BusinessRepository;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 가게별 시간대(슬롯) 예약 인원 인덱스 (메모리)
+ *
+ * - 슬롯 = 예약 시간을 slot-minutes 단위로 내림한 구간, 값 = 확정 전/후 유효 예약 인원 합
+ * - 가게를 처음 조회할 때 ReservationRepository 에서 유효 예약(취소 제외)을 읽어 채움
+ * - 같은 가게의 확인+차감은 가게 ID 기준 lock striping 안에서 원자적으로 처리 (DB 조회 없음)
+ * - 단일 인스턴스 기준. 예약 생성/취소/상태 변경/삭제 시 ReservationService 가 동기화한다.
+ */
+@Component
+@Slf4j
+public class ReservationSlotIndex {
+
+    private static final int STRIPES = 64;
+
+    private final ReservationRepository reservationRepository;
+    private final BusinessRepository businessRepository;
+    private final int slotMinutes;
+    private final int defaultCapacity;
+
+    private final Object[] locks = new Object[STRIPES];
+    private final Map<Long, BusinessSlots> businesses = new ConcurrentHashMap<>();
+
+    public ReservationSlotIndex(
+            ReservationRepository reservationRepository,
+            BusinessRepository businessRepository,
+            @Value("${reservation.capacity.slot-minutes:30}") int slotMinutes,
+            @Value("${reservation.capacity.default-seats-per-slot:40}") int defaultCapacity
+    ) {
+        if (slotMinutes <= 0 || 1440 % slotMinutes != 0) {
+            throw new IllegalArgumentException("reservation.capacity.slot-minutes must divide a day: " + slotMinutes);
+        }
+        this.reservationRepository = reservationRepository;
+        this.businessRepository = businessRepository;
+        this.slotMinutes = slotMinutes;
+        this.defaultCapacity = defaultCapacity;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    /**
+     * 남은 자리가 있으면 차지하고 true, 없으면 아무것도 바꾸지 않고 false
+     */
+    public boolean tryReserve(Long businessId, LocalDateTime time, int people) {
+        long slot = slotOf(time);
+        synchronized (lockOf(businessId)) {
+            BusinessSlots slots = loaded(businessId);
+            int reserved = slots.reserved.getOrDefault(slot, 0);
+            if (reserved + people > slots.capacity) {
+                return false;
+            }
+            slots.reserved.put(slot, reserved + people);
+            return true;
+        }
+    }
+
+    /**
+     * 용량과 관계없이 차지 (사장님 직접 등록/수정 등 이미 확정된 예약 반영)
+     */
+    public void occupy(Long businessId, LocalDateTime time, int people) {
+        long slot = slotOf(time);
+        synchronized (lockOf(businessId)) {
+            loaded(businessId).reserved.merge(slot, people, Integer::sum);
+        }
+    }
+
+    /**
+     * 취소/삭제 등으로 자리 반납
+     */
+    public void release(Long businessId, LocalDateTime time, int people) {
+        long slot = slotOf(time);
+        synchronized (lockOf(businessId)) {
+            BusinessSlots slots = businesses.get(businessId);
+            if (slots == null) {
+                return; // 아직 로드 전이면 다음 로드 때 DB 상태로 채워진다
+            }
+            slots.reserved.computeIfPresent(slot, (key, reserved) -> reserved - people > 0 ? reserved - people : null);
+        }
+    }
+
+    public SlotUsage usage(Long businessId, LocalDateTime time) {
+        long slot = slotOf(time);
+        synchronized (lockOf(businessId)) {
+            BusinessSlots slots = loaded(businessId);
+            return new SlotUsage(slotStart(slot), slots.capacity, slots.reserved.getOrDefault(slot, 0));
+        }
+    }
+
+    public LocalDateTime slotStart(LocalDateTime time) {
+        return slotStart(slotOf(time));
+    }
+
+    /**
+     * 가게 설정(슬롯 용량) 변경 반영. 예약 인원 합계는 메모리 값을 유지한다.
+     */
+    @Scheduled(
+            fixedDelayString = "${reservation.capacity.refresh-interval-ms:300000}",
+            initialDelayString = "${reservation.capacity.refresh-interval-ms:300000}"
+    )
+    public void refreshCapacities() {
+        long expiredBefore = slotOf(LocalDateTime.now().minusDays(1));
+        for (Long businessId : businesses.keySet()) {
+            int capacity = loadCapacity(businessId);
+            synchronized (lockOf(businessId)) {
+                BusinessSlots slots = businesses.get(businessId);
+                if (slots != null) {
+                    slots.capacity = capacity;
+                    slots.reserved.keySet().removeIf(slot -> slot < expiredBefore);
+                }
+            }
+        }
+    }
+
+    private BusinessSlots loaded(Long businessId) {
+        BusinessSlots slots = businesses.get(businessId);
+        if (slots == null) {
+            slots = load(businessId);
+            businesses.put(businessId, slots);
+        }
+        return slots;
+    }
+
+    private BusinessSlots load(Long businessId) {
+        BusinessSlots slots = new BusinessSlots(loadCapacity(businessId));
+        List<Object[]> rows = reservationRepository.findSlotLoad(
+                businessId, LocalDateTime.now().minusDays(1), ReservationStatus.CANCELED);
+        for (Object[] row : rows) {
+            LocalDateTime time = (LocalDateTime) row[0];
+            int people = row[1] != null ? ((Number) row[1]).intValue() : 1;
+            slots.reserved.merge(slotOf(time), people, Integer::sum);
+        }
+        log.debug("예약 슬롯 인덱스 로드 - 가게ID: {}, 예약: {}건, 슬롯 용량: {}명", businessId, rows.size(), slots.capacity);
+        return slots;
+    }
+
+    private int loadCapacity(Long businessId) {
+        return businessRepository.findById(businessId)
+                .map(Business::getSlotCapacity)
+                .filter(capacity -> capacity > 0)
+                .orElse(defaultCapacity);
+    }
+
+    private long slotOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), slotMinutes * 60L);
+    }
+
+    private LocalDateTime slotStart(long slot) {
+        return LocalDateTime.ofEpochSecond(slot * slotMinutes * 60L, 0, ZoneOffset.UTC);
+    }
+
+    private Object lockOf(Long businessId) {
+        return locks[(Long.hashCode(businessId) & 0x7fffffff) % STRIPES];
+    }
+
+    public record SlotUsage(LocalDateTime slotStart, int capacity, int reserved) {
+        public int remaining() {
+            return Math.max(0, capacity - reserved);
+        }
+    }
+
+    private static final class BusinessSlots {
+        private int capacity;
+        private final Map<Long, Integer> reserved = new HashMap<>();
+
+        private BusinessSlots(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.olsaram.backend.service.reservation;
+
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.dto.reservation.ReservationStreamEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 예약 이벤트 → 사장님 예약 스트림(SSE) (커밋 후 전송)
+ * 디스패처가 도는 인스턴스의 구독자에게만 전달된다 (OwnerReservationStreamService 의 단일 인스턴스 제약 참고)
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationStreamOutboxHandler implements ReservationOutboxHandler {
+
+    private final OwnerReservationStreamService reservationStreamService;
+
+    @Override
+    public void handle(ReservationDomainEvent event) {
+        ReservationStreamEvent.Type type = switch (event.getType()) {
+            case CREATED -> ReservationStreamEvent.Type.CREATED;
+            case STATUS_CHANGED, PAYMENT_CONFIRMED -> ReservationStreamEvent.Type.STATUS_CHANGED;
+            case DELETED -> ReservationStreamEvent.Type.DELETED;
+        };
+
+        reservationStreamService.publish(ReservationStreamEvent.builder()
+                .type(type)
+                .reservationId(event.getReservationId())
+                .businessId(event.getBusinessId())
+                .status(event.getStatus())
+                .paymentStatus(event.getPaymentStatus())
+                .aiEnrichmentStatus(event.getAiEnrichmentStatus())
+                .reservationTime(event.getReservationTime())
+                .occurredAt(event.getOccurredAt())
+                .build());
+    }
+}
@@ -1,7 +1,8 @@
 package com.olsaram.backend.service.reservation;
 
-import com.olsaram.backend.domain.customer.Customer;
+import com.olsaram.backend.domain.reservation.PaymentStatus;
 import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.service.customer.CustomerFeatureSnapshot;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -18,18 +19,50 @@ public class RiskCalculationService {
      * 노쇼 위험도 점수 계산 (0~100점)
      * 점수가 낮을수록 위험함
      */
-    public int calculateRiskScore(Customer customer, Reservation reservation) {
-        int score = 100;
+    public int calculateRiskScore(CustomerFeatureSnapshot customer, Reservation reservation) {
+        if (customer == null) return 100;
+
+        return calculateRiskScore(
+                customer.noShowCount(),
+                customer.completedCount(),
+                customer.customerCreatedAt(),
+                reservation != null ? reservation.getPaymentStatus() : null,
+                reservation != null ? reservation.getPeople() : null
+        );
+    }
 
-        if (customer == null) return score;
+    /**
+     * 엔티티 없이 컬럼 값만으로 위험도 점수 계산 (프로젝션 조회용)
+     */
+    public int calculateRiskScore(
+            Integer customerNoShowCount,
+            Integer customerReservationCount,
+            LocalDateTime customerCreatedAt,
+            PaymentStatus paymentStatus,
+            Integer people) {
+        return calculateRiskScore(customerNoShowCount, customerReservationCount, customerCreatedAt,
+                paymentStatus, people, LocalDateTime.now());
+    }
+
+    /**
+     * asOf 시점 기준 위험도 점수 (백테스트에서 과거 예약 시점으로 계산할 때 사용)
+     */
+    public int calculateRiskScore(
+            Integer customerNoShowCount,
+            Integer customerReservationCount,
+            LocalDateTime customerCreatedAt,
+            PaymentStatus paymentStatus,
+            Integer people,
+            LocalDateTime asOf) {
+        int score = 100;
 
         // 1. 노쇼 이력 벌점 (최대 -50점)
-        int noshowCount = customer.getNoShowCount() != null ? customer.getNoShowCount() : 0;
+        int noshowCount = customerNoShowCount != null ? customerNoShowCount : 0;
         int noshowPenalty = Math.min(noshowCount * 15, 50);
         score -= noshowPenalty;
 
         // 2. 예약 대비 노쇼 비율 (최대 -20점)
-        int totalReservations = customer.getReservationCount() != null ? customer.getReservationCount() : 0;
+        int totalReservations = customerReservationCount != null ? customerReservationCount : 0;
         if (totalReservations > 0) {
             double noshowRate = (double) noshowCount / totalReservations;
             if (noshowRate > 0.5) score -= 20;
@@ -38,9 +71,7 @@ public class RiskCalculationService {
         }
 
         // 3. 선결제 여부
-        boolean hasPrepaid = reservation != null &&
-                reservation.getPaymentStatus() != null &&
-                "PAID".equals(reservation.getPaymentStatus().name());
+        boolean hasPrepaid = paymentStatus != null && "PAID".equals(paymentStatus.name());
         if (hasPrepaid) {
             score += 10;
         } else {
@@ -48,13 +79,13 @@ public class RiskCalculationService {
         }
 
         // 4. 신규 고객 여부 (최대 -10점)
-        int accountAgeDays = calculateAccountAgeDays(customer.getCreatedAt());
+        int accountAgeDays = calculateAccountAgeDays(customerCreatedAt, asOf);
         if (accountAgeDays < 7 && totalReservations == 0) {
             score -= 10;
         }
 
         // 5. 대규모 예약 패턴 (최대 -10점)
-        int partySize = reservation != null && reservation.getPeople() != null ? reservation.getPeople() : 0;
+        int partySize = people != null ? people : 0;
         if (partySize >= 8 && totalReservations == 0) {
             score -= 10;
         }
@@ -81,15 +112,42 @@ public class RiskCalculationService {
     /**
      * 위험 요소 분석
      */
-    public List<String> analyzeSuspiciousPatterns(Customer customer, Reservation reservation) {
-        List<String> patterns = new ArrayList<>();
+    public List<String> analyzeSuspiciousPatterns(CustomerFeatureSnapshot customer, Integer people) {
+        if (customer == null) return new ArrayList<>();
+
+        List<String> patterns = analyzeSuspiciousPatterns(
+                customer.noShowCount(),
+                customer.completedCount(),
+                customer.customerCreatedAt(),
+                people
+        );
+
+        if (customer.lastMinuteCancelCount() > 0) {
+            patterns.add(String.format("예약 직전 취소 %d회", customer.lastMinuteCancelCount()));
+        }
 
-        if (customer == null) return patterns;
+        // 최근 이력 기준 노쇼율 (오래된 이력보다 최근 행동을 크게 반영)
+        if (customer.recentNoShowRate() != null && customer.recentNoShowRate() > 0.3) {
+            patterns.add(String.format("최근 노쇼 비율 %.0f%%로 높음", customer.recentNoShowRate() * 100));
+        }
+
+        return patterns;
+    }
+
+    /**
+     * 엔티티 없이 컬럼 값만으로 위험 요소 분석 (프로젝션 조회용)
+     */
+    public List<String> analyzeSuspiciousPatterns(
+            Integer customerNoShowCount,
+            Integer customerReservationCount,
+            LocalDateTime customerCreatedAt,
+            Integer people) {
+        List<String> patterns = new ArrayList<>();
 
-        int noshowCount = customer.getNoShowCount() != null ? customer.getNoShowCount() : 0;
-        int totalReservations = customer.getReservationCount() != null ? customer.getReservationCount() : 0;
-        int accountAgeDays = calculateAccountAgeDays(customer.getCreatedAt());
-        int partySize = reservation != null && reservation.getPeople() != null ? reservation.getPeople() : 0;
+        int noshowCount = customerNoShowCount != null ? customerNoShowCount : 0;
+        int totalReservations = customerReservationCount != null ? customerReservationCount : 0;
+        int accountAgeDays = calculateAccountAgeDays(customerCreatedAt, LocalDateTime.now());
+        int partySize = people != null ? people : 0;
 
         if (noshowCount > 0) {
             patterns.add(String.format("타 가게 노쇼 이력 %d회 발견", noshowCount));
@@ -140,10 +198,10 @@ public class RiskCalculationService {
     }
 
     /**
-     * 가입일로부터 경과 일수 계산
+     * 가입일로부터 asOf 까지 경과 일수 계산
      */
-    private int calculateAccountAgeDays(LocalDateTime createdAt) {
+    private int calculateAccountAgeDays(LocalDateTime createdAt, LocalDateTime asOf) {
         if (createdAt == null) return 365; // 기본값: 오래된 계정으로 취급
-        return (int) ChronoUnit.DAYS.between(createdAt.toLocalDate(), LocalDateTime.now().toLocalDate());
+        return (int) ChronoUnit.DAYS.between(createdAt.toLocalDate(), asOf.toLocalDate());
     }
 }
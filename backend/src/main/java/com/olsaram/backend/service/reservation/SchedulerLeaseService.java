@@ -0,0 +1,78 @@
+package com.olsaram.backend.service.reservation;
+
+import com.olsaram.backend.domain.reservation.SchedulerLease;
+import com.olsaram.backend.repository.reservation.SchedulerLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DB lease 기반 단일 실행 보장 (lease 를 가진 인스턴스만 해당 스케줄러를 실행)
+ *
+ * lease 는 만료 전에 주기적으로 연장해야 하며, 인스턴스가 죽으면 만료 후 다른 인스턴스가 인수한다.
+ * 만료 판단은 각 인스턴스 시계 기준이므로 lease 길이는 서버 간 시계 오차보다 충분히 길게 잡는다.
+ */
+@Service
+@Slf4j
+public class SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final String ownerId;
+
+    public SchedulerLeaseService(SchedulerLeaseRepository leaseRepository) {
+        this.leaseRepository = leaseRepository;
+        this.ownerId = hostName() + ":" + UUID.randomUUID();
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    /**
+     * lease 획득 또는 연장. 다른 인스턴스가 유효한 lease 를 가지고 있으면 false.
+     */
+    public boolean tryAcquire(String leaseName, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(duration);
+        try {
+            if (leaseRepository.acquire(leaseName, ownerId, now, expiresAt) == 1) {
+                return true;
+            }
+            if (leaseRepository.existsById(leaseName)) {
+                return false;
+            }
+            leaseRepository.saveAndFlush(SchedulerLease.builder()
+                    .leaseName(leaseName)
+                    .ownerId(ownerId)
+                    .expiresAt(expiresAt)
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false; // 다른 인스턴스가 동시에 처음 생성
+        } catch (Exception e) {
+            log.warn("⚠️ 스케줄러 lease 갱신 실패 - {}: {}", leaseName, e.getMessage());
+            return false;
+        }
+    }
+
+    public void release(String leaseName) {
+        try {
+            leaseRepository.release(leaseName, ownerId, LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("⚠️ 스케줄러 lease 반납 실패 - {}: {}", leaseName, e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.olsaram.backend.service.risk;
+
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.dto.ai.AiNoshowResponse;
+import com.olsaram.backend.service.ai.AiNoshowRequestFactory;
+import com.olsaram.backend.service.ai.AiNoshowService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * AI 서버 노쇼 확률 (AiNoshowService - 장애 시 empty)
+ */
+@Component
+@RequiredArgsConstructor
+public class AiRiskScorer implements RiskScorer {
+
+    public static final String NAME = "ai";
+
+    private final AiNoshowService aiNoshowService;
+    private final AiNoshowRequestFactory aiNoshowRequestFactory;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Optional<RiskScore> score(RiskScoringInput input) {
+        Reservation reservation = input.reservation();
+        if (reservation == null || reservation.getReservationTime() == null) {
+            return Optional.empty();
+        }
+
+        List<Reservation> todayReservations = reservation.getBusinessId() != null
+                ? aiNoshowRequestFactory.findTodayReservations(reservation.getBusinessId())
+                : List.of();
+        String paymentMethod = StringUtils.hasText(input.paymentMethod()) ? input.paymentMethod() : "CARD";
+        AiNoshowResponse response = aiNoshowService.safePredict(
+                aiNoshowRequestFactory.build(reservation, paymentMethod, input.customer(), todayReservations));
+        if (response == null || response.getNoshowProbability() == null) {
+            return Optional.empty();
+        }
+
+        double probability = response.getNoshowProbability();
+        double percent = Math.max(0, Math.min(100, probability > 1 ? probability : probability * 100));
+        int score = (int) Math.round(100 - percent);
+        String level = score >= 70 ? "LOW" : (score >= 40 ? "MEDIUM" : "HIGH");
+
+        return Optional.of(new RiskScore(NAME, score, level, () -> {
+            List<String> factors = new ArrayList<>();
+            if (response.getSuspiciousResult() != null
+                    && StringUtils.hasText(response.getSuspiciousResult().getSuspiciousPattern())) {
+                factors.add(response.getSuspiciousResult().getSuspiciousPattern());
+            }
+            String reason = response.getPolicyRecommendation() != null
+                    && StringUtils.hasText(response.getPolicyRecommendation().getReason())
+                    ? response.getPolicyRecommendation().getReason()
+                    : String.format("AI 노쇼 확률 %.0f%%", percent);
+            return new RiskExplanation(reason, factors);
+        }));
+    }
+}
@@ -0,0 +1,96 @@
+package com.olsaram.backend.service.risk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olsaram.backend.config.ReservationRiskModelProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 내보낸 RandomForest 모델(JSON)을 JVM 안에서 평가하는 백엔드 (Python 불필요)
+ * 모델 파일이 바뀌면 주기적으로 감지하여 다시 로드한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JavaRiskModelEvaluator {
+
+    private final ReservationRiskModelProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private volatile RandomForestRiskModel model;
+    private volatile long loadedLastModified = -1;
+
+    @PostConstruct
+    public void init() {
+        if (properties.isEnabled() && properties.getBackend() != ReservationRiskModelProperties.Backend.PYTHON) {
+            reloadIfChanged();
+        }
+    }
+
+    public Optional<RandomForestRiskModel> currentModel() {
+        return Optional.ofNullable(model);
+    }
+
+    public Optional<ReservationRiskPrediction> predict(ReservationRiskFeatures features) {
+        RandomForestRiskModel current = model;
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        double[] proba = new double[current.getClassCount()];
+        int predicted = current.predictProba(features, proba);
+        return Optional.of(toPrediction(current, predicted, proba));
+    }
+
+    static ReservationRiskPrediction toPrediction(RandomForestRiskModel model, int predicted, double[] proba) {
+        Map<String, Double> probaByClass = new LinkedHashMap<>();
+        for (int c = 0; c < model.getClassCount(); c++) {
+            probaByClass.put(model.getClassLabel(c), proba[c]);
+        }
+
+        ReservationRiskPrediction prediction = new ReservationRiskPrediction();
+        prediction.setRiskLevel(model.getClassLabel(predicted));
+        prediction.setProba(probaByClass);
+        return prediction;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${risk-model.reload-check-interval-ms:60000}",
+            initialDelayString = "${risk-model.reload-check-interval-ms:60000}"
+    )
+    public void reloadIfChanged() {
+        if (!properties.isEnabled() || properties.getBackend() == ReservationRiskModelProperties.Backend.PYTHON) {
+            return;
+        }
+
+        File file = new File(RiskModelPaths.resolvePath(properties.getPortableModelPath()));
+        if (!file.exists()) {
+            if (model == null) {
+                log.error("❌ JVM 위험도 모델 파일이 없습니다: {} (train_reservation_risk_model.py --portable-output)", file);
+            }
+            return;
+        }
+
+        long lastModified = file.lastModified();
+        if (lastModified == loadedLastModified) {
+            return;
+        }
+
+        try {
+            RandomForestRiskModel loaded = RandomForestRiskModel.load(file.toPath(), objectMapper);
+            model = loaded;
+            loadedLastModified = lastModified;
+            log.info("✅ JVM 위험도 모델 로드 완료 - 파일: {}, 버전: {}", file, loaded.getVersion());
+        } catch (Exception e) {
+            log.error("❌ JVM 위험도 모델 로드 실패 - 파일: {}, 오류: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.olsaram.backend.service.risk;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * ML 모델 위험도 (ReservationRiskModelService - 설정된 백엔드로 예측)
+ */
+@Component
+@RequiredArgsConstructor
+public class MlRiskScorer implements RiskScorer {
+
+    public static final String NAME = "ml";
+
+    private final ReservationRiskModelService reservationRiskModelService;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Optional<RiskScore> score(RiskScoringInput input) {
+        return reservationRiskModelService
+                .predict(input.customer(), input.reservation(), input.paymentMethod())
+                .flatMap(MlRiskScorer::toScore);
+    }
+
+    static Optional<RiskScore> toScore(ReservationRiskPrediction prediction) {
+        double percent = RiskPricing.expectedRiskPercent(prediction);
+        if (percent < 0) {
+            return Optional.empty();
+        }
+        int score = (int) Math.round(100 - Math.max(0, Math.min(100, percent)));
+        String label = prediction.getRiskLevel();
+        String level = label != null ? label.toUpperCase(Locale.ROOT) : "MEDIUM";
+
+        return Optional.of(new RiskScore(NAME, score, level, () -> {
+            Map<String, Double> proba = prediction.getProba();
+            List<String> factors = proba == null ? List.of() : proba.entrySet().stream()
+                    .map(entry -> String.format("%s %.0f%%", entry.getKey(), entry.getValue() * 100))
+                    .toList();
+            return new RiskExplanation("ML 모델 예측 위험도 " + label, factors);
+        }));
+    }
+}
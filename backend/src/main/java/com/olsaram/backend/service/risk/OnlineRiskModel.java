@@ -0,0 +1,218 @@
+package com.olsaram.backend.service.risk;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 예약 결과로 바로 학습하는 노쇼 확률 모델 (해시 피처 로지스틱 회귀 + AdaGrad SGD)
+ *
+ * - 입력 피처를 "이름=값" 문자열로 만들고 2^hashBits 칸 가중치 배열에 해시 (교차 피처 포함, 사전 없음)
+ * - 가게 요일 × 시간대 노쇼율 구간도 피처로 쓴다 (피처를 더해도 해시 칸만 늘어서 체크포인트는 그대로 호환)
+ * - 결과 하나(방문 완료 0 / 노쇼 1)마다 로그 손실 기울기로 해당 칸만 갱신 → 갱신 비용은 피처 수에 비례
+ * - 칸별 AdaGrad 학습률이라 자주 나오는 피처는 천천히, 드문 피처는 빠르게 학습
+ * - 예측은 잠금 없이 읽는다 (갱신 중인 가중치를 읽어도 한 번의 예측이 약간 달라질 뿐)
+ */
+public final class OnlineRiskModel {
+
+    private static final int MAGIC = 0x4F524F4C; // "OROL"
+    private static final int FORMAT_VERSION = 1;
+    private static final double MAX_MARGIN = 30;
+
+    private final int hashBits;
+    private final int mask;
+    private final double learningRate;
+    private final double l2;
+    private final float[] weights;
+    private final float[] gradSquares;
+
+    private volatile long samples;
+    private volatile long noShows;
+
+    public OnlineRiskModel(int hashBits, double learningRate, double l2) {
+        this(hashBits, learningRate, l2, new float[1 << hashBits], new float[1 << hashBits], 0, 0);
+    }
+
+    private OnlineRiskModel(int hashBits, double learningRate, double l2,
+                            float[] weights, float[] gradSquares, long samples, long noShows) {
+        if (hashBits < 4 || hashBits > 26) {
+            throw new IllegalArgumentException("hashBits must be between 4 and 26: " + hashBits);
+        }
+        this.hashBits = hashBits;
+        this.mask = (1 << hashBits) - 1;
+        this.learningRate = learningRate;
+        this.l2 = l2;
+        this.weights = weights;
+        this.gradSquares = gradSquares;
+        this.samples = samples;
+        this.noShows = noShows;
+    }
+
+    public int getHashBits() {
+        return hashBits;
+    }
+
+    /** 학습한 결과 수 */
+    public long getSamples() {
+        return samples;
+    }
+
+    public long getNoShows() {
+        return noShows;
+    }
+
+    /**
+     * 노쇼 확률 (0~1)
+     */
+    public double predict(ReservationRiskFeatures features) {
+        return sigmoid(margin(indexes(features)));
+    }
+
+    /**
+     * 결과 하나로 한 스텝 학습하고, 학습 전 예측 확률을 반환한다 (온라인 로그 손실 모니터링용)
+     */
+    public synchronized double update(ReservationRiskFeatures features, boolean noShow) {
+        int[] indexes = indexes(features);
+        double p = sigmoid(margin(indexes));
+        double gradient = p - (noShow ? 1 : 0);
+
+        for (int index : indexes) {
+            double g = gradient + l2 * weights[index];
+            gradSquares[index] += (float) (g * g);
+            weights[index] -= (float) (learningRate * g / Math.sqrt(gradSquares[index] + 1e-8));
+        }
+
+        samples++;
+        if (noShow) {
+            noShows++;
+        }
+        return p;
+    }
+
+    private double margin(int[] indexes) {
+        double sum = 0;
+        for (int index : indexes) {
+            sum += weights[index];
+        }
+        return Math.max(-MAX_MARGIN, Math.min(MAX_MARGIN, sum));
+    }
+
+    private static double sigmoid(double margin) {
+        return 1.0 / (1.0 + Math.exp(-margin));
+    }
+
+    /**
+     * 피처 → 가중치 칸 (범주형은 그대로, 횟수형은 구간으로 묶고 주요 교차 피처를 추가)
+     */
+    int[] indexes(ReservationRiskFeatures features) {
+        String noshow = bucket(features.noshowCount(), 0, 1, 2, 3, 5);
+        String reservations = bucket(features.reservationCount(), 0, 1, 3, 5, 10, 20);
+        String party = bucket(features.partySize(), 1, 2, 4, 6, 8, 12);
+        String hour = Integer.toString(features.hour());
+        String slot = features.slotNoShowPercent() < 0 ? "unknown" : bucket(features.slotNoShowPercent(), 0, 5, 10, 20, 35, 50);
+
+        String[] names = {
+                "bias",
+                "noshow=" + noshow,
+                "reservations=" + reservations,
+                "weekday=" + features.weekday(),
+                "hour=" + hour,
+                "party=" + party,
+                "payment=" + features.paymentMethod(),
+                "noshow*reservations=" + noshow + "|" + reservations,
+                "weekday*hour=" + features.weekday() + "|" + hour,
+                "noshow*party=" + noshow + "|" + party,
+                "payment*noshow=" + features.paymentMethod() + "|" + noshow,
+                "slot_noshow=" + slot,
+                "slot_noshow*noshow=" + slot + "|" + noshow
+        };
+
+        int[] indexes = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            indexes[i] = hash(names[i]) & mask;
+        }
+        return indexes;
+    }
+
+    /** 경계값 이상인 가장 큰 구간 이름 ("3+" 등) */
+    private static String bucket(int value, int... bounds) {
+        String name = "<" + bounds[0];
+        for (int bound : bounds) {
+            if (value >= bound) {
+                name = bound + "+";
+            }
+        }
+        return name;
+    }
+
+    /** FNV-1a 32bit + 최종 섞기 (String.hashCode 보다 하위 비트 분포가 고르다) */
+    private static int hash(String value) {
+        int h = 0x811C9DC5;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 교체 (읽는 쪽이 반쯤 쓴 파일을 보지 않도록)
+     */
+    public synchronized void writeTo(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "risk-online", ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(hashBits);
+            out.writeLong(samples);
+            out.writeLong(noShows);
+            for (float weight : weights) {
+                out.writeFloat(weight);
+            }
+            for (float gradSquare : gradSquares) {
+                out.writeFloat(gradSquare);
+            }
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 체크포인트 읽기 (학습률/정규화는 현재 설정을 사용)
+     */
+    public static OnlineRiskModel readFrom(Path path, double learningRate, double l2) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an online risk model checkpoint: " + path);
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported online risk model checkpoint version: " + version);
+            }
+            int hashBits = in.readInt();
+            long samples = in.readLong();
+            long noShows = in.readLong();
+            float[] weights = new float[1 << hashBits];
+            float[] gradSquares = new float[1 << hashBits];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = in.readFloat();
+            }
+            for (int i = 0; i < gradSquares.length; i++) {
+                gradSquares[i] = in.readFloat();
+            }
+            return new OnlineRiskModel(hashBits, learningRate, l2, weights, gradSquares, samples, noShows);
+        }
+    }
+}
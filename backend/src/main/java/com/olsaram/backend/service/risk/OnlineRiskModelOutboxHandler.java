@@ -0,0 +1,56 @@
+package com.olsaram.backend.service.risk;
+
+import com.olsaram.backend.domain.reservation.ReservationEventType;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import com.olsaram.backend.service.reservation.ReservationOutboxHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 방문 완료/노쇼 이벤트 → 온라인 위험도 모델 학습
+ *
+ * 예약 시점에 모델에 넣었던 피처(reservation.risk_features)를 그대로 쓰므로 결과가 피처에 섞이지 않는다.
+ * outbox 트랜잭션이 커밋된 뒤에 학습해서 재시도로 같은 결과를 두 번 학습하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OnlineRiskModelOutboxHandler implements ReservationOutboxHandler {
+
+    private final OnlineRiskModelService onlineRiskModelService;
+    private final ReservationRepository reservationRepository;
+
+    @Override
+    public void handle(ReservationDomainEvent event) {
+        if (event.getType() != ReservationEventType.STATUS_CHANGED || !event.isStatusChanged()) {
+            return;
+        }
+        boolean noShow = event.isNoShow();
+        if (!noShow && !ReservationStatus.COMPLETED.name().equals(event.getStatus())) {
+            return;
+        }
+        if (!onlineRiskModelService.isLearning()) {
+            return;
+        }
+
+        reservationRepository.findRiskFeatures(event.getReservationId())
+                .flatMap(ReservationRiskFeatures::decode)
+                .ifPresent(features -> afterCommit(() -> onlineRiskModelService.learn(features, noShow)));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.olsaram.backend.service.risk;
+
+import com.olsaram.backend.config.ReservationRiskModelProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 온라인 학습 위험도 모델 관리 (backend=ONLINE 일 때 예측에 사용)
+ *
+ * - 시작 시 체크포인트를 읽어 이어서 학습하고, checkpoint-interval-ms 마다(그리고 종료 시) 가중치를 파일로 저장
+ * - 예약이 방문 완료/노쇼로 바뀌면 예약 시점에 모델에 넣었던 피처로 한 스텝 학습 (OnlineRiskModelOutboxHandler)
+ * - min-samples 만큼 학습하기 전에는 예측하지 않는다 (호출한 쪽이 기존 백엔드로 대체)
+ * - 인스턴스마다 자기 outbox 가 전달한 결과로 학습하므로 여러 대로 띄우면 모델이 인스턴스별로 조금씩 다르다
+ */
+@Component
+@Slf4j
+public class OnlineRiskModelService {
+
+    private final ReservationRiskModelProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong unsavedUpdates = new AtomicLong();
+
+    private volatile OnlineRiskModel model;
+
+    public OnlineRiskModelService(ReservationRiskModelProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("risk_model.online.samples", this,
+                service -> service.model != null ? service.model.getSamples() : 0);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ReservationRiskModelProperties.Online online = properties.getOnline();
+        Path path = checkpointPath();
+        if (Files.exists(path)) {
+            try {
+                model = OnlineRiskModel.readFrom(path, online.getLearningRate(), online.getL2());
+                log.info("✅ 온라인 위험도 모델 체크포인트 로드 - 파일: {}, 학습 결과: {}건 (노쇼 {}건)",
+                        path, model.getSamples(), model.getNoShows());
+                return;
+            } catch (Exception e) {
+                log.error("❌ 온라인 위험도 모델 체크포인트 로드 실패 - 새 모델로 시작: {}", e.getMessage());
+            }
+        }
+        model = new OnlineRiskModel(online.getHashBits(), online.getLearningRate(), online.getL2());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    public boolean isLearning() {
+        return model != null && properties.getOnline().isLearningEnabled();
+    }
+
+    public boolean isReady() {
+        OnlineRiskModel current = model;
+        return current != null && current.getSamples() >= properties.getOnline().getMinSamples();
+    }
+
+    public Optional<ReservationRiskPrediction> predict(ReservationRiskFeatures features) {
+        if (!isReady()) {
+            return Optional.empty();
+        }
+
+        ReservationRiskModelProperties.Online online = properties.getOnline();
+        double probability = model.predict(features);
+        String level = probability >= online.getHighThreshold()
+                ? "high"
+                : probability >= online.getMediumThreshold() ? "medium" : "low";
+
+        Map<String, Double> proba = new LinkedHashMap<>();
+        proba.put("noshow", probability);
+        proba.put("show", 1 - probability);
+
+        ReservationRiskPrediction prediction = new ReservationRiskPrediction();
+        prediction.setRiskLevel(level);
+        prediction.setProba(proba);
+        return Optional.of(prediction);
+    }
+
+    /**
+     * 예약 결과 하나로 학습 (노쇼 = true, 방문 완료 = false)
+     */
+    public void learn(ReservationRiskFeatures features, boolean noShow) {
+        if (!isLearning()) {
+            return;
+        }
+        double predicted = model.update(features, noShow);
+        unsavedUpdates.incrementAndGet();
+
+        // 학습 전 예측의 로그 손실 = 처음 보는 데이터에 대한 성능 (progressive validation)
+        double p = Math.max(1e-15, Math.min(1 - 1e-15, predicted));
+        meterRegistry.summary("risk_model.online.log_loss").record(noShow ? -Math.log(p) : -Math.log(1 - p));
+        meterRegistry.counter("risk_model.online.updates", "label", noShow ? "noshow" : "completed").increment();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${risk-model.online.checkpoint-interval-ms:60000}",
+            initialDelayString = "${risk-model.online.checkpoint-interval-ms:60000}"
+    )
+    public void checkpoint() {
+        OnlineRiskModel current = model;
+        long pending = unsavedUpdates.get();
+        if (current == null || pending == 0) {
+            return;
+        }
+        Path path = checkpointPath();
+        try {
+            current.writeTo(path);
+            unsavedUpdates.addAndGet(-pending);
+            log.info("💾 온라인 위험도 모델 체크포인트 저장 - 파일: {}, 학습 결과: {}건", path, current.getSamples());
+        } catch (Exception e) {
+            log.error("❌ 온라인 위험도 모델 체크포인트 저장 실패 - 파일: {}, 오류: {}", path, e.getMessage());
+        }
+    }
+
+    private Path checkpointPath() {
+        return Paths.get(RiskModelPaths.resolvePath(properties.getOnline().getCheckpointPath()));
+    }
+}
@@ -0,0 +1,264 @@
+package com.olsaram.backend.service.risk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * train_reservation_risk_model.py 가 내보낸 RandomForest(olsaram-rf-v1)를 JVM 에서 평가
+ *
+ * 트리 노드는 평탄한 primitive 배열(feature/threshold/left/right)로 보관하고,
+ * 리프는 feature = -1, left = leaf_proba 행 번호로 표현한다.
+ * 예측 시 스레드별 입력 벡터를 재사용하므로 호출당 객체를 할당하지 않는다.
+ * 결과는 pipeline.predict_proba 와 동일하다 (입력이 정수/원-핫이라 float32 변환 오차 없음).
+ */
+public final class RandomForestRiskModel {
+
+    public static final String FORMAT = "olsaram-rf-v1";
+
+    private final String version;
+    private final String[] classes;
+    private final int featureCount;
+
+    // 원-핫 인코딩: 카테고리 → 코드, 컬럼 시작 위치
+    private final Map<String, Integer> weekdayCodes;
+    private final Map<String, Integer> paymentMethodCodes;
+    private final int weekdayOffset;
+    private final int paymentMethodOffset;
+
+    // passthrough 숫자 컬럼 위치
+    private final int noshowCountSlot;
+    private final int reservationCountSlot;
+    private final int hourSlot;
+    private final int partySizeSlot;
+
+    private final int[] treeRoots;
+    private final int[] feature;
+    private final double[] threshold;
+    private final int[] left;
+    private final int[] right;
+    private final double[] leafProba;
+
+    private final ThreadLocal<double[]> inputVector;
+
+    private RandomForestRiskModel(String version, JsonNode root) {
+        if (!FORMAT.equals(root.path("format").asText())) {
+            throw new IllegalArgumentException("Unsupported model format: " + root.path("format").asText());
+        }
+
+        this.version = version;
+        this.classes = toStringArray(root.path("classes"));
+
+        Map<String, Integer> weekdays = null;
+        Map<String, Integer> paymentMethods = null;
+        int weekdayStart = -1;
+        int paymentMethodStart = -1;
+        int column = 0;
+
+        for (JsonNode spec : root.path("categorical")) {
+            String name = spec.path("column").asText();
+            Map<String, Integer> codes = new HashMap<>();
+            for (JsonNode category : spec.path("categories")) {
+                codes.put(category.asText(), codes.size());
+            }
+            if ("weekday".equals(name)) {
+                weekdays = codes;
+                weekdayStart = column;
+            } else if ("payment_method".equals(name)) {
+                paymentMethods = codes;
+                paymentMethodStart = column;
+            } else {
+                throw new IllegalArgumentException("Unknown categorical column: " + name);
+            }
+            column += codes.size();
+        }
+
+        if (weekdays == null || paymentMethods == null) {
+            throw new IllegalArgumentException("Model must encode weekday and payment_method");
+        }
+
+        int[] numericSlots = {-1, -1, -1, -1};
+        for (JsonNode numeric : root.path("numeric")) {
+            switch (numeric.asText()) {
+                case "noshow_count" -> numericSlots[0] = column;
+                case "reservation_count" -> numericSlots[1] = column;
+                case "hour" -> numericSlots[2] = column;
+                case "party_size" -> numericSlots[3] = column;
+                default -> throw new IllegalArgumentException("Unknown numeric column: " + numeric.asText());
+            }
+            column++;
+        }
+        for (int slot : numericSlots) {
+            if (slot < 0) {
+                throw new IllegalArgumentException("Model is missing a numeric feature column");
+            }
+        }
+
+        this.weekdayCodes = weekdays;
+        this.paymentMethodCodes = paymentMethods;
+        this.weekdayOffset = weekdayStart;
+        this.paymentMethodOffset = paymentMethodStart;
+        this.noshowCountSlot = numericSlots[0];
+        this.reservationCountSlot = numericSlots[1];
+        this.hourSlot = numericSlots[2];
+        this.partySizeSlot = numericSlots[3];
+        this.featureCount = column;
+
+        this.treeRoots = toIntArray(root.path("tree_roots"));
+        this.feature = toIntArray(root.path("feature"));
+        this.threshold = toDoubleArray(root.path("threshold"));
+        this.left = toIntArray(root.path("left"));
+        this.right = toIntArray(root.path("right"));
+        this.leafProba = toDoubleArray(root.path("leaf_proba"));
+
+        if (treeRoots.length == 0 || classes.length == 0
+                || feature.length != threshold.length || feature.length != left.length || feature.length != right.length) {
+            throw new IllegalArgumentException("Corrupted tree arrays");
+        }
+
+        int width = featureCount;
+        this.inputVector = ThreadLocal.withInitial(() -> new double[width]);
+    }
+
+    public static RandomForestRiskModel load(Path path, ObjectMapper objectMapper) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        return new RandomForestRiskModel(sha256(bytes), objectMapper.readTree(bytes));
+    }
+
+    /**
+     * 모델 파일 내용 해시 (룩업 테이블 등 파생 데이터의 버전 키로 사용)
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public int getClassCount() {
+        return classes.length;
+    }
+
+    public String getClassLabel(int classIndex) {
+        return classes[classIndex];
+    }
+
+    public int weekdayCode(String weekday) {
+        Integer code = weekdayCodes.get(weekday);
+        return code != null ? code : -1;
+    }
+
+    public int paymentMethodCode(String paymentMethod) {
+        Integer code = paymentMethodCodes.get(paymentMethod);
+        return code != null ? code : -1;
+    }
+
+    public int weekdayCategoryCount() {
+        return weekdayCodes.size();
+    }
+
+    public int paymentMethodCategoryCount() {
+        return paymentMethodCodes.size();
+    }
+
+    public int predictProba(ReservationRiskFeatures features, double[] out) {
+        return predictProba(
+                features.noshowCount(),
+                features.reservationCount(),
+                weekdayCode(features.weekday()),
+                features.hour(),
+                features.partySize(),
+                paymentMethodCode(features.paymentMethod()),
+                out
+        );
+    }
+
+    /**
+     * 클래스별 확률을 out 에 채우고 예측 클래스 인덱스를 반환한다.
+     * 카테고리 코드가 -1 이면 OneHotEncoder(handle_unknown="ignore")처럼 모든 열을 0 으로 둔다.
+     */
+    public int predictProba(
+            int noshowCount,
+            int reservationCount,
+            int weekdayCode,
+            int hour,
+            int partySize,
+            int paymentMethodCode,
+            double[] out
+    ) {
+        double[] x = inputVector.get();
+        Arrays.fill(x, 0.0);
+        if (weekdayCode >= 0) {
+            x[weekdayOffset + weekdayCode] = 1.0;
+        }
+        if (paymentMethodCode >= 0) {
+            x[paymentMethodOffset + paymentMethodCode] = 1.0;
+        }
+        // sklearn 은 입력을 float32 로 변환한 뒤 비교한다
+        x[noshowCountSlot] = (float) noshowCount;
+        x[reservationCountSlot] = (float) reservationCount;
+        x[hourSlot] = (float) hour;
+        x[partySizeSlot] = (float) partySize;
+
+        int classCount = classes.length;
+        Arrays.fill(out, 0, classCount, 0.0);
+
+        for (int tree = 0; tree < treeRoots.length; tree++) {
+            int node = treeRoots[tree];
+            while (feature[node] >= 0) {
+                node = x[feature[node]] <= threshold[node] ? left[node] : right[node];
+            }
+            int base = left[node] * classCount;
+            for (int c = 0; c < classCount; c++) {
+                out[c] += leafProba[base + c];
+            }
+        }
+
+        int best = 0;
+        for (int c = 0; c < classCount; c++) {
+            out[c] /= treeRoots.length;
+            if (out[c] > out[best]) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String[] toStringArray(JsonNode node) {
+        String[] values = new String[node.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = node.get(i).asText();
+        }
+        return values;
+    }
+
+    private static int[] toIntArray(JsonNode node) {
+        int[] values = new int[node.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = node.get(i).asInt();
+        }
+        return values;
+    }
+
+    private static double[] toDoubleArray(JsonNode node) {
+        double[] values = new double[node.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = node.get(i).asDouble();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,83 @@
+package com.olsaram.backend.service.risk;
+
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.service.customer.CustomerFeatureSnapshot;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.format.TextStyle;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * ML 위험도 모델 입력 피처 (train_reservation_risk_model.py 의 컬럼과 동일)
+ *
+ * slotNoShowPercent: 가게의 같은 요일 × 시간대 노쇼율 (BusinessSlotHeatmapStore, 모르면 -1).
+ * 온라인 모델만 사용하고 Python/트리 모델 입력에는 넣지 않는다.
+ */
+public record ReservationRiskFeatures(
+        int noshowCount,
+        int reservationCount,
+        String weekday,
+        int hour,
+        int partySize,
+        String paymentMethod,
+        int slotNoShowPercent
+) {
+
+    public ReservationRiskFeatures(int noshowCount, int reservationCount, String weekday, int hour,
+                                   int partySize, String paymentMethod) {
+        this(noshowCount, reservationCount, weekday, hour, partySize, paymentMethod, -1);
+    }
+
+    public static ReservationRiskFeatures of(CustomerFeatureSnapshot customer, Reservation reservation, String paymentMethod) {
+        LocalDateTime reservationTime = reservation.getReservationTime();
+
+        int noshowCount = customer != null ? customer.noShowCount() : 0;
+        int reservationCount = customer != null ? customer.completedCount() : 0;
+        int partySize = reservation.getPeople() != null ? reservation.getPeople() : 1;
+        String weekday = reservationTime.getDayOfWeek()
+                .getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+        String method = StringUtils.hasText(paymentMethod) ? paymentMethod : "CARD";
+
+        return new ReservationRiskFeatures(
+                noshowCount, reservationCount, weekday, reservationTime.getHour(), partySize, method);
+    }
+
+    public ReservationRiskFeatures withSlotNoShowPercent(int percent) {
+        return new ReservationRiskFeatures(
+                noshowCount, reservationCount, weekday, hour, partySize, paymentMethod, percent);
+    }
+
+    /**
+     * 예약에 저장할 문자열 (noshow,reservations,weekday,hour,party,method,slotNoShowPercent)
+     * - 결과가 나온 뒤 온라인 모델이 예측 당시와 같은 피처로 학습하도록 예약 시점에 기록한다
+     * - 시간대 노쇼율 컬럼이 없는 예전 값(6개)도 읽는다
+     */
+    public String encode() {
+        return noshowCount + "," + reservationCount + "," + weekday + "," + hour + "," + partySize + "," + paymentMethod
+                + "," + slotNoShowPercent;
+    }
+
+    public static Optional<ReservationRiskFeatures> decode(String value) {
+        if (!StringUtils.hasText(value)) {
+            return Optional.empty();
+        }
+        String[] parts = value.split(",", -1);
+        if (parts.length != 6 && parts.length != 7) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new ReservationRiskFeatures(
+                    Integer.parseInt(parts[0]),
+                    Integer.parseInt(parts[1]),
+                    parts[2],
+                    Integer.parseInt(parts[3]),
+                    Integer.parseInt(parts[4]),
+                    parts[5],
+                    parts.length == 7 ? Integer.parseInt(parts[6]) : -1));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -2,8 +2,9 @@ package com.olsaram.backend.service.risk;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.olsaram.backend.config.ReservationRiskModelProperties;
-import com.olsaram.backend.domain.customer.Customer;
 import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.service.business.BusinessSlotHeatmapStore;
+import com.olsaram.backend.service.customer.CustomerFeatureSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,11 +14,8 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.TextStyle;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
 
 @Service
@@ -27,9 +25,14 @@ public class ReservationRiskModelService {
 
     private final ReservationRiskModelProperties properties;
     private final ObjectMapper objectMapper;
+    private final ReservationRiskWorkerPool workerPool;
+    private final JavaRiskModelEvaluator javaModelEvaluator;
+    private final RiskLookupTableService riskLookupTableService;
+    private final OnlineRiskModelService onlineRiskModelService;
+    private final BusinessSlotHeatmapStore businessSlotHeatmapStore;
 
     public Optional<ReservationRiskPrediction> predict(
-            Customer customer,
+            CustomerFeatureSnapshot customer,
             Reservation reservation,
             String paymentMethod
     ) {
@@ -43,22 +46,69 @@ public class ReservationRiskModelService {
             return Optional.empty();
         }
 
-        LocalDateTime reservationTime = reservation.getReservationTime();
+        ReservationRiskFeatures features = features(customer, reservation, paymentMethod);
 
-        int noshowCount = customer != null && customer.getNoShowCount() != null
-                ? customer.getNoShowCount()
-                : 0;
-        int reservationCount = customer != null && customer.getReservationCount() != null
-                ? customer.getReservationCount()
-                : 0;
-        int hour = reservationTime.getHour();
-        int partySize = reservation.getPeople() != null ? reservation.getPeople() : 1;
-        String weekday = reservationTime.getDayOfWeek()
-                .getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
-        String method = StringUtils.hasText(paymentMethod) ? paymentMethod : "CARD";
+        // 온라인 학습 백엔드: 충분히 학습하기 전에는 JVM 평가기 → Python 순으로 대체
+        if (properties.getBackend() == ReservationRiskModelProperties.Backend.ONLINE) {
+            Optional<ReservationRiskPrediction> prediction = onlineRiskModelService.predict(features)
+                    .or(() -> javaModelEvaluator.predict(features));
+            if (prediction.isPresent()) {
+                log.debug("ML 모델 예측 (온라인) - 레벨: {}, 특징: {}", prediction.get().getRiskLevel(), features);
+                return prediction;
+            }
+            log.debug("온라인 위험도 모델 학습량 부족 - Python 백엔드로 대체");
+        }
+
+        // JVM 백엔드: 룩업 테이블 → 내보낸 트리 실시간 평가 순으로 시도
+        if (properties.getBackend() == ReservationRiskModelProperties.Backend.JAVA) {
+            Optional<ReservationRiskPrediction> prediction = riskLookupTableService.lookup(features)
+                    .or(() -> javaModelEvaluator.predict(features));
+            if (prediction.isPresent()) {
+                log.debug("ML 모델 예측 (JVM) - 레벨: {}, 특징: {}", prediction.get().getRiskLevel(), features);
+                return prediction;
+            }
+            log.warn("⚠️ JVM 위험도 모델이 로드되지 않아 Python 백엔드로 대체합니다.");
+        }
+
+        // 상주 워커 풀이 떠 있으면 프로세스를 새로 띄우지 않고 워커에 위임
+        if (properties.getPool().isEnabled() && workerPool.isAvailable()) {
+            Optional<ReservationRiskPrediction> prediction = workerPool.predict(features);
+            prediction.ifPresent(p -> log.info("✅ ML 모델 예측 성공 (워커 풀) - 레벨: {}, 특징: {}", p.getRiskLevel(), features));
+            return prediction;
+        }
+
+        log.info("ℹ️ ML 워커 풀 사용 불가 - 단발성 스크립트 실행으로 대체");
+        return predictWithProcess(features);
+    }
+
+    /**
+     * 예측 입력 피처 (예약에 저장해 두었다가 온라인 모델 학습에도 그대로 사용)
+     * 가게 시간대 노쇼율은 메모리 집계에서 읽고, 읽지 못하면 모르는 값(-1)으로 둔다
+     */
+    public ReservationRiskFeatures features(CustomerFeatureSnapshot customer, Reservation reservation, String paymentMethod) {
+        ReservationRiskFeatures features = ReservationRiskFeatures.of(customer, reservation, paymentMethod);
+        try {
+            return features.withSlotNoShowPercent(
+                    businessSlotHeatmapStore.noShowPercent(reservation.getBusinessId(), reservation.getReservationTime()));
+        } catch (Exception e) {
+            log.warn("⚠️ 가게 시간대 노쇼율 조회 실패 - 피처 없이 예측: {}", e.getMessage());
+            return features;
+        }
+    }
 
-        String scriptPath = resolvePath(properties.getScriptPath());
-        String modelPath = resolvePath(properties.getModelPath());
+    /**
+     * 예약마다 predict_reservation_risk.py 프로세스를 실행하는 기존 방식 (워커 풀 비활성/미기동 시 사용)
+     */
+    private Optional<ReservationRiskPrediction> predictWithProcess(ReservationRiskFeatures features) {
+        int noshowCount = features.noshowCount();
+        int reservationCount = features.reservationCount();
+        String weekday = features.weekday();
+        int hour = features.hour();
+        int partySize = features.partySize();
+        String method = features.paymentMethod();
+
+        String scriptPath = RiskModelPaths.resolvePath(properties.getScriptPath());
+        String modelPath = RiskModelPaths.resolvePath(properties.getModelPath());
         
         // 파일 존재 여부 사전 확인
         Path scriptFile = Paths.get(scriptPath);
@@ -94,7 +144,7 @@ public class ReservationRiskModelService {
         }
         
         // Python 명령어 확인 및 가상 환경 자동 감지 (Ubuntu 환경)
-        String pythonCmd = resolvePythonCommand(properties.getPythonCommand());
+        String pythonCmd = RiskModelPaths.resolvePythonCommand(properties.getPythonCommand());
         if (!isPythonAvailable(pythonCmd)) {
             log.error("❌ Python 명령어를 찾을 수 없습니다: {}", pythonCmd);
             log.error("❌ Ubuntu 환경에서 Python3 설치 확인: sudo apt-get install python3");
@@ -182,76 +232,6 @@ public class ReservationRiskModelService {
         }
     }
 
-    private String resolvePath(String path) {
-        // 절대 경로인 경우 그대로 반환
-        Path pathObj = Paths.get(path);
-        if (pathObj.isAbsolute()) {
-            return pathObj.normalize().toString();
-        }
-        
-        // 상대 경로인 경우 프로젝트 루트(backend 디렉토리)를 기준으로 해석
-        Path basePath = Paths.get("").toAbsolutePath().normalize();
-        
-        log.debug("🔍 경로 해석 - 입력 경로: {}, 작업 디렉토리: {}", path, basePath);
-        
-        // 현재 작업 디렉토리가 프로젝트 루트인지 확인
-        // backend 디렉토리에서 실행되는 경우를 고려
-        Path resolved;
-        if (basePath.endsWith("backend")) {
-            // 이미 backend 디렉토리에 있음
-            resolved = basePath.resolve(path).normalize();
-        } else {
-            // 프로젝트 루트에서 실행되는 경우 backend 디렉토리 추가
-            Path backendPath = basePath.resolve("backend");
-            if (backendPath.toFile().exists()) {
-                resolved = backendPath.resolve(path).normalize();
-            } else {
-                // backend 디렉토리가 없으면 현재 디렉토리 기준
-                resolved = basePath.resolve(path).normalize();
-            }
-        }
-        
-        String resolvedStr = resolved.toString();
-        boolean exists = resolved.toFile().exists();
-        log.debug("🔍 경로 해석 결과 - 해석된 경로: {}, 존재 여부: {}", resolvedStr, exists);
-        
-        if (!exists) {
-            log.warn("⚠️ 경로가 존재하지 않습니다: {}", resolvedStr);
-        }
-        
-        return resolvedStr;
-    }
-    
-    /**
-     * Python 명령어 해석 (가상 환경 자동 감지)
-     * Ubuntu 환경에서 venv가 있으면 자동으로 사용
-     * 가상 환경이 없으면 시스템 Python 사용 (시스템 패키지 필요)
-     */
-    private String resolvePythonCommand(String pythonCommand) {
-        Path basePath = Paths.get("").toAbsolutePath().normalize();
-        Path venvPython;
-        
-        // backend 디렉토리 확인
-        if (basePath.endsWith("backend")) {
-            venvPython = basePath.resolve("venv/bin/python3");
-        } else {
-            venvPython = basePath.resolve("backend/venv/bin/python3");
-        }
-        
-        // 가상 환경의 Python이 존재하면 사용
-        if (venvPython.toFile().exists() && venvPython.toFile().canExecute()) {
-            log.info("✅ 가상 환경 Python 사용: {}", venvPython);
-            return venvPython.toString();
-        }
-        
-        // 가상 환경이 없으면 시스템 Python 사용
-        // Ubuntu 환경에서는 시스템 패키지 설치 필요:
-        // sudo apt-get install python3-pandas python3-sklearn python3-joblib
-        log.info("✅ 시스템 Python 사용: {} (가상 환경 없음)", pythonCommand);
-        log.info("ℹ️ Ubuntu 환경에서 시스템 패키지 설치: sudo apt-get install python3-pandas python3-sklearn python3-joblib");
-        return pythonCommand;
-    }
-    
     /**
      * Python 명령어 사용 가능 여부 확인 (Ubuntu 환경)
      */
@@ -0,0 +1,298 @@
+package com.olsaram.backend.service.risk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.olsaram.backend.config.ReservationRiskModelProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상주 Python ML 워커 풀
+ *
+ * - 워커마다 모델을 한 번만 로드하고 JSON lines 로 예측 요청을 처리
+ * - 요청 타임아웃/프로세스 종료 시 워커를 폐기하고 백그라운드에서 재시작
+ * - 주기적 헬스체크(ping)로 유휴 워커 점검 및 부족한 워커 보충
+ * - 대기 요청 수(queue depth), 유휴/가동 워커 수, 추론 시간을 메트릭으로 노출
+ */
+@Component
+@Slf4j
+public class ReservationRiskWorkerPool {
+
+    private final ReservationRiskModelProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<RiskModelWorker> idleWorkers = new LinkedBlockingQueue<>();
+    private final AtomicInteger liveWorkers = new AtomicInteger();
+    private final AtomicInteger pendingSpawns = new AtomicInteger();
+    private final AtomicInteger waitingRequests = new AtomicInteger();
+    private final AtomicInteger nextWorkerId = new AtomicInteger();
+
+    private final ExecutorService restartExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "risk-model-pool-restarter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Timer inferenceTimer;
+    private final Counter restartCounter;
+    private final Counter timeoutCounter;
+
+    private volatile boolean running;
+
+    public ReservationRiskWorkerPool(
+            ReservationRiskModelProperties properties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("risk_model.pool.queue_depth", waitingRequests, AtomicInteger::get)
+                .description("유휴 워커를 기다리는 예측 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("risk_model.pool.idle_workers", idleWorkers, BlockingQueue::size)
+                .register(meterRegistry);
+        Gauge.builder("risk_model.pool.live_workers", liveWorkers, AtomicInteger::get)
+                .register(meterRegistry);
+        this.inferenceTimer = Timer.builder("risk_model.pool.inference")
+                .description("워커 풀 예측 1건 처리 시간 (대기 제외)")
+                .register(meterRegistry);
+        this.restartCounter = Counter.builder("risk_model.pool.restarts").register(meterRegistry);
+        this.timeoutCounter = Counter.builder("risk_model.pool.timeouts").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled() || !properties.getPool().isEnabled()) {
+            log.info("ML 워커 풀 비활성화 (risk-model.enabled={}, risk-model.pool.enabled={})",
+                    properties.isEnabled(), properties.getPool().isEnabled());
+            return;
+        }
+
+        running = true;
+        int size = Math.max(1, properties.getPool().getSize());
+        log.info("🔵 ML 워커 풀 시작 - 워커 수: {}", size);
+        for (int i = 0; i < size; i++) {
+            scheduleSpawn();
+        }
+    }
+
+    /**
+     * 예측 요청을 처리할 수 있는 워커가 하나 이상 살아 있는지
+     */
+    public boolean isAvailable() {
+        return running && liveWorkers.get() > 0;
+    }
+
+    public Optional<ReservationRiskPrediction> predict(ReservationRiskFeatures features) {
+        if (!running) {
+            return Optional.empty();
+        }
+
+        RiskModelWorker worker;
+        waitingRequests.incrementAndGet();
+        try {
+            worker = idleWorkers.poll(properties.getPool().getAcquireTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } finally {
+            waitingRequests.decrementAndGet();
+        }
+
+        if (worker == null) {
+            log.error("❌ ML 워커 풀 대기 시간 초과 - {}ms 안에 유휴 워커 없음 (가동: {})",
+                    properties.getPool().getAcquireTimeoutMs(), liveWorkers.get());
+            return Optional.empty();
+        }
+
+        boolean healthy = false;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            ObjectNode request = objectMapper.createObjectNode()
+                    .put("op", "predict")
+                    .put("noshow_count", features.noshowCount())
+                    .put("reservation_count", features.reservationCount())
+                    .put("weekday", features.weekday())
+                    .put("hour", features.hour())
+                    .put("party_size", features.partySize())
+                    .put("payment_method", features.paymentMethod());
+
+            JsonNode response = worker.call(request, properties.getPool().getRequestTimeoutMs());
+            healthy = true;
+
+            if (response.hasNonNull("error")) {
+                log.error("❌ ML 워커 예측 오류 - 워커: {}, 오류: {}", worker.getWorkerId(), response.get("error").asText());
+                return Optional.empty();
+            }
+
+            ReservationRiskPrediction prediction = objectMapper.treeToValue(response, ReservationRiskPrediction.class);
+            if (!StringUtils.hasText(prediction.getRiskLevel())) {
+                log.error("❌ ML 워커가 빈 위험도 레벨을 반환했습니다. 출력: {}", response);
+                return Optional.empty();
+            }
+            return Optional.of(prediction);
+        } catch (TimeoutException e) {
+            timeoutCounter.increment();
+            log.error("❌ ML 워커 응답 시간 초과 - 워커: {}, {}", worker.getWorkerId(), e.getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (IOException e) {
+            log.error("❌ ML 워커 통신 실패 - 워커: {}, 오류: {}", worker.getWorkerId(), e.getMessage());
+            return Optional.empty();
+        } finally {
+            sample.stop(inferenceTimer);
+            if (healthy) {
+                release(worker);
+            } else {
+                replace(worker);
+            }
+        }
+    }
+
+    /**
+     * 유휴 워커 ping 점검 + 부족한 워커 보충
+     */
+    @Scheduled(
+            fixedDelayString = "${risk-model.pool.health-check-interval-ms:30000}",
+            initialDelayString = "${risk-model.pool.health-check-interval-ms:30000}"
+    )
+    public void healthCheck() {
+        if (!running) {
+            return;
+        }
+
+        int idleCount = idleWorkers.size();
+        for (int i = 0; i < idleCount; i++) {
+            RiskModelWorker worker = idleWorkers.poll();
+            if (worker == null) {
+                break;
+            }
+            if (worker.isAlive() && worker.ping(properties.getPool().getRequestTimeoutMs())) {
+                idleWorkers.offer(worker);
+            } else {
+                log.warn("⚠️ ML 워커 {} 비정상 - 재시작", worker.getWorkerId());
+                replace(worker);
+            }
+        }
+
+        int missing = Math.max(1, properties.getPool().getSize()) - liveWorkers.get() - pendingSpawns.get();
+        for (int i = 0; i < missing; i++) {
+            scheduleSpawn();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        restartExecutor.shutdownNow();
+
+        RiskModelWorker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            worker.destroy();
+            liveWorkers.decrementAndGet();
+        }
+    }
+
+    private void release(RiskModelWorker worker) {
+        if (running && worker.isAlive()) {
+            idleWorkers.offer(worker);
+        } else if (!running) {
+            worker.destroy();
+            liveWorkers.decrementAndGet();
+        } else {
+            replace(worker);
+        }
+    }
+
+    private void replace(RiskModelWorker worker) {
+        liveWorkers.decrementAndGet();
+        restartCounter.increment();
+
+        if (!running) {
+            worker.destroy();
+            return;
+        }
+
+        pendingSpawns.incrementAndGet();
+        restartExecutor.execute(() -> {
+            worker.destroy();
+            spawnWorker();
+        });
+    }
+
+    private void scheduleSpawn() {
+        pendingSpawns.incrementAndGet();
+        restartExecutor.execute(this::spawnWorker);
+    }
+
+    private void spawnWorker() {
+        try {
+            if (!running) {
+                return;
+            }
+
+            String scriptPath = RiskModelPaths.resolvePath(properties.getPool().getWorkerScriptPath());
+            String modelPath = RiskModelPaths.resolvePath(properties.getModelPath());
+            File scriptFile = new File(scriptPath);
+
+            if (!scriptFile.exists() || !new File(modelPath).exists()) {
+                log.error("❌ ML 워커를 시작할 수 없습니다 - 스크립트: {} (존재: {}), 모델: {} (존재: {})",
+                        scriptPath, scriptFile.exists(), modelPath, new File(modelPath).exists());
+                return;
+            }
+
+            String pythonCmd = RiskModelPaths.resolvePythonCommand(properties.getPythonCommand());
+            int workerId = nextWorkerId.incrementAndGet();
+            List<String> command = List.of(pythonCmd, scriptPath, "--model", modelPath);
+
+            RiskModelWorker worker = RiskModelWorker.start(
+                    workerId,
+                    command,
+                    scriptFile.getParentFile(),
+                    objectMapper,
+                    properties.getPool().getStartupTimeoutMs()
+            );
+
+            if (!running) {
+                worker.destroy();
+                return;
+            }
+
+            liveWorkers.incrementAndGet();
+            idleWorkers.offer(worker);
+            log.info("✅ ML 워커 {} 시작 완료 (가동: {})", workerId, liveWorkers.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("❌ ML 워커 시작 실패: {}", e.getMessage());
+        } finally {
+            pendingSpawns.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.olsaram.backend.service.risk;
+
+import com.olsaram.backend.dto.noshow.RiskBacktestReport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 위험도 계산 방식 하나의 백테스트 집계 (고정 크기 배열만 사용해 표본 수와 무관한 메모리)
+ *
+ * - AUC: 점수 구간별 노쇼/방문 히스토그램으로 계산 (같은 구간 안은 동점 처리, 오차는 구간 폭 이내)
+ * - 보정: 구간별 예측 평균 vs 실제 노쇼율, Brier / 로그 손실 / ECE
+ * - 예약금: RiskPricing 요율표로 이 점수였다면 받았을 예약금
+ * - fork-join 의 각 작업이 따로 집계한 뒤 merge 로 합친다 (스레드 간 공유하지 않음)
+ */
+final class RiskBacktestMetrics {
+
+    private static final double EPSILON = 1e-15;
+
+    private final long[] noShowHistogram;
+    private final long[] showHistogram;
+    private final long[] calibrationCounts;
+    private final long[] calibrationNoShows;
+    private final double[] calibrationPredicted;
+
+    private long samples;
+    private long noShows;
+    private double brierSum;
+    private double logLossSum;
+    private double depositOnNoShows;
+    private double depositOnShows;
+    private long uncoveredNoShows;
+
+    RiskBacktestMetrics(int aucBins, int calibrationBins) {
+        this.noShowHistogram = new long[Math.max(2, aucBins)];
+        this.showHistogram = new long[noShowHistogram.length];
+        this.calibrationCounts = new long[Math.max(1, calibrationBins)];
+        this.calibrationNoShows = new long[calibrationCounts.length];
+        this.calibrationPredicted = new double[calibrationCounts.length];
+    }
+
+    /**
+     * @param probability 노쇼 확률 (0~1 밖이면 잘라서 사용)
+     */
+    void record(double probability, RiskBacktestSample sample) {
+        double p = Math.max(0, Math.min(1, probability));
+        boolean noShow = sample.noShow();
+
+        int aucBin = bin(p, noShowHistogram.length);
+        int calibrationBin = bin(p, calibrationCounts.length);
+        if (noShow) {
+            noShowHistogram[aucBin]++;
+            calibrationNoShows[calibrationBin]++;
+            noShows++;
+        } else {
+            showHistogram[aucBin]++;
+        }
+        calibrationCounts[calibrationBin]++;
+        calibrationPredicted[calibrationBin] += p;
+        samples++;
+
+        double y = noShow ? 1 : 0;
+        brierSum += (p - y) * (p - y);
+        double clipped = Math.max(EPSILON, Math.min(1 - EPSILON, p));
+        logLossSum += noShow ? -Math.log(clipped) : -Math.log(1 - clipped);
+
+        double deposit = sample.baseFeeAmount() * sample.headCount() * RiskPricing.feePercentFor(p * 100) / 100.0;
+        if (noShow) {
+            depositOnNoShows += deposit;
+            if (deposit <= 0) {
+                uncoveredNoShows++;
+            }
+        } else {
+            depositOnShows += deposit;
+        }
+    }
+
+    RiskBacktestMetrics merge(RiskBacktestMetrics other) {
+        for (int i = 0; i < noShowHistogram.length; i++) {
+            noShowHistogram[i] += other.noShowHistogram[i];
+            showHistogram[i] += other.showHistogram[i];
+        }
+        for (int i = 0; i < calibrationCounts.length; i++) {
+            calibrationCounts[i] += other.calibrationCounts[i];
+            calibrationNoShows[i] += other.calibrationNoShows[i];
+            calibrationPredicted[i] += other.calibrationPredicted[i];
+        }
+        samples += other.samples;
+        noShows += other.noShows;
+        brierSum += other.brierSum;
+        logLossSum += other.logLossSum;
+        depositOnNoShows += other.depositOnNoShows;
+        depositOnShows += other.depositOnShows;
+        uncoveredNoShows += other.uncoveredNoShows;
+        return this;
+    }
+
+    long getSamples() {
+        return samples;
+    }
+
+    /**
+     * 노쇼 예약이 방문 예약보다 높은 점수를 받을 확률 (둘 중 한쪽이 없으면 null)
+     */
+    Double auc() {
+        long shows = samples - noShows;
+        if (noShows == 0 || shows == 0) {
+            return null;
+        }
+        double concordant = 0;
+        long showsBelow = 0;
+        for (int i = 0; i < noShowHistogram.length; i++) {
+            concordant += noShowHistogram[i] * (showsBelow + showHistogram[i] * 0.5);
+            showsBelow += showHistogram[i];
+        }
+        return concordant / ((double) noShows * shows);
+    }
+
+    RiskBacktestReport.ScorerResult toResult(String name) {
+        List<RiskBacktestReport.CalibrationBin> calibration = new ArrayList<>(calibrationCounts.length);
+        double calibrationError = 0;
+        for (int i = 0; i < calibrationCounts.length; i++) {
+            long count = calibrationCounts[i];
+            Double meanPredicted = count > 0 ? calibrationPredicted[i] / count : null;
+            Double observedRate = count > 0 ? (double) calibrationNoShows[i] / count : null;
+            if (count > 0) {
+                calibrationError += (double) count / samples * Math.abs(meanPredicted - observedRate);
+            }
+            calibration.add(RiskBacktestReport.CalibrationBin.builder()
+                    .lowerBound((double) i / calibrationCounts.length)
+                    .upperBound((double) (i + 1) / calibrationCounts.length)
+                    .count(count)
+                    .meanPredicted(meanPredicted)
+                    .observedRate(observedRate)
+                    .build());
+        }
+
+        return RiskBacktestReport.ScorerResult.builder()
+                .name(name)
+                .samples(samples)
+                .noShows(noShows)
+                .auc(auc())
+                .brierScore(samples > 0 ? brierSum / samples : null)
+                .logLoss(samples > 0 ? logLossSum / samples : null)
+                .expectedCalibrationError(samples > 0 ? calibrationError : null)
+                .calibration(calibration)
+                .depositTotal(depositOnNoShows + depositOnShows)
+                .depositOnNoShows(depositOnNoShows)
+                .depositOnShows(depositOnShows)
+                .uncoveredNoShows(uncoveredNoShows)
+                .build();
+    }
+
+    private static int bin(double p, int bins) {
+        return Math.min(bins - 1, (int) (p * bins));
+    }
+}
@@ -0,0 +1,185 @@
+package com.olsaram.backend.service.risk;
+
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.service.customer.CustomerFeatureSnapshot;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 고객 한 명의 예약 이력을 시간순으로 다시 재생해 예약 시점 피처를 만든다
+ *
+ * - 예약마다 그 예약의 생성 시각 이전에 결과가 확정된 예약(방문 완료/자동 노쇼/취소)만 피처에 반영
+ * - 현재 고객 카운터(이후 결과까지 포함)를 쓰지 않으므로 미래 정보가 새지 않는다
+ * - CustomerFeatureStore 가 실시간으로 쌓는 값과 같은 규칙 (취소 = canceledAt, 방문 완료 = 예약 시간, 노쇼 = 자동 처리 시각)
+ */
+final class RiskBacktestReplay {
+
+    private static final String DEFAULT_PAYMENT_METHOD = "CARD";
+    private static final double DEFAULT_BASE_AMOUNT_PER_PERSON = 10000.0;
+
+    private final long lastMinuteCancelMinutes;
+    private final double halfLifeDays;
+
+    RiskBacktestReplay(long lastMinuteCancelMinutes, double halfLifeDays) {
+        this.lastMinuteCancelMinutes = lastMinuteCancelMinutes;
+        this.halfLifeDays = halfLifeDays;
+    }
+
+    /**
+     * customerRows (한 고객의 예약 전체) 중 예약 시간이 [from, to) 이고 결과가 있는 예약을 out 에 추가
+     */
+    void replay(List<RiskBacktestRow> customerRows, LocalDateTime from, LocalDateTime to, List<RiskBacktestSample> out) {
+        List<RiskBacktestRow> bookings = new ArrayList<>(customerRows.size());
+        List<Resolution> resolutions = new ArrayList<>(customerRows.size());
+        for (RiskBacktestRow row : customerRows) {
+            if (row.bookedAt() == null) {
+                continue;
+            }
+            bookings.add(row);
+            Resolution resolution = resolutionOf(row);
+            if (resolution != null) {
+                resolutions.add(resolution);
+            }
+        }
+        bookings.sort(Comparator.comparing(RiskBacktestRow::bookedAt).thenComparing(RiskBacktestRow::id));
+        resolutions.sort(Comparator.comparing(Resolution::at));
+
+        State state = new State();
+        int next = 0;
+        for (RiskBacktestRow booking : bookings) {
+            LocalDateTime bookedAt = booking.bookedAt();
+            while (next < resolutions.size() && resolutions.get(next).at().isBefore(bookedAt)) {
+                state.apply(resolutions.get(next++));
+            }
+
+            Boolean label = booking.noShowLabel();
+            if (label != null && inWindow(booking.reservationTime(), from, to)) {
+                out.add(sampleOf(booking, label, state.snapshot(booking, bookedAt)));
+            }
+
+            state.bookingCount++;
+            if (booking.createdAt() != null && booking.reservationTime() != null
+                    && booking.reservationTime().isAfter(booking.createdAt())) {
+                state.leadTimeMinutesTotal += Duration.between(booking.createdAt(), booking.reservationTime()).toMinutes();
+                state.leadTimeSamples++;
+            }
+        }
+    }
+
+    private Resolution resolutionOf(RiskBacktestRow row) {
+        if (row.markedNoShow()) {
+            LocalDateTime at = row.noShowResolvedAt();
+            return at != null ? new Resolution(at, Outcome.NO_SHOW, false) : null;
+        }
+        if (row.status() == ReservationStatus.COMPLETED && row.reservationTime() != null) {
+            return new Resolution(row.reservationTime(), Outcome.COMPLETED, false);
+        }
+        if (row.status() == ReservationStatus.CANCELED && row.canceledAt() != null) {
+            boolean lastMinute = row.reservationTime() != null
+                    && !row.canceledAt().isAfter(row.reservationTime())
+                    && Duration.between(row.canceledAt(), row.reservationTime()).toMinutes() <= lastMinuteCancelMinutes;
+            return new Resolution(row.canceledAt(), Outcome.CANCELED, lastMinute);
+        }
+        return null;
+    }
+
+    private static boolean inWindow(LocalDateTime reservationTime, LocalDateTime from, LocalDateTime to) {
+        if (reservationTime == null) {
+            return false;
+        }
+        return (from == null || !reservationTime.isBefore(from)) && (to == null || reservationTime.isBefore(to));
+    }
+
+    private static RiskBacktestSample sampleOf(RiskBacktestRow row, boolean noShow, CustomerFeatureSnapshot customer) {
+        Reservation reservation = Reservation.builder()
+                .id(row.id())
+                .memberId(row.memberId())
+                .reservationTime(row.reservationTime())
+                .createdAt(row.createdAt())
+                .people(row.people())
+                .paymentStatus(row.paymentStatus())
+                .build();
+        String paymentMethod = ReservationRiskFeatures.decode(row.riskFeatures())
+                .map(ReservationRiskFeatures::paymentMethod)
+                .orElse(DEFAULT_PAYMENT_METHOD);
+
+        return new RiskBacktestSample(
+                row.id(),
+                noShow,
+                row.bookedAt(),
+                customer,
+                reservation,
+                paymentMethod,
+                row.baseFeeAmount() != null ? row.baseFeeAmount() : DEFAULT_BASE_AMOUNT_PER_PERSON,
+                row.aiNoshowProbability(),
+                row.mlModelRiskPercent()
+        );
+    }
+
+    private enum Outcome {
+        COMPLETED, NO_SHOW, CANCELED
+    }
+
+    private record Resolution(LocalDateTime at, Outcome outcome, boolean lastMinute) {
+    }
+
+    private final class State {
+        private int bookingCount;
+        private int completedCount;
+        private int noShowCount;
+        private int cancelCount;
+        private int lastMinuteCancelCount;
+        private long leadTimeMinutesTotal;
+        private int leadTimeSamples;
+        private double recentNoShowWeight;
+        private double recentOutcomeWeight;
+        private LocalDateTime recentDecayedAt;
+
+        void apply(Resolution resolution) {
+            switch (resolution.outcome()) {
+                case COMPLETED -> {
+                    completedCount++;
+                    addOutcome(false, resolution.at());
+                }
+                case NO_SHOW -> {
+                    noShowCount++;
+                    addOutcome(true, resolution.at());
+                }
+                case CANCELED -> {
+                    cancelCount++;
+                    if (resolution.lastMinute()) {
+                        lastMinuteCancelCount++;
+                    }
+                }
+            }
+        }
+
+        private void addOutcome(boolean noShow, LocalDateTime at) {
+            double decay = CustomerFeatureSnapshot.decayFactor(recentDecayedAt, at, halfLifeDays);
+            recentNoShowWeight = recentNoShowWeight * decay + (noShow ? 1 : 0);
+            recentOutcomeWeight = recentOutcomeWeight * decay + 1;
+            recentDecayedAt = at;
+        }
+
+        CustomerFeatureSnapshot snapshot(RiskBacktestRow row, LocalDateTime asOf) {
+            double decay = CustomerFeatureSnapshot.decayFactor(recentDecayedAt, asOf, halfLifeDays);
+            double outcomeWeight = recentOutcomeWeight * decay;
+            return new CustomerFeatureSnapshot(
+                    row.memberId(),
+                    row.customerCreatedAt(),
+                    bookingCount,
+                    completedCount,
+                    noShowCount,
+                    cancelCount,
+                    lastMinuteCancelCount,
+                    leadTimeSamples > 0 ? (double) leadTimeMinutesTotal / leadTimeSamples : null,
+                    outcomeWeight > 0 ? recentNoShowWeight * decay / outcomeWeight : null
+            );
+        }
+    }
+}
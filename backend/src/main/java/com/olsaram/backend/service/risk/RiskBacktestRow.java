@@ -0,0 +1,78 @@
+package com.olsaram.backend.service.risk;
+
+import com.olsaram.backend.domain.reservation.PaymentStatus;
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 백테스트가 읽는 예약 한 건 (ReservationRepository.findBacktestRows 프로젝션)
+ */
+record RiskBacktestRow(
+        Long id,
+        Long memberId,
+        ReservationStatus status,
+        LocalDateTime reservationTime,
+        LocalDateTime createdAt,
+        LocalDateTime canceledAt,
+        LocalDateTime autoNoShowAt,
+        LocalDateTime noShowAt,
+        Integer people,
+        PaymentStatus paymentStatus,
+        Double baseFeeAmount,
+        Double aiNoshowProbability,
+        Double mlModelRiskPercent,
+        String riskFeatures,
+        LocalDateTime customerCreatedAt
+) {
+
+    static RiskBacktestRow of(Object[] row) {
+        return new RiskBacktestRow(
+                (Long) row[0],
+                (Long) row[1],
+                (ReservationStatus) row[2],
+                (LocalDateTime) row[3],
+                (LocalDateTime) row[4],
+                (LocalDateTime) row[5],
+                (LocalDateTime) row[6],
+                (LocalDateTime) row[7],
+                (Integer) row[8],
+                (PaymentStatus) row[9],
+                (Double) row[10],
+                (Double) row[11],
+                (Double) row[12],
+                (String) row[13],
+                (LocalDateTime) row[14]
+        );
+    }
+
+    /**
+     * 평가 라벨 (노쇼 = true, 방문 완료 = false, 그 외 null)
+     * 노쇼 판단은 Reservation.isMarkedNoShow 와 같다 (정정된 자동 노쇼는 노쇼가 아님).
+     * no_show_at 도입 전 사장님이 직접 처리한 노쇼는 일반 취소와 구분할 수 없으므로 제외된다.
+     */
+    Boolean noShowLabel() {
+        if (markedNoShow()) {
+            return true;
+        }
+        return status == ReservationStatus.COMPLETED ? false : null;
+    }
+
+    boolean markedNoShow() {
+        return Reservation.isMarkedNoShow(status, noShowAt, autoNoShowAt, canceledAt);
+    }
+
+    /** 노쇼 처리 시각 (시각이 없는 예전 노쇼는 예약 시간) */
+    LocalDateTime noShowResolvedAt() {
+        if (noShowAt != null) {
+            return noShowAt;
+        }
+        return autoNoShowAt != null ? autoNoShowAt : reservationTime;
+    }
+
+    /** 예약(=예측) 시각 */
+    LocalDateTime bookedAt() {
+        return createdAt != null ? createdAt : reservationTime;
+    }
+}
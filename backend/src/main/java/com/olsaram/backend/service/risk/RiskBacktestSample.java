@@ -0,0 +1,29 @@
+package com.olsaram.backend.service.risk;
+
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.service.customer.CustomerFeatureSnapshot;
+
+import java.time.LocalDateTime;
+
+/**
+ * 백테스트 평가 대상 예약 한 건 (고객 피처는 예약 시각까지 확정된 이력만으로 재구성한 값)
+ *
+ * @param reservation 채점용 임시 엔티티 (저장하지 않음)
+ */
+record RiskBacktestSample(
+        Long reservationId,
+        boolean noShow,
+        LocalDateTime bookedAt,
+        CustomerFeatureSnapshot customer,
+        Reservation reservation,
+        String paymentMethod,
+        double baseFeeAmount,
+        Double aiNoshowProbability,
+        Double mlModelRiskPercent
+) {
+
+    int headCount() {
+        Integer people = reservation.getPeople();
+        return people != null && people > 0 ? people : 1;
+    }
+}
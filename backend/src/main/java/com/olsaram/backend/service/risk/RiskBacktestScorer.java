@@ -0,0 +1,11 @@
+package com.olsaram.backend.service.risk;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 백테스트에서 비교할 위험도 계산 방식 하나
+ *
+ * @param score 노쇼 확률 0~1 (이 예약에 점수를 낼 수 없으면 NaN)
+ */
+record RiskBacktestScorer(String name, ToDoubleFunction<RiskBacktestSample> score) {
+}
@@ -0,0 +1,295 @@
+package com.olsaram.backend.service.risk;
+
+import com.olsaram.backend.config.ReservationRiskModelProperties;
+import com.olsaram.backend.dto.noshow.RiskBacktestReport;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import com.olsaram.backend.service.reservation.RiskCalculationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 위험도 계산 방식 오프라인 백테스트
+ *
+ * - 회원 예약을 (memberId, id) 키셋으로 chunk-size 씩 읽고, 고객 단위로 이력을 재생해 예약 시점 피처를 만든다
+ *   (RiskBacktestReplay - 이후 결과가 반영된 현재 고객 카운터는 쓰지 않음)
+ * - 청크마다 결과가 있는 예약을 fork-join 으로 나눠 모든 방식으로 채점하고 고정 크기 집계(RiskBacktestMetrics)에 합친다
+ * - 메모리는 청크 + 고객 한 명의 이력 + 방식별 히스토그램으로 제한되므로 예약 수백만 건도 한 번에 처리할 수 있다
+ * - 한 번에 하나만 실행, 진행 상황은 청크마다 getLatest() 로 확인
+ *
+ * 비교 방식
+ * - rule_calculation: RiskCalculationService (예약 시 점수/요율)
+ * - rule_reservation: RuleRiskScorer (위험도 조회 API 의 컴파일된 룰)
+ * - ml_model: 내보낸 트리 모델을 JVM 에서 평가 (backend 가 python 이면 모델이 로드되지 않아 0건)
+ * - ml_snapshot / ai_snapshot: 예약 당시 저장한 ML/AI 서버 결과 (당시 값이라 재계산 없이 그대로 비교)
+ */
+@Service
+@Slf4j
+public class RiskBacktestService {
+
+    public static final String STATE_RUNNING = "RUNNING";
+    public static final String STATE_COMPLETED = "COMPLETED";
+    public static final String STATE_FAILED = "FAILED";
+
+    private final ReservationRiskModelProperties properties;
+    private final ReservationRepository reservationRepository;
+    private final RiskCalculationService riskCalculationService;
+    private final RuleRiskScorer ruleRiskScorer;
+    private final JavaRiskModelEvaluator javaModelEvaluator;
+    private final RiskBacktestReplay replay;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> new Thread(r, "risk-backtest"));
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<RiskBacktestReport> latest = new AtomicReference<>();
+
+    public RiskBacktestService(
+            ReservationRiskModelProperties properties,
+            ReservationRepository reservationRepository,
+            RiskCalculationService riskCalculationService,
+            RuleRiskScorer ruleRiskScorer,
+            JavaRiskModelEvaluator javaModelEvaluator,
+            @Value("${customer.features.last-minute-cancel-minutes:180}") long lastMinuteCancelMinutes,
+            @Value("${customer.features.recent-half-life-days:90}") double halfLifeDays
+    ) {
+        this.properties = properties;
+        this.reservationRepository = reservationRepository;
+        this.riskCalculationService = riskCalculationService;
+        this.ruleRiskScorer = ruleRiskScorer;
+        this.javaModelEvaluator = javaModelEvaluator;
+        this.replay = new RiskBacktestReplay(lastMinuteCancelMinutes, halfLifeDays);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    /**
+     * 백테스트 시작 (예약 시간이 [from, to) 인 예약을 평가, null 이면 제한 없음)
+     */
+    public RiskBacktestReport start(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from 은 to 보다 이전이어야 합니다.");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 백테스트가 실행 중입니다.");
+        }
+
+        Run run = new Run(from, to, LocalDateTime.now(), scorers());
+        latest.set(run.report(STATE_RUNNING, null));
+        try {
+            runner.execute(() -> {
+                try {
+                    execute(run);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return latest.get();
+    }
+
+    public RiskBacktestReport getLatest() {
+        RiskBacktestReport report = latest.get();
+        if (report == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "실행한 백테스트가 없습니다.");
+        }
+        return report;
+    }
+
+    private void execute(Run run) {
+        ReservationRiskModelProperties.Backtest config = properties.getBacktest();
+        int chunkSize = Math.max(1, config.getChunkSize());
+        int parallelism = config.getParallelism() > 0 ? config.getParallelism() : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        log.info("🔵 위험도 백테스트 시작 - 범위: {} ~ {}, 청크: {}, 병렬도: {}", run.from, run.to, chunkSize, parallelism);
+        try {
+            long afterMemberId = 0;
+            long afterId = 0;
+            List<RiskBacktestRow> pending = new ArrayList<>();
+            while (true) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("백테스트가 중단되었습니다.");
+                }
+
+                List<Object[]> page = reservationRepository.findBacktestRows(
+                        afterMemberId, afterId, PageRequest.of(0, chunkSize));
+                boolean last = page.size() < chunkSize;
+                for (Object[] row : page) {
+                    pending.add(RiskBacktestRow.of(row));
+                }
+                if (!page.isEmpty()) {
+                    RiskBacktestRow tail = pending.get(pending.size() - 1);
+                    afterMemberId = tail.memberId();
+                    afterId = tail.id();
+                }
+                run.rowsRead += page.size();
+
+                // 마지막 고객은 다음 청크에 이력이 이어질 수 있으므로 남겨 둔다
+                int complete = last ? pending.size() : completeCustomerRows(pending);
+                if (complete > 0) {
+                    List<RiskBacktestSample> samples = replayCustomers(pending.subList(0, complete), run);
+                    score(pool, samples, run, config);
+                    pending = new ArrayList<>(pending.subList(complete, pending.size()));
+                    latest.set(run.report(STATE_RUNNING, null));
+                }
+                if (last) {
+                    break;
+                }
+            }
+
+            RiskBacktestReport report = run.report(STATE_COMPLETED, null);
+            latest.set(report);
+            log.info("✅ 위험도 백테스트 완료 - 예약: {}건, 평가: {}건 (노쇼 {}건), {}건/초",
+                    report.getRowsRead(), report.getSamples(), report.getNoShows(),
+                    Math.round(report.getRowsPerSecond()));
+        } catch (Exception e) {
+            log.error("❌ 위험도 백테스트 실패: {}", e.getMessage(), e);
+            latest.set(run.report(STATE_FAILED, e.getMessage()));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** 마지막 고객 앞까지의 행 수 (한 고객 이력이 청크보다 길면 0 → 다음 청크를 더 읽는다) */
+    private static int completeCustomerRows(List<RiskBacktestRow> rows) {
+        Long lastMemberId = rows.isEmpty() ? null : rows.get(rows.size() - 1).memberId();
+        int end = rows.size();
+        while (end > 0 && Objects.equals(rows.get(end - 1).memberId(), lastMemberId)) {
+            end--;
+        }
+        return end;
+    }
+
+    private List<RiskBacktestSample> replayCustomers(List<RiskBacktestRow> rows, Run run) {
+        List<RiskBacktestSample> samples = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= rows.size(); i++) {
+            if (i == rows.size() || !Objects.equals(rows.get(i).memberId(), rows.get(start).memberId())) {
+                replay.replay(rows.subList(start, i), run.from, run.to, samples);
+                start = i;
+            }
+        }
+        for (RiskBacktestSample sample : samples) {
+            run.samples++;
+            if (sample.noShow()) {
+                run.noShows++;
+            }
+        }
+        return samples;
+    }
+
+    private void score(ForkJoinPool pool, List<RiskBacktestSample> samples, Run run,
+                       ReservationRiskModelProperties.Backtest config) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        RiskBacktestMetrics[] chunk = pool.invoke(new RiskBacktestTask(
+                samples, run.scorers, config.getForkThreshold(), config.getAucBins(), config.getCalibrationBins()));
+        for (int i = 0; i < chunk.length; i++) {
+            run.metrics[i].merge(chunk[i]);
+        }
+    }
+
+    private List<RiskBacktestScorer> scorers() {
+        return List.of(
+                new RiskBacktestScorer("rule_calculation", sample -> {
+                    int score = riskCalculationService.calculateRiskScore(
+                            sample.customer().noShowCount(),
+                            sample.customer().completedCount(),
+                            sample.customer().customerCreatedAt(),
+                            sample.reservation().getPaymentStatus(),
+                            sample.reservation().getPeople(),
+                            sample.bookedAt());
+                    return (100 - score) / 100.0;
+                }),
+                new RiskBacktestScorer("rule_reservation", sample -> ruleRiskScorer
+                        .score(new RiskScoringInput(sample.customer(), sample.reservation(), sample.paymentMethod(), sample.bookedAt()))
+                        .map(RiskScore::noShowProbability)
+                        .orElse(Double.NaN)),
+                new RiskBacktestScorer("ml_model", sample -> javaModelEvaluator
+                        .predict(ReservationRiskFeatures.of(sample.customer(), sample.reservation(), sample.paymentMethod()))
+                        .map(RiskPricing::expectedRiskPercent)
+                        .filter(percent -> percent >= 0)
+                        .map(percent -> percent / 100.0)
+                        .orElse(Double.NaN)),
+                new RiskBacktestScorer("ml_snapshot", sample -> sample.mlModelRiskPercent() != null
+                        ? sample.mlModelRiskPercent() / 100.0
+                        : Double.NaN),
+                new RiskBacktestScorer("ai_snapshot", sample -> {
+                    Double probability = sample.aiNoshowProbability();
+                    if (probability == null) {
+                        return Double.NaN;
+                    }
+                    return probability > 1 ? probability / 100.0 : probability; // AI 서버는 퍼센트로 응답
+                })
+        );
+    }
+
+    /**
+     * 실행 중인 백테스트 상태 (runner 스레드만 수정하고, 밖에는 report 사본만 공개)
+     */
+    private final class Run {
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final LocalDateTime startedAt;
+        private final List<RiskBacktestScorer> scorers;
+        private final RiskBacktestMetrics[] metrics;
+
+        private long rowsRead;
+        private long samples;
+        private long noShows;
+
+        private Run(LocalDateTime from, LocalDateTime to, LocalDateTime startedAt, List<RiskBacktestScorer> scorers) {
+            this.from = from;
+            this.to = to;
+            this.startedAt = startedAt;
+            this.scorers = scorers;
+            ReservationRiskModelProperties.Backtest config = properties.getBacktest();
+            this.metrics = RiskBacktestTask.newMetrics(scorers.size(), config.getAucBins(), config.getCalibrationBins());
+        }
+
+        private RiskBacktestReport report(String state, String error) {
+            LocalDateTime now = LocalDateTime.now();
+            double seconds = Math.max(0.001, Duration.between(startedAt, now).toMillis() / 1000.0);
+
+            List<RiskBacktestReport.ScorerResult> results = new ArrayList<>(scorers.size());
+            for (int i = 0; i < scorers.size(); i++) {
+                results.add(metrics[i].toResult(scorers.get(i).name()));
+            }
+
+            return RiskBacktestReport.builder()
+                    .state(state)
+                    .from(from)
+                    .to(to)
+                    .startedAt(startedAt)
+                    .finishedAt(STATE_RUNNING.equals(state) ? null : now)
+                    .error(error)
+                    .rowsRead(rowsRead)
+                    .samples(samples)
+                    .noShows(noShows)
+                    .rowsPerSecond(rowsRead / seconds)
+                    .scorers(results)
+                    .build();
+        }
+    }
+}
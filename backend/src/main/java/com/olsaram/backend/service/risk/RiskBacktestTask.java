@@ -0,0 +1,73 @@
+package com.olsaram.backend.service.risk;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 청크 하나를 fork-join 으로 채점 (반씩 나눠 각자 집계한 뒤 합침)
+ */
+final class RiskBacktestTask extends RecursiveTask<RiskBacktestMetrics[]> {
+
+    private final List<RiskBacktestSample> samples;
+    private final int from;
+    private final int to;
+    private final List<RiskBacktestScorer> scorers;
+    private final int forkThreshold;
+    private final int aucBins;
+    private final int calibrationBins;
+
+    RiskBacktestTask(List<RiskBacktestSample> samples, List<RiskBacktestScorer> scorers,
+                     int forkThreshold, int aucBins, int calibrationBins) {
+        this(samples, 0, samples.size(), scorers, forkThreshold, aucBins, calibrationBins);
+    }
+
+    private RiskBacktestTask(List<RiskBacktestSample> samples, int from, int to, List<RiskBacktestScorer> scorers,
+                             int forkThreshold, int aucBins, int calibrationBins) {
+        this.samples = samples;
+        this.from = from;
+        this.to = to;
+        this.scorers = scorers;
+        this.forkThreshold = Math.max(1, forkThreshold);
+        this.aucBins = aucBins;
+        this.calibrationBins = calibrationBins;
+    }
+
+    @Override
+    protected RiskBacktestMetrics[] compute() {
+        if (to - from <= forkThreshold) {
+            return scoreRange();
+        }
+        int mid = (from + to) >>> 1;
+        RiskBacktestTask left = new RiskBacktestTask(samples, from, mid, scorers, forkThreshold, aucBins, calibrationBins);
+        RiskBacktestTask right = new RiskBacktestTask(samples, mid, to, scorers, forkThreshold, aucBins, calibrationBins);
+        left.fork();
+        RiskBacktestMetrics[] merged = right.compute();
+        RiskBacktestMetrics[] leftMetrics = left.join();
+        for (int i = 0; i < merged.length; i++) {
+            merged[i].merge(leftMetrics[i]);
+        }
+        return merged;
+    }
+
+    private RiskBacktestMetrics[] scoreRange() {
+        RiskBacktestMetrics[] metrics = newMetrics(scorers.size(), aucBins, calibrationBins);
+        for (int s = from; s < to; s++) {
+            RiskBacktestSample sample = samples.get(s);
+            for (int i = 0; i < metrics.length; i++) {
+                double probability = scorers.get(i).score().applyAsDouble(sample);
+                if (!Double.isNaN(probability)) {
+                    metrics[i].record(probability, sample);
+                }
+            }
+        }
+        return metrics;
+    }
+
+    static RiskBacktestMetrics[] newMetrics(int count, int aucBins, int calibrationBins) {
+        RiskBacktestMetrics[] metrics = new RiskBacktestMetrics[count];
+        for (int i = 0; i < count; i++) {
+            metrics[i] = new RiskBacktestMetrics(aucBins, calibrationBins);
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,12 @@
+package com.olsaram.backend.service.risk;
+
+import java.util.List;
+
+/**
+ * 위험도 판정 이유 (RiskScore.explain() 을 호출할 때만 만든다)
+ *
+ * @param reason  대표 이유 한 줄
+ * @param factors 위험 요소 목록
+ */
+public record RiskExplanation(String reason, List<String> factors) {
+}
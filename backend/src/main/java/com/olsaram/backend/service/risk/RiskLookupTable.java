@@ -0,0 +1,201 @@
+package com.olsaram.backend.service.risk;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.IntStream;
+
+/**
+ * 유한한 모델 입력 공간 전체를 미리 평가해 둔 dense 룩업 테이블
+ *
+ * 키: (노쇼수, 예약수, 요일코드, 시간, 인원-1, 결제수단코드) 를 하나의 int 로 패킹
+ * 값: 예측 클래스 인덱스 byte 하나 + 클래스별 확률 (키마다 클래스 수만큼 12bit 값, 1/4095 단위)
+ * 예측 레벨은 정확한 확률로 계산한 argmax 이므로 실시간 모델과 동일하고, 확률만 양자화된다.
+ */
+public final class RiskLookupTable {
+
+    private static final int MAGIC = 0x4F524C33; // "ORL3" (예측 클래스 + 클래스별 확률)
+    private static final int HOURS = 24;
+    private static final int CONFIDENCE_SCALE = 0xFFF;
+
+    private final String modelVersion;
+    private final int noshowCap;
+    private final int reservationCap;
+    private final int partySizeCap;
+    private final int weekdays;
+    private final int paymentMethods;
+    private final byte[] predicted;
+    private final int classCount;
+    private final short[] classProba;
+
+    private RiskLookupTable(
+            String modelVersion,
+            int noshowCap,
+            int reservationCap,
+            int partySizeCap,
+            int weekdays,
+            int paymentMethods,
+            byte[] predicted,
+            int classCount,
+            short[] classProba
+    ) {
+        this.modelVersion = modelVersion;
+        this.noshowCap = noshowCap;
+        this.reservationCap = reservationCap;
+        this.partySizeCap = partySizeCap;
+        this.weekdays = weekdays;
+        this.paymentMethods = paymentMethods;
+        this.predicted = predicted;
+        this.classCount = classCount;
+        this.classProba = classProba;
+    }
+
+    /**
+     * 모델로 모든 조합을 평가해 테이블 생성 (노쇼수×예약수 슬라이스 단위 병렬)
+     */
+    public static RiskLookupTable build(RandomForestRiskModel model, int noshowCap, int reservationCap, int partySizeCap) {
+        if (model.getClassCount() > 16) {
+            throw new IllegalArgumentException("Lookup table supports at most 16 classes");
+        }
+
+        int weekdays = model.weekdayCategoryCount();
+        int paymentMethods = model.paymentMethodCategoryCount();
+        int classCount = model.getClassCount();
+        long size = (long) (noshowCap + 1) * (reservationCap + 1) * weekdays * HOURS * partySizeCap * paymentMethods;
+        if (size * classCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Lookup table too large: " + size);
+        }
+
+        byte[] predicted = new byte[(int) size];
+        short[] classProba = new short[(int) size * classCount];
+        RiskLookupTable table = new RiskLookupTable(
+                model.getVersion(), noshowCap, reservationCap, partySizeCap, weekdays, paymentMethods,
+                predicted, classCount, classProba);
+
+        IntStream.range(0, (noshowCap + 1) * (reservationCap + 1)).parallel().forEach(slice -> {
+            int noshow = slice / (reservationCap + 1);
+            int reservations = slice % (reservationCap + 1);
+            double[] proba = new double[classCount];
+
+            for (int weekday = 0; weekday < weekdays; weekday++) {
+                for (int hour = 0; hour < HOURS; hour++) {
+                    for (int party = 1; party <= partySizeCap; party++) {
+                        for (int payment = 0; payment < paymentMethods; payment++) {
+                            int index = table.index(noshow, reservations, weekday, hour, party, payment);
+                            predicted[index] = (byte) model.predictProba(noshow, reservations, weekday, hour, party, payment, proba);
+                            for (int c = 0; c < classCount; c++) {
+                                classProba[index * classCount + c] = (short) quantize(proba[c]);
+                            }
+                        }
+                    }
+                }
+            }
+        });
+
+        return table;
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public int size() {
+        return predicted.length;
+    }
+
+    public boolean hasSameShape(int noshowCap, int reservationCap, int partySizeCap) {
+        return this.noshowCap == noshowCap && this.reservationCap == reservationCap && this.partySizeCap == partySizeCap;
+    }
+
+    /**
+     * 패킹된 키. 범위를 벗어나거나 알 수 없는 카테고리면 -1 (실시간 모델로 대체)
+     */
+    public int index(int noshow, int reservations, int weekdayCode, int hour, int partySize, int paymentMethodCode) {
+        if (noshow < 0 || noshow > noshowCap
+                || reservations < 0 || reservations > reservationCap
+                || weekdayCode < 0 || weekdayCode >= weekdays
+                || hour < 0 || hour >= HOURS
+                || partySize < 1 || partySize > partySizeCap
+                || paymentMethodCode < 0 || paymentMethodCode >= paymentMethods) {
+            return -1;
+        }
+        return ((((noshow * (reservationCap + 1) + reservations) * weekdays + weekdayCode)
+                * HOURS + hour) * partySizeCap + (partySize - 1)) * paymentMethods + paymentMethodCode;
+    }
+
+    public int getClassCount() {
+        return classCount;
+    }
+
+    /**
+     * out 에 클래스 인덱스 순서의 확률(양자화된 값)을 채우고 예측 클래스 인덱스를 반환
+     * (실시간 모델 predictProba(features, out) 와 같은 계약)
+     */
+    public int predictProba(int index, double[] out) {
+        int offset = index * classCount;
+        for (int c = 0; c < classCount; c++) {
+            out[c] = classProba[offset + c] / (double) CONFIDENCE_SCALE;
+        }
+        return predicted[index];
+    }
+
+    private static int quantize(double probability) {
+        return (int) Math.round(Math.max(0, Math.min(1, probability)) * CONFIDENCE_SCALE);
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 교체 (읽는 쪽이 반쯤 쓴 파일을 보지 않도록)
+     */
+    public void writeTo(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "risk-table", ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeUTF(modelVersion);
+            out.writeInt(noshowCap);
+            out.writeInt(reservationCap);
+            out.writeInt(partySizeCap);
+            out.writeInt(weekdays);
+            out.writeInt(paymentMethods);
+            out.writeInt(predicted.length);
+            out.write(predicted);
+            out.writeInt(classCount);
+            for (short value : classProba) {
+                out.writeShort(value);
+            }
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static RiskLookupTable readFrom(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a risk lookup table: " + path);
+            }
+            String modelVersion = in.readUTF();
+            int noshowCap = in.readInt();
+            int reservationCap = in.readInt();
+            int partySizeCap = in.readInt();
+            int weekdays = in.readInt();
+            int paymentMethods = in.readInt();
+            byte[] predicted = new byte[in.readInt()];
+            in.readFully(predicted);
+            int classCount = in.readInt();
+            short[] classProba = new short[predicted.length * classCount];
+            for (int i = 0; i < classProba.length; i++) {
+                classProba[i] = in.readShort();
+            }
+            return new RiskLookupTable(
+                    modelVersion, noshowCap, reservationCap, partySizeCap, weekdays, paymentMethods,
+                    predicted, classCount, classProba);
+        }
+    }
+}
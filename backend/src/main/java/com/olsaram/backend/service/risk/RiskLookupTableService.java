@@ -0,0 +1,159 @@
+package com.olsaram.backend.service.risk;
+
+import com.olsaram.backend.config.ReservationRiskModelProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 위험도 룩업 테이블 관리
+ *
+ * - 시작 시 저장된 테이블을 읽고, 현재 JVM 모델 버전과 다르면 백그라운드에서 다시 생성
+ * - 모델 파일이 바뀌면(JavaRiskModelEvaluator 재로드) 다음 점검 때 재생성
+ * - 생성 중이거나 범위 밖 입력이면 empty 를 반환해 실시간 모델로 대체
+ */
+@Component
+@Slf4j
+public class RiskLookupTableService {
+
+    private final ReservationRiskModelProperties properties;
+    private final JavaRiskModelEvaluator javaModelEvaluator;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final ExecutorService buildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "risk-lookup-table-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile RiskLookupTable table;
+
+    public RiskLookupTableService(
+            ReservationRiskModelProperties properties,
+            JavaRiskModelEvaluator javaModelEvaluator,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.javaModelEvaluator = javaModelEvaluator;
+        this.hitCounter = Counter.builder("risk_model.lookup_table.hits").register(meterRegistry);
+        this.missCounter = Counter.builder("risk_model.lookup_table.misses").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        buildExecutor.shutdownNow();
+    }
+
+    public Optional<ReservationRiskPrediction> lookup(ReservationRiskFeatures features) {
+        RiskLookupTable current = table;
+        Optional<RandomForestRiskModel> model = javaModelEvaluator.currentModel();
+        if (current == null || model.isEmpty() || !current.getModelVersion().equals(model.get().getVersion())) {
+            return Optional.empty();
+        }
+
+        RandomForestRiskModel forest = model.get();
+        int index = current.index(
+                features.noshowCount(),
+                features.reservationCount(),
+                forest.weekdayCode(features.weekday()),
+                features.hour(),
+                features.partySize(),
+                forest.paymentMethodCode(features.paymentMethod())
+        );
+        if (index < 0) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+
+        hitCounter.increment();
+        // 실시간 모델과 같은 모양 (클래스별 확률, 양자화된 값)
+        double[] proba = new double[current.getClassCount()];
+        int predicted = current.predictProba(index, proba);
+        return Optional.of(JavaRiskModelEvaluator.toPrediction(forest, predicted, proba));
+    }
+
+    @Scheduled(
+            fixedDelayString = "${risk-model.reload-check-interval-ms:60000}",
+            initialDelayString = "${risk-model.reload-check-interval-ms:60000}"
+    )
+    public void refresh() {
+        ReservationRiskModelProperties.LookupTable config = properties.getLookupTable();
+        if (!properties.isEnabled() || !config.isEnabled()) {
+            return;
+        }
+
+        Optional<RandomForestRiskModel> model = javaModelEvaluator.currentModel();
+        if (model.isEmpty()) {
+            return;
+        }
+
+        RiskLookupTable current = table;
+        if (current != null && current.getModelVersion().equals(model.get().getVersion())) {
+            return;
+        }
+
+        if (building.compareAndSet(false, true)) {
+            buildExecutor.execute(() -> {
+                try {
+                    table = loadOrBuild(model.get(), config);
+                } catch (Exception e) {
+                    log.error("❌ 위험도 룩업 테이블 준비 실패: {}", e.getMessage(), e);
+                } finally {
+                    building.set(false);
+                }
+            });
+        }
+    }
+
+    private RiskLookupTable loadOrBuild(RandomForestRiskModel model, ReservationRiskModelProperties.LookupTable config)
+            throws Exception {
+        Path path = Paths.get(RiskModelPaths.resolvePath(config.getPath()));
+
+        if (Files.exists(path)) {
+            try {
+                RiskLookupTable stored = RiskLookupTable.readFrom(path);
+                if (stored.getModelVersion().equals(model.getVersion())
+                        && stored.hasSameShape(config.getNoshowCap(), config.getReservationCap(), config.getPartySizeCap())) {
+                    log.info("✅ 위험도 룩업 테이블 로드 - 파일: {}, 항목: {}", path, stored.size());
+                    return stored;
+                }
+                log.info("ℹ️ 룩업 테이블이 현재 모델과 다릅니다 - 다시 생성합니다. (테이블 버전: {})", stored.getModelVersion());
+            } catch (Exception e) {
+                log.warn("⚠️ 룩업 테이블 파일 읽기 실패 - 다시 생성합니다: {}", e.getMessage());
+            }
+        }
+
+        long started = System.currentTimeMillis();
+        RiskLookupTable built = RiskLookupTable.build(
+                model, config.getNoshowCap(), config.getReservationCap(), config.getPartySizeCap());
+        log.info("✅ 위험도 룩업 테이블 생성 - 항목: {}, 소요: {}ms, 모델 버전: {}",
+                built.size(), System.currentTimeMillis() - started, model.getVersion());
+
+        try {
+            built.writeTo(path);
+        } catch (Exception e) {
+            log.warn("⚠️ 룩업 테이블 저장 실패 (메모리 테이블은 사용): {}", e.getMessage());
+        }
+        return built;
+    }
+}
@@ -0,0 +1,87 @@
+package com.olsaram.backend.service.risk;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * ML 모델 스크립트/모델 파일/Python 실행 경로 해석
+ * (단발성 스크립트 실행과 상주 워커 풀이 같은 규칙을 사용)
+ */
+@Slf4j
+final class RiskModelPaths {
+
+    private RiskModelPaths() {
+    }
+
+    static String resolvePath(String path) {
+        // 절대 경로인 경우 그대로 반환
+        Path pathObj = Paths.get(path);
+        if (pathObj.isAbsolute()) {
+            return pathObj.normalize().toString();
+        }
+
+        // 상대 경로인 경우 프로젝트 루트(backend 디렉토리)를 기준으로 해석
+        Path basePath = Paths.get("").toAbsolutePath().normalize();
+
+        log.debug("🔍 경로 해석 - 입력 경로: {}, 작업 디렉토리: {}", path, basePath);
+
+        // 현재 작업 디렉토리가 프로젝트 루트인지 확인
+        // backend 디렉토리에서 실행되는 경우를 고려
+        Path resolved;
+        if (basePath.endsWith("backend")) {
+            // 이미 backend 디렉토리에 있음
+            resolved = basePath.resolve(path).normalize();
+        } else {
+            // 프로젝트 루트에서 실행되는 경우 backend 디렉토리 추가
+            Path backendPath = basePath.resolve("backend");
+            if (backendPath.toFile().exists()) {
+                resolved = backendPath.resolve(path).normalize();
+            } else {
+                // backend 디렉토리가 없으면 현재 디렉토리 기준
+                resolved = basePath.resolve(path).normalize();
+            }
+        }
+
+        String resolvedStr = resolved.toString();
+        boolean exists = resolved.toFile().exists();
+        log.debug("🔍 경로 해석 결과 - 해석된 경로: {}, 존재 여부: {}", resolvedStr, exists);
+
+        if (!exists) {
+            log.warn("⚠️ 경로가 존재하지 않습니다: {}", resolvedStr);
+        }
+
+        return resolvedStr;
+    }
+
+    /**
+     * Python 명령어 해석 (가상 환경 자동 감지)
+     * Ubuntu 환경에서 venv가 있으면 자동으로 사용
+     * 가상 환경이 없으면 시스템 Python 사용 (시스템 패키지 필요)
+     */
+    static String resolvePythonCommand(String pythonCommand) {
+        Path basePath = Paths.get("").toAbsolutePath().normalize();
+        Path venvPython;
+
+        // backend 디렉토리 확인
+        if (basePath.endsWith("backend")) {
+            venvPython = basePath.resolve("venv/bin/python3");
+        } else {
+            venvPython = basePath.resolve("backend/venv/bin/python3");
+        }
+
+        // 가상 환경의 Python이 존재하면 사용
+        if (venvPython.toFile().exists() && venvPython.toFile().canExecute()) {
+            log.info("✅ 가상 환경 Python 사용: {}", venvPython);
+            return venvPython.toString();
+        }
+
+        // 가상 환경이 없으면 시스템 Python 사용
+        // Ubuntu 환경에서는 시스템 패키지 설치 필요:
+        // sudo apt-get install python3-pandas python3-sklearn python3-joblib
+        log.info("✅ 시스템 Python 사용: {} (가상 환경 없음)", pythonCommand);
+        log.info("ℹ️ Ubuntu 환경에서 시스템 패키지 설치: sudo apt-get install python3-pandas python3-sklearn python3-joblib");
+        return pythonCommand;
+    }
+}
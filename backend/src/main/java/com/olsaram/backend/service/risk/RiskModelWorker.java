@@ -0,0 +1,185 @@
+package com.olsaram.backend.service.risk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * risk_model_worker.py 프로세스 하나를 감싸는 래퍼
+ * 모델은 프로세스 시작 시 한 번만 로드되고, 이후 stdin/stdout JSON lines 로 요청/응답을 주고받는다.
+ * 한 번에 한 요청만 처리하므로 풀에서 빌려 쓴 뒤 반납해야 한다.
+ */
+@Slf4j
+class RiskModelWorker {
+
+    private static final String EOF = "\u0000EOF";
+
+    private final int workerId;
+    private final ObjectMapper objectMapper;
+    private final Process process;
+    private final BufferedWriter stdin;
+    private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private RiskModelWorker(int workerId, ObjectMapper objectMapper, Process process) {
+        this.workerId = workerId;
+        this.objectMapper = objectMapper;
+        this.process = process;
+        this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+
+        Thread reader = new Thread(this::pumpStdout, "risk-model-worker-" + workerId);
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * 워커 프로세스를 띄우고 모델 로드 완료({"ready": true})까지 대기
+     */
+    static RiskModelWorker start(
+            int workerId,
+            List<String> command,
+            File workingDirectory,
+            ObjectMapper objectMapper,
+            long startupTimeoutMs
+    ) throws IOException, TimeoutException, InterruptedException {
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.directory(workingDirectory);
+        builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+
+        RiskModelWorker worker = new RiskModelWorker(workerId, objectMapper, builder.start());
+        try {
+            JsonNode ready = worker.readUntil(node -> node.has("ready"), startupTimeoutMs);
+            if (!ready.path("ready").asBoolean(false)) {
+                throw new IOException("worker reported not ready: " + ready);
+            }
+        } catch (IOException | TimeoutException | InterruptedException e) {
+            worker.destroy();
+            throw e;
+        }
+        return worker;
+    }
+
+    int getWorkerId() {
+        return workerId;
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * 요청 하나를 보내고 같은 id 의 응답을 기다린다.
+     */
+    JsonNode call(ObjectNode request, long timeoutMs)
+            throws IOException, TimeoutException, InterruptedException {
+        if (!process.isAlive()) {
+            throw new IOException("worker " + workerId + " is not running (exit=" + process.exitValue() + ")");
+        }
+
+        long requestId = sequence.incrementAndGet();
+        request.put("id", requestId);
+
+        stdin.write(objectMapper.writeValueAsString(request));
+        stdin.newLine();
+        stdin.flush();
+
+        return readUntil(node -> node.path("id").asLong(-1) == requestId, timeoutMs);
+    }
+
+    boolean ping(long timeoutMs) {
+        try {
+            JsonNode response = call(objectMapper.createObjectNode().put("op", "ping"), timeoutMs);
+            return response.path("ok").asBoolean(false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.warn("⚠️ ML 워커 헬스체크 실패 - 워커: {}, 오류: {}", workerId, e.getMessage());
+            return false;
+        }
+    }
+
+    void destroy() {
+        try {
+            stdin.close();
+        } catch (IOException ignored) {
+            // 이미 종료된 프로세스
+        }
+        process.destroy();
+        try {
+            if (!process.waitFor(2, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+    }
+
+    private JsonNode readUntil(Predicate<JsonNode> matcher, long timeoutMs)
+            throws IOException, TimeoutException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException("worker " + workerId + " did not answer within " + timeoutMs + "ms");
+            }
+
+            String line = lines.poll(remaining, TimeUnit.NANOSECONDS);
+            if (line == null) {
+                continue;
+            }
+            if (EOF.equals(line)) {
+                lines.offer(EOF);
+                throw new IOException("worker " + workerId + " closed stdout");
+            }
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (IOException e) {
+                log.warn("⚠️ ML 워커 출력 파싱 실패 - 워커: {}, 출력: {}", workerId, line);
+                continue;
+            }
+
+            if (matcher.test(node)) {
+                return node;
+            }
+            // 타임아웃으로 버려진 이전 요청의 응답은 무시
+            log.debug("ML 워커 {} 이전 응답 무시: {}", workerId, line);
+        }
+    }
+
+    private void pumpStdout() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    lines.offer(line.trim());
+                }
+            }
+        } catch (IOException e) {
+            log.debug("ML 워커 {} stdout 읽기 종료: {}", workerId, e.getMessage());
+        } finally {
+            lines.offer(EOF);
+        }
+    }
+}
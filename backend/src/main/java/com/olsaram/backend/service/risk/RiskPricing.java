@@ -0,0 +1,59 @@
+package com.olsaram.backend.service.risk;
+
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 위험도 → 예약금 요율 정책 (예약 생성과 백테스트가 같은 표를 쓰도록 한 곳에 둔다)
+ */
+public final class RiskPricing {
+
+    private RiskPricing() {
+    }
+
+    /**
+     * 위험도 퍼센트(0~100) → 1인 기본 금액 대비 예약금 비율(%)
+     */
+    public static double feePercentFor(double riskPercent) {
+        if (riskPercent < 30) return 0.0;          // 0~29.99%
+        if (riskPercent < 50) return 10.0;         // 30~49.99%
+        if (riskPercent < 70) return 20.0;         // 50~69.99%
+        if (riskPercent < 90) return 30.0;         // 70~89.99%
+        return 40.0;                               // 90~100%
+    }
+
+    /**
+     * ML 모델 레벨 → 위험도 퍼센트 (알 수 없는 레벨이면 -1)
+     */
+    public static double riskPercentOf(String mlLabel) {
+        if (!StringUtils.hasText(mlLabel)) return -1;
+        return switch (mlLabel.toLowerCase(Locale.ROOT)) {
+            case "high" -> 85.0;
+            case "medium" -> 55.0;
+            case "low" -> 25.0;
+            default -> -1;
+        };
+    }
+
+    /**
+     * 레벨별 확률로 가중 평균한 위험도 퍼센트 (확률이 없으면 예측 레벨의 퍼센트, 알 수 없으면 -1)
+     */
+    public static double expectedRiskPercent(ReservationRiskPrediction prediction) {
+        Map<String, Double> proba = prediction.getProba();
+        if (proba == null || proba.isEmpty()) {
+            return riskPercentOf(prediction.getRiskLevel());
+        }
+        double weighted = 0;
+        double total = 0;
+        for (Map.Entry<String, Double> entry : proba.entrySet()) {
+            double percent = riskPercentOf(entry.getKey());
+            if (percent >= 0 && entry.getValue() != null) {
+                weighted += percent * entry.getValue();
+                total += entry.getValue();
+            }
+        }
+        return total > 0 ? weighted / total : riskPercentOf(prediction.getRiskLevel());
+    }
+}
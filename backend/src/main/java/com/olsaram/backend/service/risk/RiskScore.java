@@ -0,0 +1,22 @@
+package com.olsaram.backend.service.risk;
+
+import java.util.function.Supplier;
+
+/**
+ * RiskScorer 한 건의 결과
+ *
+ * @param score 0~100 (100 = 안전, 낮을수록 위험)
+ * @param level HIGH / MEDIUM / LOW
+ */
+public record RiskScore(String scorer, int score, String level, Supplier<RiskExplanation> explanation) {
+
+    /** 노쇼 확률 0~1 (점수의 반대) */
+    public double noShowProbability() {
+        return (100 - score) / 100.0;
+    }
+
+    /** 판정 이유 (문자열은 이때 만든다 - 점수만 필요한 경로는 비용 없음) */
+    public RiskExplanation explain() {
+        return explanation.get();
+    }
+}
@@ -0,0 +1,25 @@
+package com.olsaram.backend.service.risk;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 예약 위험도 계산 방식 (룰 / ML 모델 / AI 서버)
+ *
+ * - 구현체는 빈으로 등록하고 name() 으로 구분한다 (RuleRiskScorer, MlRiskScorer, AiRiskScorer)
+ * - 점수를 낼 수 없으면 (모델 미로드, AI 서버 장애 등) empty
+ * - 판정 이유는 RiskScore.explain() 을 호출할 때만 만든다
+ */
+public interface RiskScorer {
+
+    String name();
+
+    Optional<RiskScore> score(RiskScoringInput input);
+
+    /**
+     * 여러 건 일괄 채점 (입력 순서대로). 기본 구현은 한 건씩 호출, 일괄 처리가 빠른 구현체는 재정의한다.
+     */
+    default List<Optional<RiskScore>> scoreAll(List<RiskScoringInput> inputs) {
+        return inputs.stream().map(this::score).toList();
+    }
+}
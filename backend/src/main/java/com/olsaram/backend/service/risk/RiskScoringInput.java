@@ -0,0 +1,25 @@
+package com.olsaram.backend.service.risk;
+
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.service.customer.CustomerFeatureSnapshot;
+
+import java.time.LocalDateTime;
+
+/**
+ * RiskScorer 입력
+ *
+ * @param customer      고객 피처 (비회원/고객 없음이면 null)
+ * @param paymentMethod 결제 수단 (없으면 CARD 로 취급)
+ * @param asOf          판정 기준 시각 (가입 경과일 등, null 이면 현재 - 백테스트는 예약 시각)
+ */
+public record RiskScoringInput(
+        CustomerFeatureSnapshot customer,
+        Reservation reservation,
+        String paymentMethod,
+        LocalDateTime asOf
+) {
+
+    public static RiskScoringInput of(CustomerFeatureSnapshot customer, Reservation reservation, String paymentMethod) {
+        return new RiskScoringInput(customer, reservation, paymentMethod, null);
+    }
+}
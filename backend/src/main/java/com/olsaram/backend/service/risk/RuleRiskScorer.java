@@ -0,0 +1,158 @@
+package com.olsaram.backend.service.risk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olsaram.backend.config.ReservationRiskModelProperties;
+import com.olsaram.backend.domain.reservation.PaymentStatus;
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.service.customer.CustomerFeatureSnapshot;
+import com.olsaram.backend.service.risk.rule.CompiledRiskRules;
+import com.olsaram.backend.service.risk.rule.RiskRuleColumns;
+import com.olsaram.backend.service.risk.rule.RiskRuleField;
+import com.olsaram.backend.service.risk.rule.RiskRuleSet;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 룰 기반 위험도 (JSON 룰 파일 → CompiledRiskRules)
+ *
+ * - 시작 시 내장 기본 룰을 컴파일하고, 룰 파일이 있으면 그것으로 교체
+ * - reload-check-interval-ms 마다 파일 수정 시각을 확인해 바뀌면 다시 컴파일 (실패하면 기존 룰 유지)
+ * - 일괄 채점은 입력을 열 배열(RiskRuleColumns)로 한 번 옮긴 뒤 룰을 열 단위로 평가
+ */
+@Component
+@Slf4j
+public class RuleRiskScorer implements RiskScorer {
+
+    public static final String NAME = "rules";
+    private static final String DEFAULT_RULES = "risk/reservation-risk-rules.json";
+
+    private final ReservationRiskModelProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private volatile CompiledRiskRules rules;
+    private volatile long loadedLastModified = -1;
+
+    public RuleRiskScorer(ReservationRiskModelProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void init() {
+        try (InputStream in = new ClassPathResource(DEFAULT_RULES).getInputStream()) {
+            rules = CompiledRiskRules.compile(objectMapper.readValue(in, RiskRuleSet.class));
+        } catch (IOException e) {
+            throw new IllegalStateException("기본 위험도 룰을 읽을 수 없습니다: " + DEFAULT_RULES, e);
+        }
+        reloadIfChanged();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    public CompiledRiskRules currentRules() {
+        return rules;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${risk-model.rules.reload-check-interval-ms:10000}",
+            initialDelayString = "${risk-model.rules.reload-check-interval-ms:10000}"
+    )
+    public void reloadIfChanged() {
+        File file = new File(RiskModelPaths.resolvePath(properties.getRules().getPath()));
+        if (!file.exists()) {
+            return;
+        }
+        long lastModified = file.lastModified();
+        if (lastModified == loadedLastModified) {
+            return;
+        }
+
+        try {
+            CompiledRiskRules compiled = CompiledRiskRules.compile(objectMapper.readValue(file, RiskRuleSet.class));
+            rules = compiled;
+            log.info("✅ 위험도 룰 로드 완료 - 파일: {}, 버전: {}, 룰: {}개", file, compiled.getVersion(), compiled.ruleCount());
+        } catch (Exception e) {
+            log.error("❌ 위험도 룰 로드 실패 - 기존 룰 유지, 파일: {}, 오류: {}", file, e.getMessage());
+        }
+        // 실패한 파일도 다시 고칠 때까지 매번 읽지 않는다
+        loadedLastModified = lastModified;
+    }
+
+    @Override
+    public Optional<RiskScore> score(RiskScoringInput input) {
+        return scoreAll(List.of(input)).get(0);
+    }
+
+    @Override
+    public List<Optional<RiskScore>> scoreAll(List<RiskScoringInput> inputs) {
+        CompiledRiskRules current = rules;
+        RiskRuleColumns columns = columnsOf(inputs);
+        CompiledRiskRules.Evaluation evaluation = current.evaluate(columns);
+
+        List<Optional<RiskScore>> results = new ArrayList<>(inputs.size());
+        for (int row = 0; row < inputs.size(); row++) {
+            int index = row;
+            int score = evaluation.scores()[row];
+            results.add(Optional.of(new RiskScore(NAME, score, current.level(score),
+                    () -> current.explain(columns, index, evaluation))));
+        }
+        return results;
+    }
+
+    /**
+     * 점수만 필요한 경로용 (RiskScore 객체도 만들지 않음)
+     */
+    public int[] scores(List<RiskScoringInput> inputs) {
+        return rules.evaluate(columnsOf(inputs)).scores();
+    }
+
+    static RiskRuleColumns columnsOf(List<RiskScoringInput> inputs) {
+        RiskRuleColumns columns = new RiskRuleColumns(inputs.size());
+        for (int row = 0; row < inputs.size(); row++) {
+            RiskScoringInput input = inputs.get(row);
+            CustomerFeatureSnapshot customer = input.customer();
+            Reservation reservation = input.reservation();
+            LocalDateTime asOf = input.asOf() != null ? input.asOf() : LocalDateTime.now();
+
+            columns.set(RiskRuleField.MEMBER, row, customer != null ? 1 : 0);
+            if (customer != null) {
+                columns.set(RiskRuleField.NO_SHOW_COUNT, row, customer.noShowCount());
+                columns.set(RiskRuleField.RESERVATION_COUNT, row, customer.completedCount());
+                columns.set(RiskRuleField.TRUST_SCORE, row, customer.trustScore());
+                columns.set(RiskRuleField.LAST_MINUTE_CANCELS, row, customer.lastMinuteCancelCount());
+                columns.set(RiskRuleField.ACCOUNT_AGE_DAYS, row, customer.customerCreatedAt() != null
+                        ? (int) ChronoUnit.DAYS.between(customer.customerCreatedAt().toLocalDate(), asOf.toLocalDate())
+                        : 365);
+            } else {
+                columns.set(RiskRuleField.NO_SHOW_COUNT, row, RiskRuleColumns.MISSING);
+                columns.set(RiskRuleField.RESERVATION_COUNT, row, RiskRuleColumns.MISSING);
+                columns.set(RiskRuleField.TRUST_SCORE, row, RiskRuleColumns.MISSING);
+                columns.set(RiskRuleField.LAST_MINUTE_CANCELS, row, RiskRuleColumns.MISSING);
+                columns.set(RiskRuleField.ACCOUNT_AGE_DAYS, row, RiskRuleColumns.MISSING);
+            }
+
+            columns.set(RiskRuleField.HOUR, row, reservation != null && reservation.getReservationTime() != null
+                    ? reservation.getReservationTime().getHour()
+                    : RiskRuleColumns.MISSING);
+            columns.set(RiskRuleField.PEOPLE, row, reservation != null ? reservation.getPeople() : null);
+            columns.set(RiskRuleField.PAID, row,
+                    reservation != null && reservation.getPaymentStatus() == PaymentStatus.PAID ? 1 : 0);
+        }
+        return columns;
+    }
+}
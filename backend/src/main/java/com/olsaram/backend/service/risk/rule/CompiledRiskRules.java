@@ -0,0 +1,352 @@
+package com.olsaram.backend.service.risk.rule;
+
+import com.olsaram.backend.service.risk.RiskExplanation;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 컴파일된 위험도 룰 (불변, 여러 스레드가 공유)
+ *
+ * - 룰마다 조건을 람다 하나(RowPredicate)로, action 을 람다 하나(RowAction)로 미리 묶어 평평한 배열에 둔다
+ * - 평가할 때는 룰 → 행 순서로 열 배열을 훑고, 적용된 룰은 행마다 long 비트마스크로만 기록 (문자열 생성 없음)
+ * - 진행 중 등급(level/ifLevel)과 대표 이유 룰은 행마다 int 하나씩만 기록한다
+ * - 설명 문자열은 explain() 을 호출할 때 비트마스크와 미리 쪼개 둔 템플릿으로 만든다
+ * - 룰은 비트마스크 크기 때문에 64개까지
+ */
+public final class CompiledRiskRules {
+
+    public static final int MAX_RULES = Long.SIZE;
+
+    private static final int NO_LEVEL = -1;
+    private static final int SCORE_LEVEL = -2;
+
+    @FunctionalInterface
+    interface RowPredicate {
+        boolean test(int[][] columns, int row);
+    }
+
+    @FunctionalInterface
+    interface RowAction {
+        int apply(int score, int[][] columns, int row);
+    }
+
+    private final String version;
+    private final int baseScore;
+    private final String defaultReason;
+    private final int[] levelMins;
+    private final String[] levelNames;
+
+    private final String[] ids;
+    private final RowPredicate[] predicates;
+    private final RowAction[] actions;
+    private final long[] groupBits;
+    private final boolean[] stops;
+    private final boolean[] clears;
+    private final Template[] factors;
+    private final Template[] reasons;
+    private final int[] setLevels;
+    private final int[] ifLevels;
+
+    private CompiledRiskRules(RiskRuleSet set, int ruleCount) {
+        this.version = set.getVersion();
+        this.baseScore = set.getBaseScore();
+        this.defaultReason = set.getDefaultReason();
+        this.levelMins = new int[set.getLevels().size()];
+        this.levelNames = new String[levelMins.length];
+        this.ids = new String[ruleCount];
+        this.predicates = new RowPredicate[ruleCount];
+        this.actions = new RowAction[ruleCount];
+        this.groupBits = new long[ruleCount];
+        this.stops = new boolean[ruleCount];
+        this.clears = new boolean[ruleCount];
+        this.factors = new Template[ruleCount];
+        this.reasons = new Template[ruleCount];
+        this.setLevels = new int[ruleCount];
+        this.ifLevels = new int[ruleCount];
+    }
+
+    /**
+     * 설정 검증 + 컴파일 (잘못된 설정이면 IllegalArgumentException)
+     */
+    public static CompiledRiskRules compile(RiskRuleSet set) {
+        List<RiskRuleSet.Rule> rules = set.getRules();
+        if (rules.size() > MAX_RULES) {
+            throw new IllegalArgumentException("Too many risk rules: " + rules.size() + " (max " + MAX_RULES + ")");
+        }
+        if (set.getLevels().isEmpty()) {
+            throw new IllegalArgumentException("Risk rule levels must not be empty");
+        }
+
+        CompiledRiskRules compiled = new CompiledRiskRules(set, rules.size());
+        for (int i = 0; i < compiled.levelMins.length; i++) {
+            RiskRuleSet.Level level = set.getLevels().get(i);
+            if (i > 0 && level.getMin() >= compiled.levelMins[i - 1]) {
+                throw new IllegalArgumentException("Risk rule levels must be in descending order of min");
+            }
+            compiled.levelMins[i] = level.getMin();
+            compiled.levelNames[i] = level.getLevel();
+        }
+
+        Map<String, Integer> groups = new HashMap<>();
+        for (int r = 0; r < rules.size(); r++) {
+            RiskRuleSet.Rule rule = rules.get(r);
+            String id = StringUtils.hasText(rule.getId()) ? rule.getId() : "rule-" + r;
+            compiled.ids[r] = id;
+            compiled.predicates[r] = all(rule.getWhen().stream().map(condition -> predicate(id, condition)).toList());
+            compiled.actions[r] = action(id, rule);
+            if (StringUtils.hasText(rule.getGroup())) {
+                int group = groups.computeIfAbsent(rule.getGroup(), key -> groups.size());
+                if (group >= MAX_RULES) {
+                    throw new IllegalArgumentException("Too many risk rule groups");
+                }
+                compiled.groupBits[r] = 1L << group;
+            }
+            compiled.stops[r] = rule.isStop();
+            compiled.clears[r] = rule.isClearFactors();
+            compiled.factors[r] = Template.parse(rule.getFactor());
+            compiled.reasons[r] = Template.parse(rule.getReason());
+            compiled.setLevels[r] = "score".equalsIgnoreCase(rule.getLevel())
+                    ? SCORE_LEVEL
+                    : compiled.levelIndexOf(id, rule.getLevel());
+            compiled.ifLevels[r] = compiled.levelIndexOf(id, rule.getIfLevel());
+        }
+        return compiled;
+    }
+
+    private int levelIndexOf(String ruleId, String level) {
+        if (!StringUtils.hasText(level)) {
+            return NO_LEVEL;
+        }
+        for (int i = 0; i < levelNames.length; i++) {
+            if (levelNames[i].equals(level)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Rule " + ruleId + ": unknown level " + level);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public int ruleCount() {
+        return ids.length;
+    }
+
+    /**
+     * 모든 행 평가 (점수, 행별 적용 룰 비트마스크, 대표 이유 룰)
+     */
+    public Evaluation evaluate(RiskRuleColumns input) {
+        int[][] columns = input.values();
+        int size = input.size();
+        int[] scores = new int[size];
+        long[] fired = new long[size];
+        long[] firedGroups = new long[size];
+        boolean[] stopped = new boolean[size];
+        int[] levels = new int[size];
+        int[] reasonRules = new int[size];
+        Arrays.fill(scores, baseScore);
+        Arrays.fill(levels, levelIndex(baseScore));
+        Arrays.fill(reasonRules, -1);
+
+        for (int r = 0; r < predicates.length; r++) {
+            RowPredicate predicate = predicates[r];
+            RowAction action = actions[r];
+            long bit = 1L << r;
+            long groupBit = groupBits[r];
+            boolean stop = stops[r];
+            boolean clear = clears[r];
+            boolean hasReason = reasons[r] != null;
+            int setLevel = setLevels[r];
+            int ifLevel = ifLevels[r];
+
+            for (int row = 0; row < size; row++) {
+                if (stopped[row] || (firedGroups[row] & groupBit) != 0 || !predicate.test(columns, row)) {
+                    continue;
+                }
+                scores[row] = action.apply(scores[row], columns, row);
+                fired[row] = clear ? bit : fired[row] | bit;
+                firedGroups[row] |= groupBit;
+                stopped[row] = stop;
+                if (clear) {
+                    reasonRules[row] = -1;
+                }
+                if (ifLevel == NO_LEVEL || levels[row] == ifLevel) {
+                    if (hasReason) {
+                        reasonRules[row] = r;
+                    }
+                    if (setLevel == SCORE_LEVEL) {
+                        levels[row] = levelIndex(scores[row]);
+                    } else if (setLevel != NO_LEVEL) {
+                        levels[row] = setLevel;
+                    }
+                }
+            }
+        }
+
+        for (int row = 0; row < size; row++) {
+            scores[row] = Math.max(0, Math.min(100, scores[row]));
+        }
+        return new Evaluation(scores, fired, reasonRules);
+    }
+
+    public String level(int score) {
+        return levelNames[levelIndex(score)];
+    }
+
+    private int levelIndex(int score) {
+        for (int i = 0; i < levelMins.length - 1; i++) {
+            if (score >= levelMins[i]) {
+                return i;
+            }
+        }
+        return levelMins.length - 1;
+    }
+
+    /**
+     * 적용된 룰의 설명 (row 의 입력 값으로 템플릿을 채운다)
+     */
+    public RiskExplanation explain(RiskRuleColumns input, int row, Evaluation evaluation) {
+        int[][] columns = input.values();
+        long fired = evaluation.fired()[row];
+        List<String> factorTexts = new ArrayList<>(Long.bitCount(fired));
+        for (long remaining = fired; remaining != 0; remaining &= remaining - 1) {
+            int r = Long.numberOfTrailingZeros(remaining);
+            if (factors[r] != null) {
+                factorTexts.add(factors[r].render(columns, row));
+            }
+        }
+        int reasonRule = evaluation.reasonRules()[row];
+        String reason = reasonRule >= 0 ? reasons[reasonRule].render(columns, row) : defaultReason;
+        return new RiskExplanation(reason, factorTexts);
+    }
+
+    /** 적용된 룰 ID (디버깅/로그용) */
+    public List<String> firedRuleIds(long fired) {
+        List<String> result = new ArrayList<>(Long.bitCount(fired));
+        for (long remaining = fired; remaining != 0; remaining &= remaining - 1) {
+            result.add(ids[Long.numberOfTrailingZeros(remaining)]);
+        }
+        return result;
+    }
+
+    /**
+     * @param scores      행별 점수 (0~100)
+     * @param fired       행별 적용 룰 비트마스크
+     * @param reasonRules 행별 대표 이유 룰 번호 (없으면 -1 → defaultReason)
+     */
+    public record Evaluation(int[] scores, long[] fired, int[] reasonRules) {
+    }
+
+    private static RowPredicate all(List<RowPredicate> conditions) {
+        return switch (conditions.size()) {
+            case 0 -> (columns, row) -> true;
+            case 1 -> conditions.get(0);
+            case 2 -> {
+                RowPredicate first = conditions.get(0);
+                RowPredicate second = conditions.get(1);
+                yield (columns, row) -> first.test(columns, row) && second.test(columns, row);
+            }
+            default -> {
+                RowPredicate[] array = conditions.toArray(RowPredicate[]::new);
+                yield (columns, row) -> {
+                    for (RowPredicate condition : array) {
+                        if (!condition.test(columns, row)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            }
+        };
+    }
+
+    private static RowPredicate predicate(String ruleId, RiskRuleSet.Condition condition) {
+        if (condition.getField() == null || !StringUtils.hasText(condition.getOp())) {
+            throw new IllegalArgumentException("Rule " + ruleId + ": condition needs field and op");
+        }
+        int f = condition.getField().ordinal();
+        int value = condition.getValue();
+        int to = condition.getTo();
+        int missing = RiskRuleColumns.MISSING;
+
+        return switch (condition.getOp().toLowerCase(Locale.ROOT)) {
+            case "eq" -> (columns, row) -> columns[f][row] == value;
+            case "ne" -> (columns, row) -> columns[f][row] != missing && columns[f][row] != value;
+            case "gt" -> (columns, row) -> columns[f][row] != missing && columns[f][row] > value;
+            case "gte" -> (columns, row) -> columns[f][row] != missing && columns[f][row] >= value;
+            case "lt" -> (columns, row) -> columns[f][row] != missing && columns[f][row] < value;
+            case "lte" -> (columns, row) -> columns[f][row] != missing && columns[f][row] <= value;
+            case "between" -> (columns, row) -> columns[f][row] != missing
+                    && columns[f][row] >= value && columns[f][row] <= to;
+            case "present" -> (columns, row) -> columns[f][row] != missing;
+            case "absent" -> (columns, row) -> columns[f][row] == missing;
+            default -> throw new IllegalArgumentException(
+                    "Rule " + ruleId + ": unknown condition op " + condition.getOp());
+        };
+    }
+
+    private static RowAction action(String ruleId, RiskRuleSet.Rule rule) {
+        int value = rule.getValue();
+        String action = rule.getAction() != null ? rule.getAction().toLowerCase(Locale.ROOT) : "add";
+        return switch (action) {
+            case "add" -> (score, columns, row) -> score + value;
+            case "set" -> (score, columns, row) -> value;
+            case "set-field" -> {
+                if (rule.getField() == null) {
+                    throw new IllegalArgumentException("Rule " + ruleId + ": set-field needs field");
+                }
+                int f = rule.getField().ordinal();
+                // 값이 없으면 점수를 바꾸지 않는다 (조건에 present 를 함께 쓰는 것을 권장)
+                yield (score, columns, row) -> columns[f][row] != RiskRuleColumns.MISSING ? columns[f][row] : score;
+            }
+            default -> throw new IllegalArgumentException("Rule " + ruleId + ": unknown action " + rule.getAction());
+        };
+    }
+
+    /**
+     * "노쇼 이력 {NO_SHOW_COUNT}회" → 고정 문자열 조각 + 필드 열 번호 (컴파일 시 한 번만 파싱)
+     */
+    private record Template(String[] literals, int[] fields) {
+
+        static Template parse(String text) {
+            if (text == null) {
+                return null;
+            }
+            List<String> literals = new ArrayList<>();
+            List<Integer> fields = new ArrayList<>();
+            int start = 0;
+            while (true) {
+                int open = text.indexOf('{', start);
+                int close = open >= 0 ? text.indexOf('}', open) : -1;
+                if (open < 0 || close < 0) {
+                    literals.add(text.substring(start));
+                    break;
+                }
+                literals.add(text.substring(start, open));
+                fields.add(RiskRuleField.valueOf(text.substring(open + 1, close).trim()).ordinal());
+                start = close + 1;
+            }
+            return new Template(literals.toArray(String[]::new), fields.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        String render(int[][] columns, int row) {
+            if (fields.length == 0) {
+                return literals[0];
+            }
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < fields.length; i++) {
+                builder.append(literals[i]);
+                int value = columns[fields[i]][row];
+                builder.append(value != RiskRuleColumns.MISSING ? Integer.toString(value) : "-");
+            }
+            return builder.append(literals[fields.length]).toString();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.olsaram.backend.service.risk.rule;
+
+/**
+ * 룰 입력 (열 단위 int 배열) - 한 건은 크기 1, 일괄 채점은 예약 수만큼
+ *
+ * 룰마다 같은 열을 처음부터 끝까지 훑으므로 행 단위 객체를 만들지 않는다.
+ * 값이 없으면 MISSING (비교 조건은 항상 거짓, absent 조건만 참).
+ */
+public final class RiskRuleColumns {
+
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    private final int size;
+    private final int[][] values;
+
+    public RiskRuleColumns(int size) {
+        this.size = size;
+        this.values = new int[RiskRuleField.values().length][size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void set(RiskRuleField field, int row, int value) {
+        values[field.ordinal()][row] = value;
+    }
+
+    public void set(RiskRuleField field, int row, Integer value) {
+        values[field.ordinal()][row] = value != null ? value : MISSING;
+    }
+
+    public int get(RiskRuleField field, int row) {
+        return values[field.ordinal()][row];
+    }
+
+    int[][] values() {
+        return values;
+    }
+}
@@ -0,0 +1,16 @@
+package com.olsaram.backend.service.risk.rule;
+
+/**
+ * 룰 조건에서 쓸 수 있는 입력 값 (RiskRuleColumns 의 열)
+ */
+public enum RiskRuleField {
+    MEMBER,                 // 회원 예약 1 / 비회원 0
+    NO_SHOW_COUNT,
+    RESERVATION_COUNT,      // 방문 완료 횟수
+    TRUST_SCORE,
+    HOUR,                   // 예약 시각 (0~23)
+    PEOPLE,
+    PAID,                   // 선결제 완료 1 / 아니면 0
+    LAST_MINUTE_CANCELS,
+    ACCOUNT_AGE_DAYS
+}
@@ -0,0 +1,70 @@
+package com.olsaram.backend.service.risk.rule;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 위험도 룰 설정 파일 (JSON) - CompiledRiskRules.compile 로 한 번 컴파일해서 사용
+ *
+ * 점수는 baseScore 에서 시작해 위에서부터 조건이 맞는 룰의 action 을 적용하고 0~100 으로 자른다.
+ * - add: 점수 += value / set: 점수 = value / set-field: 점수 = field 값
+ * - group: 같은 그룹에서는 처음 맞은 룰 하나만 적용 (if / else if)
+ * - stop: 적용 후 이 예약의 나머지 룰은 건너뜀
+ * - clearFactors: 앞서 적용된 룰의 위험 요소/이유를 지움
+ * - factor / reason: {필드명} 자리에 값이 들어간 설명 (대표 이유는 마지막으로 적용된 룰의 reason)
+ * - level: 적용 후 진행 중 등급 (levels 의 이름, "score" 면 그때 점수의 등급). 시작 등급은 baseScore 의 등급
+ * - ifLevel: 진행 중 등급이 이 값일 때만 reason/level 을 적용 (점수와 factor 는 항상 적용)
+ *   예) 기존 룰 체인의 "아직 LOW 일 때만 MEDIUM 으로 올리고 이유를 바꾼다"
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RiskRuleSet {
+
+    private String version;
+    private int baseScore = 100;
+    private String defaultReason = "정상 예약";
+
+    /** 점수 min 이상이면 level (위에서부터, 마지막 항목이 나머지 전부) */
+    private List<Level> levels = new ArrayList<>();
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Level {
+        private int min;
+        private String level;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Rule {
+        private String id;
+        private String group;
+        private List<Condition> when = new ArrayList<>();
+        private String action = "add";
+        private int value;
+        private RiskRuleField field;
+        private boolean stop;
+        private boolean clearFactors;
+        private String factor;
+        private String reason;
+        private String level;
+        private String ifLevel;
+    }
+
+    /**
+     * field op value (between 은 value 이상 to 이하, present/absent 는 값 유무)
+     */
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Condition {
+        private RiskRuleField field;
+        private String op;
+        private int value;
+        private int to;
+    }
+}
@@ -0,0 +1,44 @@
+package com.olsaram.backend.service.ai;
+
+import com.olsaram.backend.domain.reservation.AiEnrichmentTask;
+import com.olsaram.backend.domain.reservation.AiEnrichmentTaskStatus;
+import com.olsaram.backend.repository.reservation.AiEnrichmentTaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 예약의 AI 예측 작업 등록이 반복돼도(outbox 재전달) 작업이 하나만 남는지 확인
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:enrichmentqueuedb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"reservation.enrichment.queue.poll-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class AiEnrichmentQueueTest {
+
+	@Autowired
+	private AiEnrichmentQueue queue;
+
+	@Autowired
+	private AiEnrichmentTaskRepository taskRepository;
+
+	@Test
+	void enqueueIsIdempotentPerReservation() {
+		queue.enqueue(9001L, "CARD");
+		queue.enqueue(9001L, "CARD");
+
+		List<AiEnrichmentTask> tasks = taskRepository.findAll().stream()
+				.filter(task -> task.getReservationId().equals(9001L))
+				.toList();
+		assertThat(tasks).hasSize(1);
+		assertThat(tasks.get(0).getStatus()).isEqualTo(AiEnrichmentTaskStatus.PENDING);
+		assertThat(tasks.get(0).getAttempts()).isZero();
+		assertThat(tasks.get(0).getNextAttemptAt()).isNotNull();
+	}
+}
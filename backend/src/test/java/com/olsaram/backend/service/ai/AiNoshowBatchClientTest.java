@@ -0,0 +1,87 @@
+package com.olsaram.backend.service.ai;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olsaram.backend.config.AiServerProperties;
+import com.olsaram.backend.dto.ai.AiNoshowRequest;
+import com.olsaram.backend.dto.ai.AiNoshowResponse;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiNoshowBatchClientTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final AtomicInteger batchCalls = new AtomicInteger();
+
+	private HttpServer stubServer;
+	private AiNoshowBatchClient client;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		// 배치 계약 스텁: [요청...] → [응답...], 노쇼확률 = 고객ID
+		stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		stubServer.createContext("/predict-batch", exchange -> {
+			batchCalls.incrementAndGet();
+			List<AiNoshowRequest> requests = objectMapper.readValue(
+					exchange.getRequestBody(), new TypeReference<List<AiNoshowRequest>>() {});
+
+			List<AiNoshowResponse> responses = new ArrayList<>();
+			for (AiNoshowRequest request : requests) {
+				responses.add(AiNoshowResponse.builder()
+						.noshowProbability(request.getCustomerId().doubleValue())
+						.build());
+			}
+
+			byte[] body = objectMapper.writeValueAsString(responses).getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		stubServer.start();
+
+		AiServerProperties properties = new AiServerProperties();
+		properties.setBatchUrl("http://127.0.0.1:" + stubServer.getAddress().getPort() + "/predict-batch");
+		properties.getBatch().setMaxSize(8);
+		properties.getBatch().setMaxWaitMs(50);
+
+		client = new AiNoshowBatchClient(properties, new RestTemplateBuilder(), new SimpleMeterRegistry());
+		client.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.shutdown();
+		stubServer.stop(0);
+	}
+
+	@Test
+	void concurrentRequestsAreSentInBatchesAndRoutedBackInOrder() throws Exception {
+		List<CompletableFuture<AiNoshowResponse>> futures = new ArrayList<>();
+		for (long customerId = 1; customerId <= 32; customerId++) {
+			futures.add(client.submit(AiNoshowRequest.builder().customerId(customerId).build()));
+		}
+
+		for (int i = 0; i < futures.size(); i++) {
+			AiNoshowResponse response = futures.get(i).get(5, TimeUnit.SECONDS);
+			assertThat(response.getNoshowProbability()).isEqualTo(i + 1.0);
+		}
+		assertThat(batchCalls.get()).isLessThan(futures.size()).isGreaterThanOrEqualTo(4);
+	}
+}
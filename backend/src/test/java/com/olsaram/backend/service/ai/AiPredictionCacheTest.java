@@ -0,0 +1,102 @@
+package com.olsaram.backend.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olsaram.backend.dto.ai.AiNoshowResponse;
+import com.olsaram.backend.repository.noshow.AiPredictionCacheRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메모리 → DB 2단계 AI 예측 캐시 확인
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:predictioncachedb;MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+class AiPredictionCacheTest {
+
+	private static final String NAMESPACE = AiPredictionCache.AI_SERVER_NOSHOW;
+
+	@Autowired
+	private AiPredictionCacheRepository repository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		repository.deleteAll();
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@Test
+	void keyIgnoresFieldOrderButNotModel() {
+		AiPredictionCache cache = newCache();
+		Map<String, Object> input = new LinkedHashMap<>();
+		input.put("partySize", 2);
+		input.put("hour", 19);
+		Map<String, Object> reordered = new LinkedHashMap<>();
+		reordered.put("hour", 19);
+		reordered.put("partySize", 2);
+
+		assertThat(cache.key(NAMESPACE, "v1", input)).isEqualTo(cache.key(NAMESPACE, "v1", reordered));
+		assertThat(cache.key(NAMESPACE, "v2", input)).isNotEqualTo(cache.key(NAMESPACE, "v1", input));
+	}
+
+	@Test
+	void servesFromMemoryThenFromDatabaseOnAnotherInstance() {
+		AiPredictionCache cache = newCache();
+		String key = cache.key(NAMESPACE, "v1", Map.of("partySize", 4));
+
+		assertThat(cache.get(NAMESPACE, key, AiNoshowResponse.class)).isEmpty();
+		cache.put(NAMESPACE, "v1", key, AiNoshowResponse.builder().noshowProbability(42.0).build());
+		assertThat(cache.get(NAMESPACE, key, AiNoshowResponse.class))
+				.hasValueSatisfying(response -> assertThat(response.getNoshowProbability()).isEqualTo(42.0));
+
+		// 다른 인스턴스(빈 메모리)는 DB 에서 읽는다
+		AiPredictionCache other = newCache();
+		assertThat(other.get(NAMESPACE, key, AiNoshowResponse.class))
+				.hasValueSatisfying(response -> assertThat(response.getNoshowProbability()).isEqualTo(42.0));
+
+		assertThat(counted("miss")).isEqualTo(1);
+		assertThat(counted("memory_hit")).isEqualTo(1);
+		assertThat(counted("db_hit")).isEqualTo(1);
+	}
+
+	@Test
+	void overwritesKeyAlreadyStoredByAnotherInstance() {
+		AiPredictionCache cache = newCache();
+		String key = cache.key(NAMESPACE, "v1", Map.of("partySize", 6));
+		cache.put(NAMESPACE, "v1", key, AiNoshowResponse.builder().noshowProbability(10.0).build());
+
+		AiPredictionCache other = newCache();
+		other.put(NAMESPACE, "v1", key, AiNoshowResponse.builder().noshowProbability(20.0).build());
+
+		assertThat(repository.count()).isEqualTo(1);
+		assertThat(newCache().get(NAMESPACE, key, AiNoshowResponse.class))
+				.hasValueSatisfying(response -> assertThat(response.getNoshowProbability()).isEqualTo(20.0));
+	}
+
+	private AiPredictionCache newCache() {
+		return new AiPredictionCache(repository, objectMapper, meterRegistry, transactionManager, true, 100, 720);
+	}
+
+	private double counted(String result) {
+		return meterRegistry.counter("ai.prediction.cache.requests", "namespace", NAMESPACE, "result", result).count();
+	}
+}
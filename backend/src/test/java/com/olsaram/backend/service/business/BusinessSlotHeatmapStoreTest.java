@@ -0,0 +1,57 @@
+package com.olsaram.backend.service.business;
+
+import com.olsaram.backend.domain.reservation.ReservationEventType;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BusinessSlotHeatmapStoreTest {
+
+	private static final LocalDateTime FRIDAY_7PM = LocalDateTime.of(2025, 3, 7, 19, 0);
+
+	@Test
+	void noShowMovesOnlyTheOutcomeOfTheSlot() {
+		ReservationDomainEvent event = ReservationDomainEvent.builder()
+				.type(ReservationEventType.STATUS_CHANGED)
+				.businessId(1L)
+				.reservationTime(FRIDAY_7PM)
+				.status("CANCELED")
+				.markedNoShow(true)
+				.previousStatus("CONFIRMED")
+				.build();
+
+		List<BusinessSlotHeatmapStore.Delta> deltas = BusinessSlotHeatmapStore.deltasOf(event);
+
+		assertThat(deltas).containsExactly(new BusinessSlotHeatmapStore.Delta(1L, 4, 19, 0, 0, 1));
+	}
+
+	@Test
+	void paymentOnlyChangeIsIgnored() {
+		ReservationDomainEvent event = ReservationDomainEvent.builder()
+				.type(ReservationEventType.STATUS_CHANGED)
+				.businessId(1L)
+				.reservationTime(FRIDAY_7PM)
+				.status("CONFIRMED")
+				.previousStatus("CONFIRMED")
+				.build();
+
+		assertThat(BusinessSlotHeatmapStore.deltasOf(event)).isEmpty();
+	}
+
+	@Test
+	void roundTripsMatrixAndComputesRate() {
+		SlotHeatmap heatmap = new SlotHeatmap();
+		heatmap.add(4, 19, 10, 6, 2);
+
+		SlotHeatmap decoded = SlotHeatmap.decode(heatmap.encodeBookings(), heatmap.encodeCompleted(), heatmap.encodeNoShows());
+
+		assertThat(decoded.bookings(4, 19)).isEqualTo(10);
+		assertThat(decoded.noShowRate(4, 19, 5)).isEqualTo(0.25);
+		assertThat(decoded.noShowRate(4, 19, 20)).isNaN();
+		assertThat(decoded.noShowRate(0, 0, 0)).isNaN();
+	}
+}
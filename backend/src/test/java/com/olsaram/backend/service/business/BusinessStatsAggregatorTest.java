@@ -0,0 +1,144 @@
+package com.olsaram.backend.service.business;
+
+import com.olsaram.backend.domain.business.Business;
+import com.olsaram.backend.domain.business.BusinessOwner;
+import com.olsaram.backend.repository.BusinessOwnerRepository;
+import com.olsaram.backend.repository.BusinessRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 트랜잭션 안에서 기록한 가게 통계 증가분이 버퍼를 거치지 않고 같은 트랜잭션에서 반영되는지,
+ * 트랜잭션 밖에서 기록한 증가분은 가게별로 합쳐져 flush(실패 시 재시도, 종료 시 반영)되는지 확인
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:statsaggregatordb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"business.stats.flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class BusinessStatsAggregatorTest {
+
+	@Autowired
+	private BusinessStatsAggregator aggregator;
+
+	@Autowired
+	private BusinessRepository businessRepository;
+
+	@Autowired
+	private BusinessOwnerRepository businessOwnerRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void transactionalDeltasAreCoalescedAndCommittedWithTheTransaction() {
+		Long businessId = newBusiness("stats-commit", "010-0000-0101").getBusinessId();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			aggregator.reservationCreated(businessId);
+			aggregator.reservationCreated(businessId);
+			aggregator.noShow(businessId);
+			aggregator.revenue(businessId, 5_000);
+		});
+
+		// flush 없이 커밋만으로 반영됨
+		Business business = businessRepository.findById(businessId).orElseThrow();
+		assertThat(business.getTotalReservations()).isEqualTo(2);
+		assertThat(business.getNoShowCount()).isEqualTo(1);
+		assertThat(business.getMonthlyRevenue()).isEqualTo(5_000L);
+	}
+
+	@Test
+	void rolledBackDeltasAreNotApplied() {
+		Long businessId = newBusiness("stats-rollback", "010-0000-0102").getBusinessId();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			aggregator.reservationCreated(businessId);
+			status.setRollbackOnly();
+		});
+		aggregator.flush();
+
+		assertThat(businessRepository.findById(businessId).orElseThrow().getTotalReservations()).isZero();
+	}
+
+	@Test
+	void bufferedDeltasAreCoalescedIntoOneUpdatePerBusiness() {
+		BusinessRepository repository = mock(BusinessRepository.class);
+		BusinessStatsAggregator buffered = new BusinessStatsAggregator(repository, transactionManager, new SimpleMeterRegistry());
+
+		buffered.reservationCreated(1L);
+		buffered.reservationCreated(1L);
+		buffered.noShow(1L);
+		buffered.revenue(2L, 7_000);
+		buffered.flush();
+
+		verify(repository).applyStatsDelta(1L, 2, 0, 1, 0L);
+		verify(repository).applyStatsDelta(2L, 0, 0, 0, 7_000L);
+		verify(repository, times(2)).applyStatsDelta(anyLong(), anyInt(), anyInt(), anyInt(), anyLong());
+	}
+
+	@Test
+	void failedFlushKeepsDeltasForTheNextFlush() {
+		BusinessRepository repository = mock(BusinessRepository.class);
+		given(repository.applyStatsDelta(anyLong(), anyInt(), anyInt(), anyInt(), anyLong()))
+				.willThrow(new IllegalStateException("db down"))
+				.willReturn(1);
+		BusinessStatsAggregator buffered = new BusinessStatsAggregator(repository, transactionManager, new SimpleMeterRegistry());
+
+		buffered.reservationCompleted(1L);
+		buffered.flush();
+		// 실패한 증가분 위에 새 증가분이 합쳐져 한 번에 반영됨
+		buffered.reservationCompleted(1L);
+		buffered.flush();
+
+		verify(repository, times(2)).applyStatsDelta(anyLong(), anyInt(), anyInt(), anyInt(), anyLong());
+		verify(repository).applyStatsDelta(1L, 0, 2, 0, 0L);
+	}
+
+	@Test
+	void shutdownFlushesBufferedDeltas() {
+		BusinessRepository repository = mock(BusinessRepository.class);
+		BusinessStatsAggregator buffered = new BusinessStatsAggregator(repository, transactionManager, new SimpleMeterRegistry());
+
+		buffered.flush();
+		verify(repository, never()).applyStatsDelta(anyLong(), anyInt(), anyInt(), anyInt(), anyLong());
+
+		buffered.reservationCreated(3L);
+		buffered.shutdown();
+
+		verify(repository).applyStatsDelta(3L, 1, 0, 0, 0L);
+	}
+
+	private Business newBusiness(String loginId, String phone) {
+		BusinessOwner owner = businessOwnerRepository.save(BusinessOwner.builder()
+				.loginId(loginId)
+				.password("pw")
+				.name("사장님")
+				.phone(phone)
+				.businessNumber(loginId)
+				.build());
+		return businessRepository.save(Business.builder()
+				.owner(owner)
+				.businessName("통계 식당")
+				.category("KOREAN")
+				.address("서울")
+				.phone(phone)
+				.build());
+	}
+}
@@ -0,0 +1,85 @@
+package com.olsaram.backend.service.customer;
+
+import com.olsaram.backend.domain.customer.Customer;
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.domain.reservation.ReservationEventType;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.repository.CustomerFeaturesRepository;
+import com.olsaram.backend.repository.CustomerRepository;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 고객 피처 초기 적재가 이미 센 예약을 이벤트로 다시 세지 않는지, 정정된 자동 노쇼를 노쇼로 보지 않는지 확인
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:customerfeaturedb;MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+class CustomerFeatureStoreTest {
+
+	@Autowired
+	private CustomerFeatureStore customerFeatureStore;
+
+	@Autowired
+	private CustomerFeaturesRepository featuresRepository;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private ReservationRepository reservationRepository;
+
+	@Test
+	void bootstrapCountsSavedReservationOnceAndSkipsCorrectedAutoNoShow() {
+		Customer customer = customerRepository.save(Customer.builder()
+				.loginId("feature-customer")
+				.password("pw")
+				.name("고객")
+				.phone("010-0000-0021")
+				.noShowCount(0)
+				.reservationCount(1)
+				.trustScore(100)
+				.build());
+		Long customerId = customer.getCustomerId();
+		LocalDateTime now = LocalDateTime.now();
+
+		// 자동 노쇼 처리 뒤 방문 완료로 정정된 예약
+		reservationRepository.save(Reservation.builder()
+				.memberId(customerId)
+				.businessId(1L)
+				.people(2)
+				.reservationTime(now.minusDays(3))
+				.status(ReservationStatus.COMPLETED)
+				.autoNoShowAt(now.minusDays(3).plusMinutes(30))
+				.build());
+
+		// createWithPayment 처럼 예약 행을 먼저 저장한 뒤 고객 피처를 읽는다 (생성 이벤트는 그 뒤에 기록)
+		Reservation booked = reservationRepository.save(Reservation.builder()
+				.memberId(customerId)
+				.businessId(1L)
+				.people(2)
+				.reservationTime(now.plusDays(1))
+				.status(ReservationStatus.PENDING)
+				.build());
+		CustomerFeatureSnapshot snapshot = customerFeatureStore.get(customerId);
+
+		assertThat(snapshot.bookingCount()).isEqualTo(2);
+		assertThat(snapshot.noShowCount()).isZero();
+		assertThat(snapshot.recentNoShowRate()).isEqualTo(0.0);
+
+		customerFeatureStore.apply(ReservationDomainEvent.of(ReservationEventType.CREATED, booked).toBuilder()
+				.eventId(Long.MAX_VALUE)
+				.build());
+
+		assertThat(featuresRepository.findById(customerId).orElseThrow().getBookingCount()).isEqualTo(2);
+	}
+}
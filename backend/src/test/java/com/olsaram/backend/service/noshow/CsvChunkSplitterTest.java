@@ -0,0 +1,50 @@
+package com.olsaram.backend.service.noshow;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvChunkSplitterTest {
+
+	@Test
+	void splitsOnlyOnRecordBoundariesAndParsesQuotedFields() throws IOException {
+		String csv = "ID,NOTE,AMOUNT\r\n"
+				+ "C1,\"연락두절, 재예약\",18000\r\n"
+				+ "C2,\"첫 줄\n둘째 줄\",25000\n"
+				+ "\n"
+				+ "C3,\"말한 \"\"그대로\"\"\",0\n"
+				+ "C4,5\" 케이크,1000";
+
+		List<CsvRecordParser.CsvRecord> records = new ArrayList<>();
+		CsvChunkSplitter splitter = new CsvChunkSplitter(new StringReader(csv));
+		CsvChunkSplitter.Chunk chunk;
+		while ((chunk = splitter.next(2)) != null) {
+			CsvRecordParser.parse(chunk.text(), chunk.firstLine(), records::add);
+		}
+
+		assertThat(records).extracting(CsvRecordParser.CsvRecord::error).containsOnlyNulls();
+		assertThat(records).extracting(record -> record.fields().get(0)).containsExactly("ID", "C1", "C2", "C3", "C4");
+		assertThat(records).extracting(CsvRecordParser.CsvRecord::line).containsExactly(1L, 2L, 3L, 6L, 7L);
+		assertThat(records.get(1).fields()).containsExactly("C1", "연락두절, 재예약", "18000");
+		assertThat(records.get(2).fields()).containsExactly("C2", "첫 줄\n둘째 줄", "25000");
+		assertThat(records.get(3).fields()).containsExactly("C3", "말한 \"그대로\"", "0");
+		assertThat(records.get(4).fields()).containsExactly("C4", "5\" 케이크", "1000");
+	}
+
+	@Test
+	void reportsMalformedQuotes() {
+		List<CsvRecordParser.CsvRecord> records = new ArrayList<>();
+		CsvRecordParser.parse("C1,\"abc\"def,1\nC2,\"열린 따옴표,2", 10, records::add);
+
+		assertThat(records).hasSize(2);
+		assertThat(records.get(0).error()).isNotNull();
+		assertThat(records.get(0).line()).isEqualTo(10);
+		assertThat(records.get(1).error()).isNotNull();
+		assertThat(records.get(1).raw()).isEqualTo("C2,\"열린 따옴표,2");
+	}
+}
@@ -0,0 +1,132 @@
+package com.olsaram.backend.service.noshow;
+
+import com.olsaram.backend.config.NoShowAiScoringProperties;
+import com.olsaram.backend.config.OpenAiProperties;
+import com.olsaram.backend.entity.noshow.ReservationData;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NoShowAiChatClientTest {
+
+	private final AtomicInteger calls = new AtomicInteger();
+	private final AtomicReference<String> lastAuthorization = new AtomicReference<>();
+
+	private HttpServer stubServer;
+	private NoShowAiChatClient client;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		// chat completions 스텁: 프롬프트의 예약 배열을 읽어 id 마다 결과 하나 (노쇼이력이 있으면 위험), "skip" 으로 끝나는 id 는 빠뜨림
+		stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		stubServer.createContext("/v1/chat/completions", exchange -> {
+			calls.incrementAndGet();
+			lastAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+			JSONObject request = new JSONObject(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+			String prompt = request.getJSONArray("messages").getJSONObject(1).getString("content");
+			JSONArray items = new JSONArray(prompt.substring(prompt.indexOf('[')));
+
+			JSONArray results = new JSONArray();
+			for (int i = 0; i < items.length(); i++) {
+				JSONObject item = items.getJSONObject(i);
+				String id = item.getString("id");
+				if (id.endsWith("skip")) {
+					continue;
+				}
+				boolean risky = !item.getString("features").contains("노쇼이력=0");
+				results.put(new JSONObject()
+						.put("id", id)
+						.put("risk_level", risky ? "위험" : "안전")
+						.put("risk_score", risky ? 0.9 : 0.1)
+						.put("reason", risky ? "노쇼 이력" : "이력 양호"));
+			}
+
+			JSONObject response = new JSONObject().put("choices", new JSONArray().put(new JSONObject()
+					.put("message", new JSONObject()
+							.put("role", "assistant")
+							.put("content", new JSONObject().put("results", results).toString()))));
+			byte[] body = response.toString().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		stubServer.start();
+
+		NoShowAiScoringProperties properties = new NoShowAiScoringProperties();
+		properties.setApiUrl("http://127.0.0.1:" + stubServer.getAddress().getPort() + "/v1/chat/completions");
+		OpenAiProperties openAiProperties = new OpenAiProperties();
+		openAiProperties.setApiKey("stub-key");
+		client = new NoShowAiChatClient(properties, openAiProperties, new RestTemplateBuilder());
+	}
+
+	@AfterEach
+	void tearDown() {
+		stubServer.stop(0);
+	}
+
+	@Test
+	void scoresWholeBatchInOneCallAndMatchesResultsById() {
+		List<ReservationData> batch = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			batch.add(data("R" + i, i % 2));
+		}
+		batch.add(data("R-skip", 0));
+
+		Map<String, NoShowAiChatClient.Prediction> predictions = client.score(batch);
+
+		assertThat(calls.get()).isEqualTo(1);
+		assertThat(lastAuthorization.get()).isEqualTo("Bearer stub-key");
+		assertThat(predictions).hasSize(10).doesNotContainKey("R-skip");
+		assertThat(predictions.get("R1").label()).isEqualTo(1);
+		assertThat(predictions.get("R1").riskScore()).isEqualTo(0.9);
+		assertThat(predictions.get("R2").label()).isEqualTo(0);
+	}
+
+	@Test
+	void featureHashChangesOnlyWithFeatures() {
+		ReservationData data = data("R1", 1);
+		String hash = client.featureHash(data);
+
+		data.setCustomerName("다른 이름");
+		assertThat(client.featureHash(data)).isEqualTo(hash);
+
+		data.setNoshowHistory(3);
+		assertThat(client.featureHash(data)).isNotEqualTo(hash);
+	}
+
+	private static ReservationData data(String id, int noShows) {
+		ReservationData data = new ReservationData();
+		data.setReservationId(id);
+		data.setCustomerName("고객" + id);
+		data.setAmount(30000.0);
+		data.setVisitHistory(3);
+		data.setCancelCount(0);
+		data.setNoshowHistory(noShows);
+		data.setPaymentPattern("카드");
+		data.setLoyaltyGrade("SILVER");
+		data.setLeadTimeHours(24);
+		data.setHolidayFlag(0);
+		data.setRegion("서울");
+		data.setEventNearby("없음");
+		data.setPartySize(2);
+		data.setDateTime("2025-03-07 19:00");
+		return data;
+	}
+}
@@ -0,0 +1,109 @@
+package com.olsaram.backend.service.noshow;
+
+import com.olsaram.backend.domain.reservation.ReservationEventType;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.repository.reservation.ReservationRollupStateRepository;
+import com.olsaram.backend.service.reservation.ReservationOutboxDispatcher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 예약 이벤트가 일/월 상태 집계에 이전 칸 -1, 새 칸 +1 로 반영되고,
+ * 처음 보는 가게의 이벤트는 초기 적재에 포함된 것으로 보고 두 번 세지 않는지 확인
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:noshowrollupdb;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class NoShowRollupStoreTest {
+
+	// 이벤트는 테스트에서 직접 apply 한다
+	@MockitoBean
+	private ReservationOutboxDispatcher reservationOutboxDispatcher;
+
+	@Autowired
+	private NoShowRollupStore store;
+
+	@Autowired
+	private ReservationRollupStateRepository stateRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void statusChangesMoveCountsBetweenBucketsAndDays() {
+		Long businessId = 901L;
+		// 예약 이력이 없는 가게를 먼저 적재 → 이후 이벤트는 모두 증감으로 반영
+		assertThat(store.sum(List.of(businessId), null, null)).isEmpty();
+
+		LocalDateTime march5 = LocalDateTime.of(2026, 3, 5, 19, 0);
+		LocalDateTime march20 = LocalDateTime.of(2026, 3, 20, 12, 0);
+		LocalDateTime april2 = LocalDateTime.of(2026, 4, 2, 18, 30);
+
+		apply(created(businessId, 1L, march5));
+		apply(created(businessId, 2L, march20));
+		// 노쇼 처리 (CANCELED + 노쇼 표시 → 노쇼 칸)
+		apply(statusChanged(businessId, 1L, "PENDING", march5, "CANCELED", true, march5));
+		// 날짜를 옮기면서 완료 → 3월 대기 -1, 4월 완료 +1
+		apply(statusChanged(businessId, 2L, "PENDING", march20, "COMPLETED", false, april2));
+
+		assertThat(store.sum(List.of(businessId), null, null).get(businessId)).containsExactly(0, 1, 1, 0);
+		assertThat(store.sum(List.of(businessId), LocalDate.of(2026, 3, 1), LocalDate.of(2026, 4, 1)).get(businessId))
+				.containsExactly(0, 0, 1, 0);
+		assertThat(store.sum(List.of(businessId), LocalDate.of(2026, 4, 2), LocalDate.of(2026, 4, 3)).get(businessId))
+				.containsExactly(0, 1, 0, 0);
+	}
+
+	@Test
+	void firstEventOfUnknownBusinessBootstrapsInsteadOfCountingTwice() {
+		Long businessId = 902L;
+
+		apply(created(businessId, 3L, LocalDateTime.of(2026, 5, 1, 12, 0)));
+
+		// 이 이벤트의 예약은 이력 조회에 이미 포함된다고 보고 증감을 건너뜀 (이력이 없으니 0)
+		assertThat(stateRepository.findById(businessId)).isPresent();
+		assertThat(store.sum(List.of(businessId), null, null)).isEmpty();
+	}
+
+	private void apply(ReservationDomainEvent event) {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> store.apply(event));
+	}
+
+	private ReservationDomainEvent created(Long businessId, Long reservationId, LocalDateTime reservationTime) {
+		return ReservationDomainEvent.builder()
+				.type(ReservationEventType.CREATED)
+				.reservationId(reservationId)
+				.businessId(businessId)
+				.status("PENDING")
+				.reservationTime(reservationTime)
+				.build();
+	}
+
+	private ReservationDomainEvent statusChanged(
+			Long businessId, Long reservationId,
+			String previousStatus, LocalDateTime previousTime,
+			String status, boolean markedNoShow, LocalDateTime reservationTime
+	) {
+		return ReservationDomainEvent.builder()
+				.type(ReservationEventType.STATUS_CHANGED)
+				.reservationId(reservationId)
+				.businessId(businessId)
+				.status(status)
+				.markedNoShow(markedNoShow)
+				.reservationTime(reservationTime)
+				.statusChanged(true)
+				.previousStatus(previousStatus)
+				.previousBusinessId(businessId)
+				.previousReservationTime(previousTime)
+				.build();
+	}
+}
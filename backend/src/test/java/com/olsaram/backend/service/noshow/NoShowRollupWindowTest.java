@@ -0,0 +1,42 @@
+package com.olsaram.backend.service.noshow;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NoShowRollupWindowTest {
+
+	@Test
+	void splitsRangeIntoWholeMonthsAndEdgeDays() {
+		NoShowRollupWindow window = NoShowRollupWindow.of(LocalDate.of(2025, 1, 20), LocalDate.of(2025, 4, 10));
+
+		assertThat(window.monthFrom()).isEqualTo(LocalDate.of(2025, 2, 1));
+		assertThat(window.monthTo()).isEqualTo(LocalDate.of(2025, 4, 1));
+		assertThat(window.headFrom()).isEqualTo(LocalDate.of(2025, 1, 20));
+		assertThat(window.headTo()).isEqualTo(LocalDate.of(2025, 2, 1));
+		assertThat(window.tailFrom()).isEqualTo(LocalDate.of(2025, 4, 1));
+		assertThat(window.tailTo()).isEqualTo(LocalDate.of(2025, 4, 10));
+	}
+
+	@Test
+	void usesOnlyDaysWithinSingleMonth() {
+		NoShowRollupWindow window = NoShowRollupWindow.of(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 10));
+
+		assertThat(window.monthFrom()).isEqualTo(window.monthTo());
+		assertThat(window.headFrom()).isEqualTo(LocalDate.of(2025, 3, 3));
+		assertThat(window.headTo()).isEqualTo(LocalDate.of(2025, 3, 10));
+		assertThat(window.tailFrom()).isEqualTo(window.tailTo());
+	}
+
+	@Test
+	void openRangeUsesMonthRowsOnly() {
+		NoShowRollupWindow window = NoShowRollupWindow.of(null, null);
+
+		assertThat(window.monthFrom()).isEqualTo(NoShowRollupWindow.MIN_DATE);
+		assertThat(window.monthTo()).isEqualTo(NoShowRollupWindow.MAX_DATE);
+		assertThat(window.headFrom()).isEqualTo(window.headTo());
+		assertThat(window.tailFrom()).isEqualTo(window.tailTo());
+	}
+}
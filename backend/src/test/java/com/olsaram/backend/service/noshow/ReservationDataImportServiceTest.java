@@ -0,0 +1,71 @@
+package com.olsaram.backend.service.noshow;
+
+import com.olsaram.backend.dto.noshow.ReservationDataImportStatus;
+import com.olsaram.backend.entity.noshow.ReservationData;
+import com.olsaram.backend.repository.noshow.ReservationDataRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CSV 불러오기: 청크 병렬 저장, 헤더 이름 매핑, 거부 파일 기록 확인
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:importdb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"noshow.import.chunk-rows=7",
+		"noshow.import.batch-size=3",
+		"noshow.import.parallelism=3"
+})
+@ActiveProfiles("test")
+class ReservationDataImportServiceTest {
+
+	@Autowired
+	private ReservationDataImportService importService;
+
+	@Autowired
+	private ReservationDataRepository dataRepository;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void importsValidRowsAndRejectsBadOnes() throws Exception {
+		StringBuilder csv = new StringBuilder("\uFEFFRESERVATION_ID,AMOUNT,CUSTOMER_NAME,BEHAVIOR_NOTE,PARTY_SIZE,UNKNOWN_COLUMN\n");
+		for (int i = 0; i < 50; i++) {
+			csv.append("IMP").append(i).append(',').append(10000 + i).append(",고객").append(i)
+					.append(",\"메모, ").append(i).append("\",2,x\n");
+		}
+		csv.append("IMP3,1,중복,,2,x\n");        // 중복 키 (먼저 저장된 쪽이 남고 나머지 하나가 거부)
+		csv.append("IMP-BAD,금액,이상,,2,x\n");    // 숫자 변환 실패
+		csv.append("IMP-SHORT,1\n");              // 열 개수 불일치
+		Path file = tempDir.resolve("reservations.csv");
+		Files.writeString(file, csv, StandardCharsets.UTF_8);
+
+		ReservationDataImportStatus status = importService.importNow(new FileSystemResource(file), "test");
+
+		assertThat(status.getState()).isEqualTo(ReservationDataImportService.STATE_COMPLETED);
+		assertThat(status.getRowsRead()).isEqualTo(53);
+		assertThat(status.getRowsInserted()).isEqualTo(50);
+		assertThat(status.getRowsRejected()).isEqualTo(3);
+		assertThat(status.getProgressPercent()).isEqualTo(100.0);
+
+		ReservationData row = dataRepository.findById("IMP7").orElseThrow();
+		assertThat(row.getAmount()).isEqualTo(10007.0);
+		assertThat(row.getBehaviorNote()).isEqualTo("메모, 7");
+		assertThat(row.getPartySize()).isEqualTo(2);
+
+		List<String> rejects = Files.readAllLines(Path.of(status.getRejectFile()), StandardCharsets.UTF_8);
+		assertThat(rejects).hasSize(4);
+		assertThat(String.join("\n", rejects)).contains("IMP-BAD", "IMP-SHORT", "\"IMP3,");
+	}
+}
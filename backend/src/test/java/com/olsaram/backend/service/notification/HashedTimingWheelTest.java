@@ -0,0 +1,58 @@
+package com.olsaram.backend.service.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+
+	private static final long TICK_MS = 1000;
+	private static final long START = 1_000_000_000L;
+
+	@Test
+	void expiresTimersAtTheirTickAcrossWheelTurns() {
+		HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK_MS, 8, START);
+
+		wheel.schedule("soon", START + 3 * TICK_MS);
+		wheel.schedule("late", START + 20 * TICK_MS); // 8칸 휠을 두 바퀴 넘게 돈다
+		wheel.schedule("past", START - 5 * TICK_MS);
+
+		assertThat(wheel.advance(START)).containsExactly("past");
+		assertThat(wheel.advance(START + 2 * TICK_MS)).isEmpty();
+		assertThat(wheel.advance(START + 3 * TICK_MS)).containsExactly("soon");
+		assertThat(wheel.advance(START + 19 * TICK_MS)).isEmpty();
+		assertThat(wheel.advance(START + 20 * TICK_MS)).containsExactly("late");
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void rescheduleAndCancelReplacePreviousTimer() {
+		HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK_MS, 8, START);
+
+		wheel.schedule("moved", START + 2 * TICK_MS);
+		wheel.schedule("moved", START + 5 * TICK_MS);
+		wheel.schedule("cancelled", START + 2 * TICK_MS);
+		wheel.cancel("cancelled");
+
+		assertThat(wheel.advance(START + 4 * TICK_MS)).isEmpty();
+		assertThat(wheel.advance(START + 5 * TICK_MS)).containsExactly("moved");
+		assertThat(wheel.contains("cancelled")).isFalse();
+	}
+
+	@Test
+	void largeClockJumpExpiresEverythingDueExactlyOnce() {
+		HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(TICK_MS, 16, START);
+		for (int i = 0; i < 1_000; i++) {
+			wheel.schedule(i, START + i * TICK_MS);
+		}
+
+		List<Integer> expired = new ArrayList<>(wheel.advance(START + 499 * TICK_MS));
+		expired.addAll(wheel.advance(START + 2_000 * TICK_MS));
+
+		assertThat(expired).hasSize(1_000).doesNotHaveDuplicates();
+		assertThat(wheel.size()).isZero();
+	}
+}
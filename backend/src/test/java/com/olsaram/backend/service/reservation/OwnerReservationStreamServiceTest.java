@@ -0,0 +1,125 @@
+package com.olsaram.backend.service.reservation;
+
+import com.olsaram.backend.domain.business.Business;
+import com.olsaram.backend.domain.business.BusinessOwner;
+import com.olsaram.backend.dto.reservation.ReservationStreamEvent;
+import com.olsaram.backend.repository.BusinessOwnerRepository;
+import com.olsaram.backend.repository.BusinessRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * 사장님 예약 스트림: 구독하면 connected 이벤트를 받고, 자기 가게의 커밋된 이벤트만 전달되는지 확인
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:reservationstreamdb;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OwnerReservationStreamServiceTest {
+
+	private static final AtomicInteger OWNERS = new AtomicInteger();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private OwnerReservationStreamService streamService;
+
+	@Autowired
+	private BusinessRepository businessRepository;
+
+	@Autowired
+	private BusinessOwnerRepository businessOwnerRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void subscriberReceivesOnlyEventsOfItsOwnBusinesses() throws Exception {
+		Business mine = newBusiness();
+		Business other = newBusiness();
+		MvcResult stream = subscribe(mine.getOwner().getOwnerId());
+
+		streamService.publish(event(other.getBusinessId(), 200L));
+		streamService.publish(event(mine.getBusinessId(), 100L));
+
+		String content = awaitContent(stream, "\"reservationId\":100");
+		assertThat(content).contains("event:connected");
+		assertThat(content).contains("event:" + ReservationStreamEvent.Type.CREATED.getEventName());
+		assertThat(content).doesNotContain("\"reservationId\":200");
+	}
+
+	@Test
+	void eventPublishedInTransactionIsSentOnlyAfterCommit() throws Exception {
+		Business mine = newBusiness();
+		MvcResult stream = subscribe(mine.getOwner().getOwnerId());
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			streamService.publish(event(mine.getBusinessId(), 300L));
+			status.setRollbackOnly();
+		});
+		transactionTemplate.executeWithoutResult(status -> streamService.publish(event(mine.getBusinessId(), 301L)));
+
+		// 연결별 전송은 순서대로이므로 커밋된 이벤트가 도착했으면 롤백된 이벤트는 보내지지 않은 것
+		String content = awaitContent(stream, "\"reservationId\":301");
+		assertThat(content).doesNotContain("\"reservationId\":300");
+	}
+
+	private MvcResult subscribe(Long ownerId) throws Exception {
+		return mockMvc.perform(get("/api/owners/{ownerId}/reservations/stream", ownerId))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+	}
+
+	private String awaitContent(MvcResult stream, String expected) throws Exception {
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (true) {
+			String content = stream.getResponse().getContentAsString();
+			if (content.contains(expected) || System.currentTimeMillis() > deadline) {
+				assertThat(content).contains(expected);
+				return content;
+			}
+			Thread.sleep(20);
+		}
+	}
+
+	private ReservationStreamEvent event(Long businessId, Long reservationId) {
+		return ReservationStreamEvent.builder()
+				.type(ReservationStreamEvent.Type.CREATED)
+				.reservationId(reservationId)
+				.businessId(businessId)
+				.status("PENDING")
+				.build();
+	}
+
+	private Business newBusiness() {
+		int n = OWNERS.incrementAndGet();
+		BusinessOwner owner = businessOwnerRepository.save(BusinessOwner.builder()
+				.loginId("stream-owner-" + n)
+				.password("pw")
+				.name("사장님")
+				.phone("010-0000-04" + n + "1")
+				.businessNumber("000-00-004" + n + "1")
+				.build());
+		return businessRepository.save(Business.builder()
+				.owner(owner)
+				.businessName("스트림 식당")
+				.category("KOREAN")
+				.address("서울")
+				.phone("02-000-04" + n + "1")
+				.build());
+	}
+}
@@ -0,0 +1,106 @@
+package com.olsaram.backend.service.reservation;
+
+import com.olsaram.backend.domain.business.Business;
+import com.olsaram.backend.domain.business.BusinessOwner;
+import com.olsaram.backend.domain.customer.Customer;
+import com.olsaram.backend.dto.reservation.ReservationFullPayRequest;
+import com.olsaram.backend.repository.BusinessOwnerRepository;
+import com.olsaram.backend.repository.BusinessRepository;
+import com.olsaram.backend.repository.CustomerRepository;
+import com.olsaram.backend.repository.reservation.PaymentRepository;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import com.olsaram.backend.service.risk.ReservationRiskModelService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * 예약 저장 뒤 ML 예측이 실패하면 차지한 자리와 저장한 예약이 모두 되돌려지는지 확인
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:createfailuredb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"reservation.enrichment.ai-mode=async"
+})
+@ActiveProfiles("test")
+class ReservationCreateFailureTest {
+
+	@Autowired
+	private ReservationService reservationService;
+
+	@Autowired
+	private ReservationSlotIndex reservationSlotIndex;
+
+	@Autowired
+	private ReservationRepository reservationRepository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private BusinessRepository businessRepository;
+
+	@Autowired
+	private BusinessOwnerRepository businessOwnerRepository;
+
+	@MockitoBean
+	private ReservationRiskModelService reservationRiskModelService;
+
+	@Test
+	void mlFailureReleasesSlotAndDeletesReservation() {
+		given(reservationRiskModelService.predict(any(), any(), any()))
+				.willThrow(new IllegalStateException("ML 모델 오류"));
+
+		BusinessOwner owner = businessOwnerRepository.save(BusinessOwner.builder()
+				.loginId("failure-owner")
+				.password("pw")
+				.name("사장님")
+				.phone("010-0000-0011")
+				.businessNumber("000-00-00011")
+				.build());
+		Business business = businessRepository.save(Business.builder()
+				.owner(owner)
+				.businessName("실패 식당")
+				.category("KOREAN")
+				.address("서울")
+				.phone("02-000-0011")
+				.build());
+		Customer customer = customerRepository.save(Customer.builder()
+				.loginId("failure-customer")
+				.password("pw")
+				.name("고객")
+				.phone("010-0000-0012")
+				.noShowCount(0)
+				.reservationCount(0)
+				.trustScore(100)
+				.build());
+
+		LocalDateTime time = LocalDateTime.now().plusDays(1).withHour(19).withMinute(0).withSecond(0).withNano(0);
+		ReservationFullPayRequest request = new ReservationFullPayRequest();
+		request.setMemberId(customer.getCustomerId());
+		request.setBusinessId(business.getBusinessId());
+		request.setReservationTime(time.toString());
+		request.setPeople(4);
+		request.setPaymentMethod("CARD");
+
+		int reservedBefore = reservationSlotIndex.usage(business.getBusinessId(), time).reserved();
+
+		assertThatThrownBy(() -> reservationService.createWithPayment(request))
+				.hasMessageContaining("ML 모델 오류");
+
+		assertThat(reservationSlotIndex.usage(business.getBusinessId(), time).reserved()).isEqualTo(reservedBefore);
+		assertThat(reservationRepository.findByMemberId(customer.getCustomerId())).isEmpty();
+		assertThat(paymentRepository.findAll()).isEmpty();
+	}
+}
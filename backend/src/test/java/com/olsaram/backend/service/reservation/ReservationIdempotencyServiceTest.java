@@ -0,0 +1,117 @@
+package com.olsaram.backend.service.reservation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olsaram.backend.domain.reservation.IdempotencyRecord;
+import com.olsaram.backend.dto.reservation.ReservationPaymentResult;
+import com.olsaram.backend.repository.reservation.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 메모리 키 목록이 max-entries 를 넘지 않는지, 미완료 키는 처리 중인 인스턴스의 heartbeat 가 끊겼을 때만 인수하는지 확인
+ */
+class ReservationIdempotencyServiceTest {
+
+	private final IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+
+	private final ReservationIdempotencyService service = newService(1);
+
+	@Test
+	void completedEntryIsEvictedForNewKey() {
+		given(repository.findById(anyString())).willReturn(Optional.empty());
+		AtomicInteger calls = new AtomicInteger();
+
+		service.execute("key-1", "body", claim -> result(calls));
+		service.execute("key-2", "body", claim -> result(calls));
+		service.execute("key-1", "body", claim -> result(calls));
+
+		// key-1 은 key-2 에 자리를 내줘 메모리에 없으므로 다시 처리됨 (DB 기록도 없다고 가정)
+		assertThat(calls).hasValue(3);
+	}
+
+	@Test
+	void newKeyIsRejectedWhileAllEntriesAreInFlight() {
+		given(repository.findById(anyString())).willReturn(Optional.empty());
+
+		assertThatThrownBy(() -> service.execute("key-1", "body",
+				claim -> service.execute("key-2", "body", inner -> new ReservationPaymentResult())))
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("503");
+	}
+
+	@Test
+	void inFlightKeyOfLiveOwnerIsNotProcessedAgain() {
+		ReservationIdempotencyService service = newService(10);
+		// 오래 걸리고 있지만 처리 중인 인스턴스의 heartbeat 는 살아 있음
+		given(repository.findById("key-1")).willReturn(Optional.of(pending(LocalDateTime.now(), 77L)));
+		AtomicInteger calls = new AtomicInteger();
+
+		assertThatThrownBy(() -> service.execute("key-1", "body", claim -> result(calls)))
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("409");
+		assertThat(calls).hasValue(0);
+	}
+
+	@Test
+	void keyWithLapsedHeartbeatIsTakenOverWithAbandonedReservation() {
+		ReservationIdempotencyService service = newService(10);
+		given(repository.findById("key-1")).willReturn(Optional.of(pending(LocalDateTime.now().minusMinutes(5), 77L)));
+		given(repository.takeOver(eq("key-1"), eq("owner-1"), any(), any())).willReturn(1);
+		AtomicReference<Long> abandoned = new AtomicReference<>();
+
+		service.execute("key-1", "body", claim -> {
+			abandoned.set(claim.abandonedReservationId());
+			return new ReservationPaymentResult();
+		});
+
+		assertThat(abandoned).hasValue(77L);
+	}
+
+	private ReservationIdempotencyService newService(int maxEntries) {
+		SchedulerLeaseService leaseService = mock(SchedulerLeaseService.class);
+		given(leaseService.getOwnerId()).willReturn("owner-1");
+		return new ReservationIdempotencyService(repository, new ObjectMapper(), leaseService, 24, maxEntries, 300, 30_000);
+	}
+
+	private IdempotencyRecord pending(LocalDateTime heartbeatAt, Long reservationId) {
+		ObjectMapper objectMapper = new ObjectMapper();
+		String hash;
+		try {
+			byte[] body = objectMapper.writeValueAsString("body").getBytes(StandardCharsets.UTF_8);
+			hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		return IdempotencyRecord.builder()
+				.idempotencyKey("key-1")
+				.requestHash(hash)
+				.completed(false)
+				.ownerId("owner-2")
+				.heartbeatAt(heartbeatAt)
+				.reservationId(reservationId)
+				.createdAt(LocalDateTime.now().minusHours(1))
+				.expiresAt(LocalDateTime.now().plusHours(23))
+				.build();
+	}
+
+	private ReservationPaymentResult result(AtomicInteger calls) {
+		calls.incrementAndGet();
+		return new ReservationPaymentResult();
+	}
+}
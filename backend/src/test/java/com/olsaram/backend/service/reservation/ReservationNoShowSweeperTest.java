@@ -0,0 +1,122 @@
+package com.olsaram.backend.service.reservation;
+
+import com.olsaram.backend.domain.business.Business;
+import com.olsaram.backend.domain.business.BusinessOwner;
+import com.olsaram.backend.domain.customer.Customer;
+import com.olsaram.backend.domain.reservation.PaymentStatus;
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.domain.reservation.ReservationEventType;
+import com.olsaram.backend.domain.reservation.ReservationOutboxEvent;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.repository.BusinessOwnerRepository;
+import com.olsaram.backend.repository.BusinessRepository;
+import com.olsaram.backend.repository.CustomerRepository;
+import com.olsaram.backend.repository.reservation.ReservationOutboxRepository;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 자동 노쇼 처리: 기한이 지난 CONFIRMED 예약만 청크 단위로 노쇼 처리하고,
+ * 고객/가게 노쇼 카운터와 outbox 이벤트를 같은 트랜잭션에서 한 번씩만 남기는지 확인
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:noshowsweepdb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"reservation.no-show-sweep.enabled=false",
+		"reservation.no-show-sweep.chunk-size=2"
+})
+@ActiveProfiles("test")
+class ReservationNoShowSweeperTest {
+
+	@Autowired
+	private ReservationNoShowSweeper sweeper;
+
+	@Autowired
+	private ReservationRepository reservationRepository;
+
+	@Autowired
+	private ReservationOutboxRepository outboxRepository;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private BusinessRepository businessRepository;
+
+	@Autowired
+	private BusinessOwnerRepository businessOwnerRepository;
+
+	@Test
+	void overdueConfirmedReservationsAreMarkedNoShowAcrossChunksExactlyOnce() {
+		BusinessOwner owner = businessOwnerRepository.save(BusinessOwner.builder()
+				.loginId("sweep-owner")
+				.password("pw")
+				.name("사장님")
+				.phone("010-0000-0201")
+				.businessNumber("000-00-00201")
+				.build());
+		Business business = businessRepository.save(Business.builder()
+				.owner(owner)
+				.businessName("노쇼 식당")
+				.category("KOREAN")
+				.address("서울")
+				.phone("02-000-0201")
+				.build());
+		Customer customer = customerRepository.save(Customer.builder()
+				.loginId("sweep-customer")
+				.password("pw")
+				.name("고객")
+				.phone("010-0000-0202")
+				.noShowCount(0)
+				.reservationCount(0)
+				.trustScore(100)
+				.build());
+
+		LocalDateTime now = LocalDateTime.now().withNano(0);
+		List<Long> overdue = List.of(
+				save(customer, business, now.minusHours(3), ReservationStatus.CONFIRMED),
+				save(customer, business, now.minusHours(2), ReservationStatus.CONFIRMED),
+				save(customer, business, now.minusHours(1), ReservationStatus.CONFIRMED));
+		Long withinGrace = save(customer, business, now.minusMinutes(10), ReservationStatus.CONFIRMED);
+		Long pending = save(customer, business, now.minusHours(2), ReservationStatus.PENDING);
+
+		// 청크 크기 2 → 두 청크에 나눠 처리
+		assertThat(sweeper.sweepOverdue(now.minusMinutes(30), Duration.ofMinutes(2))).isEqualTo(3);
+		// 다시 돌려도 이미 처리한 예약은 대상이 아니다
+		assertThat(sweeper.sweepOverdue(now.minusMinutes(30), Duration.ofMinutes(2))).isZero();
+
+		overdue.forEach(id -> {
+			Reservation reservation = reservationRepository.findById(id).orElseThrow();
+			assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.CANCELED);
+			assertThat(reservation.isMarkedNoShow()).isTrue();
+		});
+		assertThat(reservationRepository.findById(withinGrace).orElseThrow().getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+		assertThat(reservationRepository.findById(pending).orElseThrow().getStatus()).isEqualTo(ReservationStatus.PENDING);
+
+		assertThat(customerRepository.findById(customer.getCustomerId()).orElseThrow().getNoShowCount()).isEqualTo(3);
+		assertThat(businessRepository.findById(business.getBusinessId()).orElseThrow().getNoShowCount()).isEqualTo(3);
+
+		List<ReservationOutboxEvent> events = outboxRepository.findAll();
+		assertThat(events).extracting(ReservationOutboxEvent::getReservationId).containsExactlyInAnyOrderElementsOf(overdue);
+		assertThat(events).extracting(ReservationOutboxEvent::getEventType).containsOnly(ReservationEventType.STATUS_CHANGED);
+	}
+
+	private Long save(Customer customer, Business business, LocalDateTime reservationTime, ReservationStatus status) {
+		return reservationRepository.save(Reservation.builder()
+				.memberId(customer.getCustomerId())
+				.businessId(business.getBusinessId())
+				.people(2)
+				.reservationTime(reservationTime)
+				.status(status)
+				.paymentStatus(PaymentStatus.PAID)
+				.build()).getId();
+	}
+}
@@ -0,0 +1,168 @@
+package com.olsaram.backend.service.reservation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olsaram.backend.config.ReservationOutboxProperties;
+import com.olsaram.backend.domain.reservation.ReservationEventType;
+import com.olsaram.backend.domain.reservation.ReservationOutboxEvent;
+import com.olsaram.backend.domain.reservation.ReservationOutboxStatus;
+import com.olsaram.backend.dto.reservation.ReservationDomainEvent;
+import com.olsaram.backend.repository.reservation.ReservationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * outbox 디스패처: 실패한 이벤트만 지수 백오프로 재시도하고, 최대 시도 후 DEAD 로 남기며,
+ * 실패한 이벤트 뒤의 같은 예약 이벤트는 앞 이벤트가 끝날 때까지 전달하지 않는지 확인
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:outboxdispatcherdb;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class ReservationOutboxDispatcherTest {
+
+	// 애플리케이션 디스패처 루프가 테스트 이벤트를 가져가지 않도록 교체
+	@MockitoBean
+	private ReservationOutboxDispatcher applicationDispatcher;
+
+	@Autowired
+	private ReservationOutboxRepository outboxRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final Set<Long> failingReservations = new HashSet<>();
+	private final List<Long> handled = new CopyOnWriteArrayList<>();
+
+	@BeforeEach
+	void clear() {
+		outboxRepository.deleteAll();
+	}
+
+	@Test
+	void failedEventIsRetriedWithBackoffAndBlocksLaterEventsOfTheSameReservation() {
+		ReservationOutboxDispatcher dispatcher = newDispatcher(10);
+		ReservationOutboxEvent first = append(1L);
+		ReservationOutboxEvent second = append(1L);
+		ReservationOutboxEvent other = append(2L);
+		failingReservations.add(1L);
+
+		LocalDateTime before = LocalDateTime.now();
+		assertThat(dispatcher.dispatchBatch()).isEqualTo(3);
+
+		ReservationOutboxEvent failed = reload(first);
+		assertThat(failed.getStatus()).isEqualTo(ReservationOutboxStatus.PENDING);
+		assertThat(failed.getAttempts()).isEqualTo(1);
+		assertThat(failed.getLastError()).contains("handler down");
+		assertThat(failed.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(1));
+		// 뒤 이벤트는 시도하지 않고 되돌림 (시도 횟수 복원)
+		assertThat(reload(second).getStatus()).isEqualTo(ReservationOutboxStatus.PENDING);
+		assertThat(reload(second).getAttempts()).isZero();
+		// 다른 예약의 이벤트는 영향 없음
+		assertThat(reload(other).getStatus()).isEqualTo(ReservationOutboxStatus.DONE);
+
+		// 재시도 대기 중에는 같은 예약의 뒤 이벤트도 가져오지 않는다
+		assertThat(dispatcher.dispatchBatch()).isZero();
+
+		failingReservations.clear();
+		handled.clear();
+		makeDue(first);
+		assertThat(dispatcher.dispatchBatch()).isEqualTo(2);
+
+		assertThat(handled).containsExactly(first.getId(), second.getId());
+		assertThat(reload(first).getStatus()).isEqualTo(ReservationOutboxStatus.DONE);
+		assertThat(reload(second).getStatus()).isEqualTo(ReservationOutboxStatus.DONE);
+	}
+
+	@Test
+	void backoffDoublesUntilMaxAttemptsThenEventIsDeadAndStopsBlocking() {
+		ReservationOutboxDispatcher dispatcher = newDispatcher(3);
+		ReservationOutboxEvent first = append(3L);
+		ReservationOutboxEvent second = append(3L);
+		failingReservations.add(3L);
+
+		dispatcher.dispatchBatch();
+		makeDue(first);
+		LocalDateTime before = LocalDateTime.now();
+		dispatcher.dispatchBatch();
+
+		// 두 번째 실패: 1초 → 2초
+		ReservationOutboxEvent retried = reload(first);
+		assertThat(retried.getAttempts()).isEqualTo(2);
+		assertThat(retried.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(2));
+		assertThat(retried.getNextAttemptAt()).isBefore(LocalDateTime.now().plusSeconds(3));
+
+		makeDue(first);
+		dispatcher.dispatchBatch();
+
+		ReservationOutboxEvent dead = reload(first);
+		assertThat(dead.getStatus()).isEqualTo(ReservationOutboxStatus.DEAD);
+		assertThat(dead.getAttempts()).isEqualTo(3);
+		assertThat(reload(second).getStatus()).isEqualTo(ReservationOutboxStatus.PENDING);
+
+		// DEAD 이벤트는 더 이상 뒤 이벤트를 막지 않는다
+		failingReservations.clear();
+		handled.clear();
+		dispatcher.dispatchBatch();
+		assertThat(handled).containsExactly(second.getId());
+		assertThat(reload(second).getStatus()).isEqualTo(ReservationOutboxStatus.DONE);
+	}
+
+	private ReservationOutboxDispatcher newDispatcher(int maxAttempts) {
+		ReservationOutboxProperties properties = new ReservationOutboxProperties();
+		properties.setMaxAttempts(maxAttempts);
+		properties.setInitialBackoffMs(1_000);
+		properties.setMaxBackoffMs(60_000);
+		ReservationOutboxHandler handler = event -> {
+			handled.add(event.getEventId());
+			if (failingReservations.contains(event.getReservationId())) {
+				throw new IllegalStateException("handler down");
+			}
+		};
+		return new ReservationOutboxDispatcher(
+				properties, outboxRepository, List.of(handler), objectMapper, transactionManager, new SimpleMeterRegistry());
+	}
+
+	private ReservationOutboxEvent append(Long reservationId) {
+		ReservationDomainEvent event = ReservationDomainEvent.builder()
+				.type(ReservationEventType.STATUS_CHANGED)
+				.reservationId(reservationId)
+				.build();
+		try {
+			return outboxRepository.save(ReservationOutboxEvent.builder()
+					.reservationId(reservationId)
+					.eventType(event.getType())
+					.payload(objectMapper.writeValueAsString(event))
+					.status(ReservationOutboxStatus.PENDING)
+					.attempts(0)
+					.nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+					.build());
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void makeDue(ReservationOutboxEvent event) {
+		ReservationOutboxEvent stored = reload(event);
+		stored.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+		outboxRepository.save(stored);
+	}
+
+	private ReservationOutboxEvent reload(ReservationOutboxEvent event) {
+		return outboxRepository.findById(event.getId()).orElseThrow();
+	}
+}
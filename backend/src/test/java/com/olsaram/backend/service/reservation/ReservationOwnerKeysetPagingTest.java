@@ -0,0 +1,161 @@
+package com.olsaram.backend.service.reservation;
+
+import com.olsaram.backend.domain.business.Business;
+import com.olsaram.backend.domain.business.BusinessOwner;
+import com.olsaram.backend.domain.customer.Customer;
+import com.olsaram.backend.domain.reservation.PaymentStatus;
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.dto.reservation.OwnerReservationFilter;
+import com.olsaram.backend.dto.reservation.OwnerReservationResponse;
+import com.olsaram.backend.dto.reservation.ReservationWithRiskResponse;
+import com.olsaram.backend.repository.BusinessOwnerRepository;
+import com.olsaram.backend.repository.BusinessRepository;
+import com.olsaram.backend.repository.CustomerRepository;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 사장님 예약 조회 키셋 페이지: (reservationTime, id) 커서로 이어 읽으면 빠짐/중복 없이 전체와 같은 순서가 되고,
+ * 위험도 조회도 페이지일 때는 위험도로 다시 정렬하지 않는지 확인
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:ownerpagingdb;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class ReservationOwnerKeysetPagingTest {
+
+	private static final LocalDateTime BASE = LocalDateTime.of(2026, 11, 2, 18, 0);
+	private static final AtomicInteger OWNERS = new AtomicInteger();
+
+	@Autowired
+	private ReservationService reservationService;
+
+	@Autowired
+	private ReservationRepository reservationRepository;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private BusinessRepository businessRepository;
+
+	@Autowired
+	private BusinessOwnerRepository businessOwnerRepository;
+
+	private Long ownerId;
+	private List<Long> expectedOrder;
+
+	@BeforeEach
+	void setUp() {
+		int n = OWNERS.incrementAndGet();
+		BusinessOwner owner = businessOwnerRepository.save(BusinessOwner.builder()
+				.loginId("paging-owner-" + n)
+				.password("pw")
+				.name("사장님")
+				.phone("010-0000-03" + n + "1")
+				.businessNumber("000-00-003" + n + "1")
+				.build());
+		Business business = businessRepository.save(Business.builder()
+				.owner(owner)
+				.businessName("페이지 식당")
+				.category("KOREAN")
+				.address("서울")
+				.phone("02-000-03" + n + "1")
+				.build());
+		Customer customer = customerRepository.save(Customer.builder()
+				.loginId("paging-customer-" + n)
+				.password("pw")
+				.name("고객")
+				.phone("010-0000-03" + n + "2")
+				.noShowCount(0)
+				.reservationCount(0)
+				.trustScore(100)
+				.build());
+		ownerId = owner.getOwnerId();
+
+		// 저장 순서와 시간 순서를 섞고, 같은 시간 예약(id 로 구분)을 포함. 위험도는 시간 순서와 반대
+		Long late = save(customer, business, BASE.plusHours(3), 10.0, true);
+		Long tieFirst = save(customer, business, BASE.plusHours(1), 40.0, true);
+		Long tieSecond = save(customer, business, BASE.plusHours(1), 30.0, true);
+		Long early = save(customer, business, BASE, 90.0, true);
+		Long middle = save(customer, business, BASE.plusHours(2), 20.0, true);
+		save(customer, business, BASE.plusMinutes(30), 50.0, false); // ML 모델 미적용 → 제외
+		expectedOrder = List.of(early, tieFirst, tieSecond, middle, late);
+	}
+
+	@Test
+	void keysetPagesConcatenateToTheFullOrderWithoutGapsOrDuplicates() {
+		List<Long> paged = new ArrayList<>();
+		LocalDateTime cursorTime = null;
+		Long cursorId = null;
+		while (true) {
+			List<OwnerReservationResponse> page = reservationService.getReservationsByOwnerId(ownerId,
+					OwnerReservationFilter.builder().cursorTime(cursorTime).cursorId(cursorId).size(2).build());
+			if (page.isEmpty()) {
+				break;
+			}
+			assertThat(page.size()).isLessThanOrEqualTo(2);
+			page.forEach(row -> paged.add(row.getId()));
+			OwnerReservationResponse last = page.get(page.size() - 1);
+			cursorTime = last.getReservationTime();
+			cursorId = last.getId();
+		}
+
+		assertThat(paged).containsExactlyElementsOf(expectedOrder);
+		assertThat(reservationService.getReservationsByOwnerId(ownerId, OwnerReservationFilter.all()))
+				.extracting(OwnerReservationResponse::getId)
+				.containsExactlyElementsOf(expectedOrder);
+	}
+
+	@Test
+	void cursorTimeWithoutIdSkipsAllReservationsAtThatTime() {
+		List<OwnerReservationResponse> page = reservationService.getReservationsByOwnerId(ownerId,
+				OwnerReservationFilter.builder().cursorTime(BASE.plusHours(1)).build());
+
+		assertThat(page).extracting(OwnerReservationResponse::getId)
+				.containsExactlyElementsOf(expectedOrder.subList(3, 5));
+	}
+
+	@Test
+	void pagedRiskViewKeepsKeysetOrderWhileFullViewIsSortedByRisk() {
+		List<ReservationWithRiskResponse> firstPage = reservationService.getReservationsWithRisk(ownerId,
+				OwnerReservationFilter.builder().size(3).build());
+		ReservationWithRiskResponse last = firstPage.get(firstPage.size() - 1);
+		List<ReservationWithRiskResponse> secondPage = reservationService.getReservationsWithRisk(ownerId,
+				OwnerReservationFilter.builder().cursorTime(last.getReservationTime()).cursorId(last.getId()).size(3).build());
+
+		List<Long> paged = new ArrayList<>();
+		firstPage.forEach(row -> paged.add(row.getId()));
+		secondPage.forEach(row -> paged.add(row.getId()));
+		assertThat(paged).containsExactlyElementsOf(expectedOrder);
+
+		assertThat(reservationService.getReservationsWithRisk(ownerId, OwnerReservationFilter.all()))
+				.hasSize(expectedOrder.size())
+				.isSortedAccordingTo(Comparator.comparing(ReservationWithRiskResponse::getRiskScore));
+	}
+
+	private Long save(Customer customer, Business business, LocalDateTime reservationTime, double riskPercent, boolean mlModelUsed) {
+		return reservationRepository.save(Reservation.builder()
+				.memberId(customer.getCustomerId())
+				.businessId(business.getBusinessId())
+				.people(2)
+				.reservationTime(reservationTime)
+				.status(ReservationStatus.CONFIRMED)
+				.paymentStatus(PaymentStatus.PAID)
+				.mlModelUsed(mlModelUsed)
+				.mlModelRiskLevel(riskPercent >= 50 ? "high" : "low")
+				.mlModelRiskPercent(riskPercent)
+				.build()).getId();
+	}
+}
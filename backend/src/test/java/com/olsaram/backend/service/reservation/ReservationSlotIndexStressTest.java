@@ -0,0 +1,102 @@
+package com.olsaram.backend.service.reservation;
+
+import com.olsaram.backend.domain.business.Business;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.repository.BusinessRepository;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReservationSlotIndexStressTest {
+
+	private static final int CAPACITY = 20;
+	private static final LocalDateTime DINNER = LocalDateTime.of(2030, 5, 3, 19, 0);
+
+	private ReservationSlotIndex index;
+
+	@BeforeEach
+	void setUp() {
+		ReservationRepository reservationRepository = mock(ReservationRepository.class);
+		BusinessRepository businessRepository = mock(BusinessRepository.class);
+
+		// 가게 1: 19:00 슬롯에 기존 예약 4명
+		List<Object[]> existing = new ArrayList<>();
+		existing.add(new Object[]{DINNER.plusMinutes(10), 4});
+		when(reservationRepository.findSlotLoad(eq(1L), any(), eq(ReservationStatus.CANCELED))).thenReturn(existing);
+		when(reservationRepository.findSlotLoad(eq(2L), any(), eq(ReservationStatus.CANCELED))).thenReturn(List.of());
+		when(businessRepository.findById(anyLong()))
+				.thenAnswer(invocation -> Optional.of(Business.builder().slotCapacity(CAPACITY).build()));
+
+		index = new ReservationSlotIndex(reservationRepository, businessRepository, 30, 40);
+	}
+
+	@Test
+	void concurrentBookingsNeverExceedSlotCapacity() throws Exception {
+		int attempts = 400;
+		AtomicInteger acceptedSeats = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+
+		for (int i = 0; i < attempts; i++) {
+			futures.add(executor.submit(() -> {
+				start.await();
+				int people = ThreadLocalRandom.current().nextInt(1, 4);
+				// 같은 슬롯 안의 서로 다른 시각 (19:00 ~ 19:29)
+				LocalDateTime time = DINNER.plusMinutes(ThreadLocalRandom.current().nextInt(0, 30));
+				if (index.tryReserve(1L, time, people)) {
+					acceptedSeats.addAndGet(people);
+				}
+				// 취소 후 재예약이 섞여도 합계가 맞아야 한다
+				if (index.tryReserve(2L, time, 1)) {
+					index.release(2L, time, 1);
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		ReservationSlotIndex.SlotUsage usage = index.usage(1L, DINNER);
+		assertThat(usage.reserved()).isEqualTo(4 + acceptedSeats.get());
+		assertThat(usage.reserved()).isLessThanOrEqualTo(CAPACITY);
+		// 수요가 용량보다 훨씬 많으므로 1~2석만 남을 수 있다 (3명 요청은 거절)
+		assertThat(usage.remaining()).isLessThan(3);
+		assertThat(index.usage(2L, DINNER).reserved()).isZero();
+	}
+
+	@Test
+	void releaseFreesSeatsInTheSameSlotOnly() {
+		assertThat(index.tryReserve(2L, DINNER, CAPACITY)).isTrue();
+		assertThat(index.tryReserve(2L, DINNER.plusMinutes(29), 1)).isFalse();
+		assertThat(index.tryReserve(2L, DINNER.plusMinutes(30), 1)).isTrue();
+
+		index.release(2L, DINNER.plusMinutes(5), 2);
+
+		assertThat(index.usage(2L, DINNER).remaining()).isEqualTo(2);
+		assertThat(index.usage(2L, DINNER.plusMinutes(30)).reserved()).isEqualTo(1);
+		assertThat(index.slotStart(DINNER.plusMinutes(17))).isEqualTo(DINNER);
+	}
+}
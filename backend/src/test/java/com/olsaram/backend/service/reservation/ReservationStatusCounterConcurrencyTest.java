@@ -0,0 +1,218 @@
+package com.olsaram.backend.service.reservation;
+
+import com.olsaram.backend.domain.business.Business;
+import com.olsaram.backend.domain.business.BusinessOwner;
+import com.olsaram.backend.domain.customer.Customer;
+import com.olsaram.backend.domain.reservation.PaymentStatus;
+import com.olsaram.backend.domain.reservation.Reservation;
+import com.olsaram.backend.domain.reservation.ReservationOutboxStatus;
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import com.olsaram.backend.dto.reservation.ReservationStatusUpdateRequest;
+import com.olsaram.backend.repository.BusinessOwnerRepository;
+import com.olsaram.backend.repository.BusinessRepository;
+import com.olsaram.backend.repository.CustomerRepository;
+import com.olsaram.backend.repository.reservation.ReservationOutboxRepository;
+import com.olsaram.backend.repository.reservation.ReservationRepository;
+import com.olsaram.backend.service.business.BusinessStatsAggregator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시에 같은 예약 상태 변경이 여러 번 들어와도 고객/가게 통계가 정확히 한 번씩만 반영되는지 확인
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:counterdb;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000"
+})
+@ActiveProfiles("test")
+class ReservationStatusCounterConcurrencyTest {
+
+	private static final int NO_SHOW_RESERVATIONS = 3;
+	private static final int COMPLETED_RESERVATIONS = 15;
+	private static final int DUPLICATE_REQUESTS = 3;
+
+	@Autowired
+	private ReservationService reservationService;
+
+	@Autowired
+	private ReservationRepository reservationRepository;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private BusinessRepository businessRepository;
+
+	@Autowired
+	private BusinessOwnerRepository businessOwnerRepository;
+
+	@Autowired
+	private BusinessStatsAggregator businessStatsAggregator;
+
+	@Autowired
+	private ReservationOutboxRepository reservationOutboxRepository;
+
+	@Test
+	void concurrentStatusUpdatesCountEachTransitionExactlyOnce() throws Exception {
+		BusinessOwner owner = businessOwnerRepository.save(BusinessOwner.builder()
+				.loginId("counter-owner")
+				.password("pw")
+				.name("사장님")
+				.phone("010-0000-0001")
+				.businessNumber("000-00-00001")
+				.build());
+		Business business = businessRepository.save(Business.builder()
+				.owner(owner)
+				.businessName("동시성 식당")
+				.category("KOREAN")
+				.address("서울")
+				.phone("02-000-0001")
+				.build());
+		Customer customer = customerRepository.save(Customer.builder()
+				.loginId("counter-customer")
+				.password("pw")
+				.name("고객")
+				.phone("010-0000-0002")
+				.noShowCount(0)
+				.reservationCount(0)
+				.trustScore(100)
+				.build());
+
+		List<Long> noShowIds = createReservations(customer, business, NO_SHOW_RESERVATIONS);
+		List<Long> completedIds = createReservations(customer, business, COMPLETED_RESERVATIONS);
+
+		// 같은 변경을 예약마다 여러 번, 모든 요청을 동시에 출발
+		List<Runnable> requests = new ArrayList<>();
+		for (int i = 0; i < DUPLICATE_REQUESTS; i++) {
+			noShowIds.forEach(id -> requests.add(() -> updateStatus(id, "NO_SHOW")));
+			completedIds.forEach(id -> requests.add(() -> updateStatus(id, "COMPLETED")));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (Runnable request : requests) {
+			futures.add(executor.submit(() -> {
+				start.await();
+				try {
+					request.run();
+				} catch (RuntimeException ignored) {
+					// 중복 요청이 잠금 경합으로 실패해도 통계만 정확하면 된다
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		// 가게 카운터는 outbox 이벤트 → write-behind 버퍼를 거쳐 flush 때 반영된다
+		Business updatedBusiness = awaitBusinessStats(business.getBusinessId());
+		Customer updatedCustomer = customerRepository.findById(customer.getCustomerId()).orElseThrow();
+
+		assertThat(updatedCustomer.getNoShowCount()).isEqualTo(NO_SHOW_RESERVATIONS);
+		assertThat(updatedCustomer.getReservationCount()).isEqualTo(COMPLETED_RESERVATIONS);
+		assertThat(updatedCustomer.getTrustScore())
+				.isEqualTo(Math.max(0, Math.min(100, 100 - NO_SHOW_RESERVATIONS * 15 + COMPLETED_RESERVATIONS * 2)));
+		assertThat(updatedBusiness.getTotalReservations()).isZero(); // 테스트 예약은 저장소로 직접 생성
+		assertThat(updatedBusiness.getNoShowCount()).isEqualTo(NO_SHOW_RESERVATIONS);
+		assertThat(updatedBusiness.getCompletedReservations()).isEqualTo(COMPLETED_RESERVATIONS);
+
+		noShowIds.forEach(id -> assertThat(reservationRepository.findById(id).orElseThrow().getStatus())
+				.isEqualTo(ReservationStatus.CANCELED));
+		completedIds.forEach(id -> assertThat(reservationRepository.findById(id).orElseThrow().getStatus())
+				.isEqualTo(ReservationStatus.COMPLETED));
+	}
+
+	@Test
+	void canceledReservationMarkedNoShowIsCountedOnce() {
+		BusinessOwner owner = businessOwnerRepository.save(BusinessOwner.builder()
+				.loginId("cancel-owner")
+				.password("pw")
+				.name("사장님")
+				.phone("010-0000-0003")
+				.businessNumber("000-00-00003")
+				.build());
+		Business business = businessRepository.save(Business.builder()
+				.owner(owner)
+				.businessName("취소 식당")
+				.category("KOREAN")
+				.address("서울")
+				.phone("02-000-0003")
+				.build());
+		Customer customer = customerRepository.save(Customer.builder()
+				.loginId("cancel-customer")
+				.password("pw")
+				.name("고객")
+				.phone("010-0000-0004")
+				.noShowCount(0)
+				.reservationCount(0)
+				.trustScore(100)
+				.build());
+		Long reservationId = createReservations(customer, business, 1).get(0);
+
+		// 취소된 예약을 나중에 노쇼로 정정 (상태 enum 은 둘 다 CANCELED)
+		updateStatus(reservationId, "CANCELED");
+		updateStatus(reservationId, "NO_SHOW");
+		updateStatus(reservationId, "NO_SHOW");
+
+		Customer updatedCustomer = customerRepository.findById(customer.getCustomerId()).orElseThrow();
+		Reservation reservation = reservationRepository.findById(reservationId).orElseThrow();
+		assertThat(updatedCustomer.getNoShowCount()).isEqualTo(1);
+		assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.CANCELED);
+		assertThat(reservation.isMarkedNoShow()).isTrue();
+	}
+
+	private Business awaitBusinessStats(Long businessId) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (true) {
+			businessStatsAggregator.flush();
+			Business business = businessRepository.findById(businessId).orElseThrow();
+			boolean outboxDrained = reservationOutboxRepository.countByStatusIn(
+					List.of(ReservationOutboxStatus.PENDING, ReservationOutboxStatus.IN_PROGRESS)) == 0;
+			boolean counted = Objects.equals(business.getNoShowCount(), NO_SHOW_RESERVATIONS)
+					&& Objects.equals(business.getCompletedReservations(), COMPLETED_RESERVATIONS);
+			if ((outboxDrained && counted) || System.currentTimeMillis() > deadline) {
+				return business;
+			}
+			Thread.sleep(50);
+		}
+	}
+
+	private List<Long> createReservations(Customer customer, Business business, int count) {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Reservation reservation = Reservation.builder()
+					.memberId(customer.getCustomerId())
+					.businessId(business.getBusinessId())
+					.people(2)
+					.reservationTime(LocalDateTime.now().plusDays(1).withNano(0))
+					.status(ReservationStatus.PENDING)
+					.paymentStatus(PaymentStatus.PENDING)
+					.build();
+			ids.add(reservationRepository.save(reservation).getId());
+		}
+		return ids;
+	}
+
+	private void updateStatus(Long reservationId, String status) {
+		ReservationStatusUpdateRequest request = new ReservationStatusUpdateRequest();
+		request.setStatus(status);
+		reservationService.updateReservationStatus(reservationId, request);
+	}
+}
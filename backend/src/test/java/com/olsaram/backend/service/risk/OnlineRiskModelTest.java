@@ -0,0 +1,55 @@
+package com.olsaram.backend.service.risk;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OnlineRiskModelTest {
+
+	private static final ReservationRiskFeatures REPEAT_NO_SHOW =
+			new ReservationRiskFeatures(4, 1, "Fri", 20, 8, "CASH");
+	private static final ReservationRiskFeatures REGULAR =
+			new ReservationRiskFeatures(0, 12, "Tue", 12, 2, "CARD");
+
+	@Test
+	void learnsToSeparateNoShowsFromRegulars() {
+		OnlineRiskModel model = new OnlineRiskModel(12, 0.1, 1e-6);
+
+		for (int i = 0; i < 300; i++) {
+			model.update(REPEAT_NO_SHOW, true);
+			model.update(REGULAR, false);
+		}
+
+		assertThat(model.predict(REPEAT_NO_SHOW)).isGreaterThan(0.9);
+		assertThat(model.predict(REGULAR)).isLessThan(0.1);
+		assertThat(model.getSamples()).isEqualTo(600);
+		assertThat(model.getNoShows()).isEqualTo(300);
+	}
+
+	@Test
+	void checkpointRoundTripKeepsWeightsAndCounts(@TempDir Path dir) throws Exception {
+		OnlineRiskModel model = new OnlineRiskModel(10, 0.1, 1e-6);
+		for (int i = 0; i < 50; i++) {
+			model.update(REPEAT_NO_SHOW, i % 3 != 0);
+		}
+		Path checkpoint = dir.resolve("online.bin");
+		model.writeTo(checkpoint);
+
+		OnlineRiskModel restored = OnlineRiskModel.readFrom(checkpoint, 0.1, 1e-6);
+
+		assertThat(restored.getHashBits()).isEqualTo(10);
+		assertThat(restored.getSamples()).isEqualTo(model.getSamples());
+		assertThat(restored.getNoShows()).isEqualTo(model.getNoShows());
+		assertThat(restored.predict(REPEAT_NO_SHOW)).isEqualTo(model.predict(REPEAT_NO_SHOW));
+	}
+
+	@Test
+	void storedFeaturesDecodeToTheSameRecord() {
+		assertThat(ReservationRiskFeatures.decode(REPEAT_NO_SHOW.encode())).contains(REPEAT_NO_SHOW);
+		assertThat(ReservationRiskFeatures.decode("broken")).isEmpty();
+		assertThat(ReservationRiskFeatures.decode(null)).isEmpty();
+	}
+}
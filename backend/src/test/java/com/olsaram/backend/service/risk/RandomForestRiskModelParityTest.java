@@ -0,0 +1,128 @@
+package com.olsaram.backend.service.risk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * JVM RandomForest 평가와 룩업 테이블이 train_reservation_risk_model.py --parity-fixture 로 내보낸
+ * 기대 확률(pipeline.predict_proba)과 같은지 확인
+ */
+class RandomForestRiskModelParityTest {
+
+	private static final double QUANTIZATION_ERROR = 0.5 / 0xFFF + 1e-9;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@TempDir
+	private Path tempDir;
+
+	private JsonNode fixture;
+	private RandomForestRiskModel model;
+
+	@BeforeEach
+	void loadFixture() throws Exception {
+		try (InputStream in = getClass().getResourceAsStream("/risk/rf_parity_fixture.json")) {
+			fixture = objectMapper.readTree(in);
+		}
+		Path modelPath = tempDir.resolve("model.json");
+		Files.write(modelPath, objectMapper.writeValueAsBytes(fixture.get("model")));
+		model = RandomForestRiskModel.load(modelPath, objectMapper);
+	}
+
+	@Test
+	void javaEvaluatorMatchesSklearnProbabilities() {
+		double[] proba = new double[model.getClassCount()];
+		for (int row = 0; row < fixture.get("rows").size(); row++) {
+			int predicted = model.predictProba(features(row), proba);
+
+			double[] expected = expected(row);
+			for (int c = 0; c < expected.length; c++) {
+				assertThat(proba[c]).as("row %d class %d", row, c).isCloseTo(expected[c], within(1e-12));
+			}
+			assertThat(predicted).as("row %d", row).isEqualTo(argmax(expected));
+		}
+	}
+
+	@Test
+	void lookupTableMatchesLiveModelWithinQuantization() throws Exception {
+		int noshowCap = 0;
+		int reservationCap = 0;
+		int partySizeCap = 1;
+		for (JsonNode row : fixture.get("rows")) {
+			noshowCap = Math.max(noshowCap, row.get("noshow_count").asInt());
+			reservationCap = Math.max(reservationCap, row.get("reservation_count").asInt());
+			partySizeCap = Math.max(partySizeCap, row.get("party_size").asInt());
+		}
+		RiskLookupTable built = RiskLookupTable.build(model, noshowCap, reservationCap, partySizeCap);
+		Path tablePath = tempDir.resolve("risk-table.bin");
+		built.writeTo(tablePath);
+		RiskLookupTable table = RiskLookupTable.readFrom(tablePath);
+
+		double[] proba = new double[table.getClassCount()];
+		for (int row = 0; row < fixture.get("rows").size(); row++) {
+			ReservationRiskFeatures features = features(row);
+			int index = table.index(
+					features.noshowCount(),
+					features.reservationCount(),
+					model.weekdayCode(features.weekday()),
+					features.hour(),
+					features.partySize(),
+					model.paymentMethodCode(features.paymentMethod()));
+			if (model.weekdayCode(features.weekday()) < 0 || model.paymentMethodCode(features.paymentMethod()) < 0) {
+				// 모르는 카테고리는 테이블에 없음 → 실시간 모델로 대체
+				assertThat(index).isEqualTo(-1);
+				continue;
+			}
+
+			int predicted = table.predictProba(index, proba);
+
+			double[] expected = expected(row);
+			for (int c = 0; c < expected.length; c++) {
+				assertThat(proba[c]).as("row %d class %d", row, c).isCloseTo(expected[c], within(QUANTIZATION_ERROR));
+			}
+			// 예측 클래스는 양자화 전 확률로 정하므로 정확히 같다
+			assertThat(predicted).as("row %d", row).isEqualTo(argmax(expected));
+		}
+	}
+
+	private ReservationRiskFeatures features(int row) {
+		JsonNode values = fixture.get("rows").get(row);
+		return new ReservationRiskFeatures(
+				values.get("noshow_count").asInt(),
+				values.get("reservation_count").asInt(),
+				values.get("weekday").asText(),
+				values.get("hour").asInt(),
+				values.get("party_size").asInt(),
+				values.get("payment_method").asText());
+	}
+
+	private double[] expected(int row) {
+		JsonNode values = fixture.get("expected_proba").get(row);
+		double[] expected = new double[values.size()];
+		for (int c = 0; c < expected.length; c++) {
+			expected[c] = values.get(c).asDouble();
+		}
+		return expected;
+	}
+
+	// numpy argmax 와 같이 같은 값이면 앞 클래스
+	private static int argmax(double[] values) {
+		int best = 0;
+		for (int c = 1; c < values.length; c++) {
+			if (values[c] > values[best]) {
+				best = c;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,81 @@
+package com.olsaram.backend.service.risk;
+
+import com.olsaram.backend.domain.reservation.ReservationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RiskBacktestTest {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 3, 12, 0);
+
+	@Test
+	void replayUsesOnlyOutcomesKnownAtBookingTime() {
+		List<RiskBacktestRow> rows = List.of(
+				// 1: 노쇼 (T0+1d 에 자동 처리)
+				row(1L, ReservationStatus.CANCELED, T0, T0.plusDays(1), T0.plusDays(1).plusMinutes(30)),
+				// 2: 1번 결과가 나오기 전에 예약 → 노쇼 이력이 보이면 안 된다
+				row(2L, ReservationStatus.COMPLETED, T0.plusHours(1), T0.plusDays(3), null),
+				// 3: 1번 결과 이후 예약 → 노쇼 1회, 2번은 아직 방문 전
+				row(3L, ReservationStatus.COMPLETED, T0.plusDays(2), T0.plusDays(5), null)
+		);
+
+		List<RiskBacktestSample> samples = new ArrayList<>();
+		new RiskBacktestReplay(180, 90).replay(rows, null, null, samples);
+
+		assertThat(samples).extracting(RiskBacktestSample::reservationId).containsExactly(1L, 2L, 3L);
+		assertThat(samples).extracting(RiskBacktestSample::noShow).containsExactly(true, false, false);
+		assertThat(samples.get(1).customer().noShowCount()).isZero();
+		assertThat(samples.get(1).customer().bookingCount()).isEqualTo(1);
+		assertThat(samples.get(2).customer().noShowCount()).isEqualTo(1);
+		assertThat(samples.get(2).customer().completedCount()).isZero();
+	}
+
+	@Test
+	void labelsFollowMarkedNoShowRule() {
+		// 자동 노쇼 뒤 방문 완료로 정정 → 방문
+		assertThat(row(1L, ReservationStatus.COMPLETED, T0, T0.plusDays(1), T0.plusDays(1)).noShowLabel()).isFalse();
+		// 자동 노쇼 뒤 일반 취소로 정정 → 라벨 없음
+		assertThat(new RiskBacktestRow(2L, 7L, ReservationStatus.CANCELED, T0.plusDays(1), T0, T0.plusDays(2), T0.plusDays(1),
+				null, 2, null, null, null, null, null, T0.minusYears(1)).noShowLabel()).isNull();
+		// 사장님이 직접 처리한 노쇼 (no_show_at) → 노쇼
+		assertThat(new RiskBacktestRow(3L, 7L, ReservationStatus.CANCELED, T0.plusDays(1), T0, null, null,
+				T0.plusDays(1), 2, null, null, null, null, null, T0.minusYears(1)).noShowLabel()).isTrue();
+	}
+
+	@Test
+	void histogramAucMatchesPairwiseDefinition() {
+		RiskBacktestMetrics metrics = new RiskBacktestMetrics(1000, 10);
+		double[] noShowScores = {0.9, 0.7, 0.4};
+		double[] showScores = {0.8, 0.3, 0.2, 0.1};
+		for (double score : noShowScores) {
+			metrics.record(score, sample(true));
+		}
+		for (double score : showScores) {
+			metrics.record(score, sample(false));
+		}
+
+		// 노쇼 > 방문 인 쌍: 0.9(4) + 0.7(3) + 0.4(3) = 10 / 12
+		assertThat(metrics.auc()).isCloseTo(10.0 / 12, within(1e-9));
+		assertThat(metrics.getSamples()).isEqualTo(7);
+	}
+
+	private static RiskBacktestRow row(Long id, ReservationStatus status, LocalDateTime createdAt,
+									   LocalDateTime reservationTime, LocalDateTime autoNoShowAt) {
+		return new RiskBacktestRow(id, 7L, status, reservationTime, createdAt, null, autoNoShowAt, null,
+				2, null, null, null, null, null, T0.minusYears(1));
+	}
+
+	private static RiskBacktestSample sample(boolean noShow) {
+		List<RiskBacktestSample> samples = new ArrayList<>();
+		new RiskBacktestReplay(180, 90).replay(List.of(row(1L,
+				noShow ? ReservationStatus.CANCELED : ReservationStatus.COMPLETED,
+				T0, T0.plusDays(1), noShow ? T0.plusDays(1) : null)), null, null, samples);
+		return samples.get(0);
+	}
+}
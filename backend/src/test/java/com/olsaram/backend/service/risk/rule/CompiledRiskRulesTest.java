@@ -0,0 +1,197 @@
+package com.olsaram.backend.service.risk.rule;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.olsaram.backend.service.risk.RiskExplanation;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledRiskRulesTest {
+
+	private static CompiledRiskRules rules;
+
+	@BeforeAll
+	static void compileDefaultRules() throws Exception {
+		try (InputStream in = CompiledRiskRulesTest.class.getResourceAsStream("/risk/reservation-risk-rules.json")) {
+			rules = CompiledRiskRules.compile(new ObjectMapper().readValue(in, RiskRuleSet.class));
+		}
+	}
+
+	@Test
+	void defaultRulesScoreLikeTheLegacyRuleChain() {
+		RiskRuleColumns columns = new RiskRuleColumns(4);
+		// 0: 비회원
+		columns.set(RiskRuleField.MEMBER, 0, 0);
+		// 1: 노쇼 3회, 신뢰점수 55, 첫 예약, 20시, 2명
+		member(columns, 1, 3, 0, 55, 20, 2);
+		// 2: VIP (방문 12회, 노쇼 0회), 선결제
+		member(columns, 2, 0, 12, 100, 12, 4);
+		columns.set(RiskRuleField.PAID, 2, 1);
+		// 3: 신규 고객 8명 예약
+		member(columns, 3, 0, 0, 100, 12, 8);
+
+		CompiledRiskRules.Evaluation evaluation = rules.evaluate(columns);
+
+		assertThat(evaluation.scores()).containsExactly(50, 35, 100, 75);
+		assertThat(rules.level(35)).isEqualTo("HIGH");
+		assertThat(rules.firedRuleIds(evaluation.fired()[0])).containsExactly("guest");
+
+		RiskExplanation risky = rules.explain(columns, 1, evaluation);
+		assertThat(risky.reason()).isEqualTo("고객의 과거 노쇼 이력 3회 (높은 위험)");
+		assertThat(risky.factors()).containsExactly(
+				"노쇼 이력 3회", "신뢰점수 55", "첫 예약 (이력 없음)", "야간 예약 (18~23시) + 노쇼 이력");
+
+		RiskExplanation vip = rules.explain(columns, 2, evaluation);
+		assertThat(vip.reason()).isEqualTo("신뢰 고객 (VIP)");
+		assertThat(vip.factors()).containsExactly("VIP 고객 (예약 12회, 노쇼 0회)");
+	}
+
+	@Test
+	void reasonAndLevelFollowTheLegacyRuleChain() {
+		// 기존 체인: 첫 예약/야간/대규모 인원 이유는 진행 중 등급이 아직 LOW 일 때만, 이유는 마지막 대입이 남는다
+		List<int[]> cases = new ArrayList<>();
+		for (int noShows = 0; noShows <= 4; noShows++) {
+			for (int visits : new int[]{0, 1, 12}) {
+				for (Integer trust : new Integer[]{null, 30, 55, 80, 100}) {
+					for (int hour : new int[]{12, 20}) {
+						for (int people : new int[]{2, 8}) {
+							for (int paid = 0; paid <= 1; paid++) {
+								cases.add(new int[]{noShows, visits, trust != null ? trust : RiskRuleColumns.MISSING, hour, people, paid});
+							}
+						}
+					}
+				}
+			}
+		}
+		RiskRuleColumns columns = new RiskRuleColumns(cases.size());
+		for (int row = 0; row < cases.size(); row++) {
+			int[] c = cases.get(row);
+			member(columns, row, c[0], c[1], c[2], c[3], c[4]);
+			columns.set(RiskRuleField.PAID, row, c[5]);
+		}
+
+		CompiledRiskRules.Evaluation evaluation = rules.evaluate(columns);
+
+		for (int row = 0; row < cases.size(); row++) {
+			int[] c = cases.get(row);
+			Legacy expected = legacy(c[0], c[1], c[2] != RiskRuleColumns.MISSING ? c[2] : null, c[3], c[4], c[5] == 1);
+			RiskExplanation explanation = rules.explain(columns, row, evaluation);
+			int score = evaluation.scores()[row];
+			assertThat(score).as("score %s", List.of(c[0], c[1], c[2], c[3], c[4], c[5])).isEqualTo(expected.score());
+			assertThat(rules.level(score)).isEqualTo(expected.level());
+			assertThat(explanation.reason()).as("reason %s", List.of(c[0], c[1], c[2], c[3], c[4], c[5]))
+					.isEqualTo(expected.reason());
+			assertThat(explanation.factors()).isEqualTo(expected.factors());
+		}
+
+		// 리뷰 예: 신뢰점수 30, 이력 없음, 노쇼 없음 → 이미 HIGH 라 "신규 고객" 이유로 바뀌지 않음
+		RiskRuleColumns single = new RiskRuleColumns(1);
+		member(single, 0, 0, 0, 30, 12, 2);
+		assertThat(rules.explain(single, 0, rules.evaluate(single)).reason()).isEqualTo("정상 예약");
+	}
+
+	@Test
+	void rejectsUnknownOperators() {
+		RiskRuleSet.Condition condition = new RiskRuleSet.Condition();
+		condition.setField(RiskRuleField.PEOPLE);
+		condition.setOp("approximately");
+		RiskRuleSet.Rule rule = new RiskRuleSet.Rule();
+		rule.setId("broken");
+		rule.getWhen().add(condition);
+		RiskRuleSet.Level level = new RiskRuleSet.Level();
+		level.setLevel("LOW");
+		RiskRuleSet set = new RiskRuleSet();
+		set.getLevels().add(level);
+		set.getRules().add(rule);
+
+		assertThatThrownBy(() -> CompiledRiskRules.compile(set))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("broken");
+	}
+
+	private record Legacy(int score, String level, String reason, List<String> factors) {
+	}
+
+	/** 기존 ReservationRiskService.calculateRisk 의 회원 분기를 그대로 옮긴 것 (비교 기준) */
+	private static Legacy legacy(int noShowCount, int reservationCount, Integer trustScore, int hour, int people, boolean paid) {
+		List<String> riskFactors = new ArrayList<>();
+		int riskScore = 100;
+		String riskLevel = "LOW";
+		String reason = "정상 예약";
+
+		if (noShowCount >= 3) {
+			riskScore -= 50;
+			riskLevel = "HIGH";
+			reason = "고객의 과거 노쇼 이력 " + noShowCount + "회 (높은 위험)";
+			riskFactors.add("노쇼 이력 " + noShowCount + "회");
+		} else if (noShowCount == 2) {
+			riskScore -= 30;
+			riskLevel = "HIGH";
+			reason = "고객의 과거 노쇼 이력 2회";
+			riskFactors.add("노쇼 이력 2회");
+		} else if (noShowCount == 1) {
+			riskScore -= 20;
+			riskLevel = "MEDIUM";
+			reason = "고객의 과거 노쇼 이력 1회";
+			riskFactors.add("노쇼 이력 1회");
+		}
+		if (trustScore != null) {
+			riskScore = Math.max(0, Math.min(100, trustScore));
+			riskLevel = riskScore >= 70 ? "LOW" : (riskScore >= 40 ? "MEDIUM" : "HIGH");
+			riskFactors.add("신뢰점수 " + trustScore);
+		}
+		if (reservationCount == 0) {
+			riskScore -= 10;
+			riskFactors.add("첫 예약 (이력 없음)");
+			if (riskLevel.equals("LOW")) {
+				riskLevel = "MEDIUM";
+				reason = "신규 고객 (첫 예약)";
+			}
+		}
+		if (hour >= 18 && hour <= 23 && noShowCount >= 1) {
+			riskScore -= 10;
+			riskFactors.add("야간 예약 (18~23시) + 노쇼 이력");
+			if (riskLevel.equals("LOW")) {
+				riskLevel = "MEDIUM";
+				reason = "야간 예약 + 노쇼 이력";
+			}
+		}
+		if (people >= 8 && reservationCount == 0) {
+			riskScore -= 15;
+			riskFactors.add("대규모 인원 (" + people + "명) + 신규 고객");
+			if (riskLevel.equals("LOW")) {
+				riskLevel = "MEDIUM";
+				reason = "대규모 인원 + 신규 고객";
+			}
+		}
+		if (paid) {
+			riskScore += 10;
+			riskFactors.add("선결제 완료 (위험도 감소)");
+		}
+		if (reservationCount >= 10 && noShowCount == 0) {
+			riskScore += 20;
+			reason = "신뢰 고객 (VIP)";
+			riskFactors.clear();
+			riskFactors.add("VIP 고객 (예약 " + reservationCount + "회, 노쇼 0회)");
+		}
+
+		riskScore = Math.max(0, Math.min(100, riskScore));
+		riskLevel = riskScore >= 70 ? "LOW" : (riskScore >= 40 ? "MEDIUM" : "HIGH");
+		return new Legacy(riskScore, riskLevel, reason, riskFactors);
+	}
+
+	private static void member(RiskRuleColumns columns, int row, int noShows, int visits, int trust, int hour, int people) {
+		columns.set(RiskRuleField.MEMBER, row, 1);
+		columns.set(RiskRuleField.NO_SHOW_COUNT, row, noShows);
+		columns.set(RiskRuleField.RESERVATION_COUNT, row, visits);
+		columns.set(RiskRuleField.TRUST_SCORE, row, trust);
+		columns.set(RiskRuleField.HOUR, row, hour);
+		columns.set(RiskRuleField.PEOPLE, row, people);
+	}
+}
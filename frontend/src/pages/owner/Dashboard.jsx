@@ -8,7 +8,7 @@ import {
   AlertCircle,
   Loader2,
 } from "lucide-react";
-import { useEffect, useMemo, useState, useCallback } from "react";
+import { useEffect, useMemo, useState, useCallback, useRef } from "react";
 import StatCard from "../../components/StatCard";
 import Card from "../../components/Card";
 import Button from "../../components/Button";
@@ -16,31 +16,47 @@ import PageLayout from "../../components/Layout";
 import { useAuth } from "../../contexts/AuthContext";
 import { reservationAPI } from "../../services/reservations";
 
+// 로컬 시간 기준 yyyy-MM-ddTHH:mm:ss (백엔드 LocalDateTime 파라미터용)
+const toLocalDateTimeParam = (date) => {
+  const pad = (n) => String(n).padStart(2, "0");
+  return `${date.getFullYear()}-${pad(date.getMonth() + 1)}-${pad(date.getDate())}T${pad(date.getHours())}:${pad(date.getMinutes())}:${pad(date.getSeconds())}`;
+};
+
+const EMPTY_SUMMARY = { total: 0, pending: 0, confirmed: 0, canceled: 0, completed: 0, upcoming7Days: 0 };
+
 const Dashboard = () => {
   const { user } = useAuth();
 
   // 🔥 로그인된 사장님 ID
   const ownerId = user?.ownerId;
 
-  const [reservations, setReservations] = useState([]);
+  const [summary, setSummary] = useState(EMPTY_SUMMARY);
   const [todayReservations, setTodayReservations] = useState([]);
   const [noShowRates, setNoShowRates] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
 
-  const fetchData = useCallback(async () => {
+  const fetchData = useCallback(async ({ silent = false } = {}) => {
     if (!ownerId) return;
     try {
-      setLoading(true);
+      if (!silent) setLoading(true);
       setError(null);
-      const [resv, noShow] = await Promise.all([
-        reservationAPI.getOwnerReservations(ownerId),
+      // 오늘 예약 행만 조회하고, 통계는 서버 집계로 받는다
+      const todayStart = new Date();
+      todayStart.setHours(0, 0, 0, 0);
+      const tomorrowStart = new Date(todayStart);
+      tomorrowStart.setDate(todayStart.getDate() + 1);
+
+      const [todayResv, reservationSummary, noShow] = await Promise.all([
+        reservationAPI.getOwnerReservations(ownerId, {
+          from: toLocalDateTimeParam(todayStart),
+          to: toLocalDateTimeParam(tomorrowStart),
+        }),
+        reservationAPI.getOwnerReservationSummary(ownerId).catch(() => EMPTY_SUMMARY),
         reservationAPI.getOwnerNoShowRates(ownerId).catch(() => []),
       ]);
 
-      const todayKey = new Date().toISOString().slice(0, 10);
-      const mappedToday = resv
-        .filter((r) => r.reservationTime?.startsWith(todayKey))
+      const mappedToday = (todayResv || [])
         .map((item) => ({
           id: item.id,
           customerName: item.customerName || "고객",
@@ -53,7 +69,7 @@ const Dashboard = () => {
           paymentStatus: item.paymentStatus || "UNPAID",
         }));
 
-      setReservations(resv || []);
+      setSummary({ ...EMPTY_SUMMARY, ...reservationSummary });
       setTodayReservations(mappedToday);
       setNoShowRates(noShow || []);
     } catch (err) {
@@ -64,11 +80,26 @@ const Dashboard = () => {
     }
   }, [ownerId]);
 
+  // 예약 변경 이벤트가 몰려도 짧게 모아 한 번만 다시 조회
+  const refreshTimer = useRef(null);
+
   useEffect(() => {
     fetchData();
-    const interval = setInterval(fetchData, 30 * 1000);
-    return () => clearInterval(interval);
-  }, [fetchData]);
+
+    const unsubscribe = reservationAPI.subscribeOwnerReservations(ownerId, (eventName) => {
+      if (eventName === "connected") return; // 첫 조회는 위에서 이미 함
+      clearTimeout(refreshTimer.current);
+      refreshTimer.current = setTimeout(() => fetchData({ silent: true }), 300);
+    });
+
+    // SSE 를 쓸 수 없는 환경에서만 주기 조회
+    const interval = unsubscribe ? null : setInterval(fetchData, 30 * 1000);
+    return () => {
+      unsubscribe?.();
+      clearTimeout(refreshTimer.current);
+      if (interval) clearInterval(interval);
+    };
+  }, [fetchData, ownerId]);
 
   // ⭐ 신뢰등급 색상
   const trustLevelColors = {
@@ -79,18 +110,10 @@ const Dashboard = () => {
 
   // ⭐ 통계 카드는 UI 유지
   const stats = useMemo(() => {
-    const confirmedCount = reservations.filter((r) => r.status?.toUpperCase() === "CONFIRMED").length;
-    const pendingCount = reservations.filter((r) => r.status?.toUpperCase() === "PENDING").length;
-    const cancelledCount = reservations.filter((r) => r.status?.toUpperCase() === "CANCELLED").length;
-
-    const now = new Date();
-    const in7days = new Date();
-    in7days.setDate(now.getDate() + 7);
-    const upcoming7 = reservations.filter((r) => {
-      const t = r.reservationTime ? new Date(r.reservationTime) : null;
-      if (!t || Number.isNaN(t.getTime())) return false;
-      return t >= now && t <= in7days;
-    }).length;
+    const confirmedCount = summary.confirmed;
+    const pendingCount = summary.pending;
+    const cancelledCount = summary.canceled;
+    const upcoming7 = summary.upcoming7Days;
 
     const noShowPct = Number(noShowRates[0]?.noShowPercentage) || 0;
     const visitRate = Math.max(0, 100 - (noShowPct || 0));
@@ -120,12 +143,12 @@ const Dashboard = () => {
       {
         icon: <Clock />,
         title: "전체 예약",
-        value: `${reservations.length}건`,
-        change: `진행 중 ${reservations.length - cancelledCount}건`,
+        value: `${summary.total}건`,
+        change: `진행 중 ${summary.total - cancelledCount}건`,
         changeType: "neutral",
       },
     ];
-  }, [reservations, todayReservations.length, noShowRates]);
+  }, [summary, todayReservations.length, noShowRates]);
 
   // ------------------------------------------------------
 
@@ -290,7 +313,7 @@ const Dashboard = () => {
                   <div className="flex justify-between">
                     <span>취소 건수</span>
                     <span className="font-semibold text-slate-900">
-                      {reservations.filter((r) => r.status?.toUpperCase() === "CANCELLED").length}건
+                      {summary.canceled}건
                     </span>
                   </div>
                 </div>
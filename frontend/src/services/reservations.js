@@ -10,6 +10,18 @@ const handleResponse = async (response) => {
   return data;
 };
 
+// 선택 조회 조건 → 쿼리스트링 (status, from, to, cursorTime, cursorId, size)
+const buildQuery = (params = {}) => {
+  const query = new URLSearchParams();
+  Object.entries(params).forEach(([key, value]) => {
+    if (value !== undefined && value !== null && value !== "") {
+      query.append(key, value);
+    }
+  });
+  const qs = query.toString();
+  return qs ? `?${qs}` : "";
+};
+
 const buildHeaders = () => {
   const token = localStorage.getItem("token");
   if (token) {
@@ -25,13 +37,13 @@ const buildHeaders = () => {
 
 export const reservationAPI = {
   // 사장님 예약 조회 (기본)
-  async getOwnerReservations(ownerId) {
+  async getOwnerReservations(ownerId, params) {
     if (!ownerId) {
       throw new Error("ownerId가 필요합니다.");
     }
 
     const response = await fetch(
-      `${API_BASE_URL}/owners/${ownerId}/reservations`,
+      `${API_BASE_URL}/owners/${ownerId}/reservations${buildQuery(params)}`,
       {
         headers: buildHeaders(),
       }
@@ -39,14 +51,52 @@ export const reservationAPI = {
     return handleResponse(response);
   },
 
+  // 사장님 예약 변경 실시간 스트림 (SSE). 반환된 함수를 호출하면 연결 종료
+  subscribeOwnerReservations(ownerId, onChange) {
+    if (!ownerId || typeof EventSource === "undefined") {
+      return null;
+    }
+
+    const source = new EventSource(`${API_BASE_URL}/owners/${ownerId}/reservations/stream`);
+    [
+      "connected",
+      "resync",
+      "reservation-created",
+      "reservation-status-changed",
+      "reservation-ai-enriched",
+      "reservation-deleted",
+    ].forEach((eventName) => {
+      source.addEventListener(eventName, (event) => {
+        const data = event.data ? JSON.parse(event.data) : null;
+        onChange(eventName, data);
+      });
+    });
+    return () => source.close();
+  },
+
   // ⭐ 사장님 예약 조회 (노쇼 위험도 포함)
-  async getOwnerReservationsWithRisk(ownerId) {
+  async getOwnerReservationsWithRisk(ownerId, params) {
+    if (!ownerId) {
+      throw new Error("ownerId가 필요합니다.");
+    }
+
+    const response = await fetch(
+      `${API_BASE_URL}/owners/${ownerId}/reservations/with-risk${buildQuery(params)}`,
+      {
+        headers: buildHeaders(),
+      }
+    );
+    return handleResponse(response);
+  },
+
+  // 📊 사장님 대시보드 예약 집계 (상태별 건수, 7일 내 예정)
+  async getOwnerReservationSummary(ownerId) {
     if (!ownerId) {
       throw new Error("ownerId가 필요합니다.");
     }
 
     const response = await fetch(
-      `${API_BASE_URL}/owners/${ownerId}/reservations/with-risk`,
+      `${API_BASE_URL}/owners/${ownerId}/reservations/summary`,
       {
         headers: buildHeaders(),
       }
@@ -72,7 +122,8 @@ export const reservationAPI = {
   },
 
   // 예약 생성 (결제 포함)
-  async createReservationWithPayment(reservationData) {
+  // 재시도할 때는 같은 idempotencyKey 를 넘기면 서버가 첫 요청 결과를 그대로 돌려준다 (중복 예약 방지)
+  async createReservationWithPayment(reservationData, idempotencyKey = crypto.randomUUID()) {
     console.log("🔵 [예약 생성] 노쇼 감지 ML 모델 실행 시작...", {
       businessId: reservationData.businessId,
       memberId: reservationData.memberId,
@@ -84,7 +135,7 @@ export const reservationAPI = {
       `${API_BASE_URL}/reservations/full-pay`,
       {
         method: "POST",
-        headers: buildHeaders(),
+        headers: { ...buildHeaders(), "Idempotency-Key": idempotencyKey },
         body: JSON.stringify(reservationData),
       }
     );
@@ -36,7 +36,7 @@ export const storeAPI = {
   },
 
   // ⭐⭐ 추가된 모의 결제 포함 예약 API
-  async fullPayReservation(reservationData) {
+  async fullPayReservation(reservationData, idempotencyKey = crypto.randomUUID()) {
     console.log("🔵 [예약 생성] 노쇼 감지 ML 모델 실행 시작...", {
       businessId: reservationData.businessId,
       memberId: reservationData.memberId,
@@ -48,6 +48,7 @@ export const storeAPI = {
       method: "POST",
       headers: {
         "Content-Type": "application/json",
+        "Idempotency-Key": idempotencyKey,
       },
       body: JSON.stringify(reservationData),
     });